@@ -0,0 +1,526 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import jsinterop.base.Js;
+import jsinterop.base.JsArrayLike;
+
+
+/**
+ * Schema-independent helpers used by all the generated JSInterop classes.
+ * <p>
+ * The <code>JsUtils</code> class generated with the <b>-jsruntime</b> option extends this one, adding only the
+ * schema-specific methods (<code>JSIName</code> and <code>otherAttributes</code> handling): the generated code keeps
+ * invoking <code>JsUtils.&lt;method&gt;</code>, that is resolved here.
+ * <p>
+ * Generated by <code>JsUtilsBuilder.generateRuntimeBaseClass</code>: do not edit.
+ * 
+ */
+public abstract class JsUtilsBase {
+
+    private static Object wrappersPool;
+
+    protected JsUtilsBase() {
+         //Protected constructor to prevent instantiation
+    }
+
+    public static<D >void add(final JsArrayLike<D> jsArrayLike, final D element) {
+        int length = jsArrayLike.getLength();
+        jsArrayLike.setLength((length + 1));
+        jsArrayLike.setAt(length, element);
+    }
+
+    public static<D, E extends D >void addAll(final JsArrayLike<D> jsArrayLike, E... elements) {
+        for (D element: elements) {
+            JsUtilsBase.add(jsArrayLike, element);
+        }
+    }
+
+    public static<D >void remove(final JsArrayLike<D> jsArrayLike, final int index) {
+        int targetIndex = 0;
+        for (int sourceIndex = 0; (sourceIndex<jsArrayLike.getLength()); sourceIndex ++) {
+            if (sourceIndex!= index) {
+                jsArrayLike.setAt(targetIndex ++, jsArrayLike.getAt(sourceIndex));
+            }
+        }
+        jsArrayLike.setLength(targetIndex);
+    }
+
+    public static<D >List<D> toList(final JsArrayLike<D> jsArrayLike) {
+        final List<D> toReturn = new ArrayList<D>();
+        if (Objects.nonNull(jsArrayLike)) {
+            for (int i = 0; (i<jsArrayLike.getLength()); i ++) {
+                final D toAdd = Js.uncheckedCast(jsArrayLike.getAt(i));
+                toReturn.add(toAdd);
+            }
+        }
+        return toReturn;
+    }
+
+    public static<D >JsArrayLike<D> toJsArrayLike(final List<D> list) {
+        final JsArrayLike<D> toReturn = getNativeArray();
+        if (Objects.nonNull(list)) {
+            for (int i = 0; (i<list.size()); i ++) {
+                final D toAdd = Js.uncheckedCast(list.get(i));
+                toReturn.setAt(toReturn.getLength(), toAdd);
+            }
+        }
+        return toReturn;
+    }
+    
+     /**
+     * Returns a <b>stub</b> object with <b>name</b> and <b>value</b> attributes
+     * @return
+     */
+     public static native <D> D newWrappedInstance() /*-{
+        var json = "{\"name\": \"\", \"value\": \"\"}";
+        var retrieved = JSON.parse(json)
+        return retrieved
+    }-*/;
+
+     /**
+     * Set the <b>value</b> attribute of the given <b>wrapped</b> <code>D</code> with the <b>json</b> representation of <b>value</b> <code>E</code>
+     * @param wrappedObject
+     * @param value
+     */
+    public static native <D, E> void setValueOnWrapped(D wrappedObject, E value) /*-{
+        wrappedObject.value = value
+    }-*/;
+     /**
+     * Returns the original <code>JsArrayLike</code> or, ift the original <code>JsArrayLike</code> is <code>null</code>, a new, empty one
+     * @param original
+     * @param <D>
+     * @return
+     */
+     public static native <D> JsArrayLike<D> getNativeElementsArray(final JsArrayLike<D> original) /*-{
+        if(original == null) {
+            return [];
+        } else {
+            return original;
+        }
+    }-*/;
+     /**
+     * Returns a <code>JsArrayLike</code> where each element represents the <b>unwrapped</b> object (i.e. object.value) of the original one.
+     * It the original <code>JsArrayLike</code> is <code>null</code>, returns a new, empty one
+     * @param original
+     * @param <D>
+     * @return
+     */
+     public static native <D> JsArrayLike<D> getUnwrappedElementsArray(final JsArrayLike<D> original) /*-{
+        var toReturn = [];
+        if(original != null) {
+            toReturn = original.map(function (arrayItem) {
+                var retrieved = arrayItem.value
+                var toSet = retrieved == null ? arrayItem : retrieved
+                return toSet;
+            });
+        }
+        return toReturn;
+    }-*/;
+
+     public static native Object getUnwrappedElement(final Object original) /*-{
+        var toReturn = original.value;
+        var toSet = toReturn == null ? original : toReturn;
+        return toSet;
+    }-*/;
+
+     public static native <D> D getWrappedElement(final Object value) /*-{
+        var json = "{\"name\": \"\", \"value\": \"\"}";
+        var toReturn = JSON.parse(json)
+        toReturn.value =  value;
+        return toReturn;
+    }-*/;
+
+     /**
+     * Returns the <b>propertyName</b> value of the given <b>holder</b>, materializing it if it is (or contains) a <b>lazy</b>
+     * placeholder, i.e. an unparsed subtree with a <b>materialize</b> function; the materialized value is stored back on <b>holder</b>
+     * @param holder
+     * @param propertyName
+     * @param <D>
+     * @return
+     */
+     public static native <D> D getMaterialized(final Object holder, final String propertyName) /*-{
+        var value = holder[propertyName];
+        if (value == null) {
+            return value;
+        }
+        if (Array.isArray(value)) {
+            for (var i = 0; i < value.length; i++) {
+                if (value[i] != null && typeof value[i].materialize === 'function') {
+                    value[i] = value[i].materialize();
+                    @gwt.jsonix.runtime.JsUtilsBase::adoptTree(Ljava/lang/Object;Ljava/lang/Object;)(value[i], holder);
+                }
+            }
+        } else if (typeof value.materialize === 'function') {
+            value = value.materialize();
+            holder[propertyName] = value;
+            @gwt.jsonix.runtime.JsUtilsBase::adoptTree(Ljava/lang/Object;Ljava/lang/Object;)(value, holder);
+        }
+        @gwt.jsonix.runtime.JsUtilsBase::updateIdIndex(Ljava/lang/Object;Ljava/lang/Object;Ljava/lang/Object;)(holder, null, value);
+        return value;
+    }-*/;
+
+     /**
+     * Flags the given <b>holder</b> and all its ancestors as <b>dirty</b>, so that their cached serialized fragments
+     * are not reused at the next marshalling; the given <b>value</b> (or each of its items, if it is an array) is
+     * attached to <b>holder</b> as its parent, and added to the id index of the graph, if any
+     * @param holder
+     * @param value
+     */
+     public static native void markDirty(final Object holder, final Object value) /*-{
+        var adopt = function (child) {
+            if (child != null && typeof child === 'object') {
+                if (child.__parent == null && child.__epoch === undefined) {
+                    // a brand new instance does not belong to any snapshot taken so far
+                    var root = holder;
+                    while (root.__parent != null) {
+                        root = root.__parent;
+                    }
+                    Object.defineProperty(child, '__epoch', {value: root.__snapshotEpoch || 0, writable: true, configurable: true});
+                }
+                Object.defineProperty(child, '__parent', {value: holder, writable: true, configurable: true});
+            }
+        };
+        if (Array.isArray(value)) {
+            value.forEach(adopt);
+        } else {
+            adopt(value);
+        }
+        for (var node = holder; node != null && node.__dirty !== true; node = node.__parent) {
+            Object.defineProperty(node, '__dirty', {value: true, writable: true, configurable: true});
+        }
+        @gwt.jsonix.runtime.JsUtilsBase::updateIdIndex(Ljava/lang/Object;Ljava/lang/Object;Ljava/lang/Object;)(holder, null, value);
+    }-*/;
+
+     /**
+     * Sets <b>value</b> as the <b>propertyName</b> of the given <b>holder</b>, flagging it as <b>dirty</b>
+     * @param holder
+     * @param propertyName
+     * @param value
+     */
+     public static native void setTracked(final Object holder, final String propertyName, final Object value) /*-{
+        @gwt.jsonix.runtime.JsUtilsBase::copyOnWrite(Ljava/lang/Object;)(holder);
+        var previous = holder[propertyName];
+        holder[propertyName] = value;
+        @gwt.jsonix.runtime.JsUtilsBase::markDirty(Ljava/lang/Object;Ljava/lang/Object;)(holder, value);
+        @gwt.jsonix.runtime.JsUtilsBase::updateIdIndex(Ljava/lang/Object;Ljava/lang/Object;Ljava/lang/Object;)(holder, previous, value);
+    }-*/;
+
+     /**
+     * Keeps the id index of the graph containing the given <b>holder</b> (if it has been built, see <b>getIdIndex</b>)
+     * up to date after a modification of <b>holder</b>: the <b>removed</b> instances (or array items) are detached from
+     * the index, unless they are <b>added</b> back, and the <b>added</b> ones are indexed with their whole subtree.
+     * The indexed instances carry their index, hence the graphs never indexed cost a single property lookup
+     * @param holder
+     * @param removed
+     * @param added
+     */
+     public static native void updateIdIndex(final Object holder, final Object removed, final Object added) /*-{
+        if (holder.__indexed == null) {
+            return;
+        }
+        holder.__indexed.update(holder, removed, added);
+    }-*/;
+
+     /**
+     * Attaches each object of the given <b>value</b> subtree to its parent, <b>value</b> itself (or each of its items,
+     * if it is an array) being attached to the given <b>parent</b>, if any; the lazy placeholders are attached too,
+     * but their subtrees are attached only when they are materialized
+     * @param value
+     * @param parent
+     */
+     public static native void adoptTree(final Object value, final Object parent) /*-{
+        if (value == null || typeof value !== 'object' || value.nodeType != null) {
+            return;
+        }
+        if (Array.isArray(value)) {
+            for (var i = 0; i < value.length; i++) {
+                @gwt.jsonix.runtime.JsUtilsBase::adoptTree(Ljava/lang/Object;Ljava/lang/Object;)(value[i], parent);
+            }
+            return;
+        }
+        if (parent != null) {
+            Object.defineProperty(value, '__parent', {value: parent, writable: true, configurable: true});
+        }
+        if (typeof value.materialize === 'function') {
+            return;
+        }
+        Object.keys(value).forEach(function (key) {
+            @gwt.jsonix.runtime.JsUtilsBase::adoptTree(Ljava/lang/Object;Ljava/lang/Object;)(value[key], value);
+        });
+    }-*/;
+
+     /**
+     * To be invoked before modifying the given <b>holder</b>: if it is shared with snapshots taken after its last
+     * modification, a shallow copy of its current state replaces it inside those snapshots, and the same is done for
+     * its ancestors; hence only the path to the root is copied, and only on the first write after each snapshot
+     * @param holder
+     */
+     public static native void copyOnWrite(final Object holder) /*-{
+        var root = holder;
+        while (root.__parent != null) {
+            root = root.__parent;
+        }
+        var epoch = root.__snapshotEpoch || 0;
+        if ((holder.__epoch || 0) >= epoch) {
+            return;
+        }
+        var define = function (target, name, value) {
+            Object.defineProperty(target, name, {value: value, writable: true, configurable: true});
+        };
+        var clone = {};
+        Object.keys(holder).forEach(function (key) {
+            clone[key] = Array.isArray(holder[key]) ? holder[key].slice() : holder[key];
+        });
+        if (holder.__parent != null) {
+            // the parent copy is registered as view parent of holder, hence it is updated below
+            @gwt.jsonix.runtime.JsUtilsBase::copyOnWrite(Ljava/lang/Object;)(holder.__parent);
+        } else {
+            root.__snapshots.forEach(function (snapshot) {
+                snapshot.root = clone;
+            });
+            define(root, '__snapshots', []);
+        }
+        (holder.__viewParents || []).forEach(function (viewParent) {
+            Object.keys(viewParent).forEach(function (key) {
+                var value = viewParent[key];
+                if (value === holder) {
+                    viewParent[key] = clone;
+                } else if (Array.isArray(value)) {
+                    for (var i = 0; i < value.length; i++) {
+                        if (value[i] === holder) {
+                            value[i] = clone;
+                        }
+                    }
+                }
+            });
+        });
+        define(holder, '__viewParents', []);
+        Object.keys(clone).forEach(function (key) {
+            [].concat(clone[key]).forEach(function (child) {
+                if (child != null && typeof child === 'object' && child.__parent === holder) {
+                    if (child.__viewParents == null) {
+                        define(child, '__viewParents', []);
+                    }
+                    child.__viewParents.push(clone);
+                }
+            });
+        });
+        define(holder, '__epoch', epoch);
+    }-*/;
+
+     /**
+     * Takes a copy-on-write snapshot of the whole graph containing the given <b>instance</b>: the graph is shared
+     * with the snapshot until it is modified through the generated setters and collection mutators.
+     * At the first snapshot of a graph, its objects are attached to their parents (see <b>adoptTree</b>), if this has
+     * not been done already at unmarshalling time; hence <b>instance</b> must be the root of a graph never snapshotted
+     * @param instance
+     * @return the snapshot, whose (read-only) root is returned by <b>getSnapshotRoot</b>
+     */
+     public static native Object takeSnapshot(final Object instance) /*-{
+        var root = instance;
+        while (root.__parent != null) {
+            root = root.__parent;
+        }
+        if (root.__snapshotEpoch === undefined) {
+            @gwt.jsonix.runtime.JsUtilsBase::adoptTree(Ljava/lang/Object;Ljava/lang/Object;)(root, null);
+        }
+        var define = function (target, name, value) {
+            Object.defineProperty(target, name, {value: value, writable: true, configurable: true});
+        };
+        var snapshot = {root: root};
+        define(root, '__snapshotEpoch', (root.__snapshotEpoch || 0) + 1);
+        if (root.__snapshots == null) {
+            define(root, '__snapshots', []);
+        }
+        root.__snapshots.push(snapshot);
+        return snapshot;
+    }-*/;
+
+     /**
+     * Returns the root of the given <b>snapshot</b>, as it was when the snapshot has been taken; it must not be modified
+     * @param snapshot
+     * @param <D>
+     * @return
+     */
+     public static native <D> D getSnapshotRoot(final Object snapshot) /*-{
+        return snapshot.root;
+    }-*/;
+
+     /**
+     * Generic deep copy, used for the values whose type is not a generated class (e.g. wrapped elements and
+     * attributes maps); <b>DOM</b> nodes are cloned
+     * @param original
+     * @param <D>
+     * @return
+     */
+     public static native <D> D deepCopy(final D original) /*-{
+        if (original == null || typeof original !== 'object') {
+            return original;
+        }
+        if (original.nodeType != null) {
+            return original.cloneNode(true);
+        }
+        var toReturn = Array.isArray(original) ? [] : {};
+        var keys = Object.keys(original);
+        for (var i = 0; i < keys.length; i++) {
+            toReturn[keys[i]] = @gwt.jsonix.runtime.JsUtilsBase::deepCopy(Ljava/lang/Object;)(original[keys[i]]);
+        }
+        return toReturn;
+    }-*/;
+
+     /**
+     * Generic structural equality, used for the values whose type is not a generated class
+     * @param left
+     * @param right
+     * @return
+     */
+     public static native boolean deepEquals(final Object left, final Object right) /*-{
+        if (left === right) {
+            return true;
+        }
+        if (left == null || right == null || typeof left !== 'object' || typeof right !== 'object') {
+            return false;
+        }
+        if (left.nodeType != null || right.nodeType != null) {
+            return left.nodeType != null && right.nodeType != null && left.isEqualNode(right);
+        }
+        if (Array.isArray(left) !== Array.isArray(right)) {
+            return false;
+        }
+        var keys = Object.keys(left);
+        if (keys.length !== Object.keys(right).length) {
+            return false;
+        }
+        for (var i = 0; i < keys.length; i++) {
+            if (!Object.prototype.hasOwnProperty.call(right, keys[i]) ||
+                !@gwt.jsonix.runtime.JsUtilsBase::deepEquals(Ljava/lang/Object;Ljava/lang/Object;)(left[keys[i]], right[keys[i]])) {
+                return false;
+            }
+        }
+        return true;
+    }-*/;
+
+     /**
+     * Generic structural hash code, consistent with <b>deepEquals</b>
+     * @param value
+     * @return
+     */
+     public static native int deepHashCode(final Object value) /*-{
+        if (value == null) {
+            return 0;
+        }
+        if (typeof value === 'boolean') {
+            return value ? 1231 : 1237;
+        }
+        if (typeof value !== 'object') {
+            var text = String(value);
+            var hash = 0;
+            for (var j = 0; j < text.length; j++) {
+                hash = (31 * hash + text.charCodeAt(j)) | 0;
+            }
+            return hash;
+        }
+        if (value.nodeType != null) {
+            return @gwt.jsonix.runtime.JsUtilsBase::deepHashCode(Ljava/lang/Object;)(value.nodeName);
+        }
+        var isArray = Array.isArray(value);
+        var result = isArray ? 1 : 0;
+        var keys = Object.keys(value);
+        for (var i = 0; i < keys.length; i++) {
+            var itemHash = @gwt.jsonix.runtime.JsUtilsBase::deepHashCode(Ljava/lang/Object;)(value[keys[i]]);
+            if (isArray) {
+                result = (31 * result + itemHash) | 0;
+            } else {
+                // properties order is not relevant for equality, hence it must not be relevant here
+                result = (result + (@gwt.jsonix.runtime.JsUtilsBase::deepHashCode(Ljava/lang/Object;)(keys[i]) ^ itemHash)) | 0;
+            }
+        }
+        return result;
+    }-*/;
+
+     /**
+     * Helper method to create a new, empty <code>JsArrayLike</code>
+     * @return
+     */
+     public static native <D> JsArrayLike<D> getNativeArray() /*-{
+        return [];
+    }-*/;
+
+    public static native String getTypeName(final Object instance) /*-{
+        return instance.TYPE_NAME
+    }-*/;
+
+     /**
+     * Returns a <b>pooled</b> <code>{name, value}</code> wrapper of the given <b>value</b>.
+     * The caller owns it until it gives it back with <code>releaseWrappedElement</code> (or <code>getUnwrappedElementAndRelease</code>):
+     * it is meant for transient unwrap/rewrap cycles only, and must never be stored in a model object (e.g. through the generated
+     * <b>add</b> methods), since it is going to be reused
+     * @param value
+     * @param <D>
+     * @return
+     */
+     public static native <D> D acquireWrappedElement(final Object value) /*-{
+        var pool = @gwt.jsonix.runtime.JsUtilsBase::wrappersPool;
+        var toReturn;
+        if (pool != null && pool.length > 0) {
+            toReturn = pool.pop();
+            toReturn.__pooled = false;
+        } else {
+            toReturn = {name: "", value: null};
+            Object.defineProperty(toReturn, '__pooled', {value: false, writable: true, configurable: true});
+        }
+        toReturn.value = value;
+        return toReturn;
+    }-*/;
+
+     /**
+     * Gives back to the pool the given <b>wrapper</b>, obtained from <code>acquireWrappedElement</code>; the caller must not use it anymore.
+     * Wrappers not coming from the pool, or already released, are ignored
+     * @param wrapper
+     */
+     public static native void releaseWrappedElement(final Object wrapper) /*-{
+        if (wrapper == null || wrapper.__pooled !== false) {
+            return;
+        }
+        wrapper.__pooled = true;
+        wrapper.name = "";
+        wrapper.value = null;
+        var pool = @gwt.jsonix.runtime.JsUtilsBase::wrappersPool;
+        if (pool == null) {
+            pool = [];
+            @gwt.jsonix.runtime.JsUtilsBase::wrappersPool = pool;
+        }
+        if (pool.length < 256) {
+            pool.push(wrapper);
+        }
+    }-*/;
+
+     /**
+     * Returns the <b>value</b> of the given pooled <b>wrapper</b>, giving the latter back to the pool
+     * @param wrapper
+     * @return
+     */
+     public static native Object getUnwrappedElementAndRelease(final Object wrapper) /*-{
+        var toReturn = wrapper.value;
+        @gwt.jsonix.runtime.JsUtilsBase::releaseWrappedElement(Ljava/lang/Object;)(wrapper);
+        return toReturn;
+    }-*/;
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.runtime;
+
+import java.util.List;
+
+import jsinterop.base.JsArrayLike;
+
+/**
+ * Benchmark suite of the runtime helpers: it runs headless inside the HtmlUnit engine of the GWT test runner and
+ * logs the <b>ops/s</b> of each scenario, so that the hot helpers may be tuned here once for all the generated projects
+ */
+public class JsUtilsBaseBenchmarkTest extends AbstractRuntimeTest {
+
+    /**
+     * Number of items handled by each iteration, in the order of the shapes of a large DMN diagram
+     */
+    private static final int ITEMS = 1000;
+
+    private static final int ITERATIONS = 20;
+
+    public void testAdd() {
+        report("add", () -> {
+            final JsArrayLike<Object> array = JsUtilsBase.getNativeArray();
+            for (int i = 0; i < ITEMS; i++) {
+                JsUtilsBase.add(array, "item");
+            }
+            assertEquals(ITEMS, array.getLength());
+        });
+    }
+
+    public void testRemove() {
+        final JsArrayLike<Object> array = getArray();
+        report("remove", () -> {
+            JsUtilsBase.remove(array, 0);
+            JsUtilsBase.add(array, "item");
+        });
+    }
+
+    public void testListConversions() {
+        final JsArrayLike<Object> array = getArray();
+        report("toList/toJsArrayLike", () -> {
+            final List<Object> list = JsUtilsBase.toList(array);
+            assertEquals(ITEMS, JsUtilsBase.toJsArrayLike(list).getLength());
+        });
+    }
+
+    public void testWrappedElements() {
+        report("wrap/unwrap", () -> {
+            for (int i = 0; i < ITEMS; i++) {
+                assertNotNull(JsUtilsBase.getUnwrappedElement(JsUtilsBase.getWrappedElement("item")));
+            }
+        });
+        report("wrap/unwrap pooled", () -> {
+            for (int i = 0; i < ITEMS; i++) {
+                assertNotNull(JsUtilsBase.getUnwrappedElementAndRelease(JsUtilsBase.acquireWrappedElement("item")));
+            }
+        });
+    }
+
+    public void testDeepHelpers() {
+        final Object original = newObject("items", getArray());
+        report("deepCopy/deepEquals/deepHashCode", () -> {
+            final Object copy = JsUtilsBase.deepCopy(original);
+            assertTrue(JsUtilsBase.deepEquals(original, copy));
+            assertEquals(JsUtilsBase.deepHashCode(original), JsUtilsBase.deepHashCode(copy));
+        });
+    }
+
+    /**
+     * Runs the given scenario once to warm it up, then <b>ITERATIONS</b> times, and logs its <b>ops/s</b>
+     * @param name
+     * @param scenario
+     */
+    private void report(final String name, final Runnable scenario) {
+        scenario.run();
+        final double start = now();
+        for (int i = 0; i < ITERATIONS; i++) {
+            scenario.run();
+        }
+        final double elapsed = Math.max(now() - start, 1);
+        consoleLog("BENCHMARK " + name + ": " + Math.round(ITERATIONS * 10000 / elapsed) / 10.0 + " ops/s (" + ITERATIONS + " ops in " + Math.round(elapsed) + " ms)");
+    }
+
+    private static JsArrayLike<Object> getArray() {
+        final JsArrayLike<Object> toReturn = JsUtilsBase.getNativeArray();
+        for (int i = 0; i < ITEMS; i++) {
+            JsUtilsBase.add(toReturn, newObject("index", String.valueOf(i)));
+        }
+        return toReturn;
+    }
+
+    private static native double now() /*-{
+        return $wnd.performance && $wnd.performance.now ? $wnd.performance.now() : new Date().getTime();
+    }-*/;
+}
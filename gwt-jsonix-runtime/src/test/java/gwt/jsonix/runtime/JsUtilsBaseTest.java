@@ -0,0 +1,72 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.runtime;
+
+import java.util.Arrays;
+import java.util.List;
+
+import jsinterop.base.JsArrayLike;
+
+public class JsUtilsBaseTest extends AbstractRuntimeTest {
+
+    public void testAddRemove() {
+        final JsArrayLike<String> array = JsUtilsBase.getNativeArray();
+        JsUtilsBase.add(array, "first");
+        JsUtilsBase.addAll(array, "second", "third");
+        assertEquals(3, array.getLength());
+        JsUtilsBase.remove(array, 1);
+        assertEquals(Arrays.asList("first", "third"), JsUtilsBase.toList(array));
+    }
+
+    public void testToJsArrayLike() {
+        final List<String> list = Arrays.asList("first", "second");
+        final JsArrayLike<String> retrieved = JsUtilsBase.toJsArrayLike(list);
+        assertEquals(2, retrieved.getLength());
+        assertEquals(list, JsUtilsBase.toList(retrieved));
+        assertEquals(0, JsUtilsBase.toJsArrayLike(null).getLength());
+        assertTrue(JsUtilsBase.toList(null).isEmpty());
+    }
+
+    public void testWrappedElements() {
+        final Object wrapped = JsUtilsBase.getWrappedElement("value");
+        assertEquals("value", JsUtilsBase.getUnwrappedElement(wrapped));
+        final JsArrayLike<Object> array = JsUtilsBase.getNativeArray();
+        JsUtilsBase.add(array, wrapped);
+        assertEquals("value", JsUtilsBase.getUnwrappedElementsArray(array).getAt(0));
+        assertEquals(0, JsUtilsBase.getUnwrappedElementsArray(null).getLength());
+    }
+
+    public void testWrappersPool() {
+        final Object first = JsUtilsBase.acquireWrappedElement("first");
+        assertEquals("first", JsUtilsBase.getUnwrappedElementAndRelease(first));
+        // a released wrapper is handed out again, and a double release does not pool it twice
+        JsUtilsBase.releaseWrappedElement(first);
+        final Object second = JsUtilsBase.acquireWrappedElement("second");
+        final Object third = JsUtilsBase.acquireWrappedElement("third");
+        assertSame(first, second);
+        assertNotSame(second, third);
+        assertEquals("third", JsUtilsBase.getUnwrappedElement(third));
+    }
+
+    public void testDeepHelpers() {
+        final Object original = newObject("items", JsUtilsBase.toJsArrayLike(Arrays.asList("a", "b")));
+        final Object copy = JsUtilsBase.deepCopy(original);
+        assertNotSame(original, copy);
+        assertTrue(JsUtilsBase.deepEquals(original, copy));
+        assertEquals(JsUtilsBase.deepHashCode(original), JsUtilsBase.deepHashCode(copy));
+        assertFalse(JsUtilsBase.deepEquals(original, newObject("items", "a")));
+    }
+}
@@ -0,0 +1,12 @@
+/**
+ * == READ ME ==
+ *
+ * This file has been manually modified to dynamically include *ALL* mappings
+ *
+ * The members bound by the generated MainJs class are installed on this object by the generated MainJsRuntime.js,
+ * that has to be loaded right after it.
+ */
+MainJs = {
+
+    mappings: [KIE]
+}
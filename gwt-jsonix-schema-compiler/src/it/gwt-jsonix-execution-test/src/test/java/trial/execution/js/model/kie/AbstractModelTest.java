@@ -175,6 +175,13 @@ public abstract class AbstractModelTest extends AbstractGWTTestCase {
             "    }\n" +
             "}";
 
+    protected static native String load(final String url) /*-{
+        var request = new XMLHttpRequest();
+        request.open("GET", url, false);
+        request.send(null);
+        return request.responseText;
+    }-*/;
+
     protected static native void consoleLog(String toLog)  /*-{
         console.log(toLog)
     }-*/;
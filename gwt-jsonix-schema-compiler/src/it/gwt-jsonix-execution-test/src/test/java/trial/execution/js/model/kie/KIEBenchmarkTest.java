@@ -0,0 +1,196 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package trial.execution.js.model.kie;
+
+import java.util.List;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import jsinterop.base.Js;
+import jsinterop.base.JsArrayLike;
+import jsinterop.base.JsPropertyMap;
+import trial.execution.js.model.MainJs;
+import trial.execution.mapper.JsUtils;
+
+/**
+ * Performance harness of the generated runtime: it runs headless inside the HtmlUnit engine of the GWT test runner
+ * and logs the <b>ops/s</b> of each scenario, on the KIE sample and on a synthetic KIE
+ * <code>ComponentsWidthsExtension</code> with as many <code>ComponentWidths</code> as the shapes of a large DMN diagram
+ * (it is not a DMN document).
+ * <p>
+ * The heap growth of each scenario is logged too, when the engine exposes <code>performance.memory</code>; the HtmlUnit
+ * engine does not, so in the default runner allocation is reported as not available.
+ * <p>
+ * It is excluded from the default build, and runs alone with the <code>benchmark</code> profile.
+ */
+public class KIEBenchmarkTest extends AbstractModelTest {
+
+    private static final String KIE_NAMESPACE = "http://www.drools.org/kie/dmn/1.2";
+
+    private static final String COMPONENTS_WIDTHS_XML = "<kie:ComponentsWidthsExtension xmlns:kie=\"http://www.drools.org/kie/dmn/1.2\">" +
+            "<kie:ComponentWidths dmnElementRef=\"_1\"><kie:width>50.0</kie:width><kie:width>150.5</kie:width></kie:ComponentWidths>" +
+            "<kie:ComponentWidths dmnElementRef=\"_2\"/>" +
+            "</kie:ComponentsWidthsExtension>";
+
+    /**
+     * Number of <code>ComponentWidths</code> of the synthetic document, in the order of the shapes of a large DMN diagram
+     */
+    private static final int SYNTHETIC_COMPONENTS = 1000;
+
+    private static final int SYNTHETIC_WIDTHS = 10;
+
+    /**
+     * Number of wrap/unwrap cycles of each iteration of the wrappers scenarios
+     */
+    private static final int WRAPPERS = 10000;
+
+    private static final int SMALL_ITERATIONS = 200;
+
+    private static final int MEDIUM_ITERATIONS = 20;
+
+    private static final int LARGE_ITERATIONS = 5;
+
+    public void testInitializeJsInteropConstructors() {
+        final JsPropertyMap constructorsMap = MainJs.getConstructorsMap();
+        report("initializeJsInteropConstructors", SMALL_ITERATIONS, () -> MainJs.initializeJsInteropConstructors(constructorsMap));
+    }
+
+    public void testUnmarshall() {
+        final String syntheticXml = getSyntheticXml();
+        report("unmarshall KIE", SMALL_ITERATIONS, () -> MainJs.unmarshall(COMPONENTS_WIDTHS_XML, KIE_NAMESPACE, result -> assertNotNull(result)));
+        report("unmarshall synthetic", LARGE_ITERATIONS, () -> MainJs.unmarshall(syntheticXml, KIE_NAMESPACE, result -> assertNotNull(result)));
+    }
+
+    public void testMarshall() {
+        final JavaScriptObject namespaces = getNamespaces(KIE_NAMESPACE, "kie");
+        final KIE smallValue = unmarshall(COMPONENTS_WIDTHS_XML);
+        final KIE largeValue = unmarshall(getSyntheticXml());
+        report("marshall KIE", SMALL_ITERATIONS, () -> MainJs.marshall(smallValue, namespaces, result -> assertNotNull(result)));
+        report("marshall synthetic", LARGE_ITERATIONS, () -> MainJs.marshall(largeValue, namespaces, result -> assertNotNull(result)));
+    }
+
+    public void testListGetters() {
+        final JSITComponentsWidthsExtension extension = getSyntheticExtension();
+        report("list getter synthetic", MEDIUM_ITERATIONS, () -> {
+            final List<JSITComponentWidths> componentWidths = extension.getComponentWidths();
+            for (int i = 0; i < componentWidths.size(); i++) {
+                // the items are plain js objects, not instances of the native JSITComponentWidths type
+                final Object item = componentWidths.get(i);
+                assertNotNull(Js.<JSITComponentWidths>uncheckedCast(item).getWidth());
+            }
+        });
+    }
+
+    public void testAddRemove() {
+        final JSITComponentsWidthsExtension extension = getSyntheticExtension();
+        report("add/remove synthetic", SMALL_ITERATIONS, () -> {
+            extension.addComponentWidths(new JSITComponentWidths());
+            extension.removeComponentWidths(0);
+        });
+    }
+
+    public void testWrappedElements() {
+        final JSITComponentWidths value = new JSITComponentWidths();
+        report("wrap/unwrap", MEDIUM_ITERATIONS, () -> {
+            for (int i = 0; i < WRAPPERS; i++) {
+                assertNotNull(JsUtils.getUnwrappedElement(JsUtils.getWrappedElement(value)));
+            }
+        });
+        report("wrap/unwrap pooled", MEDIUM_ITERATIONS, () -> {
+            for (int i = 0; i < WRAPPERS; i++) {
+                assertNotNull(JsUtils.getUnwrappedElementAndRelease(JsUtils.acquireWrappedElement(value)));
+            }
+        });
+    }
+
+    public void testElementAddition() {
+        report("element addition", MEDIUM_ITERATIONS, () -> {
+            final JsArrayLike<JSITComponentWidths> array = JsUtils.getNativeArray();
+            for (int i = 0; i < SYNTHETIC_COMPONENTS; i++) {
+                JsUtils.add(array, new JSITComponentWidths());
+            }
+            assertEquals(SYNTHETIC_COMPONENTS, array.getLength());
+        });
+    }
+
+    /**
+     * Runs the given scenario once to warm it up, then the given number of times, and logs its <b>ops/s</b> and,
+     * if available, the heap growth per operation
+     * @param name
+     * @param iterations
+     * @param scenario
+     */
+    private void report(final String name, final int iterations, final Runnable scenario) {
+        scenario.run();
+        final double startHeap = usedHeap();
+        final double start = now();
+        for (int i = 0; i < iterations; i++) {
+            scenario.run();
+        }
+        final double elapsed = Math.max(now() - start, 1);
+        final double endHeap = usedHeap();
+        final String allocation = startHeap < 0 || endHeap < 0 ? "allocation n/a, no heap statistics in this engine" : "heap growth " + Math.round((endHeap - startHeap) / iterations) + " bytes/op";
+        consoleLog("BENCHMARK " + name + ": " + Math.round(iterations * 10000 / elapsed) / 10.0 + " ops/s (" + iterations + " ops in " + Math.round(elapsed) + " ms, " + allocation + ")");
+    }
+
+    private KIE unmarshall(final String xml) {
+        final KIE[] toReturn = new KIE[1];
+        MainJs.unmarshall(xml, KIE_NAMESPACE, result -> toReturn[0] = result);
+        assertNotNull(toReturn[0]);
+        return toReturn[0];
+    }
+
+    private JSITComponentsWidthsExtension getSyntheticExtension() {
+        final JSITComponentsWidthsExtension toReturn = new JSITComponentsWidthsExtension();
+        for (int i = 0; i < SYNTHETIC_COMPONENTS; i++) {
+            final JSITComponentWidths componentWidths = new JSITComponentWidths();
+            componentWidths.setDmnElementRef("_" + i);
+            for (int j = 0; j < SYNTHETIC_WIDTHS; j++) {
+                componentWidths.addWidth((float) j);
+            }
+            toReturn.addComponentWidths(componentWidths);
+        }
+        return toReturn;
+    }
+
+    private static String getSyntheticXml() {
+        final StringBuilder toReturn = new StringBuilder("<kie:ComponentsWidthsExtension xmlns:kie=\"http://www.drools.org/kie/dmn/1.2\">");
+        for (int i = 0; i < SYNTHETIC_COMPONENTS; i++) {
+            toReturn.append("<kie:ComponentWidths dmnElementRef=\"_").append(i).append("\">");
+            for (int j = 0; j < SYNTHETIC_WIDTHS; j++) {
+                toReturn.append("<kie:width>").append(j).append(".5</kie:width>");
+            }
+            toReturn.append("</kie:ComponentWidths>");
+        }
+        return toReturn.append("</kie:ComponentsWidthsExtension>").toString();
+    }
+
+    private static native double now() /*-{
+        return $wnd.performance && $wnd.performance.now ? $wnd.performance.now() : new Date().getTime();
+    }-*/;
+
+    /**
+     * @return the used js heap size in bytes, or <code>-1</code> if the engine does not expose it
+     */
+    private static native double usedHeap() /*-{
+        return $wnd.performance && $wnd.performance.memory ? $wnd.performance.memory.usedJSHeapSize : -1;
+    }-*/;
+
+    private static native JavaScriptObject getNamespaces(final String namespaceURI, final String prefix) /*-{
+        var toReturn = {};
+        toReturn[namespaceURI] = prefix;
+        return toReturn;
+    }-*/;
+}
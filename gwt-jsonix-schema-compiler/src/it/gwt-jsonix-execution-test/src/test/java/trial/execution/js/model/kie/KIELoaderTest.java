@@ -0,0 +1,44 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package trial.execution.js.model.kie;
+
+import com.google.gwt.core.client.RunAsyncCallback;
+
+public class KIELoaderTest extends AbstractModelTest {
+
+    public void testRegister() {
+        KIELoader.register();
+        JSITAttachment retrieved = new JSITAttachment();
+        assertNotNull(retrieved);
+        assertTrue(JSITAttachment.instanceOf(retrieved));
+    }
+
+    public void testLoad() {
+        delayTestFinish(10000);
+        KIELoader.load(new RunAsyncCallback() {
+            @Override
+            public void onFailure(Throwable reason) {
+                fail(reason.getMessage());
+            }
+
+            @Override
+            public void onSuccess() {
+                assertEquals("KIE.TAttachment", new JSITAttachment().getTYPE_NAME());
+                finishTest();
+            }
+        });
+    }
+}
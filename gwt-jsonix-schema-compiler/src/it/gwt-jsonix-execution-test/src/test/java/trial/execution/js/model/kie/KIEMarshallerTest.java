@@ -0,0 +1,79 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package trial.execution.js.model.kie;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import trial.execution.js.model.MainJsMarshaller;
+
+public class KIEMarshallerTest extends AbstractModelTest {
+
+    private static final String KIE_NAMESPACE = "http://www.drools.org/kie/dmn/1.2";
+
+    private static final String ATTACHMENT_XML = "<kie:attachment xmlns:kie=\"http://www.drools.org/kie/dmn/1.2\" url=\"http://www.kie.org\" name=\"kie\">attachment value</kie:attachment>";
+
+    private static final String COMPONENTS_WIDTHS_XML = "<kie:ComponentsWidthsExtension xmlns:kie=\"http://www.drools.org/kie/dmn/1.2\">" +
+            "<kie:ComponentWidths dmnElementRef=\"_1\"><kie:width>50.0</kie:width><kie:width>150.5</kie:width></kie:ComponentWidths>" +
+            "<kie:ComponentWidths dmnElementRef=\"_2\"/>" +
+            "</kie:ComponentsWidthsExtension>";
+
+    public void testMarshallAttachment() {
+        final JavaScriptObject value = unmarshallWithJsonix(ATTACHMENT_XML);
+        final JavaScriptObject namespaces = getNamespaces(KIE_NAMESPACE, "kie");
+        assertEquals(marshallWithJsonix(value, namespaces), MainJsMarshaller.marshall(value, namespaces));
+    }
+
+    public void testMarshallComponentsWidthsExtension() {
+        final JavaScriptObject value = unmarshallWithJsonix(COMPONENTS_WIDTHS_XML);
+        final JavaScriptObject namespaces = getNamespaces(KIE_NAMESPACE, "kie");
+        final String retrieved = MainJsMarshaller.marshall(value, namespaces);
+        assertEquals(marshallWithJsonix(value, namespaces), retrieved);
+        assertTrue(retrieved.contains("<kie:width>150.5</kie:width>"));
+    }
+
+    public void testMarshallWithGeneratedPrefixes() {
+        final JavaScriptObject value = unmarshallWithJsonix(COMPONENTS_WIDTHS_XML);
+        final JavaScriptObject namespaces = JavaScriptObject.createObject();
+        assertEquals(marshallWithJsonix(value, namespaces), MainJsMarshaller.marshall(value, namespaces));
+    }
+
+    public void testMarshallEscapedText() {
+        final String xml = "<kie:attachment xmlns:kie=\"http://www.drools.org/kie/dmn/1.2\" name=\"a &quot;b&quot; &amp; c\">x &lt; y &amp;&amp; y &gt; z</kie:attachment>";
+        final JavaScriptObject value = unmarshallWithJsonix(xml);
+        final String retrieved = MainJsMarshaller.marshall(value, getNamespaces(KIE_NAMESPACE, "kie"));
+        assertEquals("<kie:attachment xmlns:kie=\"http://www.drools.org/kie/dmn/1.2\" name=\"a &quot;b&quot; &amp; c\">x &lt; y &amp;&amp; y &gt; z</kie:attachment>", retrieved);
+        assertEquals(stringify(value), stringify(unmarshallWithJsonix(retrieved)));
+    }
+
+    private static native JavaScriptObject getNamespaces(final String namespaceURI, final String prefix) /*-{
+        var toReturn = {};
+        toReturn[namespaceURI] = prefix;
+        return toReturn;
+    }-*/;
+
+    private static native JavaScriptObject unmarshallWithJsonix(final String xmlString) /*-{
+        return new $wnd.Jsonix.Context([$wnd.KIE]).createUnmarshaller().unmarshalString(xmlString);
+    }-*/;
+
+    private static native String marshallWithJsonix(final JavaScriptObject value, final JavaScriptObject namespaces) /*-{
+        var context = new $wnd.Jsonix.Context([$wnd.KIE], {namespacePrefixes: namespaces});
+        var xmlDocument = context.createMarshaller().marshalDocument(value);
+        return new XMLSerializer().serializeToString(xmlDocument);
+    }-*/;
+
+    private static native String stringify(final JavaScriptObject toStringify) /*-{
+        return JSON.stringify(toStringify);
+    }-*/;
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package trial.execution.js.model.kie;
+
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.ScriptInjector;
+import trial.execution.js.model.MainJs;
+import trial.execution.js.model.MainJsMappings;
+
+public class KIEPrecompiledMappingsTest extends AbstractModelTest {
+
+    private static final String ATTACHMENT_XML = "<kie:attachment xmlns:kie=\"http://www.drools.org/kie/dmn/1.2\" url=\"http://www.kie.org\" name=\"kie\">attachment value</kie:attachment>";
+
+    @Override
+    public void gwtSetUp() {
+        super.gwtSetUp();
+        // the actual runtime, instead of the stub injected by AbstractModelTest
+        ScriptInjector.fromString(load(GWT.getModuleBaseURL() + "MainJs.js")).setWindow(ScriptInjector.TOP_WINDOW).inject();
+        ScriptInjector.fromString(load(GWT.getModuleBaseURL() + "MainJsRuntime.js")).setWindow(ScriptInjector.TOP_WINDOW).inject();
+    }
+
+    public void testRegisterConstructors() {
+        removeConstructor("JSITAttachment");
+        MainJsMappings.registerConstructors();
+        final JSITAttachment retrieved = new JSITAttachment();
+        assertTrue(JSITAttachment.instanceOf(retrieved));
+        assertEquals("KIE.TAttachment", retrieved.getTYPE_NAME());
+    }
+
+    public void testPrecompile() {
+        assertFalse(isBuilt());
+        MainJsMappings.precompile();
+        assertTrue(isBuilt());
+        final JavaScriptObject module = getModule();
+        // precompiling again keeps the same modules
+        MainJsMappings.precompile();
+        assertSame(module, getModule());
+    }
+
+    public void testUnmarshallAndMarshallPrecompiled() {
+        MainJsMappings.precompile();
+        final JavaScriptObject structure = getStructure();
+        final KIE[] unmarshalled = new KIE[1];
+        MainJs.unmarshall(ATTACHMENT_XML, "", result -> unmarshalled[0] = result);
+        assertNotNull(unmarshalled[0]);
+        MainJs.marshall(unmarshalled[0], JavaScriptObject.createObject(), result -> {
+            assertTrue(result.contains("url=\"http://www.kie.org\""));
+            assertTrue(result.contains(">attachment value<"));
+        });
+        // the contexts of unmarshall and marshall did not build the lookup tables again
+        assertSame(structure, getStructure());
+    }
+
+    private static native void removeConstructor(final String name) /*-{
+        delete $wnd[name];
+    }-*/;
+
+    private static native JavaScriptObject getModule() /*-{
+        return $wnd.MainJs.mappings[0];
+    }-*/;
+
+    private static native JavaScriptObject getStructure() /*-{
+        return $wnd.MainJs.mappings[0].typeInfos[0].structure;
+    }-*/;
+
+    /**
+     * @return <code>true</code> if the mappings are Jsonix modules whose type infos have already been built
+     */
+    private static native boolean isBuilt() /*-{
+        var module = $wnd.MainJs.mappings[0];
+        return module instanceof $wnd.Jsonix.Model.Module && module.typeInfos.every(function (typeInfo) {
+            return typeInfo.built === true;
+        });
+    }-*/;
+}
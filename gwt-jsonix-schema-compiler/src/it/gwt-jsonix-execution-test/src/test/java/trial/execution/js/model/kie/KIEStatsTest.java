@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package trial.execution.js.model.kie;
+
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.ScriptInjector;
+import jsinterop.base.JsPropertyMap;
+import trial.execution.js.model.MainJs;
+
+public class KIEStatsTest extends AbstractModelTest {
+
+    private static final String ATTACHMENT_XML = "<kie:attachment xmlns:kie=\"http://www.drools.org/kie/dmn/1.2\" url=\"http://www.kie.org\" name=\"kie\">attachment value</kie:attachment>";
+
+    @Override
+    public void gwtSetUp() {
+        super.gwtSetUp();
+        // the actual runtime, instead of the stub injected by AbstractModelTest
+        ScriptInjector.fromString(load(GWT.getModuleBaseURL() + "MainJs.js")).setWindow(ScriptInjector.TOP_WINDOW).inject();
+        ScriptInjector.fromString(load(GWT.getModuleBaseURL() + "MainJsRuntime.js")).setWindow(ScriptInjector.TOP_WINDOW).inject();
+    }
+
+    public void testStatsDisabled() {
+        MainJs.initializeJsInteropConstructors(MainJs.getConstructorsMap());
+        assertNull(MainJs.getStats().get("constructors"));
+    }
+
+    public void testStatsCounts() {
+        MainJs.setStatsLevel(1);
+        MainJs.initializeJsInteropConstructors(MainJs.getConstructorsMap());
+        final KIE[] unmarshalled = new KIE[1];
+        MainJs.unmarshall(ATTACHMENT_XML, "", result -> unmarshalled[0] = result);
+        MainJs.marshall(unmarshalled[0], JavaScriptObject.createObject(), result -> assertNotNull(result));
+        final JsPropertyMap<Object> stats = MainJs.getStats();
+        assertTrue(getCount(stats, "constructors") > 0);
+        assertEquals(1, getCount(stats, "unmarshall"));
+        assertEquals(1, getCount(stats, "marshall"));
+        assertEquals(2, getCount(stats, "context"));
+        assertEquals(0.0, getTime(stats, "marshall"));
+    }
+
+    public void testStatsTimings() {
+        MainJs.setStatsLevel(2);
+        MainJs.unmarshall(ATTACHMENT_XML, "", result -> assertNotNull(result));
+        assertEquals(1, getCount(MainJs.getStats(), "unmarshall"));
+        assertTrue(getTime(MainJs.getStats(), "unmarshall") >= 0);
+    }
+
+    private static native int getCount(final JsPropertyMap<Object> stats, final String name) /*-{
+        return stats[name].count;
+    }-*/;
+
+    private static native double getTime(final JsPropertyMap<Object> stats, final String name) /*-{
+        return stats[name].time;
+    }-*/;
+}
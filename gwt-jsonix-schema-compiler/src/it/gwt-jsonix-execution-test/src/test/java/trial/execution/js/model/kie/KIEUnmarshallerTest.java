@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package trial.execution.js.model.kie;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import trial.execution.js.model.MainJsUnmarshaller;
+
+public class KIEUnmarshallerTest extends AbstractModelTest {
+
+    private static final String ATTACHMENT_XML = "<kie:attachment xmlns:kie=\"http://www.drools.org/kie/dmn/1.2\" url=\"http://www.kie.org\" name=\"kie\">attachment value</kie:attachment>";
+
+    private static final String COMPONENTS_WIDTHS_XML = "<kie:ComponentsWidthsExtension xmlns:kie=\"http://www.drools.org/kie/dmn/1.2\">\n" +
+            "  <kie:ComponentWidths dmnElementRef=\"_1\">\n" +
+            "    <kie:width>50.0</kie:width>\n" +
+            "    <kie:width>150.5</kie:width>\n" +
+            "  </kie:ComponentWidths>\n" +
+            "  <kie:ComponentWidths dmnElementRef=\"_2\"/>\n" +
+            "</kie:ComponentsWidthsExtension>";
+
+    public void testUnmarshallAttachment() {
+        assertEquals(stringify(unmarshallWithJsonix(ATTACHMENT_XML)), stringify(MainJsUnmarshaller.unmarshall(ATTACHMENT_XML)));
+    }
+
+    public void testUnmarshallComponentsWidthsExtension() {
+        final String retrieved = stringify(MainJsUnmarshaller.unmarshall(COMPONENTS_WIDTHS_XML));
+        assertEquals(stringify(unmarshallWithJsonix(COMPONENTS_WIDTHS_XML)), retrieved);
+        assertTrue(retrieved.contains("\"width\":[50,150.5]"));
+    }
+
+    public void testUnmarshallUnknownElement() {
+        try {
+            MainJsUnmarshaller.unmarshall("<unknown/>");
+            fail("Unknown root elements should not be unmarshalled");
+        } catch (Exception e) {
+            assertTrue(e.getMessage().contains("could not be unmarshalled"));
+        }
+    }
+
+    private static native JavaScriptObject unmarshallWithJsonix(final String xmlString) /*-{
+        return new $wnd.Jsonix.Context([$wnd.KIE]).createUnmarshaller().unmarshalString(xmlString);
+    }-*/;
+
+    private static native String stringify(final JavaScriptObject toStringify) /*-{
+        return JSON.stringify(toStringify);
+    }-*/;
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package trial.execution.js.model.kie;
+
+import trial.execution.mapper.JsUtils;
+
+public class KIEWrappersPoolTest extends AbstractModelTest {
+
+    public void testAcquireRelease() {
+        final JSITComponentWidths value = new JSITComponentWidths();
+        final Object first = JsUtils.acquireWrappedElement(value);
+        assertSame(value, JsUtils.getUnwrappedElementAndRelease(first));
+        // a released wrapper is handed out again, and a double release does not pool it twice
+        JsUtils.releaseWrappedElement(first);
+        final Object second = JsUtils.acquireWrappedElement("second");
+        final Object third = JsUtils.acquireWrappedElement("third");
+        assertSame(first, second);
+        assertNotSame(second, third);
+        assertEquals("second", JsUtils.getUnwrappedElement(second));
+        assertEquals("third", JsUtils.getUnwrappedElement(third));
+    }
+
+    public void testReleaseNotPooled() {
+        final Object wrapped = JsUtils.getWrappedElement("value");
+        JsUtils.releaseWrappedElement(wrapped);
+        JsUtils.releaseWrappedElement(null);
+        assertNotSame(wrapped, JsUtils.acquireWrappedElement("other"));
+        assertEquals("value", JsUtils.getUnwrappedElement(wrapped));
+    }
+}
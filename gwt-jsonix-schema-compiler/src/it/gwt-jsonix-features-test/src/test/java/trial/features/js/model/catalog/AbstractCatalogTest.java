@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package trial.features.js.model.catalog;
+
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.ScriptInjector;
+import trial.features.js.model.MainJs;
+import trial.features.mapper.AbstractGWTTestCase;
+
+/**
+ * Base class of the tests running against the actual <b>js</b> runtime and the generated Jsonix mappings
+ */
+public abstract class AbstractCatalogTest extends AbstractGWTTestCase {
+
+    protected static final String CATALOG_NAMESPACE = "http://www.kogito.org/trial/catalog";
+
+    protected static final String KINDS_NAMESPACE = "urn:trial:kinds";
+
+    /**
+     * The <b>k</b> prefix is used only inside QName values, and <b>cat</b> and <b>xsi</b> are declared only on the root
+     */
+    protected static final String CATALOG_XML = "<cat:catalog xmlns:cat=\"" + CATALOG_NAMESPACE + "\" xmlns:k=\"" + KINDS_NAMESPACE + "\"" +
+            " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" name=\"store\">" +
+            "<cat:item id=\"i1\" kind=\"k:tool\"><cat:label>hammer</cat:label><cat:quantity>3</cat:quantity><cat:price>9.5</cat:price></cat:item>" +
+            "<cat:item id=\"i2\" kind=\"k:tool\"><cat:label>saw</cat:label><cat:quantity>1</cat:quantity><cat:price>20.0</cat:price></cat:item>" +
+            "<cat:notes>" +
+            "<cat:reference id=\"r1\" kind=\"k:spare\" xsi:type=\"cat:tBundle\"><cat:label>kit</cat:label><cat:part id=\"p1\"><cat:label>nail</cat:label></cat:part></cat:reference>" +
+            "</cat:notes>" +
+            "</cat:catalog>";
+
+    @Override
+    public void gwtSetUp() {
+        inject("Jsonix-all.js");
+        inject("CATALOG.js");
+        inject("MainJs.js");
+        inject("MainJsRuntime.js");
+        MainJs.initializeJsInteropConstructors(MainJs.getConstructorsMap());
+        MainJs.initializeLazyElements(MainJs.getLazyElements());
+    }
+
+    protected CATALOG unmarshall(final String xml) {
+        final CATALOG[] toReturn = new CATALOG[1];
+        MainJs.unmarshall(xml, "", result -> toReturn[0] = result);
+        return toReturn[0];
+    }
+
+    /**
+     * Returns the root instance of the given unmarshalled document, i.e. the <b>value</b> of its <code>{name, value}</code> element
+     * @param unmarshalled
+     * @return
+     */
+    protected static native JSITCatalog getCatalog(final CATALOG unmarshalled) /*-{
+        return unmarshalled.value;
+    }-*/;
+
+    protected String marshall(final CATALOG toMarshall) {
+        final String[] toReturn = new String[1];
+        MainJs.marshall(toMarshall, JavaScriptObject.createObject(), result -> toReturn[0] = result);
+        return toReturn[0];
+    }
+
+    /**
+     * Returns the <b>js</b> type of the given value, as returned by a primitive getter: it is <code>number</code>
+     * unless the underlying property holds a boxed value
+     * @param value
+     * @return
+     */
+    protected static native String getTypeOf(final double value) /*-{
+        return typeof value;
+    }-*/;
+
+    private void inject(final String fileToLoad) {
+        ScriptInjector.fromString(load(GWT.getModuleBaseURL() + fileToLoad)).setWindow(ScriptInjector.TOP_WINDOW).inject();
+    }
+
+    private static native String load(final String url) /*-{
+        var request = new XMLHttpRequest();
+        request.open("GET", url, false);
+        request.send(null);
+        return request.responseText;
+    }-*/;
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package trial.features.js.model.catalog;
+
+import jsinterop.base.Js;
+
+/**
+ * The <b>js</b> properties are compacted (<code>-jscompact</code>), while the xml names are unchanged
+ */
+public class CompactNamesTest extends AbstractCatalogTest {
+
+    public void testCompactNamesRoundTrip() {
+        final CATALOG unmarshalled = unmarshall(CATALOG_XML);
+        final JSITCatalog catalog = getCatalog(unmarshalled);
+        final JSITItem first = Js.uncheckedCast(catalog.getItem().get(0));
+        assertFalse(hasProperty(first, "label"));
+        assertFalse(hasProperty(first, "quantity"));
+        assertFalse(hasProperty(catalog, "item"));
+        assertEquals("store", catalog.getName());
+        assertEquals("hammer", first.getLabel());
+        assertEquals(3, first.getQuantity());
+        assertEquals(9.5, first.getPrice(), 0);
+        assertEquals("i1", first.getId());
+        assertEquals(KINDS_NAMESPACE, first.getKind().getNamespaceURI());
+        assertEquals("tool", first.getKind().getLocalPart());
+
+        first.setLabel("mallet");
+        first.setQuantity(4);
+        final String marshalled = marshall(unmarshalled);
+        assertTrue(marshalled, marshalled.contains("label>mallet</"));
+        assertTrue(marshalled, marshalled.contains("quantity>4</"));
+        assertTrue(marshalled, marshalled.contains("name=\"store\""));
+
+        final JSITCatalog retrieved = getCatalog(unmarshall(marshalled));
+        assertEquals(2, retrieved.getItem().size());
+        final JSITItem retrievedFirst = Js.uncheckedCast(retrieved.getItem().get(0));
+        assertEquals("mallet", retrievedFirst.getLabel());
+        assertEquals(4, retrievedFirst.getQuantity());
+        assertEquals(9.5, retrievedFirst.getPrice(), 0);
+        assertEquals("i1", retrievedFirst.getId());
+        assertEquals("tool", retrievedFirst.getKind().getLocalPart());
+        // the lazy subtree keeps the compact names too, once materialized
+        final JSITBundle bundle = Js.uncheckedCast(retrieved.getNotes().getReference().get(0));
+        assertEquals("kit", bundle.getLabel());
+        final JSITItem part = Js.uncheckedCast(bundle.getPart().get(0));
+        assertEquals("nail", part.getLabel());
+        assertFalse(hasProperty(part, "label"));
+    }
+
+    private static native boolean hasProperty(final Object instance, final String propertyName) /*-{
+        return propertyName in instance;
+    }-*/;
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package trial.features.js.model.catalog;
+
+import jsinterop.base.Js;
+
+public class DeepHelpersTest extends AbstractCatalogTest {
+
+    public void testCopyEqualToOriginal() {
+        final JSITCatalog original = getCatalog(unmarshall(CATALOG_XML));
+        final JSITCatalog copy = JSITCatalog.copy(original);
+        assertNotSame(original, copy);
+        assertTrue(JSITCatalog.deepEquals(original, copy));
+        assertEquals(JSITCatalog.deepHashCode(original), JSITCatalog.deepHashCode(copy));
+
+        final JSITItem originalItem = Js.uncheckedCast(original.getItem().get(0));
+        final JSITItem copiedItem = Js.uncheckedCast(copy.getItem().get(0));
+        assertNotSame(originalItem, copiedItem);
+        assertEquals(3, copiedItem.getQuantity());
+        assertEquals(9.5, copiedItem.getPrice());
+        assertEquals("number", getTypeOf(copiedItem.getQuantity()));
+        assertEquals(originalItem.getKind(), copiedItem.getKind());
+
+        // the subclass found by xsi:type is copied as such
+        final JSITItem copiedReference = Js.uncheckedCast(copy.getNotes().getReference().get(0));
+        assertTrue(JSITBundle.instanceOf(copiedReference));
+        final JSITBundle copiedBundle = Js.uncheckedCast(copiedReference);
+        assertEquals(1, copiedBundle.getPart().size());
+    }
+
+    public void testModifiedCopyNotEqual() {
+        final JSITCatalog original = getCatalog(unmarshall(CATALOG_XML));
+        final JSITCatalog copy = JSITCatalog.copy(original);
+        final JSITItem copiedItem = Js.uncheckedCast(copy.getItem().get(1));
+        copiedItem.setQuantity(2);
+        assertFalse(JSITCatalog.deepEquals(original, copy));
+        final JSITItem originalItem = Js.uncheckedCast(original.getItem().get(1));
+        assertEquals(1, originalItem.getQuantity());
+
+        copiedItem.setQuantity(1);
+        final JSITBundle copiedBundle = Js.uncheckedCast(copy.getNotes().getReference().get(0));
+        final JSITItem copiedPart = Js.uncheckedCast(copiedBundle.getPart().get(0));
+        copiedPart.setLabel("tack");
+        assertFalse(JSITCatalog.deepEquals(original, copy));
+        final JSITBundle originalBundle = Js.uncheckedCast(original.getNotes().getReference().get(0));
+        final JSITItem originalPart = Js.uncheckedCast(originalBundle.getPart().get(0));
+        assertEquals("nail", originalPart.getLabel());
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package trial.features.js.model.catalog;
+
+import jsinterop.base.Js;
+import trial.features.js.model.MainJs;
+
+public class DirtyTrackingTest extends AbstractCatalogTest {
+
+    @Override
+    public void gwtSetUp() {
+        super.gwtSetUp();
+        MainJs.enableDirtyTracking();
+    }
+
+    public void testCleanFragmentsReused() {
+        final CATALOG unmarshalled = unmarshall(CATALOG_XML);
+        final JSITCatalog catalog = getCatalog(unmarshalled);
+        final JSITItem first = Js.uncheckedCast(catalog.getItem().get(0));
+        final JSITItem second = Js.uncheckedCast(catalog.getItem().get(1));
+        marshall(unmarshalled);
+        final Object firstFragment = getFragment(first);
+        final Object secondFragment = getFragment(second);
+        assertNotNull(firstFragment);
+        assertNotNull(secondFragment);
+
+        second.setQuantity(5);
+        // the tracked setter keeps the js property a plain number, as the native one would
+        assertEquals("number", getTypeOf(second.getQuantity()));
+        final String marshalled = marshall(unmarshalled);
+        assertSame(firstFragment, getFragment(first));
+        assertNotSame(secondFragment, getFragment(second));
+
+        final JSITCatalog retrieved = getCatalog(unmarshall(marshalled));
+        final JSITItem retrievedFirst = Js.uncheckedCast(retrieved.getItem().get(0));
+        final JSITItem retrievedSecond = Js.uncheckedCast(retrieved.getItem().get(1));
+        assertEquals(3, retrievedFirst.getQuantity());
+        assertEquals(5, retrievedSecond.getQuantity());
+    }
+
+    public void testInPlaceMutatorFlagsAncestors() {
+        final CATALOG unmarshalled = unmarshall(CATALOG_XML);
+        final JSITBundle bundle = Js.uncheckedCast(getCatalog(unmarshalled).getNotes().getReference().get(0));
+        marshall(unmarshalled);
+        final JSITItem screw = new JSITItem();
+        screw.setLabel("screw");
+
+        // the materialized lazy subtree is attached to its parent, so that the cached notes fragment is not reused
+        bundle.addPart(screw);
+        final JSITNotes notes = getCatalog(unmarshall(marshall(unmarshalled))).getNotes();
+        final JSITBundle retrieved = Js.uncheckedCast(notes.getReference().get(0));
+        assertEquals(2, retrieved.getPart().size());
+        final JSITItem retrievedScrew = Js.uncheckedCast(retrieved.getPart().get(1));
+        assertEquals("screw", retrievedScrew.getLabel());
+    }
+
+    private static native Object getFragment(final Object instance) /*-{
+        return instance.__fragment;
+    }-*/;
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package trial.features.js.model.catalog;
+
+import jsinterop.base.Js;
+
+public class IdIndexTest extends AbstractCatalogTest {
+
+    public void testGetByIdAfterModifications() {
+        final CATALOG unmarshalled = unmarshall(CATALOG_XML);
+        final JSITCatalog catalog = getCatalog(unmarshalled);
+        final JSITItem first = Js.uncheckedCast(catalog.getItem().get(0));
+        final JSITItem second = Js.uncheckedCast(catalog.getItem().get(1));
+        assertSame(first, getById(unmarshalled, "i1"));
+        assertSame(second, getById(unmarshalled, "i2"));
+        assertNull(getById(unmarshalled, "i3"));
+
+        // the lazy notes are indexed once materialized
+        final JSITBundle bundle = Js.uncheckedCast(catalog.getNotes().getReference().get(0));
+        final Object part = bundle.getPart().get(0);
+        assertSame(bundle, getById(unmarshalled, "r1"));
+        assertSame(part, getById(unmarshalled, "p1"));
+
+        final JSITItem drill = new JSITItem();
+        drill.setId("i3");
+        catalog.addItem(drill);
+        assertSame(drill, getById(unmarshalled, "i3"));
+
+        catalog.removeItem(0);
+        assertNull(getById(unmarshalled, "i1"));
+        assertSame(second, getById(unmarshalled, "i2"));
+
+        second.setId("i9");
+        assertNull(getById(unmarshalled, "i2"));
+        assertSame(second, getById(unmarshalled, "i9"));
+    }
+
+    public void testNotIndexedGraphUntouched() {
+        final CATALOG unmarshalled = unmarshall(CATALOG_XML);
+        final JSITCatalog catalog = getCatalog(unmarshalled);
+        final JSITItem first = Js.uncheckedCast(catalog.getItem().get(0));
+
+        // the tracked setters of a graph never indexed do not build the index
+        first.setId("i7");
+        catalog.removeItem(1);
+        assertFalse(isIndexed(first));
+        assertSame(first, getById(unmarshalled, "i7"));
+        assertNull(getById(unmarshalled, "i2"));
+        assertTrue(isIndexed(first));
+    }
+
+    private static Object getById(final CATALOG unmarshalled, final String id) {
+        return unmarshalled.getById(id);
+    }
+
+    private static native boolean isIndexed(final Object instance) /*-{
+        return instance.__indexed != null;
+    }-*/;
+}
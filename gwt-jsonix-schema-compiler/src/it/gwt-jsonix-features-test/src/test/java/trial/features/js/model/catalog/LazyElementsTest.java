@@ -0,0 +1,68 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package trial.features.js.model.catalog;
+
+import javax.xml.namespace.QName;
+
+import jsinterop.base.Js;
+
+public class LazyElementsTest extends AbstractCatalogTest {
+
+    public void testMaterializeWithAncestorsPrefixes() {
+        final JSITNotes notes = getCatalog(unmarshall(CATALOG_XML)).getNotes();
+        assertNotNull(notes);
+        assertEquals(1, notes.getReference().size());
+        verifyReference(Js.uncheckedCast(notes.getReference().get(0)));
+    }
+
+    public void testRoundTripNotMaterialized() {
+        final String marshalled = marshall(unmarshall(CATALOG_XML));
+        // the slice is written back as it is, with the declarations of the prefixes used by its values
+        assertTrue(marshalled, marshalled.contains("xmlns:k=\"" + KINDS_NAMESPACE + "\""));
+        final JSITNotes notes = getCatalog(unmarshall(marshalled)).getNotes();
+        assertEquals(1, notes.getReference().size());
+        verifyReference(Js.uncheckedCast(notes.getReference().get(0)));
+    }
+
+    public void testRoundTripMaterialized() {
+        final CATALOG unmarshalled = unmarshall(CATALOG_XML);
+        final JSITItem reference = Js.uncheckedCast(getCatalog(unmarshalled).getNotes().getReference().get(0));
+        reference.setLabel("box");
+        final JSITNotes notes = getCatalog(unmarshall(marshall(unmarshalled))).getNotes();
+        assertEquals(1, notes.getReference().size());
+        final JSITItem retrieved = Js.uncheckedCast(notes.getReference().get(0));
+        assertEquals("box", retrieved.getLabel());
+        verifyKind(retrieved.getKind(), "spare");
+    }
+
+    private void verifyReference(final JSITItem reference) {
+        assertEquals("r1", reference.getId());
+        assertEquals("kit", reference.getLabel());
+        verifyKind(reference.getKind(), "spare");
+        // xsi:type is resolved through the prefix declared on the root
+        assertTrue(JSITBundle.instanceOf(reference));
+        final JSITBundle bundle = Js.uncheckedCast(reference);
+        assertEquals(1, bundle.getPart().size());
+        final JSITItem part = Js.uncheckedCast(bundle.getPart().get(0));
+        assertEquals("nail", part.getLabel());
+    }
+
+    private void verifyKind(final QName kind, final String localPart) {
+        assertNotNull(kind);
+        assertEquals(KINDS_NAMESPACE, kind.getNamespaceURI());
+        assertEquals(localPart, kind.getLocalPart());
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package trial.features.js.model.catalog;
+
+import jsinterop.base.Js;
+import trial.features.mapper.JsUtils;
+
+/**
+ * The dirty tracking of the <code>MainJs</code> is not enabled here: the graph is attached to its parents by the snapshot itself
+ */
+public class SnapshotsTest extends AbstractCatalogTest {
+
+    public void testSnapshotUnchangedByLaterModifications() {
+        final JSITCatalog catalog = getCatalog(unmarshall(CATALOG_XML));
+        final Object snapshot = JsUtils.takeSnapshot(catalog);
+
+        catalog.setName("shop");
+        final JSITItem second = Js.uncheckedCast(catalog.getItem().get(1));
+        second.setQuantity(5);
+        final JSITItem drill = new JSITItem();
+        drill.setLabel("drill");
+        catalog.addItem(drill);
+        // the lazy notes are materialized after the snapshot
+        final JSITBundle bundle = Js.uncheckedCast(catalog.getNotes().getReference().get(0));
+        final JSITItem part = Js.uncheckedCast(bundle.getPart().get(0));
+        part.setLabel("tack");
+
+        final JSITCatalog snapshotCatalog = getSnapshotCatalog(snapshot);
+        assertNotSame(catalog, snapshotCatalog);
+        assertEquals("store", snapshotCatalog.getName());
+        assertEquals(2, snapshotCatalog.getItem().size());
+        final JSITItem snapshotSecond = Js.uncheckedCast(snapshotCatalog.getItem().get(1));
+        assertEquals(1, snapshotSecond.getQuantity());
+        final JSITBundle snapshotBundle = Js.uncheckedCast(snapshotCatalog.getNotes().getReference().get(0));
+        final JSITItem snapshotPart = Js.uncheckedCast(snapshotBundle.getPart().get(0));
+        assertEquals("nail", snapshotPart.getLabel());
+
+        assertEquals("shop", catalog.getName());
+        assertEquals(3, catalog.getItem().size());
+        assertEquals(5, second.getQuantity());
+        assertEquals("tack", part.getLabel());
+    }
+
+    public void testUnmodifiedInstancesShared() {
+        final JSITCatalog catalog = getCatalog(unmarshall(CATALOG_XML));
+        final Object snapshot = JsUtils.takeSnapshot(catalog);
+        final JSITItem first = Js.uncheckedCast(catalog.getItem().get(0));
+        final JSITItem second = Js.uncheckedCast(catalog.getItem().get(1));
+
+        second.setLabel("jigsaw");
+        final JSITCatalog snapshotCatalog = getSnapshotCatalog(snapshot);
+        // only the path from the modified instance to the root is copied
+        assertSame(first, snapshotCatalog.getItem().get(0));
+        assertNotSame(second, snapshotCatalog.getItem().get(1));
+        final JSITItem snapshotSecond = Js.uncheckedCast(snapshotCatalog.getItem().get(1));
+        assertEquals("saw", snapshotSecond.getLabel());
+    }
+
+    private static JSITCatalog getSnapshotCatalog(final Object snapshot) {
+        final Object toReturn = JsUtils.getSnapshotRoot(snapshot);
+        return Js.uncheckedCast(toReturn);
+    }
+}
@@ -0,0 +1,384 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.marshallers.xjc.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.xml.namespace.QName;
+
+import org.hisrc.jsonix.settings.Settings;
+import org.kohsuke.args4j.Option;
+
+import static gwt.jsonix.marshallers.xjc.plugin.JsonixGWTPlugin.MAIN_JS;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.AccessorProfileUtils.readAccessorProfile;
+
+public class GWTSettings extends Settings {
+
+    private File jsinteropDirectory;
+
+    private String jsMainPackage = "";
+
+    private String mainJsName = MAIN_JS;
+
+    private List<QName> lazyElements = Collections.emptyList();
+
+    private List<QName> rootElements = Collections.emptyList();
+
+    private Set<String> accessorProfile = null;
+
+    private boolean splitModules = false;
+
+    private boolean compactNames = false;
+
+    private boolean precompiledMappings = false;
+
+    private boolean specializedUnmarshaller = false;
+
+    private boolean specializedMarshaller = false;
+
+    private boolean jvmConverters = false;
+
+    private boolean stats = false;
+
+    private boolean pooledWrappers = false;
+
+    private boolean sharedRuntime = false;
+
+    private boolean dirtyTracking = false;
+
+    private boolean snapshots = false;
+
+    private File cacheDirectory;
+
+    private boolean streamingGeneration = false;
+
+    private boolean idIndex = false;
+
+    private boolean deepHelpers = false;
+
+    public File getJsinteropDirectory() {
+        return jsinteropDirectory;
+    }
+
+    public String getJsMainPackage() {
+        return jsMainPackage;
+    }
+
+    public String getMainJsName() {
+        return mainJsName;
+    }
+
+    public List<QName> getLazyElements() {
+        return lazyElements;
+    }
+
+    public List<QName> getRootElements() {
+        return rootElements;
+    }
+
+    /**
+     * @param memberName
+     * @return <code>true</code> if no <b>accessorProfile</b> has been provided or if it contains the given member
+     */
+    public boolean isUsedMember(String memberName) {
+        return accessorProfile == null || accessorProfile.contains(memberName);
+    }
+
+    public boolean isSplitModules() {
+        return splitModules;
+    }
+
+    public boolean isCompactNames() {
+        return compactNames;
+    }
+
+    public boolean isPrecompiledMappings() {
+        return precompiledMappings;
+    }
+
+    public boolean isSpecializedUnmarshaller() {
+        return specializedUnmarshaller;
+    }
+
+    public boolean isSpecializedMarshaller() {
+        return specializedMarshaller;
+    }
+
+    public boolean isJvmConverters() {
+        return jvmConverters;
+    }
+
+    public boolean isStats() {
+        return stats;
+    }
+
+    public boolean isPooledWrappers() {
+        return pooledWrappers;
+    }
+
+    public boolean isSharedRuntime() {
+        return sharedRuntime;
+    }
+
+    public boolean isDirtyTracking() {
+        return dirtyTracking;
+    }
+
+    public boolean isSnapshots() {
+        return snapshots;
+    }
+
+    public File getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    public boolean isStreamingGeneration() {
+        return streamingGeneration;
+    }
+
+    public boolean isIdIndex() {
+        return idIndex;
+    }
+
+    public boolean isDeepHelpers() {
+        return deepHelpers;
+    }
+
+    /**
+     * @return <code>true</code> if setters and list mutators have to be generated as tracked overlays, as required by
+     * <b>dirtyTracking</b>, <b>snapshots</b> and <b>idIndex</b>
+     */
+    public boolean isTrackedSetters() {
+        return dirtyTracking || snapshots || idIndex;
+    }
+
+    @Option(name = "-jsid", aliases = {"-XjsinteropDirectory"})
+    public void setJsinteropDirectory(File jsinteropDirectory) {
+        this.jsinteropDirectory = jsinteropDirectory;
+    }
+
+    @Option(name = "-jsmpkg", aliases = {"-XjsMainPackage"})
+    public void setJsMainPackage(String jsMainPackage) {
+        this.jsMainPackage = jsMainPackage;
+    }
+
+    @Option(name = "-jsmn", aliases = {"-XmainJsName"})
+    public void setMainJsName(String mainJsName) {
+        this.mainJsName = mainJsName;
+    }
+
+    /**
+     * Elements whose subtrees are kept unparsed when unmarshalling, and materialized by the generated getter on first access
+     * @param lazyElements comma-separated list of element names, in the <code>{namespaceURI}localPart</code> form; a
+     * name without namespace matches the local part only
+     */
+    @Option(name = "-jslazy", aliases = {"-XlazyElements"})
+    public void setLazyElements(String lazyElements) {
+        this.lazyElements = parseElementNames(lazyElements);
+    }
+
+    /**
+     * Root elements of the documents to (un)marshall: when set, only the classes reachable from them (through properties,
+     * base classes and substitution groups) are generated; types used only through <code>xsi:type</code> have to be
+     * listed by their type name
+     * @param rootElements comma-separated list of element (or type) names, in the <code>{namespaceURI}localPart</code> form; a
+     * name without namespace matches the local part only
+     */
+    @Option(name = "-jsroots", aliases = {"-XrootElements"})
+    public void setRootElements(String rootElements) {
+        this.rootElements = parseElementNames(rootElements);
+    }
+
+    /**
+     * Members used by the application code: when set, only the required accessors are generated
+     * @param accessorProfile comma-separated list of paths; directories and <code>.java</code> files are scanned for the
+     * referenced members, other files list one member name per line
+     * @throws IOException
+     */
+    @Option(name = "-jsaccessors", aliases = {"-XaccessorProfile"})
+    public void setAccessorProfile(String accessorProfile) throws IOException {
+        this.accessorProfile = readAccessorProfile(accessorProfile);
+    }
+
+    /**
+     * When enabled, a <code>&lt;Module&gt;Loader</code> class is generated for each module, registering only its
+     * constructors, directly or through a <code>GWT.runAsync</code> split point
+     * @param splitModules
+     */
+    @Option(name = "-jssplit", aliases = {"-XsplitModules"})
+    public void setSplitModules(boolean splitModules) {
+        this.splitModules = splitModules;
+    }
+
+    /**
+     * When enabled, the <b>js</b> properties (in both the Jsonix mappings and the generated <code>JsProperty</code>
+     * accessors) get short names; the names of the Java accessors are unchanged
+     * @param compactNames
+     */
+    @Option(name = "-jscompact", aliases = {"-XcompactNames"})
+    public void setCompactNames(boolean compactNames) {
+        this.compactNames = compactNames;
+    }
+
+    /**
+     * When enabled, a <code>&lt;MainJs&gt;Mappings</code> class is generated, with the <b>JSInterop</b> constructors
+     * inlined and a <code>precompile</code> method building the Jsonix mapping modules once, to be reused by every
+     * later context
+     * @param precompiledMappings
+     */
+    @Option(name = "-jsprecompile", aliases = {"-XprecompiledMappings"})
+    public void setPrecompiledMappings(boolean precompiledMappings) {
+        this.precompiledMappings = precompiledMappings;
+    }
+
+    /**
+     * When enabled, a <code>&lt;MainJs&gt;Unmarshaller</code> class is generated, walking the <b>xml</b> with a
+     * <code>switch</code> on the names known by each class instead of interpreting the Jsonix mappings
+     * @param specializedUnmarshaller
+     */
+    @Option(name = "-jsunmarshaller", aliases = {"-XspecializedUnmarshaller"})
+    public void setSpecializedUnmarshaller(boolean specializedUnmarshaller) {
+        this.specializedUnmarshaller = specializedUnmarshaller;
+    }
+
+    /**
+     * When enabled, a <code>&lt;MainJs&gt;Marshaller</code> class is generated, writing the <b>xml</b> straight into a
+     * string buffer in schema order instead of building a DOM through the Jsonix mappings
+     * @param specializedMarshaller
+     */
+    @Option(name = "-jsmarshaller", aliases = {"-XspecializedMarshaller"})
+    public void setSpecializedMarshaller(boolean specializedMarshaller) {
+        this.specializedMarshaller = specializedMarshaller;
+    }
+
+    /**
+     * When enabled, a <code>JSIConverter</code> class is generated together with the JAXB beans, converting them to and
+     * from the <b>JSI-shaped</b> maps exchanged with the client, so that the server side does not need Jsonix
+     * @param jvmConverters
+     */
+    @Option(name = "-jsconverters", aliases = {"-XjvmConverters"})
+    public void setJvmConverters(boolean jvmConverters) {
+        this.jvmConverters = jvmConverters;
+    }
+
+    /**
+     * When enabled, the <code>getStats</code> and <code>setStatsLevel</code> methods are added to <code>MainJs</code>, to
+     * read the counts and timings collected by the <b>js</b> runtime at the given instrumentation level
+     * @param stats
+     */
+    @Option(name = "-jsstats", aliases = {"-Xstats"})
+    public void setStats(boolean stats) {
+        this.stats = stats;
+    }
+
+    /**
+     * When enabled, <code>JsUtils</code> also provides a bounded pool of the <code>{name, value}</code> wrappers used
+     * in transient unwrap/rewrap cycles (<code>acquireWrappedElement</code>/<code>releaseWrappedElement</code>)
+     * @param pooledWrappers
+     */
+    @Option(name = "-jspool", aliases = {"-XpooledWrappers"})
+    public void setPooledWrappers(boolean pooledWrappers) {
+        this.pooledWrappers = pooledWrappers;
+    }
+
+    /**
+     * When enabled, the generated <code>JsUtils</code> extends <code>gwt.jsonix.runtime.JsUtilsBase</code> of the prebuilt
+     * <b>gwt-jsonix-runtime</b> artifact (GWT module <code>gwt.jsonix.GwtJsonixRuntime</code>), and only provides the
+     * schema-specific methods; the runtime always includes the wrappers pool
+     * @param sharedRuntime
+     */
+    @Option(name = "-jsruntime", aliases = {"-XsharedRuntime"})
+    public void setSharedRuntime(boolean sharedRuntime) {
+        this.sharedRuntime = sharedRuntime;
+    }
+
+    /**
+     * When enabled, generated setters and list mutators flag the modified instance (and its ancestors) as <b>dirty</b>,
+     * so that the serialized fragments of unchanged subtrees may be reused at marshalling time
+     * @param dirtyTracking
+     */
+    @Option(name = "-jsdirty", aliases = {"-XdirtyTracking"})
+    public void setDirtyTracking(boolean dirtyTracking) {
+        this.dirtyTracking = dirtyTracking;
+    }
+
+    /**
+     * When enabled, JSI graphs support copy-on-write snapshots (<code>JsUtils.takeSnapshot</code>): modifications through
+     * generated setters and list mutators copy only the path to the root of the shared instances
+     * @param snapshots
+     */
+    @Option(name = "-jssnap", aliases = {"-Xsnapshots"})
+    public void setSnapshots(boolean snapshots) {
+        this.snapshots = snapshots;
+    }
+
+    /**
+     * Directory of the generation cache, shared by all the builds (and reactor modules) of the same machine: the
+     * JSInterop code generated from the same schemas, bindings, plugin and options is restored from it instead of
+     * being generated again
+     * @param cacheDirectory
+     */
+    @Option(name = "-jscache", aliases = {"-XcacheDirectory"})
+    public void setCacheDirectory(File cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * When enabled, the JSInterop classes are written and released package by package while they are generated,
+     * instead of all together at the end, so that the memory needed is bounded by the largest package; the
+     * generated code is the same
+     * @param streamingGeneration
+     */
+    @Option(name = "-jsstreaming", aliases = {"-XstreamingGeneration"})
+    public void setStreamingGeneration(boolean streamingGeneration) {
+        this.streamingGeneration = streamingGeneration;
+    }
+
+    /**
+     * When enabled, the container objects provide <code>getById</code>, resolving the instances by their <b>xs:ID</b>
+     * property through an index built on first request and kept up to date by the generated setters and list mutators
+     * @param idIndex
+     */
+    @Option(name = "-jsidindex", aliases = {"-XidIndex"})
+    public void setIdIndex(boolean idIndex) {
+        this.idIndex = idIndex;
+    }
+
+    /**
+     * When enabled, the generated classes provide the <code>copy</code>, <code>deepEquals</code> and
+     * <code>deepHashCode</code> static overlays, backed by the generic helpers of <code>JsUtils</code>
+     * @param deepHelpers
+     */
+    @Option(name = "-jsdeep", aliases = {"-XdeepHelpers"})
+    public void setDeepHelpers(boolean deepHelpers) {
+        this.deepHelpers = deepHelpers;
+    }
+
+    private static List<QName> parseElementNames(String elementNames) {
+        final List<QName> toReturn = new ArrayList<>();
+        for (String elementName : elementNames.split(",")) {
+            if (!elementName.trim().isEmpty()) {
+                toReturn.add(QName.valueOf(elementName.trim()));
+            }
+        }
+        return toReturn;
+    }
+}
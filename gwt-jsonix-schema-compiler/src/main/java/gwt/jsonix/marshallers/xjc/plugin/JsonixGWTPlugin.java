@@ -0,0 +1,376 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.marshallers.xjc.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.writer.FileCodeWriter;
+import com.sun.tools.xjc.BadCommandLineException;
+import com.sun.tools.xjc.Options;
+import com.sun.tools.xjc.model.CElementInfo;
+import com.sun.tools.xjc.model.Model;
+import com.sun.tools.xjc.model.nav.NClass;
+import com.sun.tools.xjc.model.nav.NType;
+import com.sun.tools.xjc.outline.Outline;
+import gwt.jsonix.marshallers.xjc.plugin.builders.CallbacksBuilder;
+import gwt.jsonix.marshallers.xjc.plugin.builders.ContainerObjectBuilder;
+import gwt.jsonix.marshallers.xjc.plugin.builders.ConverterBuilder;
+import gwt.jsonix.marshallers.xjc.plugin.builders.JSINameBuilder;
+import gwt.jsonix.marshallers.xjc.plugin.builders.JsUtilsBuilder;
+import gwt.jsonix.marshallers.xjc.plugin.builders.MainJsBuilder;
+import gwt.jsonix.marshallers.xjc.plugin.builders.MappingsBuilder;
+import gwt.jsonix.marshallers.xjc.plugin.builders.MarshallerBuilder;
+import gwt.jsonix.marshallers.xjc.plugin.builders.ModelBuilder;
+import gwt.jsonix.marshallers.xjc.plugin.builders.ModuleLoaderBuilder;
+import gwt.jsonix.marshallers.xjc.plugin.builders.UnmarshallerBuilder;
+import gwt.jsonix.marshallers.xjc.plugin.dtos.ConstructorMapper;
+import gwt.jsonix.marshallers.xjc.plugin.dtos.GenerationContext;
+import gwt.jsonix.marshallers.xjc.plugin.utils.GenerationCacheUtils;
+import gwt.jsonix.marshallers.xjc.plugin.utils.OrderingUtils;
+import gwt.jsonix.marshallers.xjc.plugin.utils.SortedProgramWriter;
+import gwt.jsonix.marshallers.xjc.plugin.utils.StreamingUtils;
+import org.hisrc.jsonix.args4j.PartialCmdLineParser;
+import org.hisrc.jsonix.compilation.jsonschema.JsonSchemaModulesGenerator;
+import org.hisrc.jsonix.compilation.mapping.ModulesCompiler;
+import org.hisrc.jsonix.configuration.JsonSchemaConfiguration;
+import org.hisrc.jsonix.configuration.ModulesConfiguration;
+import org.hisrc.jsonix.configuration.ModulesConfigurationUnmarshaller;
+import org.hisrc.jsonix.configuration.OutputConfiguration;
+import org.hisrc.jsonix.context.DefaultJsonixContext;
+import org.hisrc.jsonix.definition.Modules;
+import org.hisrc.jsonix.settings.LogLevelSetting;
+import org.hisrc.jsonix.xjc.plugin.CodeModelJsonStructureWriter;
+import org.hisrc.jsonix.xjc.plugin.JsonixPlugin;
+import org.jvnet.jaxb2_commons.xjc.model.concrete.XJCCMInfoFactory;
+import org.jvnet.jaxb2_commons.xml.bind.model.MModelInfo;
+import org.kohsuke.args4j.CmdLineException;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.createCodeWriter;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.getTargetDirectory;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.log;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.writeJSInteropCode;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.ClassNameUtils.getJsInteropTypeName;
+
+/**
+ * Wrapper class of the original <code>JsonixPlugin</code> that also generates <b>JSInterop</b> code
+ */
+public class JsonixGWTPlugin extends JsonixPlugin {
+
+    public static final String OPTION_NAME = "Xgwtjsonix";
+
+    public static final String MAIN_JS = "MainJs";
+
+    private GWTSettings settings = new GWTSettings();
+
+    @Override
+    public GWTSettings getSettings() {
+        return settings;
+    }
+
+    @Override
+    public String getOptionName() {
+        return OPTION_NAME;
+    }
+
+    @Override
+    public String getUsage() {
+        return "  -Xgwtjsonix :  Generates Jsonix mappings and JSInterop code.\n"
+                + "                    See (to_be_defined)";
+    }
+
+    @Override
+    public int parseArgument(final Options opt, final String[] args, final int i)
+            throws BadCommandLineException {
+
+        final PartialCmdLineParser cmdLineParser = new PartialCmdLineParser(
+                getSettings());
+        try {
+            return cmdLineParser.parseArgument(args, i);
+        } catch (CmdLineException clex) {
+            throw new BadCommandLineException("Error parsing arguments.", clex);
+        }
+    }
+
+    @Override
+    public boolean run(final Outline outline, final Options options, final ErrorHandler errorHandler) throws SAXException {
+        if (getSettings().isCompactNames()) {
+            // before the generation of the Jsonix mappings, that use the same names
+            ModelBuilder.compactPropertyNames(outline.getModel());
+        }
+        log(LogLevelSetting.DEBUG, "run");
+        File stagingDirectory = null;
+        try {
+            if (settings.isStreamingGeneration()) {
+                // fail before generating anything
+                StreamingUtils.checkSupported();
+            }
+            final Model model = outline.getModel();
+            final GenerationContext generationContext = createGenerationContext(model);
+            generateJsonixMappings(generationContext, outline, errorHandler);
+            MainJsBuilder.generateMainJsRuntime(outline.getCodeModel(), settings.getMainJsName());
+            if (settings.isJvmConverters()) {
+                // written by XJC itself, next to the JAXB beans
+                ConverterBuilder.generateJSIConverter(outline, generationContext.getPackageModuleMap(), settings.getJsMainPackage());
+            }
+            // the JAXB beans, the Jsonix mappings, the MainJs runtime and the converters are written by XJC itself, so only the JSInterop code is cached
+            final String cacheKey = getCacheKey(model, options);
+            if (cacheKey != null && GenerationCacheUtils.restore(settings.getCacheDirectory(), cacheKey, getTargetDirectory(model, settings), model.options.readOnly)) {
+                return true;
+            }
+            final JCodeModel jCodeModel = new JCodeModel();
+            final JDefinedClass jsiNameClass = JSINameBuilder.generateJSINameClass(jCodeModel, settings.getJsMainPackage());
+            final JDefinedClass jsUtilsClass = JsUtilsBuilder.generateJsUtilsClass(jCodeModel, settings);
+            final Map<String, String> packageModuleMap = generationContext.getPackageModuleMap();
+            final Map<String, JClass> definedClassesMap = new HashMap<>();
+            final Map<String, List<ConstructorMapper>> constructorsMap = getConstructorsMap(jsiNameClass);
+            stagingDirectory = settings.isStreamingGeneration() ? getStagingDirectory(cacheKey) : null;
+            ModelBuilder.generateJSInteropModels(definedClassesMap, model, jCodeModel, packageModuleMap, jsUtilsClass, jsiNameClass, constructorsMap, settings, generationContext, getCodeWriterFactory(model, stagingDirectory));
+            final Map<String, Map<String, JClass>> topLevelElementsMap = getTopLevelElementsMap(packageModuleMap.keySet(), definedClassesMap, model.getAllElements());
+            if (settings.isIdIndex()) {
+                JsUtilsBuilder.generateIdIndexMethods(model, definedClassesMap, packageModuleMap, jsUtilsClass);
+            }
+            final List<JDefinedClass> containersClasses = ContainerObjectBuilder.generateJSInteropContainerObjects(packageModuleMap, topLevelElementsMap, jCodeModel, settings.isIdIndex() ? jsUtilsClass : null);
+            final Map<String, Map<String, JDefinedClass>> callbacksMap = CallbacksBuilder.generateJSInteropCallbacks(containersClasses, jCodeModel);
+            final JDefinedClass mainJsClass = MainJsBuilder.generateJSInteropMainJs(callbacksMap, containersClasses, constructorsMap, jCodeModel, settings.getMainJsName(), settings.getLazyElements(), settings.isTrackedSetters(), settings.isStats());
+            if (settings.isSplitModules()) {
+                ModuleLoaderBuilder.generateJSInteropModuleLoaders(packageModuleMap, constructorsMap, mainJsClass, jCodeModel);
+            }
+            if (settings.isPrecompiledMappings()) {
+                MappingsBuilder.generateJSInteropMappings(constructorsMap, mainJsClass, jCodeModel);
+            }
+            if (settings.isSpecializedUnmarshaller()) {
+                UnmarshallerBuilder.generateJSInteropUnmarshaller(model, packageModuleMap, mainJsClass, jCodeModel);
+            }
+            if (settings.isSpecializedMarshaller()) {
+                MarshallerBuilder.generateJSInteropMarshaller(model, packageModuleMap, mainJsClass, jCodeModel);
+            }
+            if (settings.isStreamingGeneration()) {
+                storeStreamedJSInteropCode(jCodeModel, model, cacheKey, stagingDirectory);
+            } else {
+                storeJSInteropCode(jCodeModel, model, cacheKey);
+            }
+        } catch (Exception e) {
+            log(LogLevelSetting.ERROR, e.getMessage(), e);
+            throw new SAXException(e);
+        } finally {
+            deleteStagingDirectory(stagingDirectory);
+        }
+        return true;
+    }
+
+    @Override
+    public void postProcessModel(final Model model, final ErrorHandler errorHandler) {
+        //
+    }
+
+    /**
+     * @param model
+     * @param options
+     * @return the key of the generation cache entry, or <code>null</code> if the cache is disabled or the inputs cannot be hashed
+     */
+    protected String getCacheKey(final Model model, final Options options) {
+        if (settings.getCacheDirectory() == null) {
+            return null;
+        }
+        try {
+            return GenerationCacheUtils.getCacheKey(model, options, settings);
+        } catch (Exception e) {
+            log(LogLevelSetting.WARN, "Generation cache disabled: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the given <code>JCodeModel</code> through the generation cache, if enabled, and directly otherwise
+     * @param jCodeModel
+     * @param model
+     * @param cacheKey
+     * @throws IOException
+     */
+    protected void storeJSInteropCode(final JCodeModel jCodeModel, final Model model, final String cacheKey) throws IOException {
+        if (cacheKey != null) {
+            try {
+                GenerationCacheUtils.store(settings.getCacheDirectory(), cacheKey, jCodeModel, model.options.encoding);
+                if (GenerationCacheUtils.restore(settings.getCacheDirectory(), cacheKey, getTargetDirectory(model, settings), model.options.readOnly)) {
+                    return;
+                }
+            } catch (IOException e) {
+                log(LogLevelSetting.WARN, "Cannot use the generation cache: " + e.getMessage());
+            }
+        }
+        writeJSInteropCode(jCodeModel, createCodeWriter(model, settings));
+    }
+
+    /**
+     * @param cacheKey
+     * @return the directory where the streamed JSInterop code has to be written before being stored in the generation
+     * cache, or <code>null</code> if the cache is disabled or cannot be used
+     */
+    protected File getStagingDirectory(final String cacheKey) {
+        if (cacheKey == null) {
+            return null;
+        }
+        try {
+            return GenerationCacheUtils.createStagingDirectory(settings.getCacheDirectory(), cacheKey);
+        } catch (IOException e) {
+            log(LogLevelSetting.WARN, "Cannot use the generation cache: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @param model
+     * @param stagingDirectory
+     * @return the factory of the <code>CodeWriter</code>s used to stream the JSInterop code, inside the given staging
+     * directory if any, or <code>null</code> if the streaming generation is disabled
+     */
+    protected StreamingUtils.CodeWriterFactory getCodeWriterFactory(final Model model, final File stagingDirectory) {
+        if (!settings.isStreamingGeneration()) {
+            return null;
+        }
+        if (stagingDirectory != null) {
+            return () -> new FileCodeWriter(stagingDirectory, false, model.options.encoding);
+        }
+        return () -> createCodeWriter(model, settings);
+    }
+
+    /**
+     * Writes what is left of the given <code>JCodeModel</code> after a streaming generation; if the JSInterop code has
+     * been streamed inside a staging directory, the latter is stored as a generation cache entry and then restored
+     * @param jCodeModel
+     * @param model
+     * @param cacheKey
+     * @param stagingDirectory
+     * @throws IOException
+     */
+    protected void storeStreamedJSInteropCode(final JCodeModel jCodeModel, final Model model, final String cacheKey, final File stagingDirectory) throws IOException {
+        if (stagingDirectory == null) {
+            // the streamed classes are not inside the JCodeModel anymore, so it cannot be stored as a whole
+            writeJSInteropCode(jCodeModel, createCodeWriter(model, settings));
+            return;
+        }
+        writeJSInteropCode(jCodeModel, new FileCodeWriter(stagingDirectory, false, model.options.encoding));
+        try {
+            GenerationCacheUtils.commit(settings.getCacheDirectory(), cacheKey, stagingDirectory);
+            if (GenerationCacheUtils.restore(settings.getCacheDirectory(), cacheKey, getTargetDirectory(model, settings), model.options.readOnly)) {
+                return;
+            }
+        } catch (IOException e) {
+            log(LogLevelSetting.WARN, "Cannot use the generation cache: " + e.getMessage());
+        }
+        GenerationCacheUtils.copy(stagingDirectory, getTargetDirectory(model, settings), model.options.readOnly);
+    }
+
+    protected void deleteStagingDirectory(final File stagingDirectory) {
+        if (stagingDirectory == null) {
+            return;
+        }
+        try {
+            GenerationCacheUtils.delete(stagingDirectory);
+        } catch (IOException e) {
+            log(LogLevelSetting.WARN, "Cannot delete the staging directory " + stagingDirectory + ": " + e.getMessage());
+        }
+    }
+
+    protected Map<String, List<ConstructorMapper>> getConstructorsMap(JDefinedClass jsiNameClass ) {
+        // sorted by module, to write them always in the same order; schemas without a Jsonix mapping have a null module
+        final Map<String, List<ConstructorMapper>> toReturn = new TreeMap<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+//        JsInterop__ConstructorAPI__org__kie__workbench__common__dmn__webapp__kogito__marshaller__mapper__JSIName
+        toReturn.put("GWT_JSONIX", Collections.singletonList(new ConstructorMapper(null, getJsInteropTypeName(jsiNameClass.fullName()), null)));
+        return toReturn;
+    }
+
+    protected Map<String, Map<String, JClass>> getTopLevelElementsMap(final Set<String> packageNames,
+                                                                      final Map<String, JClass> definedClassesMap,
+                                                                      final Iterable<? extends CElementInfo> allElements) {
+        log(LogLevelSetting.DEBUG, "getTopLevelElementsMap");
+        final Spliterator<? extends CElementInfo> spliterator = allElements.spliterator();
+        final List<? extends CElementInfo> allElementsList = StreamSupport.stream(spliterator, false).collect(Collectors.toList());
+        final Map<String, Map<String, JClass>> toReturn = new TreeMap<>();
+        for (String packageName : packageNames) {
+            final Map<String, JClass> toPut = allElementsList.stream()
+                    .filter(cElementInfo -> Objects.equals(packageName, cElementInfo._package().name()))
+                    .filter(cElementInfo -> definedClassesMap.containsKey(cElementInfo.getContentType().getType().fullName()))
+                    .collect(Collectors.toMap(cElementInfo -> cElementInfo.getElementName().getLocalPart(),
+                                              cElementInfo -> definedClassesMap.get(cElementInfo.getContentType().getType().fullName()),
+                                              OrderingUtils::throwingMerger,
+                                              TreeMap::new));
+            toReturn.put(packageName, toPut);
+        }
+        return toReturn;
+    }
+
+    protected Map<String, String> getPackageModuleMap(final Model model) {
+        log(LogLevelSetting.DEBUG, "getPackageModuleMap");
+        return createGenerationContext(model).getPackageModuleMap();
+    }
+
+    /**
+     * Reads the modules configuration from the given model, once per run
+     * @param model
+     * @return
+     */
+    protected GenerationContext createGenerationContext(final Model model) {
+        log(LogLevelSetting.DEBUG, "createGenerationContext");
+        final GWTSettings gwtSettings = getSettings();
+        final DefaultJsonixContext context = new DefaultJsonixContext();
+        context.setLogLevel(gwtSettings.getLogLevel().asInt());
+        final OutputConfiguration defaultOutputConfiguration = new OutputConfiguration(
+                gwtSettings.getDefaultNaming().getName(),
+                OutputConfiguration.STANDARD_FILE_NAME_PATTERN);
+        final JsonSchemaConfiguration defaultJsonSchemaConfiguration = gwtSettings
+                .isGenerateJsonSchema() ? new JsonSchemaConfiguration(
+                JsonSchemaConfiguration.STANDARD_FILE_NAME_PATTERN) : null;
+        final ModulesConfigurationUnmarshaller customizationHandler = new ModulesConfigurationUnmarshaller(context);
+        final ModulesConfiguration modulesConfiguration = customizationHandler.unmarshal(model,
+                                                                                         defaultOutputConfiguration,
+                                                                                         defaultJsonSchemaConfiguration);
+        return new GenerationContext(model, context, modulesConfiguration);
+    }
+
+    /**
+     * Generates the Jsonix mappings (and JSON schemas), as the original <code>JsonixPlugin</code> does, but from the
+     * modules configuration of the given context
+     * @param generationContext
+     * @param outline
+     * @param errorHandler
+     */
+    protected void generateJsonixMappings(final GenerationContext generationContext, final Outline outline, final ErrorHandler errorHandler) {
+        log(LogLevelSetting.DEBUG, "generateJsonixMappings");
+        final MModelInfo<NType, NClass> modelInfo = new XJCCMInfoFactory(generationContext.getModel()).createModel();
+        final Modules<NType, NClass> modules = generationContext.getModulesConfiguration().build(generationContext.getJsonixContext(), modelInfo);
+        OrderingUtils.sortMappings(modules);
+        new ModulesCompiler<>(modules).compile(new SortedProgramWriter(outline.getCodeModel(), errorHandler));
+        new JsonSchemaModulesGenerator<>(modules).generate(new CodeModelJsonStructureWriter(outline.getCodeModel(), errorHandler));
+    }
+}
@@ -15,9 +15,9 @@
  */
 package gwt.jsonix.marshallers.xjc.plugin.builders;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import com.sun.codemodel.ClassType;
 import com.sun.codemodel.JClass;
@@ -53,7 +53,7 @@ public class CallbacksBuilder {
      */
     public static Map<String, Map<String, JDefinedClass>> generateJSInteropCallbacks(final List<JDefinedClass> containersClasses, JCodeModel jCodeModel) throws JClassAlreadyExistsException {
         log(LogLevelSetting.DEBUG, "Generating  JSInterop callbacks ...");
-        Map<String, Map<String, JDefinedClass>> toReturn = new HashMap<>();
+        Map<String, Map<String, JDefinedClass>> toReturn = new TreeMap<>();
         for (JDefinedClass containerClass : containersClasses) {
             String basePackage = containerClass._package().name();
             if (basePackage.contains(".")) {
@@ -62,7 +62,7 @@ public class CallbacksBuilder {
             basePackage += "." + CALLBACKS;
             final JDefinedClass unMarshallCallback = createUnMarshallCallback(jCodeModel, containerClass, basePackage);
             final JDefinedClass marshallCallback = createMarshallCallback(jCodeModel, containerClass.name(), basePackage);
-            Map<String, JDefinedClass> innerMap = new HashMap<>();
+            Map<String, JDefinedClass> innerMap = new TreeMap<>();
             innerMap.put(UNMARSHALL_CALLBACK, unMarshallCallback);
             innerMap.put(MARSHALL_CALLBACK, marshallCallback);
             toReturn.put(containerClass.name(), innerMap);
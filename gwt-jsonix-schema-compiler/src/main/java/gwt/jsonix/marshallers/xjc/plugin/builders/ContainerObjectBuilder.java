@@ -24,6 +24,12 @@ import com.sun.codemodel.JClassAlreadyExistsException;
 import com.sun.codemodel.JCodeModel;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JDocComment;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.JTypeVar;
+import com.sun.codemodel.JVar;
+import jsinterop.annotations.JsOverlay;
 import jsinterop.annotations.JsPackage;
 import jsinterop.annotations.JsType;
 import org.apache.commons.lang3.StringUtils;
@@ -31,6 +37,7 @@ import org.hisrc.jsonix.settings.LogLevelSetting;
 
 import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.addNativeGetter;
 import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.addNativeSetter;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.addTrackedSetter;
 import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.log;
 
 /**
@@ -50,17 +57,35 @@ public class ContainerObjectBuilder {
      * @throws Exception
      */
     public static List<JDefinedClass> generateJSInteropContainerObjects(final Map<String, String> packageModuleMap, final Map<String, Map<String, JClass>> topLevelElementsMap, JCodeModel jCodeModel) throws JClassAlreadyExistsException {
+        return generateJSInteropContainerObjects(packageModuleMap, topLevelElementsMap, jCodeModel, null);
+    }
+
+    /**
+     * Method to create the <b>JSInterop</b> <code>MainJs</code> class
+     * @param packageModuleMap Map the package name with the "main" container class name
+     * @param topLevelElementsMap Map the package name with all its top-level elements
+     * @param jCodeModel
+     * @param idIndexJsUtilsClass the <code>JsUtils</code> providing the id index (see <code>JsUtilsBuilder.generateIdIndexMethods</code>), or <code>null</code>
+     * if the containers do not have to expose it
+     * @return
+     * @throws JClassAlreadyExistsException
+     */
+    public static List<JDefinedClass> generateJSInteropContainerObjects(final Map<String, String> packageModuleMap, final Map<String, Map<String, JClass>> topLevelElementsMap, JCodeModel jCodeModel, final JDefinedClass idIndexJsUtilsClass) throws JClassAlreadyExistsException {
         log(LogLevelSetting.DEBUG, "Generating  JSInterop containers objects ...");
         List<JDefinedClass> toReturn = new ArrayList<>();
         for (Map.Entry<String, String> entry : packageModuleMap.entrySet()) {
-            addPackageContainerObject(entry.getKey(), entry.getValue(), jCodeModel, topLevelElementsMap.get(entry.getKey()), toReturn);
+            addPackageContainerObject(entry.getKey(), entry.getValue(), jCodeModel, topLevelElementsMap.get(entry.getKey()), idIndexJsUtilsClass, toReturn);
         }
         return toReturn;
     }
 
-    protected static void addPackageContainerObject(String packageName, String containerObjectName, JCodeModel jCodeModel, final Map<String, JClass> topLevelElementsMap, List<JDefinedClass> toPopulate) throws JClassAlreadyExistsException {
+    protected static void addPackageContainerObject(String packageName, String containerObjectName, JCodeModel jCodeModel, final Map<String, JClass> topLevelElementsMap, final JDefinedClass idIndexJsUtilsClass, List<JDefinedClass> toPopulate) throws JClassAlreadyExistsException {
         log(LogLevelSetting.DEBUG, String.format("Looking for JSInterop container object %1$s for package %2$s ...", containerObjectName, packageName));
-        toPopulate.add(getContainerObject(packageName, containerObjectName, jCodeModel, topLevelElementsMap));
+        final JDefinedClass containerObject = getContainerObject(packageName, containerObjectName, jCodeModel, topLevelElementsMap, idIndexJsUtilsClass);
+        if (idIndexJsUtilsClass != null) {
+            addGetByIdMethod(jCodeModel, containerObject, idIndexJsUtilsClass);
+        }
+        toPopulate.add(containerObject);
     }
 
     /**
@@ -72,6 +97,19 @@ public class ContainerObjectBuilder {
      * @throws JClassAlreadyExistsException
      */
     protected static JDefinedClass getContainerObject(String packageName, String containerObjectName, JCodeModel jCodeModel, final Map<String, JClass> topLevelElementsMap) throws JClassAlreadyExistsException {
+        return getContainerObject(packageName, containerObjectName, jCodeModel, topLevelElementsMap, null);
+    }
+
+    /**
+     * @param packageName
+     * @param containerObjectName
+     * @param jCodeModel
+     * @param topLevelElementsMap Map with the elementName (as found in xsd/xml) and the related <code>JClass</code>
+     * @param trackingJsUtilsClass if not <code>null</code>, the elements are set through <code>JsUtils.setTracked</code>
+     * @return
+     * @throws JClassAlreadyExistsException
+     */
+    protected static JDefinedClass getContainerObject(String packageName, String containerObjectName, JCodeModel jCodeModel, final Map<String, JClass> topLevelElementsMap, final JDefinedClass trackingJsUtilsClass) throws JClassAlreadyExistsException {
         log(LogLevelSetting.DEBUG, String.format("Creating  JSInterop container object %1$s for package %2$s ...", containerObjectName, packageName));
         final JDefinedClass toReturn = jCodeModel._class(packageName + "." + containerObjectName);
         toReturn.annotate(jCodeModel.ref(JsType.class)).param("isNative", true).param("namespace", jCodeModel.ref(JsPackage.class).staticRef("GLOBAL"));
@@ -79,7 +117,7 @@ public class ContainerObjectBuilder {
         comment.append("JSInterop container for" + " " + "<code>" + packageName + "</code>");
         addNameProperty(jCodeModel, toReturn);
         for (Map.Entry<String, JClass> topLevelElementEntry : topLevelElementsMap.entrySet()) {
-            addElementProperty(jCodeModel, toReturn, topLevelElementEntry.getKey(), topLevelElementEntry.getValue());
+            addElementProperty(jCodeModel, toReturn, topLevelElementEntry.getKey(), topLevelElementEntry.getValue(), trackingJsUtilsClass);
         }
         return toReturn;
     }
@@ -91,9 +129,39 @@ public class ContainerObjectBuilder {
     }
 
     protected static void addElementProperty(JCodeModel jCodeModel, JDefinedClass toPopulate, String elementName, JClass elementClass) {
+        addElementProperty(jCodeModel, toPopulate, elementName, elementClass, null);
+    }
+
+    protected static void addElementProperty(JCodeModel jCodeModel, JDefinedClass toPopulate, String elementName, JClass elementClass, JDefinedClass trackingJsUtilsClass) {
         log(LogLevelSetting.DEBUG, String.format("Add %1$s accessors to object %2$s.%3$s ...", elementName, toPopulate._package().name(), toPopulate.name()));
         String publicName = StringUtils.capitalize(elementName);
         addNativeGetter(jCodeModel, toPopulate, elementClass, publicName, elementName);
-        addNativeSetter(jCodeModel, toPopulate, elementClass, publicName, elementName);
+        if (trackingJsUtilsClass != null) {
+            addTrackedSetter(jCodeModel, toPopulate, trackingJsUtilsClass, elementClass, publicName, elementName);
+        } else {
+            addNativeSetter(jCodeModel, toPopulate, elementClass, publicName, elementName);
+        }
+    }
+
+    /**
+     * Add the <code>getById</code> overlay, resolving the instances of the container graph by their <b>xs:ID</b> property
+     * @param jCodeModel
+     * @param toPopulate
+     * @param jsUtilsClass
+     * @return
+     */
+    protected static JMethod addGetByIdMethod(JCodeModel jCodeModel, JDefinedClass toPopulate, JDefinedClass jsUtilsClass) {
+        log(LogLevelSetting.DEBUG, String.format("Add getById method to object %1$s.%2$s ...", toPopulate._package().name(), toPopulate.name()));
+        final JMethod toReturn = toPopulate.method(JMod.PUBLIC + JMod.FINAL, Void.TYPE, "getById");
+        final JTypeVar genericD = toReturn.generify("D");
+        toReturn.type(genericD);
+        final JVar idParam = toReturn.param(JMod.FINAL, String.class, "id");
+        final JDocComment comment = toReturn.javadoc();
+        comment.append("Returns the instance whose <b>xs:ID</b> property is <b>id</b>, if any, through the id index of this container");
+        comment.addParam(idParam);
+        comment.addReturn();
+        toReturn.body()._return(jsUtilsClass.staticInvoke("getById").arg(JExpr._this()).arg(idParam));
+        toReturn.annotate(jCodeModel.ref(JsOverlay.class));
+        return toReturn;
     }
 }
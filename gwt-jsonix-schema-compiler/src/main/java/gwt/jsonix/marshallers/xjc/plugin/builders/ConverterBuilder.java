@@ -0,0 +1,501 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.marshallers.xjc.plugin.builders;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.bind.JAXBElement;
+import javax.xml.namespace.QName;
+
+import com.sun.codemodel.ClassType;
+import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JCase;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JConditional;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JForEach;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.JSwitch;
+import com.sun.codemodel.JType;
+import com.sun.codemodel.JVar;
+import com.sun.tools.xjc.model.CClassInfo;
+import com.sun.tools.xjc.model.CElementInfo;
+import com.sun.tools.xjc.outline.Aspect;
+import com.sun.tools.xjc.outline.ClassOutline;
+import com.sun.tools.xjc.outline.EnumOutline;
+import com.sun.tools.xjc.outline.FieldAccessor;
+import com.sun.tools.xjc.outline.FieldOutline;
+import com.sun.tools.xjc.outline.Outline;
+import org.hisrc.jsonix.settings.LogLevelSetting;
+
+import static gwt.jsonix.marshallers.xjc.plugin.builders.UnmarshallerBuilder.getGlobalElements;
+import static gwt.jsonix.marshallers.xjc.plugin.builders.UnmarshallerBuilder.getKey;
+import static gwt.jsonix.marshallers.xjc.plugin.builders.UnmarshallerBuilder.getTypeName;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.log;
+
+/**
+ * Actual builder for the <b>JVM-side converter</b>, i.e. a plain Java class converting the JAXB beans generated by XJC
+ * (the server-side twins of the <code>JSI</code> types) to and from the <b>JSI-shaped</b> maps, keyed by the same
+ * property names and <code>TYPE_NAME</code> of the objects Jsonix builds on the client side
+ */
+public class ConverterBuilder {
+
+    public static final String CONVERTER = "JSIConverter";
+
+    protected static final String TYPE_NAME = "TYPE_NAME";
+    protected static final String OTHER_ATTRIBUTES = "otherAttributes";
+
+    private static final String HELPER_METHODS = "\r\n    private static final javax.xml.datatype.DatatypeFactory DATATYPE_FACTORY = newDatatypeFactory();\n" +
+            "\n" +
+            "    /**\n" +
+            "     * Converts the given <b>JSI-shaped</b> value into an instance of the given type\n" +
+            "     * @param value\n" +
+            "     * @param type\n" +
+            "     * @return\n" +
+            "     */\n" +
+            "    @SuppressWarnings(\"unchecked\")\n" +
+            "    public static <T> T fromJSI(final Object value, final Class<T> type) {\n" +
+            "        if (value == null) {\n" +
+            "            return null;\n" +
+            "        }\n" +
+            "        if (value instanceof Map) {\n" +
+            "            final Map<String, Object> map = (Map<String, Object>) value;\n" +
+            "            if (map.containsKey(\"" + TYPE_NAME + "\")) {\n" +
+            "                return (T) fromJSI(map);\n" +
+            "            }\n" +
+            "            if (map.containsKey(\"localPart\")) {\n" +
+            "                final Object namespaceURI = map.get(\"namespaceURI\");\n" +
+            "                final Object prefix = map.get(\"prefix\");\n" +
+            "                return (T) new QName(namespaceURI == null ? \"\" : (String) namespaceURI, (String) map.get(\"localPart\"), prefix == null ? \"\" : (String) prefix);\n" +
+            "            }\n" +
+            "            if (map.containsKey(\"name\") && map.containsKey(\"value\")) {\n" +
+            "                final QName name = fromJSI(map.get(\"name\"), QName.class);\n" +
+            "                Class<?> declaredType = getDeclaredType(name);\n" +
+            "                final Object converted = fromJSI(map.get(\"value\"), declaredType != null ? (Class<Object>) declaredType : Object.class);\n" +
+            "                if (declaredType == null) {\n" +
+            "                    declaredType = converted != null ? converted.getClass() : Object.class;\n" +
+            "                }\n" +
+            "                return (T) new JAXBElement<>(name, (Class<Object>) declaredType, converted);\n" +
+            "            }\n" +
+            "            return (T) value;\n" +
+            "        }\n" +
+            "        if (value instanceof List) {\n" +
+            "            final List<?> list = (List<?>) value;\n" +
+            "            if (type == byte[].class) {\n" +
+            "                final byte[] toReturn = new byte[list.size()];\n" +
+            "                for (int i = 0; i < toReturn.length; i++) {\n" +
+            "                    toReturn[i] = ((Number) list.get(i)).byteValue();\n" +
+            "                }\n" +
+            "                return (T) toReturn;\n" +
+            "            }\n" +
+            "            return (T) fromJSIList(list, Object.class);\n" +
+            "        }\n" +
+            "        if (value instanceof Number) {\n" +
+            "            return (T) toNumber((Number) value, type);\n" +
+            "        }\n" +
+            "        if (value instanceof String) {\n" +
+            "            final String string = (String) value;\n" +
+            "            if (type.isEnum()) {\n" +
+            "                return (T) enumFromValue(type, string);\n" +
+            "            }\n" +
+            "            if (type == QName.class) {\n" +
+            "                return (T) QName.valueOf(string);\n" +
+            "            }\n" +
+            "            if (type == Boolean.class) {\n" +
+            "                return (T) Boolean.valueOf(string);\n" +
+            "            }\n" +
+            "            if (type == javax.xml.datatype.XMLGregorianCalendar.class) {\n" +
+            "                return (T) DATATYPE_FACTORY.newXMLGregorianCalendar(string);\n" +
+            "            }\n" +
+            "        }\n" +
+            "        return (T) value;\n" +
+            "    }\n" +
+            "\n" +
+            "    /**\n" +
+            "     * Converts each item of the given <b>JSI-shaped</b> array into an instance of the given type\n" +
+            "     * @param value\n" +
+            "     * @param type\n" +
+            "     * @return\n" +
+            "     */\n" +
+            "    public static <T> List<T> fromJSIList(final Object value, final Class<T> type) {\n" +
+            "        final List<T> toReturn = new ArrayList<>();\n" +
+            "        if (value instanceof List) {\n" +
+            "            for (Object item : (List<?>) value) {\n" +
+            "                toReturn.add(fromJSI(item, type));\n" +
+            "            }\n" +
+            "        } else if (value != null) {\n" +
+            "            toReturn.add(fromJSI(value, type));\n" +
+            "        }\n" +
+            "        return toReturn;\n" +
+            "    }\n" +
+            "\n" +
+            "    private static javax.xml.datatype.DatatypeFactory newDatatypeFactory() {\n" +
+            "        try {\n" +
+            "            return javax.xml.datatype.DatatypeFactory.newInstance();\n" +
+            "        } catch (javax.xml.datatype.DatatypeConfigurationException e) {\n" +
+            "            throw new IllegalStateException(e);\n" +
+            "        }\n" +
+            "    }\n" +
+            "\n" +
+            "    private static Object toNumber(final Number value, final Class<?> type) {\n" +
+            "        if (type == Float.class || type == float.class) {\n" +
+            "            return value.floatValue();\n" +
+            "        } else if (type == Double.class || type == double.class) {\n" +
+            "            return value.doubleValue();\n" +
+            "        } else if (type == Integer.class || type == int.class) {\n" +
+            "            return value.intValue();\n" +
+            "        } else if (type == Long.class || type == long.class) {\n" +
+            "            return value.longValue();\n" +
+            "        } else if (type == Short.class || type == short.class) {\n" +
+            "            return value.shortValue();\n" +
+            "        } else if (type == Byte.class || type == byte.class) {\n" +
+            "            return value.byteValue();\n" +
+            "        } else if (type == java.math.BigInteger.class) {\n" +
+            "            return new java.math.BigDecimal(value.toString()).toBigInteger();\n" +
+            "        } else if (type == java.math.BigDecimal.class) {\n" +
+            "            return new java.math.BigDecimal(value.toString());\n" +
+            "        } else if (type.isEnum()) {\n" +
+            "            return enumFromValue(type, value);\n" +
+            "        }\n" +
+            "        return value;\n" +
+            "    }\n" +
+            "\n" +
+            "    private static Map<String, Object> toJSIQName(final QName value) {\n" +
+            "        final Map<String, Object> toReturn = new LinkedHashMap<>();\n" +
+            "        toReturn.put(\"namespaceURI\", value.getNamespaceURI());\n" +
+            "        toReturn.put(\"localPart\", value.getLocalPart());\n" +
+            "        toReturn.put(\"prefix\", value.getPrefix());\n" +
+            "        toReturn.put(\"key\", value.toString());\n" +
+            "        toReturn.put(\"string\", value.getPrefix().isEmpty() ? value.toString() : value.toString() + \":\" + value.getPrefix());\n" +
+            "        return toReturn;\n" +
+            "    }\n" +
+            "\n" +
+            "    private static Map<String, Object> toJSIAttributes(final Map<QName, String> value) {\n" +
+            "        final Map<String, Object> toReturn = new LinkedHashMap<>();\n" +
+            "        for (Map.Entry<QName, String> entry : value.entrySet()) {\n" +
+            "            toReturn.put(entry.getKey().toString(), entry.getValue());\n" +
+            "        }\n" +
+            "        return toReturn;\n" +
+            "    }\n" +
+            "\n" +
+            "    private static void fromJSIAttributes(final Object value, final Map<QName, String> target) {\n" +
+            "        if (value instanceof Map) {\n" +
+            "            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {\n" +
+            "                target.put(QName.valueOf((String) entry.getKey()), (String) entry.getValue());\n" +
+            "            }\n" +
+            "        }\n" +
+            "    }\n" +
+            "\n" +
+            "    private static void putJSI(final Map<String, Object> target, final String name, final Object value) {\n" +
+            "        final Object converted = toJSI(value);\n" +
+            "        // Jsonix does not create properties for missing attributes and elements\n" +
+            "        if (converted != null && !(converted instanceof List && ((List<?>) converted).isEmpty()) && !(converted instanceof Map && ((Map<?, ?>) converted).isEmpty())) {\n" +
+            "            target.put(name, converted);\n" +
+            "        }\n" +
+            "    }\n";
+
+    private ConverterBuilder() {
+    }
+
+    /**
+     * Generates the <code>JSIConverter</code> class inside the given <b>package</b> of the XJC code model, so that it is
+     * written together with the JAXB beans it converts
+     * @param outline
+     * @param packageModuleMap
+     * @param packageName
+     * @return
+     * @throws JClassAlreadyExistsException
+     */
+    public static JDefinedClass generateJSIConverter(final Outline outline,
+                                                     final Map<String, String> packageModuleMap,
+                                                     final String packageName) throws JClassAlreadyExistsException {
+        log(LogLevelSetting.DEBUG, "Generating JVM-side converter ...");
+        final JCodeModel jCodeModel = outline.getCodeModel();
+        final String fullName = packageName == null || packageName.isEmpty() ? CONVERTER : packageName + "." + CONVERTER;
+        final JDefinedClass toReturn = jCodeModel._class(JMod.PUBLIC + JMod.FINAL, fullName, ClassType.CLASS);
+        toReturn.javadoc().append("Converts the JAXB beans of the model to and from the JSI-shaped maps, keyed by the same property names of the objects Jsonix builds on the client side.");
+        toReturn.constructor(JMod.PRIVATE);
+        final List<ClassOutline> classOutlines = getClassOutlines(outline, packageModuleMap);
+        final Map<CClassInfo, ClassOutline> classOutlinesMap = new LinkedHashMap<>();
+        classOutlines.forEach(classOutline -> classOutlinesMap.put(classOutline.target, classOutline));
+        for (ClassOutline classOutline : classOutlines) {
+            generateToJSIMethods(toReturn, classOutline, classOutlinesMap, packageModuleMap);
+            generateFromJSIMethods(toReturn, classOutline, classOutlinesMap);
+        }
+        generateToJSIDispatcher(toReturn, classOutlines, outline.getEnums());
+        generateFromJSIDispatcher(toReturn, classOutlines, packageModuleMap);
+        generateEnumFromValue(toReturn, outline.getEnums());
+        generateGetDeclaredType(toReturn, outline);
+        toReturn.direct(HELPER_METHODS);
+        return toReturn;
+    }
+
+    /**
+     * @param outline
+     * @param packageModuleMap
+     * @return the <code>ClassOutline</code>s with a Jsonix <code>TYPE_NAME</code>, subclasses before their base classes
+     */
+    protected static List<ClassOutline> getClassOutlines(final Outline outline, final Map<String, String> packageModuleMap) {
+        final List<ClassOutline> toReturn = new ArrayList<>();
+        for (ClassOutline classOutline : outline.getClasses()) {
+            if (getTypeName(classOutline.target, packageModuleMap) != null) {
+                toReturn.add(classOutline);
+            }
+        }
+        // stable sort: the instanceof checks have to match the most specific class first
+        toReturn.sort(Comparator.comparingInt((ClassOutline classOutline) -> getDepth(classOutline.target)).reversed());
+        return toReturn;
+    }
+
+    /**
+     * @param cClassInfo
+     * @return the number of base classes of the given one
+     */
+    protected static int getDepth(final CClassInfo cClassInfo) {
+        int toReturn = 0;
+        CClassInfo baseClass = cClassInfo.getBaseClass();
+        while (baseClass != null) {
+            toReturn++;
+            baseClass = baseClass.getBaseClass();
+        }
+        return toReturn;
+    }
+
+    /**
+     * Generates the public <code>toJSI(bean)</code> method and the private <code>put(bean, target)</code> one,
+     * copying the properties of the base classes first, as Jsonix does
+     * @param jDefinedClass
+     * @param classOutline
+     * @param classOutlinesMap
+     * @param packageModuleMap
+     */
+    protected static void generateToJSIMethods(final JDefinedClass jDefinedClass,
+                                               final ClassOutline classOutline,
+                                               final Map<CClassInfo, ClassOutline> classOutlinesMap,
+                                               final Map<String, String> packageModuleMap) {
+        final JCodeModel jCodeModel = jDefinedClass.owner();
+        final JClass mapClass = getMapClass(jCodeModel);
+        final JDefinedClass implClass = classOutline.implClass;
+        final CClassInfo cClassInfo = classOutline.target;
+        final JMethod putMethod = jDefinedClass.method(JMod.PRIVATE + JMod.STATIC, jCodeModel.VOID, "put");
+        final JVar putValue = putMethod.param(JMod.FINAL, implClass, "value");
+        final JVar putTarget = putMethod.param(JMod.FINAL, mapClass, "target");
+        final JBlock putBody = putMethod.body();
+        final ClassOutline baseOutline = classOutlinesMap.get(cClassInfo.getBaseClass());
+        if (baseOutline != null) {
+            putBody.invoke("put").arg(JExpr.cast(baseOutline.implClass, putValue)).arg(putTarget);
+        }
+        if (cClassInfo.declaresAttributeWildcard() && !cClassInfo.inheritsAttributeWildcard()) {
+            putBody.invoke("putJSI").arg(putTarget).arg(OTHER_ATTRIBUTES).arg(JExpr.invoke("toJSIAttributes").arg(putValue.invoke("getOtherAttributes")));
+        }
+        int index = 0;
+        for (FieldOutline fieldOutline : classOutline.getDeclaredFields()) {
+            final String propertyName = fieldOutline.getPropertyInfo().getName(false);
+            final JMethod listGetter = fieldOutline.getPropertyInfo().isCollection() ? implClass.getMethod("get" + fieldOutline.getPropertyInfo().getName(true), new JType[0]) : null;
+            if (listGetter != null) {
+                // the raw value of lists is a defensive copy, not needed to only read them
+                putBody.invoke("putJSI").arg(putTarget).arg(propertyName).arg(putValue.invoke(listGetter));
+                continue;
+            }
+            final FieldAccessor fieldAccessor = fieldOutline.create(putValue);
+            final JVar rawValue = putBody.decl(fieldOutline.getRawType(), "p" + index++);
+            fieldAccessor.toRawValue(putBody, rawValue);
+            putBody.invoke("putJSI").arg(putTarget).arg(propertyName).arg(rawValue);
+        }
+        final JMethod toJSIMethod = jDefinedClass.method(JMod.PUBLIC + JMod.STATIC, mapClass, "toJSI");
+        toJSIMethod.javadoc().append("Converts the given <code>" + implClass.name() + "</code> into its JSI-shaped map");
+        final JVar toJSIValue = toJSIMethod.param(JMod.FINAL, implClass, "value");
+        final JBlock toJSIBody = toJSIMethod.body();
+        final JVar toReturn = toJSIBody.decl(JMod.FINAL, mapClass, "toReturn", JExpr._new(jCodeModel.ref(LinkedHashMap.class).narrow(String.class, Object.class)));
+        toJSIBody.invoke(toReturn, "put").arg(TYPE_NAME).arg(getTypeName(cClassInfo, packageModuleMap));
+        toJSIBody.invoke("put").arg(toJSIValue).arg(toReturn);
+        toJSIBody._return(toReturn);
+    }
+
+    /**
+     * Generates the private <code>set(source, bean)</code> method, setting the properties of the base classes first
+     * @param jDefinedClass
+     * @param classOutline
+     * @param classOutlinesMap
+     */
+    protected static void generateFromJSIMethods(final JDefinedClass jDefinedClass,
+                                                 final ClassOutline classOutline,
+                                                 final Map<CClassInfo, ClassOutline> classOutlinesMap) {
+        final JCodeModel jCodeModel = jDefinedClass.owner();
+        final CClassInfo cClassInfo = classOutline.target;
+        final JMethod setMethod = jDefinedClass.method(JMod.PRIVATE + JMod.STATIC, jCodeModel.VOID, "set");
+        final JVar source = setMethod.param(JMod.FINAL, getMapClass(jCodeModel), "source");
+        final JVar target = setMethod.param(JMod.FINAL, classOutline.implClass, "target");
+        final JBlock body = setMethod.body();
+        final ClassOutline baseOutline = classOutlinesMap.get(cClassInfo.getBaseClass());
+        if (baseOutline != null) {
+            body.invoke("set").arg(source).arg(JExpr.cast(baseOutline.implClass, target));
+        }
+        if (cClassInfo.declaresAttributeWildcard() && !cClassInfo.inheritsAttributeWildcard()) {
+            body.invoke("fromJSIAttributes").arg(source.invoke("get").arg(OTHER_ATTRIBUTES)).arg(target.invoke("getOtherAttributes"));
+        }
+        int index = 0;
+        for (FieldOutline fieldOutline : classOutline.getDeclaredFields()) {
+            final String propertyName = fieldOutline.getPropertyInfo().getName(false);
+            final JType rawType = fieldOutline.getRawType();
+            final JConditional ifPresent = body._if(source.invoke("get").arg(propertyName).ne(JExpr._null()));
+            final JExpression rawValue;
+            if (fieldOutline.getPropertyInfo().isCollection() && rawType instanceof JClass && !((JClass) rawType).getTypeParameters().isEmpty()) {
+                final JClass itemType = ((JClass) rawType).getTypeParameters().get(0);
+                rawValue = JExpr.cast(rawType.erasure(), JExpr.invoke("fromJSIList").arg(source.invoke("get").arg(propertyName)).arg(itemType.erasure().dotclass()));
+            } else {
+                rawValue = JExpr.cast(rawType, JExpr.invoke("fromJSI").arg(source.invoke("get").arg(propertyName)).arg(rawType.boxify().erasure().dotclass()));
+            }
+            fieldOutline.create(target).fromRawValue(ifPresent._then(), "p" + index++, rawValue);
+        }
+    }
+
+    /**
+     * Generates the public <code>toJSI(Object)</code> method, dispatching beans, enums, <code>JAXBElement</code>s,
+     * <code>QName</code>s and lists to the matching conversion
+     * @param jDefinedClass
+     * @param classOutlines
+     * @param enumOutlines
+     */
+    protected static void generateToJSIDispatcher(final JDefinedClass jDefinedClass,
+                                                  final List<ClassOutline> classOutlines,
+                                                  final Collection<EnumOutline> enumOutlines) {
+        final JCodeModel jCodeModel = jDefinedClass.owner();
+        final JMethod method = jDefinedClass.method(JMod.PUBLIC + JMod.STATIC, Object.class, "toJSI");
+        method.javadoc().append("Converts the given JAXB value (bean, enum, <code>JAXBElement</code>, <code>QName</code>, list or leaf value) into its JSI-shaped representation");
+        final JVar value = method.param(JMod.FINAL, Object.class, "value");
+        final JBlock body = method.body();
+        body._if(value.eq(JExpr._null()))._then()._return(JExpr._null());
+        for (ClassOutline classOutline : classOutlines) {
+            body._if(value._instanceof(classOutline.implClass))._then()._return(JExpr.invoke("toJSI").arg(JExpr.cast(classOutline.implClass, value)));
+        }
+        for (EnumOutline enumOutline : enumOutlines) {
+            final JExpression enumValue = JExpr.cast(enumOutline.clazz, value);
+            body._if(value._instanceof(enumOutline.clazz))._then()._return(enumValue.invoke("value"));
+        }
+        final JClass jaxbElementClass = jCodeModel.ref(JAXBElement.class).narrow(jCodeModel.wildcard());
+        final JBlock jaxbElementBlock = body._if(value._instanceof(jCodeModel.ref(JAXBElement.class)))._then();
+        final JVar jaxbElement = jaxbElementBlock.decl(JMod.FINAL, jaxbElementClass, "jaxbElement", JExpr.cast(jaxbElementClass, value));
+        final JVar toReturn = jaxbElementBlock.decl(JMod.FINAL, getMapClass(jCodeModel), "toReturn", JExpr._new(jCodeModel.ref(LinkedHashMap.class).narrow(String.class, Object.class)));
+        jaxbElementBlock.invoke(toReturn, "put").arg("name").arg(JExpr.invoke("toJSIQName").arg(jaxbElement.invoke("getName")));
+        jaxbElementBlock.invoke(toReturn, "put").arg("value").arg(JExpr.invoke("toJSI").arg(jaxbElement.invoke("getValue")));
+        jaxbElementBlock._return(toReturn);
+        body._if(value._instanceof(jCodeModel.ref(QName.class)))._then()._return(JExpr.invoke("toJSIQName").arg(JExpr.cast(jCodeModel.ref(QName.class), value)));
+        final JBlock listBlock = body._if(value._instanceof(jCodeModel.ref(List.class)))._then();
+        final JVar list = listBlock.decl(JMod.FINAL, jCodeModel.ref(List.class).narrow(Object.class), "toReturn", JExpr._new(jCodeModel.ref(ArrayList.class).narrow(Object.class)));
+        final JForEach forEach = listBlock.forEach(jCodeModel.ref(Object.class), "item", JExpr.cast(jCodeModel.ref(List.class).narrow(jCodeModel.wildcard()), value));
+        forEach.body().invoke(list, "add").arg(JExpr.invoke("toJSI").arg(forEach.var()));
+        listBlock._return(list);
+        body._return(value);
+    }
+
+    /**
+     * Generates the public <code>fromJSI(Map)</code> method, instantiating the bean of the given <code>TYPE_NAME</code>
+     * @param jDefinedClass
+     * @param classOutlines
+     * @param packageModuleMap
+     */
+    protected static void generateFromJSIDispatcher(final JDefinedClass jDefinedClass,
+                                                    final List<ClassOutline> classOutlines,
+                                                    final Map<String, String> packageModuleMap) {
+        final JCodeModel jCodeModel = jDefinedClass.owner();
+        final JMethod method = jDefinedClass.method(JMod.PUBLIC + JMod.STATIC, Object.class, "fromJSI");
+        method.javadoc().append("Converts the given JSI-shaped map into a new instance of the JAXB bean of its <code>TYPE_NAME</code>");
+        final JVar value = method.param(JMod.FINAL, getMapClass(jCodeModel), "value");
+        final JSwitch jSwitch = method.body()._switch(JExpr.cast(jCodeModel.ref(String.class), value.invoke("get").arg(TYPE_NAME)));
+        for (ClassOutline classOutline : classOutlines) {
+            if (classOutline.target.isAbstract()) {
+                continue;
+            }
+            final JCase jCase = jSwitch._case(JExpr.lit(getTypeName(classOutline.target, packageModuleMap)));
+            final JBlock caseBody = jCase.body();
+            final JVar toReturn = caseBody.decl(JMod.FINAL, classOutline.implClass, "toReturn" + classOutline.implClass.name(), JExpr._new(classOutline.implClass));
+            caseBody.invoke("set").arg(value).arg(toReturn);
+            caseBody._return(toReturn);
+        }
+        jSwitch._default().body()._throw(JExpr._new(jCodeModel.ref(IllegalArgumentException.class)).arg(JExpr.lit("Unknown " + TYPE_NAME + " ").plus(value.invoke("get").arg(TYPE_NAME))));
+    }
+
+    /**
+     * Generates the private <code>enumFromValue(Class, Object)</code> method, delegating to the <code>fromValue</code> of
+     * the generated enums
+     * @param jDefinedClass
+     * @param enumOutlines
+     */
+    protected static void generateEnumFromValue(final JDefinedClass jDefinedClass, final Collection<EnumOutline> enumOutlines) {
+        final JCodeModel jCodeModel = jDefinedClass.owner();
+        final JMethod method = jDefinedClass.method(JMod.PRIVATE + JMod.STATIC, Object.class, "enumFromValue");
+        final JVar type = method.param(JMod.FINAL, jCodeModel.ref(Class.class).narrow(jCodeModel.wildcard()), "type");
+        final JVar value = method.param(JMod.FINAL, Object.class, "value");
+        final JBlock body = method.body();
+        for (EnumOutline enumOutline : enumOutlines) {
+            final JType valueType = getFromValueType(enumOutline.clazz);
+            if (valueType != null) {
+                body._if(type.eq(enumOutline.clazz.dotclass()))._then()._return(enumOutline.clazz.staticInvoke("fromValue").arg(JExpr.cast(valueType, JExpr.invoke("fromJSI").arg(value).arg(valueType.boxify().dotclass()))));
+            }
+        }
+        body._throw(JExpr._new(jCodeModel.ref(IllegalArgumentException.class)).arg(JExpr.lit("Unknown enum ").plus(type)));
+    }
+
+    /**
+     * Generates the private <code>getDeclaredType(QName)</code> method, returning the declared type of the global
+     * elements wrapped in <code>JAXBElement</code>s
+     * @param jDefinedClass
+     * @param outline
+     */
+    protected static void generateGetDeclaredType(final JDefinedClass jDefinedClass, final Outline outline) {
+        final JCodeModel jCodeModel = jDefinedClass.owner();
+        final JMethod method = jDefinedClass.method(JMod.PRIVATE + JMod.STATIC, jCodeModel.ref(Class.class).narrow(jCodeModel.wildcard()), "getDeclaredType");
+        final JVar name = method.param(JMod.FINAL, QName.class, "name");
+        final JBlock body = method.body();
+        final Map<String, JClass> declaredTypes = new LinkedHashMap<>();
+        for (CElementInfo cElementInfo : getGlobalElements(outline.getModel())) {
+            declaredTypes.putIfAbsent(getKey(cElementInfo.getElementName()), cElementInfo.getContentInMemoryType().toType(outline, Aspect.EXPOSED).boxify().erasure());
+        }
+        if (!declaredTypes.isEmpty()) {
+            final JSwitch jSwitch = body._switch(name.invoke("toString"));
+            declaredTypes.forEach((key, declaredType) -> jSwitch._case(JExpr.lit(key)).body()._return(declaredType.dotclass()));
+        }
+        body._return(JExpr._null());
+    }
+
+    /**
+     * @param enumClass
+     * @return the type of the parameter of the <code>fromValue</code> method of the given enum, or <code>null</code>
+     */
+    protected static JType getFromValueType(final JDefinedClass enumClass) {
+        for (JMethod method : enumClass.methods()) {
+            if ("fromValue".equals(method.name()) && method.params().size() == 1) {
+                return method.params().get(0).type();
+            }
+        }
+        return null;
+    }
+
+    private static JClass getMapClass(final JCodeModel jCodeModel) {
+        return jCodeModel.ref(Map.class).narrow(String.class, Object.class);
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.marshallers.xjc.plugin.builders;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JPackage;
+import com.sun.tools.xjc.model.CClassInfo;
+import com.sun.tools.xjc.model.CElementInfo;
+import com.sun.tools.xjc.model.CEnumLeafInfo;
+import com.sun.tools.xjc.model.CPropertyInfo;
+import com.sun.tools.xjc.model.CTypeInfo;
+import gwt.jsonix.marshallers.xjc.plugin.dtos.TypeDependency;
+import org.hisrc.jsonix.settings.LogLevelSetting;
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.alg.KosarajuStrongConnectivityInspector;
+import org.jgrapht.graph.DefaultDirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.DirectedMaskSubgraph;
+import org.jgrapht.graph.MaskFunctor;
+import org.jgrapht.traverse.TopologicalOrderIterator;
+
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.log;
+
+/**
+ * Builds the dependency graph of the types to generate, and schedules their generation in topological <b>waves</b>:
+ * the types of each wave only depend on the ones of the previous waves, so they are independent each other
+ */
+public class DependencyGraphBuilder {
+
+    private DependencyGraphBuilder() {
+    }
+
+    /**
+     * Returns the graph of the given beans and of all the types they depend on, transitively.
+     * Base and enclosing classes are <b>hard</b> dependencies, bean and enum property types are <b>soft</b> ones
+     * @param beans
+     * @return
+     */
+    public static DirectedGraph<CTypeInfo, TypeDependency> getDependencyGraph(final Collection<CClassInfo> beans) {
+        log(LogLevelSetting.DEBUG, "Building type dependency graph...");
+        final DirectedGraph<CTypeInfo, TypeDependency> toReturn = new DefaultDirectedGraph<>(TypeDependency.class);
+        final List<CClassInfo> toVisit = new ArrayList<>(beans);
+        beans.forEach(toReturn::addVertex);
+        for (int i = 0; i < toVisit.size(); i++) {
+            final CClassInfo cClassInfo = toVisit.get(i);
+            if (cClassInfo.getBaseClass() != null) {
+                addDependency(toReturn, cClassInfo.getBaseClass(), cClassInfo, true, toVisit);
+            }
+            if (cClassInfo.parent() instanceof CClassInfo) {
+                addDependency(toReturn, (CClassInfo) cClassInfo.parent(), cClassInfo, true, toVisit);
+            }
+            for (CPropertyInfo cPropertyInfo : cClassInfo.getProperties()) {
+                for (CTypeInfo cTypeInfo : cPropertyInfo.ref()) {
+                    final CTypeInfo dependency = cTypeInfo instanceof CElementInfo ? ((CElementInfo) cTypeInfo).getContentType() : cTypeInfo;
+                    if (dependency instanceof CClassInfo || dependency instanceof CEnumLeafInfo) {
+                        addDependency(toReturn, dependency, cClassInfo, false, toVisit);
+                    }
+                }
+            }
+        }
+        return toReturn;
+    }
+
+    /**
+     * Returns the types of the given graph grouped by <b>wave</b>: each type is in the wave following the one of its
+     * deepest <b>hard</b> dependency, while <b>soft</b> dependencies, that may be cyclic, are ignored.
+     * Inside each wave, types keep the order in which they have been added to the graph
+     * @param graph
+     * @return
+     */
+    public static List<List<CTypeInfo>> getWaves(final DirectedGraph<CTypeInfo, TypeDependency> graph) {
+        final DirectedGraph<CTypeInfo, TypeDependency> hardGraph = new DirectedMaskSubgraph<>(graph, new MaskFunctor<CTypeInfo, TypeDependency>() {
+            @Override
+            public boolean isEdgeMasked(TypeDependency edge) {
+                return !edge.isHard();
+            }
+
+            @Override
+            public boolean isVertexMasked(CTypeInfo vertex) {
+                return false;
+            }
+        });
+        final Map<CTypeInfo, Integer> levels = new HashMap<>();
+        final TopologicalOrderIterator<CTypeInfo, TypeDependency> iterator = new TopologicalOrderIterator<>(hardGraph);
+        while (iterator.hasNext()) {
+            final CTypeInfo cTypeInfo = iterator.next();
+            int level = 0;
+            for (TypeDependency edge : hardGraph.incomingEdgesOf(cTypeInfo)) {
+                level = Math.max(level, levels.get(hardGraph.getEdgeSource(edge)) + 1);
+            }
+            levels.put(cTypeInfo, level);
+        }
+        final List<List<CTypeInfo>> toReturn = new ArrayList<>();
+        for (CTypeInfo cTypeInfo : graph.vertexSet()) {
+            final int level = levels.get(cTypeInfo);
+            while (toReturn.size() <= level) {
+                toReturn.add(new ArrayList<>());
+            }
+            toReturn.get(level).add(cTypeInfo);
+        }
+        return toReturn;
+    }
+
+    /**
+     * Returns the packages of the given classes grouped by <b>streaming unit</b>, in the order they have to be
+     * populated and written: the base classes of the classes of each unit are all in the same or in a previous unit.
+     * Packages whose classes extend each other are in the same unit; inside each unit, packages are sorted by name
+     * @param declaredClassesMap
+     * @param generatedClasses
+     * @return
+     */
+    public static List<SortedSet<JPackage>> getStreamingUnits(final Map<CClassInfo, JDefinedClass> declaredClassesMap, final Collection<JDefinedClass> generatedClasses) {
+        final DirectedGraph<JPackage, DefaultEdge> packagesGraph = new DefaultDirectedGraph<>(DefaultEdge.class);
+        generatedClasses.forEach(jDefinedClass -> packagesGraph.addVertex(jDefinedClass.getPackage()));
+        declaredClassesMap.forEach((cClassInfo, jDefinedClass) -> {
+            final JDefinedClass baseClass = cClassInfo.getBaseClass() != null ? declaredClassesMap.get(cClassInfo.getBaseClass()) : null;
+            if (baseClass != null && baseClass.getPackage() != jDefinedClass.getPackage()) {
+                packagesGraph.addVertex(baseClass.getPackage());
+                packagesGraph.addVertex(jDefinedClass.getPackage());
+                packagesGraph.addEdge(baseClass.getPackage(), jDefinedClass.getPackage());
+            }
+        });
+        final DirectedGraph<SortedSet<JPackage>, DefaultEdge> unitsGraph = new DefaultDirectedGraph<>(DefaultEdge.class);
+        final Map<JPackage, SortedSet<JPackage>> unitsMap = new HashMap<>();
+        for (Set<JPackage> packages : new KosarajuStrongConnectivityInspector<>(packagesGraph).stronglyConnectedSets()) {
+            final SortedSet<JPackage> unit = new TreeSet<>(packages);
+            unitsGraph.addVertex(unit);
+            packages.forEach(jPackage -> unitsMap.put(jPackage, unit));
+        }
+        for (DefaultEdge edge : packagesGraph.edgeSet()) {
+            final SortedSet<JPackage> source = unitsMap.get(packagesGraph.getEdgeSource(edge));
+            final SortedSet<JPackage> target = unitsMap.get(packagesGraph.getEdgeTarget(edge));
+            if (source != target) {
+                unitsGraph.addEdge(source, target);
+            }
+        }
+        final List<SortedSet<JPackage>> toReturn = new ArrayList<>();
+        new TopologicalOrderIterator<>(unitsGraph, new PriorityQueue<>(Comparator.comparing(SortedSet<JPackage>::first))).forEachRemaining(toReturn::add);
+        return toReturn;
+    }
+
+    /**
+     * Returns the statistics of the given graph and waves, to be reported in the generation log
+     * @param graph
+     * @param waves
+     * @return
+     */
+    public static String getStatistics(final DirectedGraph<CTypeInfo, TypeDependency> graph, final List<List<CTypeInfo>> waves) {
+        final long hardEdges = graph.edgeSet().stream().filter(TypeDependency::isHard).count();
+        final int widestLevel = waves.stream().mapToInt(List::size).max().orElse(0);
+        return String.format("Type dependency graph: %1$d types, %2$d hard and %3$d soft edges, %4$d waves, widest level of %5$d types",
+                             graph.vertexSet().size(), hardEdges, graph.edgeSet().size() - hardEdges, waves.size(), widestLevel);
+    }
+
+    /**
+     * Adds the given dependency, queueing its <b>source</b> bean to be visited if new. A <b>hard</b> dependency replaces
+     * a <b>soft</b> one between the same types
+     * @param graph
+     * @param source
+     * @param target
+     * @param hard
+     * @param toVisit
+     */
+    private static void addDependency(final DirectedGraph<CTypeInfo, TypeDependency> graph, final CTypeInfo source, final CTypeInfo target, final boolean hard, final List<CClassInfo> toVisit) {
+        if (graph.addVertex(source) && source instanceof CClassInfo) {
+            toVisit.add((CClassInfo) source);
+        }
+        final TypeDependency existing = graph.getEdge(source, target);
+        if (existing != null) {
+            if (existing.isHard() || !hard) {
+                return;
+            }
+            graph.removeEdge(existing);
+        }
+        graph.addEdge(source, target, new TypeDependency(hard));
+    }
+}
@@ -0,0 +1,1288 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.marshallers.xjc.plugin.builders;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import javax.xml.namespace.QName;
+
+import com.sun.codemodel.ClassType;
+import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JCommentPart;
+import com.sun.codemodel.JConditional;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JDocComment;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JForEach;
+import com.sun.codemodel.JForLoop;
+import com.sun.codemodel.JInvocation;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.JTypeVar;
+import com.sun.codemodel.JVar;
+import com.sun.tools.xjc.model.CClassInfo;
+import com.sun.tools.xjc.model.Model;
+import com.sun.xml.bind.v2.model.core.ID;
+import gwt.jsonix.marshallers.xjc.plugin.GWTSettings;
+import jsinterop.base.Js;
+import jsinterop.base.JsArrayLike;
+import org.hisrc.jsonix.settings.LogLevelSetting;
+
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.log;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.toJsObjectLiteral;
+
+public class JsUtilsBuilder {
+
+    protected static final String GENERIC_TYPE_NAME = "D";
+    protected static final String GENERIC_EXTEND_TYPE_NAME = "E";
+    protected static final String ELEMENT = "element";
+    protected static final int PUBLIC_STATIC_MODS = JMod.PUBLIC + JMod.STATIC;
+    protected static final int PUBLIC_STATIC_NATIVE_MODS = PUBLIC_STATIC_MODS + JMod.NATIVE;
+    protected static final int PRIVATE_STATIC_MODS = JMod.PRIVATE + JMod.STATIC;
+
+    private static final String NEW_WRAPPED_INSTANCE_TEMPLATE = "\r\n     /**\n" +
+            "     * Returns a <b>stub</b> object with <b>name</b> and <b>value</b> attributes\n" +
+            "     * @return\n" +
+            "     */\n" +
+            "     public static native <D> D newWrappedInstance() /*-{\n" +
+            "        var json = \"{\\\"name\\\": \\\"\\\", \\\"value\\\": \\\"\\\"}\";\n" +
+            "        var retrieved = JSON.parse(json)\n" +
+            "        return retrieved\n" +
+            "    }-*/;\n";
+
+    private static final String SET_NAME_ON_WRAPPED_TEMPLATE = "\r\n     /**\n" +
+            "     * Set the <b>name</b> attribute of the given <b>wrapped</b> <code>D</code> with the <b>json</b> representation of the given <code>JSIName</code>\n" +
+            "     * @param wrappedObject\n" +
+            "     * @param name\n" +
+            "     */\n" +
+            "    public static native <D> void setNameOnWrapped(D wrappedObject, JSIName name) /*-{\n" +
+            "        wrappedObject.name = name\n" +
+            "    }-*/;";
+
+    private static final String SET_VALUE_ON_WRAPPED_TEMPLATE = "\r\n     /**\n" +
+            "     * Set the <b>value</b> attribute of the given <b>wrapped</b> <code>D</code> with the <b>json</b> representation of <b>value</b> <code>E</code>\n" +
+            "     * @param wrappedObject\n" +
+            "     * @param value\n" +
+            "     */\n" +
+            "    public static native <D, E> void setValueOnWrapped(D wrappedObject, E value) /*-{\n" +
+            "        wrappedObject.value = value\n" +
+            "    }-*/;";
+
+    private static final String GET_UNWRAPPED_ELEMENTS_ARRAY_METHOD = "\r\n     /**\n" +
+            "     * Returns a <code>JsArrayLike</code> where each element represents the <b>unwrapped</b> object (i.e. object.value) of the original one.\n" +
+            "     * It the original <code>JsArrayLike</code> is <code>null</code>, returns a new, empty one\n" +
+            "     * @param original\n" +
+            "     * @param <D>\n" +
+            "     * @return\n" +
+            "     */\n" +
+            "     public static native <D> JsArrayLike<D> getUnwrappedElementsArray(final JsArrayLike<D> original) /*-{\n" +
+            "        var toReturn = [];\n" +
+            "        if(original != null) {\n" +
+            "            toReturn = original.map(function (arrayItem) {\n" +
+            "                var retrieved = arrayItem.value\n" +
+            "                var toSet = retrieved == null ? arrayItem : retrieved\n" +
+            "                return toSet;\n" +
+            "            });\n" +
+            "        }\n" +
+            "        return toReturn;\n" +
+            "    }-*/;\n";
+
+    private static final String GET_NATIVE_ELEMENTS_ARRAY_METHOD = "\r\n     /**\n" +
+            "     * Returns the original <code>JsArrayLike</code> or, ift the original <code>JsArrayLike</code> is <code>null</code>, a new, empty one\n" +
+            "     * @param original\n" +
+            "     * @param <D>\n" +
+            "     * @return\n" +
+            "     */\n" +
+            "     public static native <D> JsArrayLike<D> getNativeElementsArray(final JsArrayLike<D> original) /*-{\n" +
+            "        if(original == null) {\n" +
+            "            return [];\n" +
+            "        } else {\n" +
+            "            return original;\n" +
+            "        }\n" +
+            "    }-*/;";
+
+    private static final String GET_UNWRAPPED_ELEMENT_METHOD = "\r\n     public static native Object getUnwrappedElement(final Object original) /*-{\n" +
+            "        var toReturn = original.value;\n" +
+            "        var toSet = toReturn == null ? original : toReturn;\n" +
+            "        return toSet;\n" +
+            "    }-*/;\n";
+
+    private static final String GET_WRAPPED_ELEMENT_METHOD = "\r\n     public static native <D> D getWrappedElement(final Object value) /*-{\n" +
+            "        var json = \"{\\\"name\\\": \\\"\\\", \\\"value\\\": \\\"\\\"}\";\n" +
+            "        var toReturn = JSON.parse(json)\n" +
+            "        toReturn.value =  value;\n" +
+            "        return toReturn;\n" +
+            "    }-*/;\n";
+
+    /**
+     * Upper bound of the wrappers kept by the pool: the ones released beyond it are left to the garbage collector
+     */
+    protected static final int WRAPPERS_POOL_SIZE = 256;
+
+    /**
+     * Class of the prebuilt <b>gwt-jsonix-runtime</b> providing the schema-independent methods
+     */
+    protected static final String RUNTIME_BASE_CLASS = "gwt.jsonix.runtime.JsUtilsBase";
+
+    private static final String WRAPPERS_POOL_METHODS = "\r\n     /**\n" +
+            "     * Returns a <b>pooled</b> <code>{name, value}</code> wrapper of the given <b>value</b>.\n" +
+            "     * The caller owns it until it gives it back with <code>releaseWrappedElement</code> (or <code>getUnwrappedElementAndRelease</code>):\n" +
+            "     * it is meant for transient unwrap/rewrap cycles only, and must never be stored in a model object (e.g. through the generated\n" +
+            "     * <b>add</b> methods), since it is going to be reused\n" +
+            "     * @param value\n" +
+            "     * @param <D>\n" +
+            "     * @return\n" +
+            "     */\n" +
+            "     public static native <D> D acquireWrappedElement(final Object value) /*-{\n" +
+            "        var pool = @%1$s::wrappersPool;\n" +
+            "        var toReturn;\n" +
+            "        if (pool != null && pool.length > 0) {\n" +
+            "            toReturn = pool.pop();\n" +
+            "            toReturn.__pooled = false;\n" +
+            "        } else {\n" +
+            "            toReturn = {name: \"\", value: null};\n" +
+            "            Object.defineProperty(toReturn, '__pooled', {value: false, writable: true, configurable: true});\n" +
+            "        }\n" +
+            "        toReturn.value = value;\n" +
+            "        return toReturn;\n" +
+            "    }-*/;\n" +
+            "\n" +
+            "     /**\n" +
+            "     * Gives back to the pool the given <b>wrapper</b>, obtained from <code>acquireWrappedElement</code>; the caller must not use it anymore.\n" +
+            "     * Wrappers not coming from the pool, or already released, are ignored\n" +
+            "     * @param wrapper\n" +
+            "     */\n" +
+            "     public static native void releaseWrappedElement(final Object wrapper) /*-{\n" +
+            "        if (wrapper == null || wrapper.__pooled !== false) {\n" +
+            "            return;\n" +
+            "        }\n" +
+            "        wrapper.__pooled = true;\n" +
+            "        wrapper.name = \"\";\n" +
+            "        wrapper.value = null;\n" +
+            "        var pool = @%1$s::wrappersPool;\n" +
+            "        if (pool == null) {\n" +
+            "            pool = [];\n" +
+            "            @%1$s::wrappersPool = pool;\n" +
+            "        }\n" +
+            "        if (pool.length < %2$d) {\n" +
+            "            pool.push(wrapper);\n" +
+            "        }\n" +
+            "    }-*/;\n" +
+            "\n" +
+            "     /**\n" +
+            "     * Returns the <b>value</b> of the given pooled <b>wrapper</b>, giving the latter back to the pool\n" +
+            "     * @param wrapper\n" +
+            "     * @return\n" +
+            "     */\n" +
+            "     public static native Object getUnwrappedElementAndRelease(final Object wrapper) /*-{\n" +
+            "        var toReturn = wrapper.value;\n" +
+            "        @%1$s::releaseWrappedElement(Ljava/lang/Object;)(wrapper);\n" +
+            "        return toReturn;\n" +
+            "    }-*/;\n";
+
+    private static final String GET_MATERIALIZED_METHOD = "\r\n     /**\n" +
+            "     * Returns the <b>propertyName</b> value of the given <b>holder</b>, materializing it if it is (or contains) a <b>lazy</b>\n" +
+            "     * placeholder, i.e. an unparsed subtree with a <b>materialize</b> function; the materialized value is stored back on <b>holder</b>\n" +
+            "     * @param holder\n" +
+            "     * @param propertyName\n" +
+            "     * @param <D>\n" +
+            "     * @return\n" +
+            "     */\n" +
+            "     public static native <D> D getMaterialized(final Object holder, final String propertyName) /*-{\n" +
+            "        var value = holder[propertyName];\n" +
+            "        if (value == null) {\n" +
+            "            return value;\n" +
+            "        }\n" +
+            "        if (Array.isArray(value)) {\n" +
+            "            for (var i = 0; i < value.length; i++) {\n" +
+            "                if (value[i] != null && typeof value[i].materialize === 'function') {\n" +
+            "                    value[i] = value[i].materialize();\n" +
+            "%2$s" +
+            "                }\n" +
+            "            }\n" +
+            "        } else if (typeof value.materialize === 'function') {\n" +
+            "            value = value.materialize();\n" +
+            "            holder[propertyName] = value;\n" +
+            "%3$s" +
+            "        }\n" +
+            "%4$s" +
+            "        return value;\n" +
+            "    }-*/;\n";
+
+    private static final String GET_MATERIALIZED_ADOPT_ITEM = "                    @%1$s::adoptTree(Ljava/lang/Object;Ljava/lang/Object;)(value[i], holder);\n";
+
+    private static final String GET_MATERIALIZED_ADOPT_VALUE = "            @%1$s::adoptTree(Ljava/lang/Object;Ljava/lang/Object;)(value, holder);\n";
+
+    private static final String MARK_DIRTY_METHOD = "\r\n     /**\n" +
+            "     * Flags the given <b>holder</b> and all its ancestors as <b>dirty</b>, so that their cached serialized fragments\n" +
+            "     * are not reused at the next marshalling; the given <b>value</b> (or each of its items, if it is an array) is\n" +
+            "     * attached to <b>holder</b> as its parent, and added to the id index of the graph, if any\n" +
+            "     * @param holder\n" +
+            "     * @param value\n" +
+            "     */\n" +
+            "     public static native void markDirty(final Object holder, final Object value) /*-{\n" +
+            "        var adopt = function (child) {\n" +
+            "            if (child != null && typeof child === 'object') {\n" +
+            "%2$s" +
+            "                Object.defineProperty(child, '__parent', {value: holder, writable: true, configurable: true});\n" +
+            "            }\n" +
+            "        };\n" +
+            "        if (Array.isArray(value)) {\n" +
+            "            value.forEach(adopt);\n" +
+            "        } else {\n" +
+            "            adopt(value);\n" +
+            "        }\n" +
+            "        for (var node = holder; node != null && node.__dirty !== true; node = node.__parent) {\n" +
+            "            Object.defineProperty(node, '__dirty', {value: true, writable: true, configurable: true});\n" +
+            "        }\n" +
+            "%3$s" +
+            "    }-*/;\n";
+
+    private static final String MARK_DIRTY_EPOCH = "                if (child.__parent == null && child.__epoch === undefined) {\n" +
+            "                    // a brand new instance does not belong to any snapshot taken so far\n" +
+            "                    var root = holder;\n" +
+            "                    while (root.__parent != null) {\n" +
+            "                        root = root.__parent;\n" +
+            "                    }\n" +
+            "                    Object.defineProperty(child, '__epoch', {value: root.__snapshotEpoch || 0, writable: true, configurable: true});\n" +
+            "                }\n";
+
+    private static final String SET_TRACKED_METHOD = "\r\n     /**\n" +
+            "     * Sets <b>value</b> as the <b>propertyName</b> of the given <b>holder</b>, flagging it as <b>dirty</b>\n" +
+            "     * @param holder\n" +
+            "     * @param propertyName\n" +
+            "     * @param value\n" +
+            "     */\n" +
+            "     public static native void setTracked(final Object holder, final String propertyName, final Object value) /*-{\n" +
+            "%2$s" +
+            "%3$s" +
+            "        holder[propertyName] = value;\n" +
+            "        @%1$s::markDirty(Ljava/lang/Object;Ljava/lang/Object;)(holder, value);\n" +
+            "%4$s" +
+            "    }-*/;\n";
+
+    private static final String SET_TRACKED_COPY_ON_WRITE = "        @%1$s::copyOnWrite(Ljava/lang/Object;)(holder);\n";
+
+    private static final String SET_TRACKED_PREVIOUS = "        var previous = holder[propertyName];\n";
+
+    private static final String SET_TRACKED_UPDATE_ID_INDEX = "        @%1$s::updateIdIndex(Ljava/lang/Object;Ljava/lang/Object;Ljava/lang/Object;)(holder, previous, value);\n";
+
+    private static final String ADDED_UPDATE_ID_INDEX = "        @%1$s::updateIdIndex(Ljava/lang/Object;Ljava/lang/Object;Ljava/lang/Object;)(holder, null, value);\n";
+
+    private static final String UPDATE_ID_INDEX_METHOD = "\r\n     /**\n" +
+            "     * Keeps the id index of the graph containing the given <b>holder</b> (if it has been built, see <b>getIdIndex</b>)\n" +
+            "     * up to date after a modification of <b>holder</b>: the <b>removed</b> instances (or array items) are detached from\n" +
+            "     * the index, unless they are <b>added</b> back, and the <b>added</b> ones are indexed with their whole subtree.\n" +
+            "     * The indexed instances carry their index, hence the graphs never indexed cost a single property lookup\n" +
+            "     * @param holder\n" +
+            "     * @param removed\n" +
+            "     * @param added\n" +
+            "     */\n" +
+            "     public static native void updateIdIndex(final Object holder, final Object removed, final Object added) /*-{\n" +
+            "        if (holder.__indexed == null) {\n" +
+            "            return;\n" +
+            "        }\n" +
+            "        holder.__indexed.update(holder, removed, added);\n" +
+            "    }-*/;\n";
+
+    private static final String COPY_ON_WRITE_METHOD = "\r\n     /**\n" +
+            "     * To be invoked before modifying the given <b>holder</b>: if it is shared with snapshots taken after its last\n" +
+            "     * modification, a shallow copy of its current state replaces it inside those snapshots, and the same is done for\n" +
+            "     * its ancestors; hence only the path to the root is copied, and only on the first write after each snapshot\n" +
+            "     * @param holder\n" +
+            "     */\n" +
+            "     public static native void copyOnWrite(final Object holder) /*-{\n" +
+            "        var root = holder;\n" +
+            "        while (root.__parent != null) {\n" +
+            "            root = root.__parent;\n" +
+            "        }\n" +
+            "        var epoch = root.__snapshotEpoch || 0;\n" +
+            "        if ((holder.__epoch || 0) >= epoch) {\n" +
+            "            return;\n" +
+            "        }\n" +
+            "        var define = function (target, name, value) {\n" +
+            "            Object.defineProperty(target, name, {value: value, writable: true, configurable: true});\n" +
+            "        };\n" +
+            "        var clone = {};\n" +
+            "        Object.keys(holder).forEach(function (key) {\n" +
+            "            clone[key] = Array.isArray(holder[key]) ? holder[key].slice() : holder[key];\n" +
+            "        });\n" +
+            "        if (holder.__parent != null) {\n" +
+            "            // the parent copy is registered as view parent of holder, hence it is updated below\n" +
+            "            @%1$s::copyOnWrite(Ljava/lang/Object;)(holder.__parent);\n" +
+            "        } else {\n" +
+            "            root.__snapshots.forEach(function (snapshot) {\n" +
+            "                snapshot.root = clone;\n" +
+            "            });\n" +
+            "            define(root, '__snapshots', []);\n" +
+            "        }\n" +
+            "        (holder.__viewParents || []).forEach(function (viewParent) {\n" +
+            "            Object.keys(viewParent).forEach(function (key) {\n" +
+            "                var value = viewParent[key];\n" +
+            "                if (value === holder) {\n" +
+            "                    viewParent[key] = clone;\n" +
+            "                } else if (Array.isArray(value)) {\n" +
+            "                    for (var i = 0; i < value.length; i++) {\n" +
+            "                        if (value[i] === holder) {\n" +
+            "                            value[i] = clone;\n" +
+            "                        }\n" +
+            "                    }\n" +
+            "                }\n" +
+            "            });\n" +
+            "        });\n" +
+            "        define(holder, '__viewParents', []);\n" +
+            "        Object.keys(clone).forEach(function (key) {\n" +
+            "            [].concat(clone[key]).forEach(function (child) {\n" +
+            "                if (child != null && typeof child === 'object' && child.__parent === holder) {\n" +
+            "                    if (child.__viewParents == null) {\n" +
+            "                        define(child, '__viewParents', []);\n" +
+            "                    }\n" +
+            "                    child.__viewParents.push(clone);\n" +
+            "                }\n" +
+            "            });\n" +
+            "        });\n" +
+            "        define(holder, '__epoch', epoch);\n" +
+            "    }-*/;\n";
+
+    private static final String ADOPT_TREE_METHOD = "\r\n     /**\n" +
+            "     * Attaches each object of the given <b>value</b> subtree to its parent, <b>value</b> itself (or each of its items,\n" +
+            "     * if it is an array) being attached to the given <b>parent</b>, if any; the lazy placeholders are attached too,\n" +
+            "     * but their subtrees are attached only when they are materialized\n" +
+            "     * @param value\n" +
+            "     * @param parent\n" +
+            "     */\n" +
+            "     public static native void adoptTree(final Object value, final Object parent) /*-{\n" +
+            "        if (value == null || typeof value !== 'object' || value.nodeType != null) {\n" +
+            "            return;\n" +
+            "        }\n" +
+            "        if (Array.isArray(value)) {\n" +
+            "            for (var i = 0; i < value.length; i++) {\n" +
+            "                @%1$s::adoptTree(Ljava/lang/Object;Ljava/lang/Object;)(value[i], parent);\n" +
+            "            }\n" +
+            "            return;\n" +
+            "        }\n" +
+            "        if (parent != null) {\n" +
+            "            Object.defineProperty(value, '__parent', {value: parent, writable: true, configurable: true});\n" +
+            "        }\n" +
+            "        if (typeof value.materialize === 'function') {\n" +
+            "            return;\n" +
+            "        }\n" +
+            "        Object.keys(value).forEach(function (key) {\n" +
+            "            @%1$s::adoptTree(Ljava/lang/Object;Ljava/lang/Object;)(value[key], value);\n" +
+            "        });\n" +
+            "    }-*/;\n";
+
+    private static final String TAKE_SNAPSHOT_METHOD = "\r\n     /**\n" +
+            "     * Takes a copy-on-write snapshot of the whole graph containing the given <b>instance</b>: the graph is shared\n" +
+            "     * with the snapshot until it is modified through the generated setters and collection mutators.\n" +
+            "     * At the first snapshot of a graph, its objects are attached to their parents (see <b>adoptTree</b>), if this has\n" +
+            "     * not been done already at unmarshalling time; hence <b>instance</b> must be the root of a graph never snapshotted\n" +
+            "     * @param instance\n" +
+            "     * @return the snapshot, whose (read-only) root is returned by <b>getSnapshotRoot</b>\n" +
+            "     */\n" +
+            "     public static native Object takeSnapshot(final Object instance) /*-{\n" +
+            "        var root = instance;\n" +
+            "        while (root.__parent != null) {\n" +
+            "            root = root.__parent;\n" +
+            "        }\n" +
+            "        if (root.__snapshotEpoch === undefined) {\n" +
+            "            @%1$s::adoptTree(Ljava/lang/Object;Ljava/lang/Object;)(root, null);\n" +
+            "        }\n" +
+            "        var define = function (target, name, value) {\n" +
+            "            Object.defineProperty(target, name, {value: value, writable: true, configurable: true});\n" +
+            "        };\n" +
+            "        var snapshot = {root: root};\n" +
+            "        define(root, '__snapshotEpoch', (root.__snapshotEpoch || 0) + 1);\n" +
+            "        if (root.__snapshots == null) {\n" +
+            "            define(root, '__snapshots', []);\n" +
+            "        }\n" +
+            "        root.__snapshots.push(snapshot);\n" +
+            "        return snapshot;\n" +
+            "    }-*/;\n";
+
+    private static final String GET_SNAPSHOT_ROOT_METHOD = "\r\n     /**\n" +
+            "     * Returns the root of the given <b>snapshot</b>, as it was when the snapshot has been taken; it must not be modified\n" +
+            "     * @param snapshot\n" +
+            "     * @param <D>\n" +
+            "     * @return\n" +
+            "     */\n" +
+            "     public static native <D> D getSnapshotRoot(final Object snapshot) /*-{\n" +
+            "        return snapshot.root;\n" +
+            "    }-*/;\n";
+
+    private static final String DEEP_COPY_METHOD = "\r\n     /**\n" +
+            "     * Generic deep copy, used for the values whose type is not a generated class (e.g. wrapped elements and\n" +
+            "     * attributes maps); <b>DOM</b> nodes are cloned\n" +
+            "     * @param original\n" +
+            "     * @param <D>\n" +
+            "     * @return\n" +
+            "     */\n" +
+            "     public static native <D> D deepCopy(final D original) /*-{\n" +
+            "        if (original == null || typeof original !== 'object') {\n" +
+            "            return original;\n" +
+            "        }\n" +
+            "        if (original.nodeType != null) {\n" +
+            "            return original.cloneNode(true);\n" +
+            "        }\n" +
+            "        var toReturn = Array.isArray(original) ? [] : {};\n" +
+            "        var keys = Object.keys(original);\n" +
+            "        for (var i = 0; i < keys.length; i++) {\n" +
+            "            toReturn[keys[i]] = @%1$s::deepCopy(Ljava/lang/Object;)(original[keys[i]]);\n" +
+            "        }\n" +
+            "        return toReturn;\n" +
+            "    }-*/;\n";
+
+    private static final String DEEP_EQUALS_METHOD = "\r\n     /**\n" +
+            "     * Generic structural equality, used for the values whose type is not a generated class\n" +
+            "     * @param left\n" +
+            "     * @param right\n" +
+            "     * @return\n" +
+            "     */\n" +
+            "     public static native boolean deepEquals(final Object left, final Object right) /*-{\n" +
+            "        if (left === right) {\n" +
+            "            return true;\n" +
+            "        }\n" +
+            "        if (left == null || right == null || typeof left !== 'object' || typeof right !== 'object') {\n" +
+            "            return false;\n" +
+            "        }\n" +
+            "        if (left.nodeType != null || right.nodeType != null) {\n" +
+            "            return left.nodeType != null && right.nodeType != null && left.isEqualNode(right);\n" +
+            "        }\n" +
+            "        if (Array.isArray(left) !== Array.isArray(right)) {\n" +
+            "            return false;\n" +
+            "        }\n" +
+            "        var keys = Object.keys(left);\n" +
+            "        if (keys.length !== Object.keys(right).length) {\n" +
+            "            return false;\n" +
+            "        }\n" +
+            "        for (var i = 0; i < keys.length; i++) {\n" +
+            "            if (!Object.prototype.hasOwnProperty.call(right, keys[i]) ||\n" +
+            "                !@%1$s::deepEquals(Ljava/lang/Object;Ljava/lang/Object;)(left[keys[i]], right[keys[i]])) {\n" +
+            "                return false;\n" +
+            "            }\n" +
+            "        }\n" +
+            "        return true;\n" +
+            "    }-*/;\n";
+
+    private static final String DEEP_HASH_CODE_METHOD = "\r\n     /**\n" +
+            "     * Generic structural hash code, consistent with <b>deepEquals</b>\n" +
+            "     * @param value\n" +
+            "     * @return\n" +
+            "     */\n" +
+            "     public static native int deepHashCode(final Object value) /*-{\n" +
+            "        if (value == null) {\n" +
+            "            return 0;\n" +
+            "        }\n" +
+            "        if (typeof value === 'boolean') {\n" +
+            "            return value ? 1231 : 1237;\n" +
+            "        }\n" +
+            "        if (typeof value !== 'object') {\n" +
+            "            var text = String(value);\n" +
+            "            var hash = 0;\n" +
+            "            for (var j = 0; j < text.length; j++) {\n" +
+            "                hash = (31 * hash + text.charCodeAt(j)) | 0;\n" +
+            "            }\n" +
+            "            return hash;\n" +
+            "        }\n" +
+            "        if (value.nodeType != null) {\n" +
+            "            return @%1$s::deepHashCode(Ljava/lang/Object;)(value.nodeName);\n" +
+            "        }\n" +
+            "        var isArray = Array.isArray(value);\n" +
+            "        var result = isArray ? 1 : 0;\n" +
+            "        var keys = Object.keys(value);\n" +
+            "        for (var i = 0; i < keys.length; i++) {\n" +
+            "            var itemHash = @%1$s::deepHashCode(Ljava/lang/Object;)(value[keys[i]]);\n" +
+            "            if (isArray) {\n" +
+            "                result = (31 * result + itemHash) | 0;\n" +
+            "            } else {\n" +
+            "                // properties order is not relevant for equality, hence it must not be relevant here\n" +
+            "                result = (result + (@%1$s::deepHashCode(Ljava/lang/Object;)(keys[i]) ^ itemHash)) | 0;\n" +
+            "            }\n" +
+            "        }\n" +
+            "        return result;\n" +
+            "    }-*/;\n";
+
+    private static final String GET_NATIVE_ARRAY_METHOD = "\r\n     /**\n" +
+            "     * Helper method to create a new, empty <code>JsArrayLike</code>\n" +
+            "     * @return\n" +
+            "     */\n" +
+            "     public static native <D> JsArrayLike<D> getNativeArray() /*-{\n" +
+            "        return [];\n" +
+            "    }-*/;\n";
+
+    private static final String TO_ATTRIBUTES_MAP_METHOD = "\r\n     private static native void toAttributesMap(final Map<QName, String> toReturn,\n" +
+            "                                               final Object original) /*-{\n" +
+            "        var keys = Object.keys(original);\n" +
+            "        for (var i = 0; i < keys.length; i++) {\n" +
+            "            var key = keys[i];\n" +
+            "            var value = original[key];\n" +
+            "            @%1$s.JsUtils::putToAttributesMap(Ljava/util/Map;Ljava/lang/String;Ljava/lang/String;)(toReturn, key, value);\n" +
+            "        }\n" +
+            "    }-*/;\n";
+
+    private static final String GET_EMPTY_JS_OBJECT_METHOD = "\r\n    /**\n" +
+            "     * Helper method to create a new empty JavaScript object.\n" +
+            "     * @return\n" +
+            "     */\n" +
+            "    private static native <D> D getJsObject() /*-{\n" +
+            "        return {};\n" +
+            "    }-*/;\n";
+
+    private static final String PUT_TO_JS_OBJECT_METHOD = "\r\n    /**\n" +
+            "     * Helper method to add a value to a JavaScript object at the associated key.\n" +
+            "     */\n" + "" +
+            "    private static native <D, K, V> void putToJavaScriptObject(final D jso, final K key, final V value) /*-{\n" +
+            "        jso[key] = value;\n" +
+            "    }-*/;\n";
+
+    private static final String GET_TYPE_NAME = "\r\n    public static native String getTypeName(final Object instance) /*-{\n" +
+            "        return instance.TYPE_NAME\n" +
+            "    }-*/;\n";
+
+    private static final String ID_INDEX_METHODS = "\r\n     /**\n" +
+            "     * Returns the index of the instances of the graph of the given <b>root</b> (e.g. a container object) by the\n" +
+            "     * value of their <b>xs:ID</b> property, building it on first request: the graph is walked once, attaching each\n" +
+            "     * instance to its parent, and then the index is kept up to date by the generated setters and collection mutators\n" +
+            "     * (through <b>updateIdIndex</b>); lazy placeholders are indexed once materialized\n" +
+            "     * @param root\n" +
+            "     * @return\n" +
+            "     */\n" +
+            "     public static native Object getIdIndex(final Object root) /*-{\n" +
+            "        if (root.__idIndex != null) {\n" +
+            "            return root.__idIndex;\n" +
+            "        }\n" +
+            "        var define = function (target, name, value) {\n" +
+            "            Object.defineProperty(target, name, {value: value, writable: true, configurable: true});\n" +
+            "        };\n" +
+            "        var index = {ids: {}, idProperties: %2$s};\n" +
+            "        var register = function (instance) {\n" +
+            "            var idProperty = index.idProperties[instance.TYPE_NAME];\n" +
+            "            if (idProperty != null && typeof instance[idProperty] === 'string') {\n" +
+            "                index.ids[instance[idProperty]] = instance;\n" +
+            "            }\n" +
+            "        };\n" +
+            "        var walk = function (value, parent) {\n" +
+            "            if (value == null || typeof value !== 'object' || value.nodeType != null || value.lazyNode != null || typeof value.materialize === 'function') {\n" +
+            "                return;\n" +
+            "            }\n" +
+            "            if (Array.isArray(value)) {\n" +
+            "                value.forEach(function (item) {\n" +
+            "                    walk(item, parent);\n" +
+            "                });\n" +
+            "                return;\n" +
+            "            }\n" +
+            "            if (parent != null) {\n" +
+            "                define(value, '__parent', parent);\n" +
+            "            }\n" +
+            "            define(value, '__indexed', index);\n" +
+            "            register(value);\n" +
+            "            Object.keys(value).forEach(function (key) {\n" +
+            "                walk(value[key], value);\n" +
+            "            });\n" +
+            "        };\n" +
+            "        index.update = function (holder, removed, added) {\n" +
+            "            var addedItems = [].concat(added);\n" +
+            "            [].concat(removed).forEach(function (item) {\n" +
+            "                if (item != null && item.__indexed === index && addedItems.indexOf(item) === -1) {\n" +
+            "                    // the whole subtree is detached, since its ancestors chain does not reach the root anymore\n" +
+            "                    define(item, '__indexed', null);\n" +
+            "                }\n" +
+            "            });\n" +
+            "            register(holder);\n" +
+            "            addedItems.forEach(function (item) {\n" +
+            "                if (item != null && item.__indexed !== index) {\n" +
+            "                    walk(item, holder);\n" +
+            "                }\n" +
+            "            });\n" +
+            "        };\n" +
+            "        walk(root, null);\n" +
+            "        define(root, '__idIndex', index);\n" +
+            "        return index;\n" +
+            "    }-*/;\n" +
+            "\r\n     /**\n" +
+            "     * Returns the instance of the graph of the given <b>root</b> whose <b>xs:ID</b> property is <b>id</b>, if any,\n" +
+            "     * without scanning the graph (see <b>getIdIndex</b>)\n" +
+            "     * @param root\n" +
+            "     * @param id\n" +
+            "     * @param <D>\n" +
+            "     * @return\n" +
+            "     */\n" +
+            "     public static native <D> D getById(final Object root, final String id) /*-{\n" +
+            "        var index = @%1$s::getIdIndex(Ljava/lang/Object;)(root);\n" +
+            "        if (!Object.prototype.hasOwnProperty.call(index.ids, id)) {\n" +
+            "            return null;\n" +
+            "        }\n" +
+            "        var instance = index.ids[id];\n" +
+            "        var attached = instance[index.idProperties[instance.TYPE_NAME]] === id;\n" +
+            "        for (var node = instance; attached && node !== root; node = node.__parent) {\n" +
+            "            attached = node.__indexed === index && node.__parent != null;\n" +
+            "        }\n" +
+            "        if (!attached) {\n" +
+            "            // removed, or whose id has been changed, after having been indexed\n" +
+            "            delete index.ids[id];\n" +
+            "            return null;\n" +
+            "        }\n" +
+            "        return instance;\n" +
+            "    }-*/;\n";
+
+    protected static final String GET_JSI_NAME_TEMPLATE = "\r\n    " +
+            "public static native JSIName getJSIName(final String namespaceURI,\n" +
+            "                                            final String localPart,\n" +
+            "                                            final String prefix)/*-{\n" +
+            "        var json = \"{\\\"namespaceURI\\\": \\\"\" + namespaceURI + \"\\\"," +
+            " \\\"localPart\\\": \\\"\" + localPart + \"\\\"," +
+            " \\\"prefix\\\": \\\"\" + prefix + \"\\\"," +
+            " \\\"key\\\": \\\"{\" + namespaceURI + \"}\" + localPart + \"\\\"," +
+            " \\\"string\\\": \\\"{\" + namespaceURI + \"}\" + prefix + \":\" + localPart + \"\\\"}\";\n" +
+            "        return JSON.parse(json);\n" +
+            "\r\n}-*/;";
+
+    private JsUtilsBuilder() {
+    }
+
+    public static JDefinedClass generateJsUtilsClass(JCodeModel jCodeModel, String jsMainPackage) throws JClassAlreadyExistsException {
+        return generateJsUtilsClass(jCodeModel, jsMainPackage, false);
+    }
+
+    /**
+     * @param jCodeModel
+     * @param jsMainPackage
+     * @param pooledWrappers <code>true</code> to add the methods to acquire and release <b>pooled</b> wrappers
+     * @return
+     * @throws JClassAlreadyExistsException
+     */
+    public static JDefinedClass generateJsUtilsClass(JCodeModel jCodeModel, String jsMainPackage, boolean pooledWrappers) throws JClassAlreadyExistsException {
+        return generateJsUtilsClass(jCodeModel, jsMainPackage, pooledWrappers, false);
+    }
+
+    /**
+     * @param jCodeModel
+     * @param jsMainPackage
+     * @param pooledWrappers <code>true</code> to add the methods to acquire and release <b>pooled</b> wrappers
+     * @param sharedRuntime <code>true</code> to extend <code>JsUtilsBase</code> of the prebuilt <b>gwt-jsonix-runtime</b>,
+     * generating only the schema-specific methods (<b>pooledWrappers</b> is then ignored, since the runtime always provides them)
+     * @return
+     * @throws JClassAlreadyExistsException
+     */
+    public static JDefinedClass generateJsUtilsClass(JCodeModel jCodeModel, String jsMainPackage, boolean pooledWrappers, boolean sharedRuntime) throws JClassAlreadyExistsException {
+        final GWTSettings settings = new GWTSettings();
+        settings.setJsMainPackage(jsMainPackage);
+        settings.setPooledWrappers(pooledWrappers);
+        settings.setSharedRuntime(sharedRuntime);
+        return generateJsUtilsClass(jCodeModel, settings);
+    }
+
+    /**
+     * @param jCodeModel
+     * @param settings the helpers of the optional features (wrappers pool, lazy elements, ...) are added only if the
+     * feature is enabled; with the shared runtime all of them are inherited instead
+     * @return
+     * @throws JClassAlreadyExistsException
+     */
+    public static JDefinedClass generateJsUtilsClass(JCodeModel jCodeModel, GWTSettings settings) throws JClassAlreadyExistsException {
+        final String jsMainPackage = settings.getJsMainPackage();
+        final JDefinedClass toReturn = getJsUtilsClass(jCodeModel, jsMainPackage);
+        if (settings.isSharedRuntime()) {
+            toReturn._extends(jCodeModel.directClass(RUNTIME_BASE_CLASS));
+            populateSchemaSpecificMethods(jCodeModel, toReturn, jsMainPackage);
+            return toReturn;
+        }
+        populateJsUtilClass(jCodeModel, toReturn, settings);
+        if (settings.isPooledWrappers()) {
+            addWrappersPoolMethods(toReturn);
+        }
+        return toReturn;
+    }
+
+    /**
+     * Generates the <code>JsUtilsBase</code> of the prebuilt <b>gwt-jsonix-runtime</b>, i.e. the schema-independent methods
+     * of <code>JsUtils</code> with all the optional features enabled, since the runtime has to serve any generation option.
+     * The runtime sources are the output of this method (see <code>JsUtilsBuilderTest</code>), and never edited by hand
+     * @param jCodeModel
+     * @return
+     * @throws JClassAlreadyExistsException
+     */
+    public static JDefinedClass generateRuntimeBaseClass(JCodeModel jCodeModel) throws JClassAlreadyExistsException {
+        log(LogLevelSetting.DEBUG, "Creating JsUtilsBase class");
+        final JDefinedClass toReturn = jCodeModel._class(JMod.PUBLIC + JMod.ABSTRACT, RUNTIME_BASE_CLASS, ClassType.CLASS);
+        JDocComment comment = toReturn.javadoc();
+        comment.append("Schema-independent helpers used by all the generated JSInterop classes.\n<p>\n");
+        comment.append("The <code>JsUtils</code> class generated with the <b>-jsruntime</b> option extends this one, adding only the\n");
+        comment.append("schema-specific methods (<code>JSIName</code> and <code>otherAttributes</code> handling): the generated code keeps\n");
+        comment.append("invoking <code>JsUtils.&lt;method&gt;</code>, that is resolved here.\n<p>\n");
+        comment.append("Generated by <code>JsUtilsBuilder.generateRuntimeBaseClass</code>: do not edit.");
+        toReturn.constructor(JMod.PROTECTED).body().directStatement(" //Protected constructor to prevent instantiation");
+        populateSchemaIndependentMethods(jCodeModel, toReturn, true, true, true, true, true);
+        addWrappersPoolMethods(toReturn);
+        return toReturn;
+    }
+
+    protected static void populateJsUtilClass(JCodeModel jCodeModel, JDefinedClass toPopulate, GWTSettings settings) {
+        populateSchemaIndependentMethods(jCodeModel, toPopulate, !settings.getLazyElements().isEmpty(), settings.isTrackedSetters(), settings.isSnapshots(), settings.isIdIndex(), settings.isDeepHelpers());
+        populateSchemaSpecificMethods(jCodeModel, toPopulate, settings.getJsMainPackage());
+    }
+
+    /**
+     * Populates the given <code>JsUtils</code> (or <code>JsUtilsBase</code>) with the methods not depending on the schema
+     * @param jCodeModel
+     * @param toPopulate
+     * @param isLazyElements
+     * @param isTrackedSetters
+     * @param isSnapshots
+     * @param isIdIndex
+     * @param isDeepHelpers
+     */
+    protected static void populateSchemaIndependentMethods(JCodeModel jCodeModel, JDefinedClass toPopulate, boolean isLazyElements, boolean isTrackedSetters, boolean isSnapshots, boolean isIdIndex, boolean isDeepHelpers) {
+        JMethod addMethod = addAddMethod(jCodeModel, toPopulate);
+        addAddAllMethod(jCodeModel, toPopulate, addMethod);
+        addRemoveMethod(jCodeModel, toPopulate);
+        addToListMethod(jCodeModel, toPopulate);
+        addToJsArrayLikeMethod(jCodeModel, toPopulate);
+        addNewWrappedInstance(toPopulate);
+        addSetValueOnWrappedObject(toPopulate);
+        addGetNativeElementsArrayMethod(toPopulate);
+        addGetUnwrappedElementsArrayMethod(toPopulate);
+        addGetUnwrappedElementMethod(toPopulate);
+        addGetWrappedElementMethod(toPopulate);
+        if (isLazyElements) {
+            addGetMaterializedMethod(toPopulate, isSnapshots, isIdIndex);
+        }
+        if (isTrackedSetters) {
+            addMarkDirtyMethod(toPopulate, isSnapshots, isIdIndex);
+            addSetTrackedMethod(toPopulate, isSnapshots, isIdIndex);
+        }
+        if (isIdIndex) {
+            addUpdateIdIndexMethod(toPopulate);
+        }
+        if (isSnapshots) {
+            addSnapshotMethods(toPopulate);
+        }
+        if (isDeepHelpers) {
+            addDeepHelperMethods(toPopulate);
+        }
+        addGetNativeArray(toPopulate);
+        addGetTypeName(toPopulate);
+    }
+
+    /**
+     * Populates the <code>JsUtils</code> extending the shared runtime with the methods depending on the generated
+     * <code>JSIName</code> and on the <code>QName</code> emulation of the project: all the other ones are inherited
+     * @param jCodeModel
+     * @param toPopulate
+     * @param jsMainPackage
+     */
+    protected static void populateSchemaSpecificMethods(JCodeModel jCodeModel, JDefinedClass toPopulate, String jsMainPackage) {
+        addEmptyConstructor(toPopulate);
+        addSetNameOnWrappedObject(toPopulate);
+        addJavaToAttributesMapMethod(jCodeModel, toPopulate);
+        addNativeToAttributesMapMethod(toPopulate, jsMainPackage);
+        addPutToAttributesMap(jCodeModel, toPopulate);
+        addJavaFromAttributesMapMethod(jCodeModel, toPopulate);
+        addNativeGetJsObjectMethod(toPopulate);
+        addNativePutToJsObjectMethod(toPopulate);
+        addGetJSIName(toPopulate);
+    }
+
+    protected static void addGetJSIName(final JDefinedClass jDefinedClass) {
+        log(LogLevelSetting.DEBUG, "Add native 'getJSIName' method...");
+        jDefinedClass.direct(GET_JSI_NAME_TEMPLATE);
+    }
+
+    /**
+     * Adds to the given <code>JsUtils</code> the methods to build and query the id index of the JSI graphs (see
+     * <b>getIdIndex</b>), based on the <b>xs:ID</b> properties of the given <code>Model</code>
+     * @param model
+     * @param definedClassesMap
+     * @param packageModuleMap
+     * @param jsUtils
+     */
+    public static void generateIdIndexMethods(final Model model, final Map<String, JClass> definedClassesMap, final Map<String, String> packageModuleMap, final JDefinedClass jsUtils) {
+        addIdIndexMethods(jsUtils, getIdPropertyNames(model, definedClassesMap, packageModuleMap));
+    }
+
+    protected static void addIdIndexMethods(final JDefinedClass jsUtils, final Map<String, String> idPropertyNames) {
+        log(LogLevelSetting.DEBUG, "Add 'getIdIndex' and 'getById' methods...");
+        jsUtils.direct(String.format(ID_INDEX_METHODS, jsUtils.fullName(), toJsObjectLiteral(idPropertyNames, "        ")));
+    }
+
+    /**
+     * @param model
+     * @param definedClassesMap
+     * @param packageModuleMap
+     * @return the <b>js</b> name of the <b>xs:ID</b> property (declared or inherited) of each generated class, keyed by <code>TYPE_NAME</code>
+     */
+    protected static Map<String, String> getIdPropertyNames(final Model model,
+                                                            final Map<String, JClass> definedClassesMap,
+                                                            final Map<String, String> packageModuleMap) {
+        final Map<String, String> toReturn = new TreeMap<>();
+        getTypeNamesMap(model, definedClassesMap, packageModuleMap).forEach((cClassInfo, typeName) -> {
+            for (CClassInfo current = cClassInfo; current != null && !toReturn.containsKey(typeName); current = current.getBaseClass()) {
+                current.getProperties().stream()
+                        .filter(cPropertyInfo -> cPropertyInfo.id() == ID.ID)
+                        .findFirst()
+                        .ifPresent(cPropertyInfo -> toReturn.put(typeName, cPropertyInfo.getName(false)));
+            }
+        });
+        return toReturn;
+    }
+
+    /**
+     * Returns the <code>TYPE_NAME</code> of all the generated classes, as built by Jsonix: module name, outer class
+     * name (for inner classes) and class name
+     * @param model
+     * @param definedClassesMap
+     * @param packageModuleMap
+     * @return
+     */
+    protected static Map<CClassInfo, String> getTypeNamesMap(final Model model,
+                                                            final Map<String, JClass> definedClassesMap,
+                                                            final Map<String, String> packageModuleMap) {
+        final Map<CClassInfo, String> toReturn = new LinkedHashMap<>();
+        for (CClassInfo cClassInfo : model.beans().values()) {
+            final JClass jClass = definedClassesMap.get(cClassInfo.fullName());
+            if (!(jClass instanceof JDefinedClass)) {
+                continue;
+            }
+            final String moduleName = packageModuleMap.get(jClass._package().name());
+            if (moduleName == null) {
+                continue;
+            }
+            final String parentClassName = ((JDefinedClass) jClass).outer() != null && cClassInfo.parent() instanceof CClassInfo ? ((CClassInfo) cClassInfo.parent()).shortName : null;
+            toReturn.put(cClassInfo, parentClassName != null ? moduleName + "." + parentClassName + "." + cClassInfo.shortName : moduleName + "." + cClassInfo.shortName);
+        }
+        return toReturn;
+    }
+
+    protected static void addGetTypeName(final JDefinedClass jDefinedClass) {
+        log(LogLevelSetting.DEBUG, "Add native 'getTypeName' method...");
+        jDefinedClass.direct(GET_TYPE_NAME);
+    }
+
+    protected static JDefinedClass getJsUtilsClass(JCodeModel jCodeModel, String jsMainPackage) throws JClassAlreadyExistsException {
+        log(LogLevelSetting.DEBUG, "Creating  JsUtils class");
+        if (!jsMainPackage.isEmpty() && !jsMainPackage.endsWith(".")) {
+            jsMainPackage += ".";
+        }
+        final JDefinedClass toReturn = jCodeModel._class(jsMainPackage + "JsUtils");
+        JDocComment comment = toReturn.javadoc();
+        comment.append("Utility class to provide generic methods used by all specific JSInterop classes");
+        return toReturn;
+    }
+
+    protected static void addEmptyConstructor(JDefinedClass jsUtils) {
+        log(LogLevelSetting.DEBUG, "Add empty constructor...");
+        jsUtils.constructor(JMod.PRIVATE).body().directStatement(" //Private constructor to prevent instantiation");
+    }
+
+    protected static JMethod addAddMethod(JCodeModel jCodeModel, JDefinedClass jsUtils) {
+        log(LogLevelSetting.DEBUG, "Add 'add' method...");
+        JClass genericT = getGenericT(jCodeModel);
+        final JMethod toReturn = getGenerifiedJMethod(jsUtils, Void.TYPE, "add");
+        final JVar jsArrayLikeParameter = getJSArrayNarrowedJVar(jCodeModel, toReturn);
+        final JVar elementParam = toReturn.param(JMod.FINAL, genericT, ELEMENT);
+        final JBlock block = toReturn.body();
+        final JVar length = block.decl(jCodeModel.INT, "length");
+        length.init(JExpr.invoke(jsArrayLikeParameter, "getLength"));
+        block.add(jsArrayLikeParameter.invoke("setLength").arg(length.plus(JExpr.lit(1))));
+        block.add(jsArrayLikeParameter.invoke("setAt").arg(length).arg(elementParam));
+        return toReturn;
+    }
+
+    protected static JMethod addAddAllMethod(JCodeModel jCodeModel, JDefinedClass jsUtils, JMethod addMethod) {
+        log(LogLevelSetting.DEBUG, "Add 'addAll' method...");
+        JClass genericT = getGenericT(jCodeModel);
+        JClass genericE = getGenericTExtends(jCodeModel);
+        final JMethod toReturn = getGenerifiedJMethod(jsUtils, Void.TYPE, "addAll");
+        toReturn.generify(GENERIC_EXTEND_TYPE_NAME, genericT);
+        final JVar jsArrayLikeParameter = getJSArrayNarrowedJVar(jCodeModel, toReturn);
+        final JVar elementParam = toReturn.varParam(genericE, "elements");
+        elementParam.mods().setFinal(true);
+        final JBlock block = toReturn.body();
+        final JInvocation addInvocation = jsUtils.staticInvoke(addMethod).arg(jsArrayLikeParameter).arg(JExpr.ref(ELEMENT));
+        final JForEach forEachElement = block.forEach(genericT, ELEMENT, elementParam);
+        forEachElement.body().add(addInvocation);
+        return toReturn;
+    }
+
+    protected static JMethod addRemoveMethod(JCodeModel jCodeModel, JDefinedClass jsUtils) {
+        log(LogLevelSetting.DEBUG, "Add 'remove' method...");
+        final JMethod toReturn = getGenerifiedJMethod(jsUtils, Void.TYPE, "remove");
+        final JVar jsArrayLikeParameter = getJSArrayNarrowedJVar(jCodeModel, toReturn);
+        final JVar indexParam = toReturn.param(JMod.FINAL, jCodeModel.INT, "index");
+        final JBlock block = toReturn.body();
+        final JVar targetIndex = block.decl(jCodeModel.INT, "targetIndex", JExpr.lit(0));
+        final JForLoop jForLoop = block._for();
+        final JVar sourceIndex = jForLoop.init(jCodeModel.INT, "sourceIndex", JExpr.lit(0));
+        jForLoop.test(sourceIndex.lt(jsArrayLikeParameter.invoke("getLength")));
+        jForLoop.update(sourceIndex.incr());
+        final JConditional jConditional = jForLoop.body()._if(sourceIndex.ne(indexParam));
+        jConditional._then()
+                .add(jsArrayLikeParameter.invoke("setAt")
+                             .arg(targetIndex.incr())
+                             .arg(jsArrayLikeParameter.invoke("getAt").arg(sourceIndex)));
+        block.add(jsArrayLikeParameter.invoke("setLength").arg(targetIndex));
+        return toReturn;
+    }
+
+    protected static JMethod addToListMethod(JCodeModel jCodeModel, JDefinedClass jsUtils) {
+        log(LogLevelSetting.DEBUG, "Add 'toList' method...");
+        JClass rawListClass = jCodeModel.ref(List.class);
+        final JClass genericT = getGenericT(jCodeModel);
+        JClass narrowedList = rawListClass.narrow(genericT);
+        JClass rawArrayListClass = jCodeModel.ref(ArrayList.class);
+        JClass arrayListField = rawArrayListClass.narrow(genericT);
+
+        final JMethod toReturn = getGenerifiedJMethod(jsUtils, narrowedList, "toList");
+        final JVar jsArrayLikeParameter = getJSArrayNarrowedJVar(jCodeModel, toReturn);
+        final JBlock block = toReturn.body();
+        final JVar listToReturn = block.decl(JMod.FINAL, narrowedList, "toReturn", JExpr._new(arrayListField));
+        final JConditional nonNull = block._if(jCodeModel.ref(Objects.class).staticInvoke("nonNull").arg(jsArrayLikeParameter));
+        final JForLoop jForLoop = nonNull._then()._for();
+        final JVar i = jForLoop.init(jCodeModel.INT, "i", JExpr.lit(0));
+        jForLoop.test(i.lt(jsArrayLikeParameter.invoke("getLength")));
+        jForLoop.update(i.incr());
+        final JBlock forLoopBody = jForLoop.body();
+        final JVar toAdd = forLoopBody.decl(JMod.FINAL, genericT, "toAdd", jCodeModel.ref(Js.class).staticInvoke("uncheckedCast").arg(jsArrayLikeParameter.invoke("getAt").arg(i)));
+        forLoopBody.add(listToReturn.invoke("add").arg(toAdd));
+        block._return(listToReturn);
+        return toReturn;
+    }
+
+    protected static JMethod addToJsArrayLikeMethod(JCodeModel jCodeModel, JDefinedClass jsUtils) {
+        log(LogLevelSetting.DEBUG, "Add 'toJsArrayLike' method...");
+        final JClass genericT = getGenericT(jCodeModel);
+        JClass narrowedJsArrayLike = getJsArrayNarrowedClass(jCodeModel);
+        JClass rawArrayListClass = jCodeModel.ref(List.class);
+        JClass listField = rawArrayListClass.narrow(genericT);
+
+        final JMethod toReturn = getGenerifiedJMethod(jsUtils, narrowedJsArrayLike, "toJsArrayLike");
+        final JVar listParameter = toReturn.param(JMod.FINAL, listField, "list");
+        final JBlock block = toReturn.body();
+
+        final JVar listToReturn = block.decl(JMod.FINAL, narrowedJsArrayLike, "toReturn", JExpr.invoke("getNativeArray"));
+        final JConditional nonNull = block._if(jCodeModel.ref(Objects.class).staticInvoke("nonNull").arg(listParameter));
+        final JForLoop jForLoop = nonNull._then()._for();
+        final JVar i = jForLoop.init(jCodeModel.INT, "i", JExpr.lit(0));
+        jForLoop.test(i.lt(listParameter.invoke("size")));
+        jForLoop.update(i.incr());
+        final JBlock forLoopBody = jForLoop.body();
+        final JVar toAdd = forLoopBody.decl(JMod.FINAL, genericT, "toAdd", jCodeModel.ref(Js.class).staticInvoke("uncheckedCast").arg(listParameter.invoke("get").arg(i)));
+        forLoopBody.add(listToReturn.invoke("setAt").arg(listToReturn.invoke("getLength")).arg(toAdd));
+        block._return(listToReturn);
+        return toReturn;
+    }
+
+    protected static void addNewWrappedInstance(JDefinedClass jDefinedClass) {
+        log(LogLevelSetting.DEBUG, "Add 'newWrappedInstance' method...");
+        String directString = String.format(NEW_WRAPPED_INSTANCE_TEMPLATE, jDefinedClass.name());
+        jDefinedClass.direct(directString);
+    }
+
+    protected static void addSetNameOnWrappedObject(JDefinedClass jDefinedClass) {
+        log(LogLevelSetting.DEBUG, "Add 'setNameOnWrapped' method...");
+        String directString = String.format(SET_NAME_ON_WRAPPED_TEMPLATE, jDefinedClass.name());
+        jDefinedClass.direct(directString);
+    }
+
+    protected static void addSetValueOnWrappedObject(JDefinedClass jDefinedClass) {
+        log(LogLevelSetting.DEBUG, "Add 'setValueOnWrapped' method...");
+        String directString = String.format(SET_VALUE_ON_WRAPPED_TEMPLATE, jDefinedClass.name());
+        jDefinedClass.direct(directString);
+    }
+
+    protected static void addGetUnwrappedElementsArrayMethod(JDefinedClass jsUtils) {
+        log(LogLevelSetting.DEBUG, "Add 'getUnwrappedElementsArray' method...");
+        jsUtils.direct(GET_UNWRAPPED_ELEMENTS_ARRAY_METHOD);
+    }
+
+    protected static void addGetNativeElementsArrayMethod(JDefinedClass jsUtils) {
+        log(LogLevelSetting.DEBUG, "Add 'getNativeElementsArray' method...");
+        jsUtils.direct(GET_NATIVE_ELEMENTS_ARRAY_METHOD);
+    }
+
+    protected static void addGetUnwrappedElementMethod(JDefinedClass jsUtils) {
+        log(LogLevelSetting.DEBUG, "Add 'getUnwrappedElement' method...");
+        jsUtils.direct(GET_UNWRAPPED_ELEMENT_METHOD);
+    }
+
+    protected static void addGetWrappedElementMethod(JDefinedClass jsUtils) {
+        log(LogLevelSetting.DEBUG, "Add 'getWrappedElement' method...");
+        jsUtils.direct(GET_WRAPPED_ELEMENT_METHOD);
+    }
+
+    protected static void addWrappersPoolMethods(JDefinedClass jsUtils) {
+        log(LogLevelSetting.DEBUG, "Add wrappers pool methods...");
+        jsUtils.field(PRIVATE_STATIC_MODS, Object.class, "wrappersPool");
+        jsUtils.direct(String.format(WRAPPERS_POOL_METHODS, jsUtils.fullName(), WRAPPERS_POOL_SIZE));
+    }
+
+    /**
+     * @param jsUtils
+     * @param isSnapshots whether the materialized subtrees have to be attached to their parents, as required by <code>copyOnWrite</code>
+     * @param isIdIndex whether the materialized subtrees have to be added to the id index
+     */
+    protected static void addGetMaterializedMethod(JDefinedClass jsUtils, boolean isSnapshots, boolean isIdIndex) {
+        log(LogLevelSetting.DEBUG, "Add 'getMaterialized' method...");
+        final String adoptItem = isSnapshots ? String.format(GET_MATERIALIZED_ADOPT_ITEM, jsUtils.fullName()) : "";
+        final String adoptValue = isSnapshots ? String.format(GET_MATERIALIZED_ADOPT_VALUE, jsUtils.fullName()) : "";
+        final String updateIdIndex = isIdIndex ? String.format(ADDED_UPDATE_ID_INDEX, jsUtils.fullName()) : "";
+        jsUtils.direct(String.format(GET_MATERIALIZED_METHOD, jsUtils.fullName(), adoptItem, adoptValue, updateIdIndex));
+    }
+
+    /**
+     * @param jsUtils
+     * @param isSnapshots whether the new instances have to be flagged with the current snapshot epoch
+     * @param isIdIndex whether the new instances have to be added to the id index
+     */
+    protected static void addMarkDirtyMethod(JDefinedClass jsUtils, boolean isSnapshots, boolean isIdIndex) {
+        log(LogLevelSetting.DEBUG, "Add 'markDirty' method...");
+        final String updateIdIndex = isIdIndex ? String.format(ADDED_UPDATE_ID_INDEX, jsUtils.fullName()) : "";
+        jsUtils.direct(String.format(MARK_DIRTY_METHOD, jsUtils.fullName(), isSnapshots ? MARK_DIRTY_EPOCH : "", updateIdIndex));
+    }
+
+    protected static void addUpdateIdIndexMethod(JDefinedClass jsUtils) {
+        log(LogLevelSetting.DEBUG, "Add 'updateIdIndex' method...");
+        jsUtils.direct(UPDATE_ID_INDEX_METHOD);
+    }
+
+    /**
+     * @param jsUtils
+     * @param isSnapshots whether the holder has to be copied on write, to preserve the snapshots sharing it
+     * @param isIdIndex whether the replaced and the new values have to be updated in the id index
+     */
+    protected static void addSetTrackedMethod(JDefinedClass jsUtils, boolean isSnapshots, boolean isIdIndex) {
+        log(LogLevelSetting.DEBUG, "Add 'setTracked' method...");
+        final String copyOnWrite = isSnapshots ? String.format(SET_TRACKED_COPY_ON_WRITE, jsUtils.fullName()) : "";
+        final String previous = isIdIndex ? SET_TRACKED_PREVIOUS : "";
+        final String updateIdIndex = isIdIndex ? String.format(SET_TRACKED_UPDATE_ID_INDEX, jsUtils.fullName()) : "";
+        jsUtils.direct(String.format(SET_TRACKED_METHOD, jsUtils.fullName(), copyOnWrite, previous, updateIdIndex));
+    }
+
+    protected static void addSnapshotMethods(JDefinedClass jsUtils) {
+        log(LogLevelSetting.DEBUG, "Add 'adoptTree', 'copyOnWrite', 'takeSnapshot' and 'getSnapshotRoot' methods...");
+        jsUtils.direct(String.format(ADOPT_TREE_METHOD, jsUtils.fullName()));
+        jsUtils.direct(String.format(COPY_ON_WRITE_METHOD, jsUtils.fullName()));
+        jsUtils.direct(String.format(TAKE_SNAPSHOT_METHOD, jsUtils.fullName()));
+        jsUtils.direct(GET_SNAPSHOT_ROOT_METHOD);
+    }
+
+    protected static void addDeepHelperMethods(JDefinedClass jsUtils) {
+        log(LogLevelSetting.DEBUG, "Add 'deepCopy', 'deepEquals' and 'deepHashCode' methods...");
+        jsUtils.direct(String.format(DEEP_COPY_METHOD, jsUtils.fullName()));
+        jsUtils.direct(String.format(DEEP_EQUALS_METHOD, jsUtils.fullName()));
+        jsUtils.direct(String.format(DEEP_HASH_CODE_METHOD, jsUtils.fullName()));
+    }
+
+    protected static void addGetNativeArray(JDefinedClass jsUtils) {
+        log(LogLevelSetting.DEBUG, "Add 'getNativeArray' method...");
+        jsUtils.direct(GET_NATIVE_ARRAY_METHOD);
+    }
+
+    protected static void addNativeGetJsObjectMethod(JDefinedClass jsUtils) {
+        log(LogLevelSetting.DEBUG, "Add native 'getJsObject' method...");
+        jsUtils.direct(GET_EMPTY_JS_OBJECT_METHOD);
+    }
+
+    protected static void addNativePutToJsObjectMethod(JDefinedClass jsUtils) {
+        log(LogLevelSetting.DEBUG, "Add native 'putToJsObject' method...");
+        jsUtils.direct(PUT_TO_JS_OBJECT_METHOD);
+    }
+
+    /**
+     * @param jCodeModel
+     * @param jsUtils
+     * @return
+     */
+    protected static JMethod addJavaToAttributesMapMethod(JCodeModel jCodeModel, JDefinedClass jsUtils) {
+        log(LogLevelSetting.DEBUG, "Add java 'toAttributesMap' method...");
+        final JClass qName = jCodeModel.ref(QName.class);
+        JClass narrowedMap = getQNameStringNarrowedMapClass(jCodeModel);
+        JClass rawHashMapClass = jCodeModel.ref(HashMap.class);
+        JClass hashMapField = rawHashMapClass.narrow(qName, jCodeModel.ref(String.class));
+        final JMethod toReturn = getJMethod(jsUtils, narrowedMap, "toAttributesMap");
+        final JVar originalParameter = toReturn.param(JMod.FINAL, jCodeModel.ref(Object.class), "original");
+        final JBlock block = toReturn.body();
+        final JVar mapToReturn = block.decl(JMod.FINAL, narrowedMap, "toReturn", JExpr._new(hashMapField));
+        final JConditional nonNull = block._if(jCodeModel.ref(Objects.class).staticInvoke("nonNull").arg(originalParameter));
+        nonNull._then().invoke("toAttributesMap").arg(mapToReturn).arg(originalParameter);
+        block._return(mapToReturn);
+        final JDocComment javadoc = toReturn.javadoc();
+        String commentString = "Extracts the <b>otherAttributes</b> property from a JavaScriptObject to a <i>regular</i> Java Map.";
+        javadoc.append(commentString);
+        JCommentPart setterPart = javadoc.addParam("original");
+        commentString = " <b>js object</b> to transform.";
+        setterPart.add(commentString);
+        JCommentPart returnPart = javadoc.addReturn();
+        commentString = "the populated <code>Map&lt;QName, String&gt;</code>";
+        returnPart.add(commentString);
+        return toReturn;
+    }
+
+    protected static JMethod addPutToAttributesMap(JCodeModel jCodeModel, JDefinedClass jsUtils) {
+        log(LogLevelSetting.DEBUG, "Add 'putToAttributesMap' method...");
+        final JClass qName = jCodeModel.ref(QName.class);
+        JClass narrowedMap = getQNameStringNarrowedMapClass(jCodeModel);
+        final JMethod toReturn = jsUtils.method(PRIVATE_STATIC_MODS, Void.TYPE, "putToAttributesMap");
+        final JVar mapParameter = toReturn.param(JMod.FINAL, narrowedMap, "destination");
+        final JVar qNameAsStringParameter = toReturn.param(JMod.FINAL, jCodeModel.ref(String.class), "qNameAsString");
+        final JVar valueParameter = toReturn.param(JMod.FINAL, jCodeModel.ref(String.class), "value");
+        final JBlock block = toReturn.body();
+        block.add(mapParameter.invoke("put").arg(qName.staticInvoke("valueOf").arg(qNameAsStringParameter)).arg(valueParameter));
+        final JDocComment javadoc = toReturn.javadoc();
+        String commentString = "Create a <code>QName</code> instance from the given <b>qNameAsString</b>, and the use it as key for a new entry on <b>destination</b> Map.";
+        javadoc.append(commentString);
+        JCommentPart setterPart = javadoc.addParam("destination");
+        commentString = " the <code>Map</code> to populate.";
+        setterPart.add(commentString);
+        setterPart = javadoc.addParam("qNameAsString");
+        commentString = " the <code>String</code> to transform to <code>QName</code> instance used as key.";
+        setterPart.add(commentString);
+        setterPart = javadoc.addParam("value");
+        commentString = " the <b>value</b> to be used in the new entry.";
+        setterPart.add(commentString);
+        return toReturn;
+    }
+
+    protected static void addNativeToAttributesMapMethod(JDefinedClass jsUtils, String jsMainPackage) {
+        log(LogLevelSetting.DEBUG, "Add native 'toAttributesMap' method...");
+        jsUtils.direct(String.format(TO_ATTRIBUTES_MAP_METHOD, jsMainPackage));
+    }
+
+    /**
+     * @param jCodeModel
+     * @param jsUtils
+     * @return
+     */
+    protected static JMethod addJavaFromAttributesMapMethod(JCodeModel jCodeModel, JDefinedClass jsUtils) {
+        log(LogLevelSetting.DEBUG, "Add java 'fromAttributesMapMethod' method...");
+        final JClass narrowedMap = getQNameStringNarrowedMapClass(jCodeModel);
+        final JMethod toReturn = getJMethod(jsUtils, jCodeModel.ref(Object.class), "fromAttributesMap");
+        final JTypeVar type = toReturn.generify("D");
+        toReturn.type(type);
+        final JVar originalParam = toReturn.param(JMod.FINAL, narrowedMap, "original");
+        final JBlock block = toReturn.body();
+        final JVar mapToReturn = block.decl(JMod.FINAL, type, "toReturn", JExpr.invoke("getJsObject"));
+
+        final JClass narrowedConsumer = getQNameStringNarrowedMapEntryConsumerClass(jCodeModel);
+        JDefinedClass anonymousNarrowedConsumerProducer = jCodeModel.anonymousClass(narrowedConsumer);
+        final JMethod acceptMethod = anonymousNarrowedConsumerProducer.method(JMod.PUBLIC, jCodeModel.VOID, "accept");
+        acceptMethod.annotate(Override.class);
+        final JVar entry = acceptMethod.param(getQNameStringNarrowedMapEntryClass(jCodeModel), "entry");
+        JBlock methodBody = acceptMethod.body();
+        methodBody.invoke("putToJavaScriptObject")
+                .arg(mapToReturn)
+                .arg(entry.invoke("getKey").invoke("toString"))
+                .arg(entry.invoke("getValue"));
+        block.add((originalParam.invoke("entrySet").invoke("stream").invoke("forEach")).arg(JExpr._new(anonymousNarrowedConsumerProducer)));
+        block._return(mapToReturn);
+        final JDocComment javadoc = toReturn.javadoc();
+        String commentString = "Extracts the <b>otherAttributes</b> property from a <i>regular<i> Java Map to a JavaScriptObject.";
+        javadoc.append(commentString);
+        JCommentPart setterPart = javadoc.addParam("original");
+        commentString = " the <code>Map&lt;QName, String&gt;</code> to transform.";
+        setterPart.add(commentString);
+        JCommentPart returnPart = javadoc.addReturn();
+        commentString = "the populated JavaScriptObject";
+        returnPart.add(commentString);
+        return toReturn;
+    }
+
+    protected static JMethod getGenerifiedJMethod(JDefinedClass jsUtils, Class<?> returnType, String methodName) {
+        JMethod toReturn = getJMethod(jsUtils, returnType, methodName);
+        toReturn.generify(GENERIC_TYPE_NAME);
+        return toReturn;
+    }
+
+    protected static JMethod getGenerifiedJMethod(JDefinedClass jsUtils, JClass returnType, String methodName) {
+        JMethod toReturn = getJMethod(jsUtils, returnType, methodName);
+        toReturn.generify(GENERIC_TYPE_NAME);
+        return toReturn;
+    }
+
+    // TODO {gcardosi} delete when we are sure it is unneeded
+//    protected static JMethod getGenerifiedNativeJMethod(JDefinedClass jsUtils, Class<?> returnType, String methodName) {
+//        JMethod toReturn = getNativeJMethod(jsUtils, returnType, methodName);
+//        toReturn.generify(GENERIC_TYPE_NAME);
+//        return toReturn;
+//    }
+
+    // TODO {gcardosi} delete when we are sure it is unneeded
+//    protected static JMethod getGenerifiedNativeJMethod(JDefinedClass jsUtils, JClass returnType, String methodName) {
+//        JMethod toReturn = getNativeJMethod(jsUtils, returnType, methodName);
+//        toReturn.generify(GENERIC_TYPE_NAME);
+//        return toReturn;
+//    }
+
+    protected static JMethod getJMethod(JDefinedClass jsUtils, Class<?> returnType, String methodName) {
+        return jsUtils.method(PUBLIC_STATIC_MODS, returnType, methodName);
+    }
+
+    protected static JMethod getJMethod(JDefinedClass jsUtils, JClass returnType, String methodName) {
+        return jsUtils.method(PUBLIC_STATIC_MODS, returnType, methodName);
+    }
+
+    protected static JMethod getNativeJMethod(JDefinedClass jsUtils, Class<?> returnType, String methodName) {
+        return jsUtils.method(PUBLIC_STATIC_NATIVE_MODS, returnType, methodName);
+    }
+
+    protected static JMethod getNativeJMethod(JDefinedClass jsUtils, JClass returnType, String methodName) {
+        return jsUtils.method(PUBLIC_STATIC_NATIVE_MODS, returnType, methodName);
+    }
+
+    protected static JVar getJSArrayNarrowedJVar(JCodeModel jCodeModel, JMethod jmethod) {
+        return jmethod.param(JMod.FINAL, getJsArrayNarrowedClass(jCodeModel), "jsArrayLike");
+    }
+
+    protected static JClass getGenericT(JCodeModel jCodeModel) {
+        return jCodeModel.ref(GENERIC_TYPE_NAME);
+    }
+
+    protected static JClass getGenericTExtends(JCodeModel jCodeModel) {
+        return jCodeModel.ref(GENERIC_EXTEND_TYPE_NAME);
+    }
+
+    protected static JClass getJsArrayNarrowedClass(JCodeModel jCodeModel) {
+        JClass jsArrayLikeClass = jCodeModel.ref(JsArrayLike.class);
+        return jsArrayLikeClass.narrow(getGenericT(jCodeModel));
+    }
+
+    protected static JClass getQNameStringNarrowedMapClass(JCodeModel jCodeModel) {
+        JClass rawMapClass = jCodeModel.ref(Map.class);
+        final JClass qName = jCodeModel.ref(QName.class);
+        return rawMapClass.narrow(qName, jCodeModel.ref(String.class));
+    }
+
+    protected static JClass getQNameStringNarrowedMapEntryClass(JCodeModel jCodeModel) {
+        JClass rawMapClass = jCodeModel.directClass(Map.Entry.class.getCanonicalName());
+        return rawMapClass.narrow(QName.class, String.class);
+    }
+
+    protected static JClass getQNameStringNarrowedMapEntryConsumerClass(JCodeModel jCodeModel) {
+        final JClass narrowedQnameMapEntryClass = getQNameStringNarrowedMapEntryClass(jCodeModel);
+        final JClass rawConsumer = jCodeModel.ref(Consumer.class);
+        return rawConsumer.narrow(narrowedQnameMapEntryClass);
+    }
+}
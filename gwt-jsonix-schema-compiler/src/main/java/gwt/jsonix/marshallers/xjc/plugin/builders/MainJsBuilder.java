@@ -0,0 +1,549 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.marshallers.xjc.plugin.builders;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.xml.namespace.QName;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.json.client.JSONObject;
+import com.google.gwt.json.client.JSONString;
+import com.sun.codemodel.ClassType;
+import com.sun.codemodel.JAnnotationUse;
+import com.sun.codemodel.JArray;
+import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JDocComment;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JInvocation;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.JVar;
+import com.sun.codemodel.fmt.JTextFile;
+import gwt.jsonix.marshallers.xjc.plugin.dtos.ConstructorMapper;
+import jsinterop.annotations.JsMethod;
+import jsinterop.annotations.JsOverlay;
+import jsinterop.annotations.JsPackage;
+import jsinterop.annotations.JsType;
+import jsinterop.base.JsPropertyMap;
+import org.apache.commons.lang3.StringUtils;
+
+import static gwt.jsonix.marshallers.xjc.plugin.JsonixGWTPlugin.MAIN_JS;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.MARSHALL_CALLBACK;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.UNMARSHALL_CALLBACK;
+
+/**
+ * Actual builder for the <b>JSInterop</b> <code>MainJs</code> class
+ */
+public class MainJsBuilder {
+
+    /**
+     * Maximum number of constructors registered by a single generated method: each one takes about 20 bytes of
+     * bytecode, so the methods stay far below the 64KB limit and small enough to be optimized by the js engines
+     */
+    protected static final int CONSTRUCTORS_CHUNK_SIZE = 500;
+
+    /**
+     * Maximum number of chunks of each holder class: each constructor takes up to 4 entries of its constant pool,
+     * limited to 65535
+     */
+    protected static final int CONSTRUCTORS_CHUNKS_PER_CLASS = 10;
+
+    protected static final String CONSTRUCTORS = "Constructors";
+
+    protected static final String ADD_CONSTRUCTORS = "addConstructors";
+
+    /**
+     * Classpath resource with the javascript runtime of the generated <code>MainJs</code>
+     */
+    protected static final String RUNTIME_RESOURCE = "MainJsRuntime.js";
+
+    protected static final String RUNTIME = "Runtime";
+
+    /**
+     * Placeholder of the name of the <code>MainJs</code> global object inside {@link #RUNTIME_RESOURCE}
+     */
+    protected static final String MAIN_JS_NAME_PLACEHOLDER = "@mainJsName@";
+
+    private MainJsBuilder() {
+    }
+
+    /**
+     * Adds the javascript runtime of the <code>MainJs</code> with the given name (<code>&lt;mainJsName&gt;Runtime.js</code>)
+     * to the default package of the given <code>JCodeModel</code>, next to the Jsonix mappings
+     *
+     * @param codeModel
+     * @param mainJsName
+     * @return the added file
+     * @throws IOException
+     */
+    public static JTextFile generateMainJsRuntime(final JCodeModel codeModel, final String mainJsName) throws IOException {
+        final JTextFile toReturn = new JTextFile(mainJsName + RUNTIME + ".js");
+        toReturn.setContents(getMainJsRuntime().replace(MAIN_JS_NAME_PLACEHOLDER, mainJsName));
+        codeModel.rootPackage().addResourceFile(toReturn);
+        return toReturn;
+    }
+
+    /**
+     * Method to create the <b>JSInterop</b> <code>MainJs</code> class
+     *
+     * @param callbacksMap
+     * @param containersClasses
+     * @param constructorsMap
+     * @param jCodeModel
+     * @param mainJsName
+     * @param lazyElements
+     * @param dirtyTracking
+     * @param stats
+     * @return the <code>MainJs</code> class, or <code>null</code> if there are no containers
+     * @throws JClassAlreadyExistsException
+     */
+    public static JDefinedClass generateJSInteropMainJs(final Map<String, Map<String, JDefinedClass>> callbacksMap,
+                                               final List<JDefinedClass> containersClasses,
+                                               final Map<String, List<ConstructorMapper>> constructorsMap,
+                                               final JCodeModel jCodeModel,
+                                               final String mainJsName,
+                                               final List<QName> lazyElements,
+                                               final boolean dirtyTracking,
+                                               final boolean stats) throws JClassAlreadyExistsException {
+        if (containersClasses.isEmpty()) {
+            return null;
+        }
+        String basePackage = containersClasses.get(0)._package().name();
+        if (basePackage.contains(".")) {
+            basePackage = basePackage.substring(0, basePackage.lastIndexOf('.'));
+        }
+        final JDefinedClass mainJsClass = getMainJsClass(jCodeModel, basePackage, mainJsName);
+        final JMethod getJSONObjectMethod = addGetJSONObjectMethod(mainJsClass, jCodeModel);
+        addGetConstructorsMap(constructorsMap, mainJsClass, getJSONObjectMethod, jCodeModel);
+        addInitializeJsInteropConstructors(mainJsClass, jCodeModel);
+        if (!lazyElements.isEmpty()) {
+            addGetLazyElements(lazyElements, mainJsClass, jCodeModel);
+            addInitializeLazyElements(mainJsClass, jCodeModel);
+        }
+        if (dirtyTracking) {
+            addEnableDirtyTracking(mainJsClass, jCodeModel);
+        }
+        if (stats) {
+            addGetStats(mainJsClass, jCodeModel);
+            addSetStatsLevel(mainJsClass, jCodeModel);
+        }
+
+        for (JDefinedClass mainObject : containersClasses) {
+            populateJCodeModel(jCodeModel, mainObject, mainJsClass, callbacksMap.get(mainObject.name()));
+        }
+        return mainJsClass;
+    }
+
+    /**
+     *
+     * @param mainJsClass
+     * @param jCodeModel
+     */
+    protected static void addInitializeJsInteropConstructors(final JDefinedClass mainJsClass,
+                                                             final JCodeModel jCodeModel) {
+        final int mod = JMod.PUBLIC + JMod.FINAL + JMod.STATIC + JMod.NATIVE;
+        final JMethod method = mainJsClass.method(mod, Void.TYPE, "initializeJsInteropConstructors");
+        method.param(JsPropertyMap.class, "constructorsMap");
+        method.annotate(jCodeModel.ref(JsMethod.class));
+    }
+
+    /**
+     * Add the native method replacing, on the <b>js</b> side, the mappings with the Jsonix modules built from them,
+     * reused by all the contexts created afterwards
+     * @param mainJsClass
+     * @param jCodeModel
+     */
+    protected static void addPrecompileMappings(final JDefinedClass mainJsClass,
+                                                final JCodeModel jCodeModel) {
+        final int mod = JMod.PUBLIC + JMod.FINAL + JMod.STATIC + JMod.NATIVE;
+        final JMethod method = mainJsClass.method(mod, Void.TYPE, "precompileMappings");
+        method.annotate(jCodeModel.ref(JsMethod.class));
+    }
+
+    /**
+     * Add the native method used to register, on the <b>js</b> side, the elements whose subtrees have to be kept
+     * unparsed at unmarshalling time
+     * @param mainJsClass
+     * @param jCodeModel
+     */
+    protected static void addInitializeLazyElements(final JDefinedClass mainJsClass,
+                                                    final JCodeModel jCodeModel) {
+        final int mod = JMod.PUBLIC + JMod.FINAL + JMod.STATIC + JMod.NATIVE;
+        final JMethod method = mainJsClass.method(mod, Void.TYPE, "initializeLazyElements");
+        method.param(String[].class, "lazyElements");
+        method.annotate(jCodeModel.ref(JsMethod.class));
+    }
+
+    /**
+     * Add the native method used to enable, on the <b>js</b> side, the reuse of the serialized fragments of the
+     * subtrees not flagged as <b>dirty</b> by the generated setters
+     * @param mainJsClass
+     * @param jCodeModel
+     */
+    protected static void addEnableDirtyTracking(final JDefinedClass mainJsClass,
+                                                 final JCodeModel jCodeModel) {
+        final int mod = JMod.PUBLIC + JMod.FINAL + JMod.STATIC + JMod.NATIVE;
+        final JMethod method = mainJsClass.method(mod, Void.TYPE, "enableDirtyTracking");
+        method.annotate(jCodeModel.ref(JsMethod.class));
+    }
+
+    /**
+     * Add the native method returning the counts and timings collected by the <b>js</b> runtime, keyed by operation
+     * (<code>constructors</code>, <code>precompile</code>, <code>context</code>, <code>marshall</code>,
+     * <code>unmarshall</code>)
+     * @param mainJsClass
+     * @param jCodeModel
+     */
+    protected static void addGetStats(final JDefinedClass mainJsClass,
+                                      final JCodeModel jCodeModel) {
+        final int mod = JMod.PUBLIC + JMod.FINAL + JMod.STATIC + JMod.NATIVE;
+        final JMethod method = mainJsClass.method(mod, jCodeModel.ref(JsPropertyMap.class).narrow(Object.class), "getStats");
+        method.annotate(jCodeModel.ref(JsMethod.class));
+    }
+
+    /**
+     * Add the native method setting the instrumentation level of the <b>js</b> runtime: <code>0</code> disables it,
+     * <code>1</code> collects the counts and <code>2</code> also the timings
+     * @param mainJsClass
+     * @param jCodeModel
+     */
+    protected static void addSetStatsLevel(final JDefinedClass mainJsClass,
+                                           final JCodeModel jCodeModel) {
+        final int mod = JMod.PUBLIC + JMod.FINAL + JMod.STATIC + JMod.NATIVE;
+        final JMethod method = mainJsClass.method(mod, Void.TYPE, "setStatsLevel");
+        method.param(int.class, "level");
+        method.annotate(jCodeModel.ref(JsMethod.class));
+    }
+
+    /**
+     * Add the method returning the <b>lazy</b> elements, each one represented by its <code>{namespaceURI}localPart</code> key
+     * @param lazyElements
+     * @param mainJsClass
+     * @param jCodeModel
+     */
+    protected static void addGetLazyElements(final List<QName> lazyElements,
+                                             final JDefinedClass mainJsClass,
+                                             final JCodeModel jCodeModel) {
+        final int mod = JMod.PUBLIC + JMod.STATIC;
+        final JMethod method = mainJsClass.method(mod, String[].class, "getLazyElements");
+        method.annotate(jCodeModel.ref(JsOverlay.class));
+        final JArray jArray = JExpr.newArray(jCodeModel.ref(String.class));
+        lazyElements.forEach(lazyElement -> jArray.add(JExpr.lit(lazyElement.toString())));
+        method.body()._return(jArray);
+    }
+
+    /**
+     *
+     * @param constructorsMap
+     * @param mainJsClass
+     * @param getJSONObjectMethod
+     * @param jCodeModel
+     */
+    protected static void addGetConstructorsMap(final Map<String, List<ConstructorMapper>> constructorsMap,
+                                                final JDefinedClass mainJsClass,
+                                                final JMethod getJSONObjectMethod,
+                                                final JCodeModel jCodeModel) throws JClassAlreadyExistsException {
+        addGetConstructorsMap(constructorsMap, mainJsClass, getJSONObjectMethod, jCodeModel, true);
+    }
+
+    /**
+     * Add the method returning the constructors to register. Up to {@link #CONSTRUCTORS_CHUNK_SIZE} constructors are
+     * put in a single array initializer; bigger tables are filled by the chunked methods of separated holder classes
+     * (see {@link #addConstructorsHolder(List, JDefinedClass, JCodeModel, int, int)})
+     * @param constructorsMap
+     * @param jDefinedClass
+     * @param getJSONObjectMethod
+     * @param jCodeModel
+     * @param isOverlay <code>true</code> if <b>jDefinedClass</b> is a native <code>JsType</code>
+     * @throws JClassAlreadyExistsException
+     */
+    protected static void addGetConstructorsMap(final Map<String, List<ConstructorMapper>> constructorsMap,
+                                                final JDefinedClass jDefinedClass,
+                                                final JMethod getJSONObjectMethod,
+                                                final JCodeModel jCodeModel,
+                                                final boolean isOverlay) throws JClassAlreadyExistsException {
+        final int mod = JMod.PUBLIC + JMod.STATIC;
+        final JMethod method = jDefinedClass.method(mod, JsPropertyMap.class, "getConstructorsMap");
+        if (isOverlay) {
+            method.annotate(jCodeModel.ref(JsOverlay.class));
+        }
+        final JBlock body = method.body();
+        final JClass jsPropertyMapRef = jCodeModel.ref(JsPropertyMap.class);
+        final JClass jsonObjectRef = jCodeModel.ref(JSONObject.class);
+        final JVar toReturnVar = body.decl(JMod.FINAL, jsPropertyMapRef, "toReturn", jsPropertyMapRef.staticInvoke("of"));
+        final List<ConstructorMapper> constructorMappers = new ArrayList<>();
+        constructorsMap.values().forEach(constructorMappers::addAll);
+        final JVar jsonObjectArrayVar;
+        if (constructorMappers.size() <= CONSTRUCTORS_CHUNK_SIZE) {
+            final JArray jArray = JExpr.newArray(jsonObjectRef);
+            constructorMappers.forEach(constructorMapper -> jArray.add(getJSONObjectInvocation(getJSONObjectMethod, constructorMapper)));
+            jsonObjectArrayVar = body.decl(JMod.FINAL, jsonObjectRef.array(), "toSet", jArray);
+        } else {
+            jsonObjectArrayVar = body.decl(JMod.FINAL, jsonObjectRef.array(), "toSet", JExpr.newArray(jsonObjectRef, constructorMappers.size()));
+            final int holderSize = CONSTRUCTORS_CHUNK_SIZE * CONSTRUCTORS_CHUNKS_PER_CLASS;
+            for (int from = 0; from < constructorMappers.size(); from += holderSize) {
+                final JDefinedClass holderClass = addConstructorsHolder(constructorMappers, jDefinedClass, jCodeModel, from, from / holderSize);
+                body.add(holderClass.staticInvoke(ADD_CONSTRUCTORS).arg(jsonObjectArrayVar));
+            }
+        }
+        body.add(toReturnVar.invoke("set").arg("constructors").arg(jsonObjectArrayVar));
+        body._return(toReturnVar);
+    }
+
+    /**
+     * Add the class filling the given slice of the constructors table, <b>CONSTRUCTORS_CHUNK_SIZE</b> constructors per
+     * method and <b>CONSTRUCTORS_CHUNKS_PER_CLASS</b> methods per class, to stay within the JVM limits of both
+     * @param constructorMappers all the constructors, in registration order
+     * @param jDefinedClass the class of the <code>getConstructorsMap</code> method
+     * @param jCodeModel
+     * @param from index of the first constructor of the slice
+     * @param index index of the holder class
+     * @return
+     * @throws JClassAlreadyExistsException
+     */
+    protected static JDefinedClass addConstructorsHolder(final List<ConstructorMapper> constructorMappers,
+                                                         final JDefinedClass jDefinedClass,
+                                                         final JCodeModel jCodeModel,
+                                                         final int from,
+                                                         final int index) throws JClassAlreadyExistsException {
+        final int to = Math.min(from + CONSTRUCTORS_CHUNK_SIZE * CONSTRUCTORS_CHUNKS_PER_CLASS, constructorMappers.size());
+        final JDefinedClass toReturn = jCodeModel._class(JMod.FINAL, jDefinedClass.fullName() + CONSTRUCTORS + index, ClassType.CLASS);
+        toReturn.javadoc().append("Constructors " + from + " to " + (to - 1) + " of <code>" + jDefinedClass.name() + ".getConstructorsMap</code>.");
+        toReturn.constructor(JMod.PRIVATE);
+        final JMethod getJSONObjectMethod = addGetJSONObjectMethod(toReturn, jCodeModel, false);
+        final JClass jsonObjectRef = jCodeModel.ref(JSONObject.class);
+        final JMethod addConstructorsMethod = toReturn.method(JMod.STATIC, Void.TYPE, ADD_CONSTRUCTORS);
+        final JVar toSetParam = addConstructorsMethod.param(JMod.FINAL, jsonObjectRef.array(), "toSet");
+        for (int chunkFrom = from; chunkFrom < to; chunkFrom += CONSTRUCTORS_CHUNK_SIZE) {
+            final JMethod chunkMethod = toReturn.method(JMod.PRIVATE + JMod.STATIC, Void.TYPE, ADD_CONSTRUCTORS + (chunkFrom - from) / CONSTRUCTORS_CHUNK_SIZE);
+            final JVar chunkToSetParam = chunkMethod.param(JMod.FINAL, jsonObjectRef.array(), "toSet");
+            for (int i = chunkFrom; i < Math.min(chunkFrom + CONSTRUCTORS_CHUNK_SIZE, to); i++) {
+                chunkMethod.body().assign(chunkToSetParam.component(JExpr.lit(i)), getJSONObjectInvocation(getJSONObjectMethod, constructorMappers.get(i)));
+            }
+            addConstructorsMethod.body().invoke(chunkMethod).arg(toSetParam);
+        }
+        return toReturn;
+    }
+
+    /**
+     * @param getJSONObjectMethod
+     * @param constructorMapper
+     * @return the invocation of <b>getJSONObjectMethod</b> for the given constructor
+     */
+    protected static JInvocation getJSONObjectInvocation(final JMethod getJSONObjectMethod, final ConstructorMapper constructorMapper) {
+        final JExpression originalTypeNameExpression = constructorMapper.getOriginalTypeName() == null ? JExpr._null() : JExpr.lit(constructorMapper.getOriginalTypeName());
+        final JExpression nameSpaceExpression = constructorMapper.getNameSpace() == null ? JExpr._null() : JExpr.lit(constructorMapper.getNameSpace());
+        return JExpr.invoke(getJSONObjectMethod).arg(JExpr.lit(constructorMapper.getJsiTypeName())).arg(originalTypeNameExpression).arg(nameSpaceExpression);
+    }
+
+    /**
+     *
+     * @param mainJsClass
+     * @param jCodeModel
+     * @return
+     */
+    protected static JMethod addGetJSONObjectMethod(final JDefinedClass mainJsClass,
+                                                    final JCodeModel jCodeModel) {
+        return addGetJSONObjectMethod(mainJsClass, jCodeModel, true);
+    }
+
+    /**
+     *
+     * @param jDefinedClass
+     * @param jCodeModel
+     * @param isOverlay <code>true</code> if <b>jDefinedClass</b> is a native <code>JsType</code>
+     * @return
+     */
+    protected static JMethod addGetJSONObjectMethod(final JDefinedClass jDefinedClass,
+                                                    final JCodeModel jCodeModel,
+                                                    final boolean isOverlay) {
+        final int mod = JMod.PRIVATE + JMod.STATIC;
+        final JMethod toReturn = jDefinedClass.method(mod, JSONObject.class, "getJSONObjectMethod");
+        if (isOverlay) {
+            toReturn.annotate(jCodeModel.ref(JsOverlay.class));
+        }
+        final JVar nameParam = toReturn.param(String.class, "name");
+        final JVar typeNameParam = toReturn.param(String.class, "typeName");
+        final JVar nameSpaceParam = toReturn.param(String.class, "nameSpace");
+
+        final JBlock body = toReturn.body();
+        final JClass jsonObjectRef = jCodeModel.ref(JSONObject.class);
+        final JClass jsonStringRef = jCodeModel.ref(JSONString.class);
+
+        final JVar toReturnVar = body.decl(JMod.FINAL, jsonObjectRef, "toReturn", JExpr._new(jsonObjectRef));
+        body.add(toReturnVar.invoke("put").arg("name").arg(JExpr._new(jsonStringRef).arg(nameParam)));
+        body._if(typeNameParam.ne(JExpr._null()))._then().add(toReturnVar.invoke("put").arg("typeName").arg(JExpr._new(jsonStringRef).arg(typeNameParam)));
+        body._if(nameSpaceParam.ne(JExpr._null()))._then().add(toReturnVar.invoke("put").arg("nameSpace").arg(JExpr._new(jsonStringRef).arg(nameSpaceParam)));
+        body._return(toReturnVar);
+        return toReturn;
+    }
+
+    /**
+     *
+     * @param toPopulate
+     * @param containerRef
+     * @param mainJsClass
+     * @param callbackMap
+     */
+    protected static void populateJCodeModel(final JCodeModel toPopulate,
+                                             final JClass containerRef,
+                                             final JDefinedClass mainJsClass,
+                                             final Map<String, JDefinedClass> callbackMap) {
+        addUnmarshall(toPopulate, mainJsClass, callbackMap.get(UNMARSHALL_CALLBACK));
+        addMarshall(toPopulate, mainJsClass, containerRef, callbackMap.get(MARSHALL_CALLBACK));
+    }
+
+    /**
+     *
+     * @param toPopulate
+     * @param basePackage
+     * @param mainJsName
+     * @return
+     * @throws JClassAlreadyExistsException
+     */
+    protected static JDefinedClass getMainJsClass(final JCodeModel toPopulate,
+                                                  final String basePackage,
+                                                  final String mainJsName) throws JClassAlreadyExistsException {
+        String fullMainJsName = basePackage + "." + mainJsName;
+        JDefinedClass jDefinedClass = toPopulate._getClass(fullMainJsName);
+        if (jDefinedClass == null) {
+            jDefinedClass = toPopulate._class(fullMainJsName);
+            JDocComment comment = jDefinedClass.javadoc();
+            String commentString = "JSInterop adapter to use for marshalling/unmarshalling.";
+            comment.append(commentString);
+            final JAnnotationUse classAnnotation = jDefinedClass.annotate(toPopulate.ref(JsType.class))
+                    .param("isNative", true)
+                    .param("namespace", toPopulate.ref(JsPackage.class).staticRef("GLOBAL"));
+            if (!MAIN_JS.equals(mainJsName)) {
+                classAnnotation.param("name", mainJsName);
+            }
+        }
+        return jDefinedClass;
+    }
+
+    /**
+     *
+     * @param toPopulate
+     * @param mainJsClass
+     * @param callbackRef
+     */
+    protected static void addUnmarshall(final JCodeModel toPopulate,
+                                        final JDefinedClass mainJsClass,
+                                        final JClass callbackRef) {
+        String unmarshallMethodName = "unmarshall";
+        JClass firstParameterRef = toPopulate.ref(String.class);
+        String firstParameterName = "xmlString";
+        String secondParameterName = "dynamicNamespace";
+        JClass secondParameterRef = toPopulate.ref(String.class);
+        addCallbackMethod(toPopulate, mainJsClass, unmarshallMethodName, firstParameterRef,
+                          firstParameterName, secondParameterRef, secondParameterName, callbackRef);
+    }
+
+    /**
+     *
+     * @param toPopulate
+     * @param mainJsClass
+     * @param firstParameterRef
+     * @param callbackRef
+     */
+    protected static void addMarshall(final JCodeModel toPopulate,
+                                      final JDefinedClass mainJsClass,
+                                      final JClass firstParameterRef,
+                                      final JClass callbackRef) {
+        String marshallMethodName = "marshall";
+        String firstParameterName = StringUtils.uncapitalize(firstParameterRef.name());
+        String secondParameterName = "namespaces";
+        JClass secondParameterRef = toPopulate.ref(JavaScriptObject.class);
+        addCallbackMethod(toPopulate, mainJsClass, marshallMethodName, firstParameterRef,
+                          firstParameterName, secondParameterRef, secondParameterName, callbackRef);
+    }
+
+    /**
+     *
+     * @param toPopulate
+     * @param jDefinedClass
+     * @param methodName
+     * @param firstParameterRef
+     * @param firstParameterName
+     * @param callbackRef
+     */
+    protected static void addCallbackMethod(final JCodeModel toPopulate,
+                                            final JDefinedClass jDefinedClass,
+                                            final String methodName,
+                                            final JClass firstParameterRef,
+                                            final String firstParameterName,
+                                            final JClass callbackRef) {
+        int mod = JMod.PUBLIC + JMod.FINAL + JMod.STATIC + JMod.NATIVE;
+        String callbackPropertyName = StringUtils.uncapitalize(callbackRef.name());
+        JMethod method = jDefinedClass.method(mod, Void.TYPE, methodName);
+        method.param(firstParameterRef, firstParameterName);
+        method.param(callbackRef, callbackPropertyName);
+        method.annotate(toPopulate.ref(JsMethod.class));
+    }
+
+    /**
+     *
+     * @param toPopulate
+     * @param jDefinedClass
+     * @param methodName
+     * @param firstParameterRef
+     * @param firstParameterName
+     * @param secondParameterRef
+     * @param secondParameterName
+     * @param callbackRef
+     */
+    protected static void addCallbackMethod(final JCodeModel toPopulate,
+                                            final JDefinedClass jDefinedClass,
+                                            final String methodName,
+                                            final JClass firstParameterRef,
+                                            final String firstParameterName,
+                                            final JClass secondParameterRef,
+                                            final String secondParameterName,
+                                            final JClass callbackRef) {
+        int mod = JMod.PUBLIC + JMod.FINAL + JMod.STATIC + JMod.NATIVE;
+        String callbackPropertyName = StringUtils.uncapitalize(callbackRef.name());
+        JMethod method = jDefinedClass.method(mod, Void.TYPE, methodName);
+        method.param(firstParameterRef, firstParameterName);
+        method.param(secondParameterRef, secondParameterName);
+        method.param(callbackRef, callbackPropertyName);
+        method.annotate(toPopulate.ref(JsMethod.class));
+    }
+
+    protected static String getMainJsRuntime() throws IOException {
+        try (InputStream inputStream = MainJsBuilder.class.getResourceAsStream(RUNTIME_RESOURCE)) {
+            if (inputStream == null) {
+                throw new IOException("Missing resource " + RUNTIME_RESOURCE);
+            }
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+                return reader.lines().collect(Collectors.joining("\n", "", "\n"));
+            }
+        }
+    }
+}
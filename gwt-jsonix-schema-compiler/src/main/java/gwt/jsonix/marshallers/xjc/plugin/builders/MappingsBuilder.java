@@ -0,0 +1,123 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.marshallers.xjc.plugin.builders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.sun.codemodel.ClassType;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
+import gwt.jsonix.marshallers.xjc.plugin.dtos.ConstructorMapper;
+import org.hisrc.jsonix.settings.LogLevelSetting;
+
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.log;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.toJsString;
+
+/**
+ * Actual builder for the <b>precompiled mappings</b> class, registering the <b>JSInterop</b> constructors without
+ * parsing them at runtime and building the Jsonix mapping modules once for all the contexts
+ */
+public class MappingsBuilder {
+
+    public static final String MAPPINGS = "Mappings";
+
+    protected static final String REGISTER_CONSTRUCTORS = "registerConstructors";
+
+    private static final String REGISTER_CONSTRUCTORS_METHOD = "\r\n    /**\n" +
+            "     * Registers the <b>JSInterop</b> constructors, inlined at generation time\n" +
+            "     */\n" +
+            "    public static native void %1$s() /*-{\n" +
+            "%2$s" +
+            "    }-*/;\n";
+
+    private MappingsBuilder() {
+    }
+
+    /**
+     * Method to create the <b>precompiled mappings</b> class, in the same package of the given <code>MainJs</code>
+     * @param constructorsMap
+     * @param mainJsClass
+     * @param jCodeModel
+     * @return the mappings class, or <code>null</code> if there is no <code>MainJs</code>
+     * @throws JClassAlreadyExistsException
+     */
+    public static JDefinedClass generateJSInteropMappings(final Map<String, List<ConstructorMapper>> constructorsMap,
+                                                          final JDefinedClass mainJsClass,
+                                                          final JCodeModel jCodeModel) throws JClassAlreadyExistsException {
+        log(LogLevelSetting.DEBUG, "Generating JSInterop precompiled mappings ...");
+        if (mainJsClass == null) {
+            return null;
+        }
+        final String mainJsName = mainJsClass.name();
+        final JDefinedClass toReturn = jCodeModel._class(JMod.PUBLIC + JMod.FINAL, mainJsClass._package().name() + "." + mainJsName + MAPPINGS, ClassType.CLASS);
+        toReturn.javadoc().append("Precompiled mappings of <code>" + mainJsName + "</code>.");
+        toReturn.javadoc().append("\nUse <code>precompile</code> instead of <code>" + mainJsName + ".initializeJsInteropConstructors(" + mainJsName + ".getConstructorsMap())</code>.");
+        toReturn.constructor(JMod.PRIVATE);
+        final List<ConstructorMapper> constructorMappers = new ArrayList<>();
+        constructorsMap.values().forEach(constructorMappers::addAll);
+        toReturn.direct(String.format(REGISTER_CONSTRUCTORS_METHOD, REGISTER_CONSTRUCTORS, getConstructorsDeclarations(constructorMappers)));
+        MainJsBuilder.addPrecompileMappings(mainJsClass, jCodeModel);
+        addPrecompileMethod(toReturn, mainJsClass);
+        return toReturn;
+    }
+
+    /**
+     * Add the method registering the constructors and then building the Jsonix mapping modules, so that the
+     * contexts created afterwards only have to register their (already resolved) type infos
+     * @param mappingsClass
+     * @param mainJsClass
+     * @return
+     */
+    protected static JMethod addPrecompileMethod(final JDefinedClass mappingsClass,
+                                                 final JDefinedClass mainJsClass) {
+        final JMethod toReturn = mappingsClass.method(JMod.PUBLIC + JMod.STATIC, Void.TYPE, "precompile");
+        toReturn.body().invoke(REGISTER_CONSTRUCTORS);
+        toReturn.body().add(mainJsClass.staticInvoke("precompileMappings"));
+        return toReturn;
+    }
+
+    /**
+     * Returns the statements defining the constructors; the ones of the inner types, that are defined inside their
+     * outer one, come last
+     * @param constructorMappers
+     * @return
+     */
+    protected static String getConstructorsDeclarations(final List<ConstructorMapper> constructorMappers) {
+        final List<ConstructorMapper> sorted = new ArrayList<>();
+        constructorMappers.stream().filter(constructorMapper -> constructorMapper.getNameSpace() == null).forEach(sorted::add);
+        constructorMappers.stream().filter(constructorMapper -> constructorMapper.getNameSpace() != null).forEach(sorted::add);
+        final StringBuilder toReturn = new StringBuilder();
+        for (ConstructorMapper constructorMapper : sorted) {
+            toReturn.append("        $wnd");
+            if (constructorMapper.getNameSpace() != null) {
+                toReturn.append("[").append(toJsString(constructorMapper.getNameSpace())).append("]");
+            }
+            toReturn.append("[").append(toJsString(constructorMapper.getJsiTypeName())).append("] = function () {\n");
+            if (constructorMapper.getOriginalTypeName() != null) {
+                toReturn.append("            return {\"TYPE_NAME\": ").append(toJsString(constructorMapper.getOriginalTypeName())).append("};\n");
+            } else {
+                toReturn.append("            return {};\n");
+            }
+            toReturn.append("        };\n");
+        }
+        return toReturn.toString();
+    }
+}
@@ -0,0 +1,572 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.marshallers.xjc.plugin.builders;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.sun.codemodel.ClassType;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JMod;
+import com.sun.tools.xjc.model.CAttributePropertyInfo;
+import com.sun.tools.xjc.model.CClassInfo;
+import com.sun.tools.xjc.model.CElement;
+import com.sun.tools.xjc.model.CElementInfo;
+import com.sun.tools.xjc.model.CElementPropertyInfo;
+import com.sun.tools.xjc.model.CNonElement;
+import com.sun.tools.xjc.model.CPropertyInfo;
+import com.sun.tools.xjc.model.CReferencePropertyInfo;
+import com.sun.tools.xjc.model.CTypeRef;
+import com.sun.tools.xjc.model.CValuePropertyInfo;
+import com.sun.tools.xjc.model.Model;
+import com.sun.xml.bind.v2.model.core.WildcardMode;
+import org.hisrc.jsonix.settings.LogLevelSetting;
+
+import static gwt.jsonix.marshallers.xjc.plugin.builders.UnmarshallerBuilder.STRING_TYPES;
+import static gwt.jsonix.marshallers.xjc.plugin.builders.UnmarshallerBuilder.getAllSubstitutionMembers;
+import static gwt.jsonix.marshallers.xjc.plugin.builders.UnmarshallerBuilder.getGlobalElements;
+import static gwt.jsonix.marshallers.xjc.plugin.builders.UnmarshallerBuilder.getKey;
+import static gwt.jsonix.marshallers.xjc.plugin.builders.UnmarshallerBuilder.getLeafTypeName;
+import static gwt.jsonix.marshallers.xjc.plugin.builders.UnmarshallerBuilder.getSubstitutionMembers;
+import static gwt.jsonix.marshallers.xjc.plugin.builders.UnmarshallerBuilder.getTypeName;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.log;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.toJsString;
+
+/**
+ * Actual builder for the <b>schema-specialized marshaller</b>, i.e. a <b>JSNI</b> marshaller writing the <b>xml</b>
+ * straight into a string buffer, in the same order and with the same namespace prefixes Jsonix would use for the
+ * mappings generated for the same model
+ */
+public class MarshallerBuilder {
+
+    public static final String MARSHALLER = "Marshaller";
+
+    private static final String MARSHALL_METHOD = "\r\n    /**\n" +
+            "     * Marshalls the given <code>{name, value}</code> object into the same <b>xml</b> Jsonix would write\n" +
+            "     * @param value\n" +
+            "     * @param namespaces the prefixes to use, keyed by namespace URI\n" +
+            "     * @return\n" +
+            "     */\n" +
+            "    public static native String marshall(final JavaScriptObject value, final JavaScriptObject namespaces) /*-{\n" +
+            "        var marshaller = @%1$s::marshaller;\n" +
+            "        if (marshaller == null) {\n" +
+            "            marshaller = @%1$s::createMarshaller()();\n" +
+            "            @%1$s::marshaller = marshaller;\n" +
+            "        }\n" +
+            "        return marshaller(value, namespaces);\n" +
+            "    }-*/;\n";
+
+    private static final String REGISTER_METHOD = "\r\n    /**\n" +
+            "     * Registers this marshaller on the <code>%2$s</code> <b>js</b> object, to be used instead of Jsonix\n" +
+            "     */\n" +
+            "    public static native void register() /*-{\n" +
+            "        $wnd[\"%2$s\"].marshaller = function (value, namespaces) {\n" +
+            "            return @%1$s::marshall(Lcom/google/gwt/core/client/JavaScriptObject;Lcom/google/gwt/core/client/JavaScriptObject;)(value, namespaces);\n" +
+            "        };\n" +
+            "    }-*/;\n";
+
+    private static final String CREATE_MARSHALLER_METHOD = "\r\n    private static native JavaScriptObject createMarshaller() /*-{\n" +
+            "        var XSD = $wnd.Jsonix.Schema.XSD;\n" +
+            "        var QName = $wnd.Jsonix.XML.QName;\n" +
+            "        var XSI_TYPE = $wnd.Jsonix.Schema.XSI.TYPE_QNAME;\n" +
+            "        var XMLNS_NS = \"http://www.w3.org/2000/xmlns/\";\n" +
+            "        var XMLNS_P = \"xmlns\";\n" +
+            "        var elements = {};\n" +
+            "        var types = {};\n" +
+            "        var leaves = {};\n" +
+            "\n" +
+            "        function clone(source) {\n" +
+            "            var toReturn = {};\n" +
+            "            for (var property in source) {\n" +
+            "                if (source.hasOwnProperty(property)) {\n" +
+            "                    toReturn[property] = source[property];\n" +
+            "                }\n" +
+            "            }\n" +
+            "            return toReturn;\n" +
+            "        }\n" +
+            "\n" +
+            "        function escapeText(text) {\n" +
+            "            return text.replace(/&/g, \"&amp;\").replace(/</g, \"&lt;\").replace(/>/g, \"&gt;\");\n" +
+            "        }\n" +
+            "\n" +
+            "        function escapeAttribute(text) {\n" +
+            "            return escapeText(text).replace(/\"/g, \"&quot;\");\n" +
+            "        }\n" +
+            "\n" +
+            "        // Same namespace handling of Jsonix.XML.Output, writing into string buffers instead of DOM nodes\n" +
+            "        function Writer(namespacePrefixes) {\n" +
+            "            var rootNspItem = {\"\": \"\"};\n" +
+            "            rootNspItem[XMLNS_NS] = XMLNS_P;\n" +
+            "            if (namespacePrefixes != null && typeof namespacePrefixes === \"object\") {\n" +
+            "                for (var ns in namespacePrefixes) {\n" +
+            "                    if (namespacePrefixes.hasOwnProperty(ns)) {\n" +
+            "                        rootNspItem[ns] = namespacePrefixes[ns];\n" +
+            "                    }\n" +
+            "                }\n" +
+            "            }\n" +
+            "            var rootPnsItem = {\"\": \"\"};\n" +
+            "            rootPnsItem[XMLNS_P] = XMLNS_NS;\n" +
+            "            this.nsp = [rootNspItem];\n" +
+            "            this.pns = [rootPnsItem];\n" +
+            "            this.frames = [{attributes: [], children: []}];\n" +
+            "            this.namespacePrefixIndex = 0;\n" +
+            "            this.root = true;\n" +
+            "        }\n" +
+            "\n" +
+            "        Writer.prototype.writeStartElement = function (name) {\n" +
+            "            var localPart = name.localPart || name.lp || null;\n" +
+            "            var ns = name.namespaceURI || name.ns || null;\n" +
+            "            var namespaceURI = typeof ns === \"string\" ? ns : \"\";\n" +
+            "            var prefix = this.getPrefix(namespaceURI, name.prefix || name.p);\n" +
+            "            this.frames.push({name: !prefix ? localPart : prefix + \":\" + localPart, attributes: [], children: []});\n" +
+            "            this.pushNS();\n" +
+            "            this.declareNamespace(namespaceURI, prefix);\n" +
+            "            if (this.root) {\n" +
+            "                this.root = false;\n" +
+            "                this.declareNamespaces();\n" +
+            "            }\n" +
+            "        };\n" +
+            "\n" +
+            "        Writer.prototype.writeEndElement = function () {\n" +
+            "            this.popNS();\n" +
+            "            var frame = this.frames.pop();\n" +
+            "            var buffer = \"<\" + frame.name;\n" +
+            "            for (var index = 0; index < frame.attributes.length; index++) {\n" +
+            "                buffer += \" \" + frame.attributes[index].name + \"=\\\"\" + escapeAttribute(frame.attributes[index].value) + \"\\\"\";\n" +
+            "            }\n" +
+            "            buffer += frame.children.length === 0 ? \"/>\" : \">\" + frame.children.join(\"\") + \"</\" + frame.name + \">\";\n" +
+            "            this.frames[this.frames.length - 1].children.push(buffer);\n" +
+            "        };\n" +
+            "\n" +
+            "        Writer.prototype.writeCharacters = function (text) {\n" +
+            "            this.frames[this.frames.length - 1].children.push(escapeText(text));\n" +
+            "        };\n" +
+            "\n" +
+            "        Writer.prototype.writeNode = function (node) {\n" +
+            "            this.frames[this.frames.length - 1].children.push(new XMLSerializer().serializeToString(node));\n" +
+            "        };\n" +
+            "\n" +
+            "        Writer.prototype.writeAttribute = function (name, value) {\n" +
+            "            var localPart = name.localPart || name.lp || null;\n" +
+            "            var ns = name.namespaceURI || name.ns || null;\n" +
+            "            var namespaceURI = typeof ns === \"string\" ? ns : \"\";\n" +
+            "            var prefix = this.getPrefix(namespaceURI, name.prefix || name.p || null);\n" +
+            "            var key = namespaceURI + \" \" + localPart;\n" +
+            "            var attributes = this.frames[this.frames.length - 1].attributes;\n" +
+            "            var index = 0;\n" +
+            "            while (index < attributes.length && attributes[index].key !== key) {\n" +
+            "                index++;\n" +
+            "            }\n" +
+            "            if (index < attributes.length) {\n" +
+            "                attributes[index].value = value;\n" +
+            "            } else {\n" +
+            "                attributes.push({key: key, name: !prefix ? localPart : prefix + \":\" + localPart, value: value});\n" +
+            "            }\n" +
+            "            if (namespaceURI !== \"\") {\n" +
+            "                this.declareNamespace(namespaceURI, prefix);\n" +
+            "            }\n" +
+            "        };\n" +
+            "\n" +
+            "        Writer.prototype.pushNS = function () {\n" +
+            "            var nindex = this.nsp.length - 1;\n" +
+            "            var pindex = this.pns.length - 1;\n" +
+            "            this.nsp.push(typeof this.nsp[nindex] === \"object\" ? nindex : this.nsp[nindex]);\n" +
+            "            this.pns.push(typeof this.pns[pindex] === \"object\" ? pindex : this.pns[pindex]);\n" +
+            "        };\n" +
+            "\n" +
+            "        Writer.prototype.popNS = function () {\n" +
+            "            this.nsp.pop();\n" +
+            "            this.pns.pop();\n" +
+            "        };\n" +
+            "\n" +
+            "        Writer.prototype.declareNamespaces = function () {\n" +
+            "            var nspItem = this.nsp[this.nsp.length - 1];\n" +
+            "            nspItem = typeof nspItem === \"number\" ? this.nsp[nspItem] : nspItem;\n" +
+            "            for (var ns in nspItem) {\n" +
+            "                if (nspItem.hasOwnProperty(ns)) {\n" +
+            "                    this.declareNamespace(ns, nspItem[ns]);\n" +
+            "                }\n" +
+            "            }\n" +
+            "        };\n" +
+            "\n" +
+            "        Writer.prototype.declareNamespace = function (ns, p) {\n" +
+            "            var index = this.pns.length - 1;\n" +
+            "            var pnsItem = this.pns[index];\n" +
+            "            var reference = typeof pnsItem === \"number\";\n" +
+            "            pnsItem = reference ? this.pns[pnsItem] : pnsItem;\n" +
+            "            if (pnsItem[p] !== ns) {\n" +
+            "                if (p === \"\") {\n" +
+            "                    this.writeAttribute({lp: XMLNS_P}, ns);\n" +
+            "                } else {\n" +
+            "                    this.writeAttribute({ns: XMLNS_NS, lp: p, p: XMLNS_P}, ns);\n" +
+            "                }\n" +
+            "                if (reference) {\n" +
+            "                    pnsItem = clone(pnsItem);\n" +
+            "                    this.pns[index] = pnsItem;\n" +
+            "                }\n" +
+            "                pnsItem[p] = ns;\n" +
+            "            }\n" +
+            "        };\n" +
+            "\n" +
+            "        Writer.prototype.getPrefix = function (ns, p) {\n" +
+            "            var index = this.nsp.length - 1;\n" +
+            "            var nspItem = this.nsp[index];\n" +
+            "            var reference = typeof nspItem === \"number\";\n" +
+            "            nspItem = reference ? this.nsp[nspItem] : nspItem;\n" +
+            "            if (typeof p === \"string\") {\n" +
+            "                if (p !== nspItem[ns]) {\n" +
+            "                    if (reference) {\n" +
+            "                        nspItem = clone(nspItem);\n" +
+            "                        this.nsp[index] = nspItem;\n" +
+            "                    }\n" +
+            "                    nspItem[ns] = p;\n" +
+            "                }\n" +
+            "            } else {\n" +
+            "                p = nspItem[ns];\n" +
+            "                if (p == null) {\n" +
+            "                    p = \"p\" + (this.namespacePrefixIndex++);\n" +
+            "                    if (reference) {\n" +
+            "                        nspItem = clone(nspItem);\n" +
+            "                        this.nsp[index] = nspItem;\n" +
+            "                    }\n" +
+            "                    nspItem[ns] = p;\n" +
+            "                }\n" +
+            "            }\n" +
+            "            return p;\n" +
+            "        };\n" +
+            "\n" +
+            "        Writer.prototype.getNamespaceURI = function (p) {\n" +
+            "            var pnsItem = this.pns[this.pns.length - 1];\n" +
+            "            return (typeof pnsItem === \"object\" ? pnsItem : this.pns[pnsItem])[p];\n" +
+            "        };\n" +
+            "\n" +
+            "        Writer.prototype.toString = function () {\n" +
+            "            return this.frames[0].children.join(\"\");\n" +
+            "        };\n" +
+            "\n" +
+            "        function print(typeName, value, writer) {\n" +
+            "            return XSD[typeName].INSTANCE.reprint(value, null, writer, null);\n" +
+            "        }\n" +
+            "\n" +
+            "        function printList(typeName, value, writer) {\n" +
+            "            return XSD[typeName].INSTANCE.LIST.reprint(value, null, writer, null);\n" +
+            "        }\n" +
+            "\n" +
+            "        function leaf(typeName) {\n" +
+            "            var toReturn = leaves[typeName];\n" +
+            "            if (toReturn == null) {\n" +
+            "                var type = XSD[typeName].INSTANCE;\n" +
+            "                toReturn = {\n" +
+            "                    marshal: function (value, writer) {\n" +
+            "                        writer.writeCharacters(type.reprint(value, null, writer, null));\n" +
+            "                    },\n" +
+            "                    isInstance: function (value) {\n" +
+            "                        return type.isInstance(value, null, null);\n" +
+            "                    }\n" +
+            "                };\n" +
+            "                leaves[typeName] = toReturn;\n" +
+            "            }\n" +
+            "            return toReturn;\n" +
+            "        }\n" +
+            "\n" +
+            "        function namedValue(value) {\n" +
+            "            if (value.name != null && value.value !== undefined) {\n" +
+            "                return {name: QName.fromObjectOrString(value.name), value: value.value};\n" +
+            "            }\n" +
+            "            for (var property in value) {\n" +
+            "                if (value.hasOwnProperty(property)) {\n" +
+            "                    return {name: QName.fromObjectOrString(property), value: value[property]};\n" +
+            "                }\n" +
+            "            }\n" +
+            "            throw new Error(\"Invalid element value [\" + value + \"]. Element values must either have {name:'myElementName', value: elementValue} or {myElementName:elementValue} structure.\");\n" +
+            "        }\n" +
+            "\n" +
+            "        function element(writer, name, value, declared) {\n" +
+            "            var actual = value != null && typeof value === \"object\" && typeof value.TYPE_NAME === \"string\" ? types[value.TYPE_NAME] : null;\n" +
+            "            if (actual != null && actual.typeName == null) {\n" +
+            "                actual = null;\n" +
+            "            }\n" +
+            "            var type = actual || declared;\n" +
+            "            if (type == null) {\n" +
+            "                throw new Error(\"Element [\" + name.key + \"] is not known in this context, could not determine its type.\");\n" +
+            "            }\n" +
+            "            writer.writeStartElement(name);\n" +
+            "            if (actual != null && actual !== declared) {\n" +
+            "                writer.writeAttribute(XSI_TYPE, XSD.QName.INSTANCE.print(actual.typeName, null, writer, null));\n" +
+            "            }\n" +
+            "            if (value != null) {\n" +
+            "                type.marshal(value, writer);\n" +
+            "            }\n" +
+            "            writer.writeEndElement();\n" +
+            "        }\n" +
+            "\n" +
+            "        function choice(writer, value, choices) {\n" +
+            "            for (var index = 0; index < choices.length; index++) {\n" +
+            "                if (choices[index].type.isInstance(value)) {\n" +
+            "                    element(writer, choices[index].name, value, choices[index].type);\n" +
+            "                    return;\n" +
+            "                }\n" +
+            "            }\n" +
+            "            throw new Error(\"Could not find an element with type info supporting the value [\" + value + \"].\");\n" +
+            "        }\n" +
+            "\n" +
+            "        function ref(writer, value, table, mixed, allowDom, allowTypedObject) {\n" +
+            "            if (typeof value === \"string\") {\n" +
+            "                if (!mixed) {\n" +
+            "                    throw new Error(\"Property is not mixed, can't handle string values.\");\n" +
+            "                }\n" +
+            "                writer.writeCharacters(value);\n" +
+            "            } else if (allowDom && value.nodeType != null) {\n" +
+            "                writer.writeNode(value);\n" +
+            "            } else if (allowTypedObject && typeof value === \"object\") {\n" +
+            "                var named = namedValue(value);\n" +
+            "                element(writer, named.name, named.value, table[named.name.key] || elements[named.name.key]);\n" +
+            "            }\n" +
+            "        }\n" +
+            "\n" +
+            "        function otherAttributes(writer, value) {\n" +
+            "            if (typeof value !== \"object\") {\n" +
+            "                return;\n" +
+            "            }\n" +
+            "            for (var property in value) {\n" +
+            "                if (value.hasOwnProperty(property) && typeof value[property] === \"string\") {\n" +
+            "                    writer.writeAttribute(QName.fromObjectOrString(property), value[property]);\n" +
+            "                }\n" +
+            "            }\n" +
+            "        }\n" +
+            "%1$s" +
+            "\n" +
+            "        return function (value, namespaces) {\n" +
+            "            var writer = new Writer(namespaces);\n" +
+            "            var named = namedValue(value);\n" +
+            "            element(writer, named.name, named.value, elements[named.name.key]);\n" +
+            "            return writer.toString();\n" +
+            "        };\n" +
+            "    }-*/;\n";
+
+    private MarshallerBuilder() {
+    }
+
+    /**
+     * Method to create the <b>schema-specialized marshaller</b> class, in the same package of the given
+     * <code>MainJs</code>
+     * @param model
+     * @param packageModuleMap
+     * @param mainJsClass
+     * @param jCodeModel
+     * @return the marshaller class, or <code>null</code> if there is no <code>MainJs</code>
+     * @throws JClassAlreadyExistsException
+     */
+    public static JDefinedClass generateJSInteropMarshaller(final Model model,
+                                                            final Map<String, String> packageModuleMap,
+                                                            final JDefinedClass mainJsClass,
+                                                            final JCodeModel jCodeModel) throws JClassAlreadyExistsException {
+        log(LogLevelSetting.DEBUG, "Generating JSInterop specialized marshaller ...");
+        if (mainJsClass == null) {
+            return null;
+        }
+        final String mainJsName = mainJsClass.name();
+        final JDefinedClass toReturn = jCodeModel._class(JMod.PUBLIC + JMod.FINAL, mainJsClass._package().name() + "." + mainJsName + MARSHALLER, ClassType.CLASS);
+        toReturn.javadoc().append("Marshaller specialized on the schema of <code>" + mainJsName + "</code>, writing the same xml of Jsonix without building a DOM.");
+        toReturn.constructor(JMod.PRIVATE);
+        toReturn.field(JMod.PRIVATE + JMod.STATIC, JavaScriptObject.class, "marshaller");
+        toReturn.direct(String.format(MARSHALL_METHOD, toReturn.fullName()));
+        toReturn.direct(String.format(REGISTER_METHOD, toReturn.fullName(), mainJsName));
+        toReturn.direct(String.format(CREATE_MARSHALLER_METHOD, getMarshallerFunctions(model, packageModuleMap)));
+        return toReturn;
+    }
+
+    /**
+     * @param model
+     * @param packageModuleMap
+     * @return the <b>js</b> functions marshalling each class, the names and the lookup tables they use
+     */
+    protected static String getMarshallerFunctions(final Model model, final Map<String, String> packageModuleMap) {
+        final Map<CClassInfo, Integer> classIndexes = new LinkedHashMap<>();
+        for (CClassInfo cClassInfo : model.beans().values()) {
+            if (getTypeName(cClassInfo, packageModuleMap) != null) {
+                classIndexes.put(cClassInfo, classIndexes.size());
+            }
+        }
+        final Map<QName, List<CElement>> substitutionMembers = getSubstitutionMembers(model);
+        final Map<String, String> names = new LinkedHashMap<>();
+        final StringBuilder tables = new StringBuilder();
+        final StringBuilder functions = new StringBuilder();
+        classIndexes.forEach((cClassInfo, index) -> functions.append(getClassFunction(cClassInfo, index, classIndexes, substitutionMembers, names, tables)));
+        final StringBuilder toReturn = new StringBuilder("\n");
+        names.forEach((key, name) -> toReturn.append("        var ").append(name).append(" = ").append(getQName(key)).append(";\n"));
+        classIndexes.forEach((cClassInfo, index) -> {
+            toReturn.append("        var d").append(index).append(" = {\n");
+            toReturn.append("            marshal: m").append(index).append(",\n");
+            toReturn.append("            typeName: ").append(cClassInfo.getTypeName() != null ? getQName(getKey(cClassInfo.getTypeName())) : "null").append(",\n");
+            toReturn.append("            isInstance: function (value) {\n");
+            toReturn.append("                return value != null && value.TYPE_NAME === ").append(toJsString(getTypeName(cClassInfo, packageModuleMap))).append(";\n");
+            toReturn.append("            }\n");
+            toReturn.append("        };\n");
+            toReturn.append("        types[").append(toJsString(getTypeName(cClassInfo, packageModuleMap))).append("] = d").append(index).append(";\n");
+        });
+        for (CElementInfo cElementInfo : getGlobalElements(model)) {
+            toReturn.append("        elements[").append(toJsString(getKey(cElementInfo.getElementName()))).append("] = ").append(getDescriptor(cElementInfo.getContentType(), null, classIndexes)).append(";\n");
+        }
+        classIndexes.forEach((cClassInfo, index) -> {
+            if (cClassInfo.isElement()) {
+                toReturn.append("        elements[").append(toJsString(getKey(cClassInfo.getElementName()))).append("] = d").append(index).append(";\n");
+            }
+        });
+        toReturn.append(tables);
+        toReturn.append(functions);
+        return toReturn.toString();
+    }
+
+    /**
+     * @param cClassInfo
+     * @param index
+     * @param classIndexes
+     * @param substitutionMembers
+     * @param names the names already used, to be populated
+     * @param tables the element tables of the reference properties, to be populated
+     * @return the <b>js</b> function marshalling the properties of the given class
+     */
+    protected static String getClassFunction(final CClassInfo cClassInfo,
+                                             final int index,
+                                             final Map<CClassInfo, Integer> classIndexes,
+                                             final Map<QName, List<CElement>> substitutionMembers,
+                                             final Map<String, String> names,
+                                             final StringBuilder tables) {
+        // as Jsonix, the properties of the base classes come first, each level starting with its attribute wildcard
+        final List<CClassInfo> hierarchy = new ArrayList<>();
+        for (CClassInfo current = cClassInfo; current != null; current = current.getBaseClass()) {
+            hierarchy.add(0, current);
+        }
+        final StringBuilder toReturn = new StringBuilder("\n");
+        toReturn.append("        function m").append(index).append("(value, writer) {\n");
+        toReturn.append("            var propertyValue;\n");
+        for (CClassInfo current : hierarchy) {
+            if (current.declaresAttributeWildcard()) {
+                appendProperty(toReturn, "otherAttributes", false, "otherAttributes(writer, propertyValue);");
+            }
+            for (CPropertyInfo cPropertyInfo : current.getProperties()) {
+                final String propertyName = cPropertyInfo.getName(false);
+                if (cPropertyInfo instanceof CAttributePropertyInfo) {
+                    final CAttributePropertyInfo cAttributePropertyInfo = (CAttributePropertyInfo) cPropertyInfo;
+                    final String typeName = getLeafTypeName(cAttributePropertyInfo, cAttributePropertyInfo.getTarget(), cAttributePropertyInfo.getSchemaType());
+                    final String value;
+                    if (cAttributePropertyInfo.isCollection()) {
+                        value = "printList(" + toJsString(typeName) + ", propertyValue, writer)";
+                    } else if (STRING_TYPES.contains(typeName)) {
+                        value = "propertyValue";
+                    } else {
+                        value = "print(" + toJsString(typeName) + ", propertyValue, writer)";
+                    }
+                    appendProperty(toReturn, propertyName, false, "writer.writeAttribute(" + getName(cAttributePropertyInfo.getXmlName(), names) + ", " + value + ");");
+                } else if (cPropertyInfo instanceof CValuePropertyInfo) {
+                    final CValuePropertyInfo cValuePropertyInfo = (CValuePropertyInfo) cPropertyInfo;
+                    final String typeName = getLeafTypeName(cValuePropertyInfo, cValuePropertyInfo.getTarget(), cValuePropertyInfo.getSchemaType());
+                    final String value = STRING_TYPES.contains(typeName) ? "propertyValue" : "print(" + toJsString(typeName) + ", propertyValue, writer)";
+                    appendProperty(toReturn, propertyName, false, "writer.writeCharacters(" + value + ");");
+                } else if (cPropertyInfo instanceof CElementPropertyInfo) {
+                    final List<CTypeRef> types = ((CElementPropertyInfo) cPropertyInfo).getTypes();
+                    final String statement;
+                    if (types.size() == 1) {
+                        statement = "element(writer, " + getName(types.get(0).getTagName(), names) + ", %s, " + getDescriptor(types.get(0).getTarget(), cPropertyInfo, classIndexes) + ");";
+                    } else {
+                        final String choicesName = "c" + index + "_" + propertyName;
+                        tables.append("        var ").append(choicesName).append(" = [");
+                        for (int i = 0; i < types.size(); i++) {
+                            tables.append(i == 0 ? "" : ", ").append("{name: ").append(getName(types.get(i).getTagName(), names)).append(", type: ").append(getDescriptor(types.get(i).getTarget(), cPropertyInfo, classIndexes)).append("}");
+                        }
+                        tables.append("];\n");
+                        statement = "choice(writer, %s, " + choicesName + ");";
+                    }
+                    appendProperty(toReturn, propertyName, cPropertyInfo.isCollection(), statement);
+                } else if (cPropertyInfo instanceof CReferencePropertyInfo) {
+                    final CReferencePropertyInfo cReferencePropertyInfo = (CReferencePropertyInfo) cPropertyInfo;
+                    final String tableName = "r" + index + "_" + propertyName;
+                    tables.append("        var ").append(tableName).append(" = {};\n");
+                    for (CElement cElement : cReferencePropertyInfo.getElements()) {
+                        final List<CElement> referenced = new ArrayList<>();
+                        referenced.add(cElement);
+                        referenced.addAll(getAllSubstitutionMembers(cElement.getElementName(), substitutionMembers));
+                        for (CElement member : referenced) {
+                            final CNonElement contentType = member instanceof CElementInfo ? ((CElementInfo) member).getContentType() : (CClassInfo) member;
+                            tables.append("        ").append(tableName).append("[").append(toJsString(getKey(member.getElementName()))).append("] = ").append(getDescriptor(contentType, cPropertyInfo, classIndexes)).append(";\n");
+                        }
+                    }
+                    final WildcardMode wildcardMode = cReferencePropertyInfo.getWildcard();
+                    final boolean allowTypedObject = wildcardMode == null || wildcardMode.allowTypedObject;
+                    final boolean allowDom = wildcardMode != null && wildcardMode.allowDom;
+                    appendProperty(toReturn, propertyName, cPropertyInfo.isCollection(), "ref(writer, %s, " + tableName + ", " + cReferencePropertyInfo.isMixed() + ", " + allowDom + ", " + allowTypedObject + ");");
+                }
+            }
+        }
+        toReturn.append("        }\n");
+        return toReturn.toString();
+    }
+
+    /**
+     * @param target
+     * @param cPropertyInfo
+     * @param classIndexes
+     * @return the <b>js</b> expression of the descriptor used to marshal values of the given type
+     */
+    protected static String getDescriptor(final CNonElement target, final CPropertyInfo cPropertyInfo, final Map<CClassInfo, Integer> classIndexes) {
+        if (target instanceof CClassInfo && classIndexes.containsKey(target)) {
+            return "d" + classIndexes.get(target);
+        }
+        return "leaf(" + toJsString(getLeafTypeName(cPropertyInfo, target, null)) + ")";
+    }
+
+    /**
+     * @param qName
+     * @param names the names already used, to be populated
+     * @return the <b>js</b> variable holding the given name
+     */
+    protected static String getName(final QName qName, final Map<String, String> names) {
+        return names.computeIfAbsent(getKey(qName), key -> "n" + names.size());
+    }
+
+    /**
+     * @param key
+     * @return the <b>js</b> expression building the Jsonix <code>QName</code> with the given key
+     */
+    protected static String getQName(final String key) {
+        if (key.startsWith("{")) {
+            final int rightBracket = key.lastIndexOf('}');
+            return "new QName(" + toJsString(key.substring(1, rightBracket)) + ", " + toJsString(key.substring(rightBracket + 1)) + ")";
+        }
+        return "new QName(" + toJsString(key) + ")";
+    }
+
+    private static void appendProperty(final StringBuilder toPopulate, final String propertyName, final boolean collection, final String statement) {
+        toPopulate.append("            propertyValue = value[").append(toJsString(propertyName)).append("];\n");
+        toPopulate.append("            if (propertyValue != null) {\n");
+        if (collection) {
+            toPopulate.append("                for (var index = 0; index < propertyValue.length; index++) {\n");
+            toPopulate.append("                    ").append(statement.replace("%s", "propertyValue[index]")).append("\n");
+            toPopulate.append("                }\n");
+        } else {
+            toPopulate.append("                ").append(statement.replace("%s", "propertyValue")).append("\n");
+        }
+        toPopulate.append("            }\n");
+    }
+}
@@ -0,0 +1,1298 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.marshallers.xjc.plugin.builders;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.xml.namespace.QName;
+
+import com.sun.codemodel.ClassType;
+import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JCommentPart;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JDocComment;
+import com.sun.codemodel.JEnumConstant;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JForLoop;
+import com.sun.codemodel.JInvocation;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.JPackage;
+import com.sun.codemodel.JType;
+import com.sun.codemodel.JVar;
+import com.sun.tools.xjc.model.CClassInfo;
+import com.sun.tools.xjc.model.CClassInfoParent;
+import com.sun.tools.xjc.model.CElement;
+import com.sun.tools.xjc.model.CElementInfo;
+import com.sun.tools.xjc.model.CElementPropertyInfo;
+import com.sun.tools.xjc.model.CEnumLeafInfo;
+import com.sun.tools.xjc.model.CPluginCustomization;
+import com.sun.tools.xjc.model.CPropertyInfo;
+import com.sun.tools.xjc.model.CReferencePropertyInfo;
+import com.sun.tools.xjc.model.CTypeInfo;
+import com.sun.tools.xjc.model.Model;
+import com.sun.tools.xjc.model.nav.NClass;
+import gwt.jsonix.marshallers.xjc.plugin.GWTSettings;
+import gwt.jsonix.marshallers.xjc.plugin.dtos.ConstructorMapper;
+import gwt.jsonix.marshallers.xjc.plugin.dtos.GenerationContext;
+import gwt.jsonix.marshallers.xjc.plugin.dtos.TypeDependency;
+import gwt.jsonix.marshallers.xjc.plugin.exceptions.ParseModelException;
+import gwt.jsonix.marshallers.xjc.plugin.utils.StreamingUtils;
+import jsinterop.annotations.JsOverlay;
+import jsinterop.annotations.JsPackage;
+import jsinterop.annotations.JsType;
+import jsinterop.base.JsArrayLike;
+import org.apache.commons.lang3.StringUtils;
+import org.hisrc.jsonix.settings.LogLevelSetting;
+import org.jgrapht.DirectedGraph;
+import org.jvnet.jaxb2_commons.plugin.inheritance.Customizations;
+import org.jvnet.jaxb2_commons.plugin.inheritance.ExtendsClass;
+import org.jvnet.jaxb2_commons.plugin.inheritance.ExtendsClassReader;
+import org.jvnet.jaxb2_commons.plugin.inheritance.util.JavaTypeParser;
+import org.jvnet.jaxb2_commons.util.CustomizationUtils;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.addAddAllMethodForArray;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.addAddAllMethodForJsArrayLike;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.addAddMethodForArray;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.addAddMethodForJsArrayLike;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.addCopyOnWriteInvocation;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.addIdIndexRemovalInvocation;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.addLazyGetter;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.addListGetterForArray;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.addListGetterForJsArrayLike;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.addListSetterForArray;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.addListSetterForJsArrayLike;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.addMarkDirtyInvocation;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.addNativeGetter;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.addNativeSetter;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.addRemoveMethodForArray;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.addRemoveMethodForJsArrayLike;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.addTrackedSetter;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.getJavaRef;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.log;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.toJsValue;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.uncheckedCast;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.ClassNameUtils.getJsInteropTypeName;
+import static org.jvnet.jaxb2_commons.plugin.inheritance.Customizations.EXTENDS_ELEMENT_NAME;
+
+/**
+ * Actual builder for <b>JSInterop</b> models
+ */
+public class ModelBuilder {
+
+    private static final Set<String> PRIMITIVE_TYPE_NAMES = Collections.unmodifiableSet(Stream.of(boolean.class, byte.class, short.class, int.class, long.class, float.class, double.class, char.class)
+                                                                                              .map(Class::getName)
+                                                                                              .collect(Collectors.toSet()));
+
+    private ModelBuilder() {
+    }
+
+    /**
+     * Method to create the <b>JSInterop</b> representation oif <b>xsd</b> definitions
+     * @param definedClassesMap
+     * @param model
+     * @param jCodeModel
+     * @param packageModuleMap
+     * @param jsUtilsClass
+     * @param mapToPopulate the <code>Map&lt;String, List&lt;ConstructorMapper&gt;&gt;</code> to be used inside <code>MainJsBuilder</code> to write instantiation of js constructors
+     * @param settings
+     * @param generationContext the state shared by the phases of the run
+     * @throws Exception
+     */
+    public static void generateJSInteropModels(Map<String, JClass> definedClassesMap, Model model, JCodeModel jCodeModel, Map<String, String> packageModuleMap, JDefinedClass jsUtilsClass, JDefinedClass jsiNameClass, Map<String, List<ConstructorMapper>> mapToPopulate, GWTSettings settings, GenerationContext generationContext) throws ParseModelException, JClassAlreadyExistsException {
+        try {
+            generateJSInteropModels(definedClassesMap, model, jCodeModel, packageModuleMap, jsUtilsClass, jsiNameClass, mapToPopulate, settings, generationContext, null);
+        } catch (IOException e) {
+            // nothing is written without a CodeWriterFactory
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Method to create the <b>JSInterop</b> representation oif <b>xsd</b> definitions; with a <b>codeWriterFactory</b>,
+     * the generated classes are written and released package by package (see {@link DependencyGraphBuilder#getStreamingUnits(Map, Collection)}),
+     * so that they are no more available inside the given <code>JCodeModel</code>
+     * @param definedClassesMap
+     * @param model
+     * @param jCodeModel
+     * @param packageModuleMap
+     * @param jsUtilsClass
+     * @param mapToPopulate the <code>Map&lt;String, List&lt;ConstructorMapper&gt;&gt;</code> to be used inside <code>MainJsBuilder</code> to write instantiation of js constructors
+     * @param settings
+     * @param generationContext the state shared by the phases of the run
+     * @param codeWriterFactory the provider of the <code>CodeWriter</code> of each package, or <code>null</code> to keep all the classes in memory
+     * @throws Exception
+     */
+    public static void generateJSInteropModels(Map<String, JClass> definedClassesMap, Model model, JCodeModel jCodeModel, Map<String, String> packageModuleMap, JDefinedClass jsUtilsClass, JDefinedClass jsiNameClass, Map<String, List<ConstructorMapper>> mapToPopulate, GWTSettings settings, GenerationContext generationContext, StreamingUtils.CodeWriterFactory codeWriterFactory) throws ParseModelException, JClassAlreadyExistsException, IOException {
+        definedClassesMap.clear();
+        log(LogLevelSetting.DEBUG, "Generating JSInterop code...");
+        final Collection<CClassInfo> beans = settings.getRootElements().isEmpty() ? model.beans().values() : getReachableBeans(model, settings.getRootElements());
+        final DirectedGraph<CTypeInfo, TypeDependency> dependencyGraph = DependencyGraphBuilder.getDependencyGraph(beans);
+        final List<List<CTypeInfo>> waves = DependencyGraphBuilder.getWaves(dependencyGraph);
+        log(LogLevelSetting.INFO, DependencyGraphBuilder.getStatistics(dependencyGraph, waves));
+        // first the classes, wave by wave, so that base and enclosing classes are always defined before their dependents...
+        final Map<CClassInfo, JDefinedClass> declaredClassesMap = new LinkedHashMap<>();
+        for (List<CTypeInfo> wave : waves) {
+            for (CTypeInfo cTypeInfo : wave) {
+                if (cTypeInfo instanceof CClassInfo) {
+                    final CClassInfo cClassInfo = (CClassInfo) cTypeInfo;
+                    declaredClassesMap.put(cClassInfo, declareJCodeModel(definedClassesMap, jCodeModel, cClassInfo, packageModuleMap, model, jsUtilsClass, jsiNameClass, mapToPopulate, settings, generationContext));
+                } else {
+                    populateJCodeModel(definedClassesMap, jCodeModel, (CEnumLeafInfo) cTypeInfo);
+                }
+            }
+        }
+        // ...then their properties, whose types are all already defined
+        if (codeWriterFactory == null) {
+            for (Map.Entry<CClassInfo, JDefinedClass> entry : declaredClassesMap.entrySet()) {
+                addProperties(definedClassesMap, jCodeModel, entry.getKey(), entry.getValue(), packageModuleMap, model, jsUtilsClass, jsiNameClass, mapToPopulate, settings, generationContext);
+            }
+            if (isDeepHelpersRequired(settings)) {
+                addDeepHelpers(definedClassesMap, model, jCodeModel, jsUtilsClass);
+            }
+        } else {
+            streamJSInteropModels(definedClassesMap, declaredClassesMap, model, jCodeModel, packageModuleMap, jsUtilsClass, jsiNameClass, mapToPopulate, settings, generationContext, codeWriterFactory);
+        }
+        log(LogLevelSetting.INFO, String.format("Extends customizations: %1$d decoded, %2$d decodes avoided", generationContext.getDecodedCustomizations().size(), generationContext.getAvoidedDecodes()));
+        final long resolvedJavaRefs = generationContext.getJavaRefs().values().stream().filter(Optional::isPresent).count();
+        log(LogLevelSetting.INFO, String.format("Java type resolutions: %1$d lookups, %2$d resolved, %3$d not java classes", generationContext.getJavaRefLookups(), resolvedJavaRefs, generationContext.getJavaRefs().size() - resolvedJavaRefs));
+    }
+
+    /**
+     * Adds the properties (and the deep helpers) of the given declared classes one streaming unit at a time, writing
+     * and releasing the classes of each unit before moving on to the next one. The units are ordered so that the
+     * getters inherited by the deep helpers are always already defined
+     * @param definedClassesMap
+     * @param declaredClassesMap
+     * @param model
+     * @param jCodeModel
+     * @param packageModuleMap
+     * @param jsUtilsClass
+     * @param jsiNameClass
+     * @param mapToPopulate
+     * @param settings
+     * @param generationContext
+     * @param codeWriterFactory
+     */
+    protected static void streamJSInteropModels(Map<String, JClass> definedClassesMap, Map<CClassInfo, JDefinedClass> declaredClassesMap, Model model, JCodeModel jCodeModel, Map<String, String> packageModuleMap, JDefinedClass jsUtilsClass, JDefinedClass jsiNameClass, Map<String, List<ConstructorMapper>> mapToPopulate, GWTSettings settings, GenerationContext generationContext, StreamingUtils.CodeWriterFactory codeWriterFactory) throws ParseModelException, JClassAlreadyExistsException, IOException {
+        final boolean deepHelpersRequired = isDeepHelpersRequired(settings);
+        final Set<JDefinedClass> generatedClasses = definedClassesMap.values().stream()
+                .filter(jClass -> jClass instanceof JDefinedClass && jClass.owner() == jCodeModel && ((JDefinedClass) jClass).outer() == null)
+                .map(JDefinedClass.class::cast)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        final List<SortedSet<JPackage>> units = DependencyGraphBuilder.getStreamingUnits(declaredClassesMap, generatedClasses);
+        log(LogLevelSetting.INFO, String.format("Streaming generation: %1$d classes in %2$d units, largest of %3$d packages", generatedClasses.size(), units.size(), units.stream().mapToInt(Set::size).max().orElse(0)));
+        for (SortedSet<JPackage> unit : units) {
+            for (Map.Entry<CClassInfo, JDefinedClass> entry : declaredClassesMap.entrySet()) {
+                if (unit.contains(entry.getValue().getPackage())) {
+                    addProperties(definedClassesMap, jCodeModel, entry.getKey(), entry.getValue(), packageModuleMap, model, jsUtilsClass, jsiNameClass, mapToPopulate, settings, generationContext);
+                }
+            }
+            if (deepHelpersRequired) {
+                addDeepHelpers(definedClassesMap, model, jCodeModel, jsUtilsClass, jDefinedClass -> unit.contains(jDefinedClass.getPackage()));
+            }
+            final List<JDefinedClass> toRelease = generatedClasses.stream()
+                    .filter(jDefinedClass -> unit.contains(jDefinedClass.getPackage()))
+                    .collect(Collectors.toList());
+            StreamingUtils.writeAndRelease(unit, toRelease, codeWriterFactory.getCodeWriter(), deepHelpersRequired);
+        }
+    }
+
+    /**
+     * Replaces the <b>private</b> name of the properties of all the beans, i.e. the name of the <b>js</b> property
+     * used both by the Jsonix mappings and by the <code>JsProperty</code> accessors, with a short one, unique inside
+     * the class hierarchy. The <b>public</b> name, used by the generated Java accessors, is left untouched.
+     * It has to be invoked before the Jsonix mappings are generated.
+     * @param model
+     */
+    public static void compactPropertyNames(final Model model) {
+        log(LogLevelSetting.DEBUG, "Compacting property names...");
+        for (CClassInfo cClassInfo : model.beans().values()) {
+            int index = 0;
+            for (CClassInfo ancestor = cClassInfo.getBaseClass(); ancestor != null; ancestor = ancestor.getBaseClass()) {
+                index += ancestor.getProperties().size();
+            }
+            for (CPropertyInfo cPropertyInfo : cClassInfo.getProperties()) {
+                cPropertyInfo.setName(false, getCompactName(index++));
+            }
+        }
+    }
+
+    /**
+     * Returns the bijective base-26 representation of the given index (<code>a</code>, ..., <code>z</code>,
+     * <code>aa</code>, <code>ab</code>, ...)
+     * @param index
+     * @return
+     */
+    protected static String getCompactName(int index) {
+        final StringBuilder toReturn = new StringBuilder();
+        for (int current = index + 1; current > 0; current = (current - 1) / 26) {
+            toReturn.insert(0, (char) ('a' + (current - 1) % 26));
+        }
+        return toReturn.toString();
+    }
+
+    /**
+     * Returns <code>true</code> if the <code>copy</code>/<code>deepEquals</code>/<code>deepHashCode</code> overlays
+     * have to be generated, i.e. if they have been enabled and no accessor profile has been provided or it references
+     * one of them
+     * @param settings
+     * @return
+     */
+    protected static boolean isDeepHelpersRequired(GWTSettings settings) {
+        return settings.isDeepHelpers() && Stream.of("copy", "deepEquals", "deepHashCode").anyMatch(settings::isUsedMember);
+    }
+
+    /**
+     * Add the <code>copy</code>, <code>deepEquals</code> and <code>deepHashCode</code> static overlays to each generated
+     * class; it has to be invoked once all the classes have been generated, since each class dispatches to its
+     * subclasses and delegates to the helpers of its properties' types
+     * @param definedClassesMap
+     * @param model
+     * @param jCodeModel
+     * @param jsUtilsClass
+     */
+    protected static void addDeepHelpers(Map<String, JClass> definedClassesMap, Model model, JCodeModel jCodeModel, JDefinedClass jsUtilsClass) {
+        addDeepHelpers(definedClassesMap, model, jCodeModel, jsUtilsClass, jDefinedClass -> true);
+    }
+
+    /**
+     * Add the <code>copy</code>, <code>deepEquals</code> and <code>deepHashCode</code> static overlays to the generated
+     * classes matching <b>toPopulate</b>; the getters of their base classes have to be already defined
+     * @param definedClassesMap
+     * @param model
+     * @param jCodeModel
+     * @param jsUtilsClass
+     * @param toPopulate
+     */
+    protected static void addDeepHelpers(Map<String, JClass> definedClassesMap, Model model, JCodeModel jCodeModel, JDefinedClass jsUtilsClass, Predicate<JDefinedClass> toPopulate) {
+        log(LogLevelSetting.DEBUG, "Add deep copy/equality helpers...");
+        final Map<CClassInfo, JDefinedClass> beansMap = new LinkedHashMap<>();
+        for (CClassInfo cClassInfo : model.beans().values()) {
+            final JClass jClass = definedClassesMap.get(cClassInfo.fullName());
+            if (jClass instanceof JDefinedClass) {
+                beansMap.put(cClassInfo, (JDefinedClass) jClass);
+            }
+        }
+        final Map<String, JDefinedClass> copyableClasses = new HashMap<>();
+        beansMap.values().forEach(jDefinedClass -> copyableClasses.put(jDefinedClass.fullName(), jDefinedClass));
+        final Map<CClassInfo, List<JDefinedClass>> subClassesMap = new HashMap<>();
+        beansMap.forEach((cClassInfo, jDefinedClass) -> {
+            for (CClassInfo ancestor = cClassInfo.getBaseClass(); ancestor != null; ancestor = ancestor.getBaseClass()) {
+                subClassesMap.computeIfAbsent(ancestor, k -> new ArrayList<>()).add(jDefinedClass);
+            }
+        });
+        beansMap.forEach((cClassInfo, jDefinedClass) -> {
+            if (!toPopulate.test(jDefinedClass)) {
+                return;
+            }
+            final List<JMethod> getters = getPropertyGetters(cClassInfo, beansMap);
+            final List<JDefinedClass> subClasses = subClassesMap.getOrDefault(cClassInfo, Collections.emptyList());
+            addCopyMethod(jCodeModel, jDefinedClass, jsUtilsClass, getters, subClasses, copyableClasses);
+            addDeepEqualsMethod(jCodeModel, jDefinedClass, jsUtilsClass, getters, subClasses, copyableClasses);
+            addDeepHashCodeMethod(jCodeModel, jDefinedClass, jsUtilsClass, getters, subClasses, copyableClasses);
+        });
+    }
+
+    /**
+     * Returns the classes reachable from the given root elements, i.e. the transitive closure of their content types
+     * through property types, base classes, enclosing classes and substitution groups; a root matching a type name
+     * selects that type. Subclasses that may appear only by <code>xsi:type</code> are <b>not</b> included
+     * @param model
+     * @param rootElements
+     * @return
+     */
+    protected static Collection<CClassInfo> getReachableBeans(final Model model, final List<QName> rootElements) {
+        log(LogLevelSetting.DEBUG, "Computing classes reachable from " + rootElements + "...");
+        final Map<QName, List<CTypeInfo>> substitutionMembersMap = new HashMap<>();
+        final List<CTypeInfo> toVisit = new ArrayList<>();
+        for (CElementInfo cElementInfo : model.getAllElements()) {
+            if (cElementInfo.getSubstitutionHead() != null) {
+                substitutionMembersMap.computeIfAbsent(cElementInfo.getSubstitutionHead().getElementName(), k -> new ArrayList<>()).add(cElementInfo);
+            }
+            if (isRootElement(cElementInfo.getElementName(), rootElements)) {
+                toVisit.add(cElementInfo);
+            }
+        }
+        for (CClassInfo cClassInfo : model.beans().values()) {
+            if (cClassInfo.isElement()) {
+                if (cClassInfo.getSubstitutionHead() != null && cClassInfo.getSubstitutionHead().isElement()) {
+                    substitutionMembersMap.computeIfAbsent(cClassInfo.getSubstitutionHead().getElementName(), k -> new ArrayList<>()).add(cClassInfo);
+                }
+                if (isRootElement(cClassInfo.getElementName(), rootElements)) {
+                    toVisit.add(cClassInfo);
+                }
+            }
+            if (cClassInfo.getTypeName() != null && isRootElement(cClassInfo.getTypeName(), rootElements)) {
+                toVisit.add(cClassInfo);
+            }
+        }
+        final Set<CTypeInfo> visited = new HashSet<>();
+        final Set<CClassInfo> toReturn = new LinkedHashSet<>();
+        while (!toVisit.isEmpty()) {
+            final CTypeInfo cTypeInfo = toVisit.remove(toVisit.size() - 1);
+            if (!visited.add(cTypeInfo)) {
+                continue;
+            }
+            if (cTypeInfo instanceof CElementInfo) {
+                final CElementInfo cElementInfo = (CElementInfo) cTypeInfo;
+                toVisit.add(cElementInfo.getContentType());
+                toVisit.addAll(substitutionMembersMap.getOrDefault(cElementInfo.getElementName(), Collections.emptyList()));
+            } else if (cTypeInfo instanceof CClassInfo) {
+                final CClassInfo cClassInfo = (CClassInfo) cTypeInfo;
+                toReturn.add(cClassInfo);
+                if (cClassInfo.getBaseClass() != null) {
+                    toVisit.add(cClassInfo.getBaseClass());
+                }
+                if (cClassInfo.parent() instanceof CClassInfo) {
+                    toVisit.add((CClassInfo) cClassInfo.parent());
+                }
+                if (cClassInfo.isElement()) {
+                    toVisit.addAll(substitutionMembersMap.getOrDefault(cClassInfo.getElementName(), Collections.emptyList()));
+                }
+                for (CPropertyInfo cPropertyInfo : cClassInfo.getProperties()) {
+                    toVisit.addAll(cPropertyInfo.ref());
+                }
+            }
+        }
+        log(LogLevelSetting.DEBUG, toReturn.size() + " classes out of " + model.beans().size() + " are reachable");
+        return toReturn;
+    }
+
+    private static boolean isRootElement(final QName elementName, final List<QName> rootElements) {
+        return rootElements.stream().anyMatch(rootElement -> isMatchingElementName(rootElement, elementName));
+    }
+
+    /**
+     * Returns the getters of all the properties of the given class, including the inherited ones; for collections, the
+     * getter returning the native array is used
+     * @param cClassInfo
+     * @param beansMap
+     * @return
+     */
+    protected static List<JMethod> getPropertyGetters(CClassInfo cClassInfo, Map<CClassInfo, JDefinedClass> beansMap) {
+        final List<JMethod> toReturn = new ArrayList<>();
+        for (CClassInfo current = cClassInfo; current != null; current = current.getBaseClass()) {
+            final JDefinedClass jDefinedClass = beansMap.get(current);
+            if (jDefinedClass == null) {
+                continue;
+            }
+            final List<JMethod> currentGetters = new ArrayList<>();
+            for (CPropertyInfo cPropertyInfo : current.getProperties()) {
+                final String publicPropertyName = cPropertyInfo.getName(true);
+                JMethod getter = jDefinedClass.getMethod("getNative" + publicPropertyName, new JType[0]);
+                if (getter == null) {
+                    getter = jDefinedClass.getMethod("get" + publicPropertyName, new JType[0]);
+                }
+                if (getter != null && getter.type() != null) {
+                    currentGetters.add(getter);
+                }
+            }
+            if (current.declaresAttributeWildcard()) {
+                Optional.ofNullable(jDefinedClass.getMethod("getOtherAttributes", new JType[0])).ifPresent(currentGetters::add);
+            }
+            toReturn.addAll(0, currentGetters);
+        }
+        return toReturn;
+    }
+
+    /**
+     * Add the <code>copy</code> static overlay, returning a deep copy of the given instance
+     * @param jCodeModel
+     * @param jDefinedClass
+     * @param jsUtilsClass
+     * @param getters
+     * @param subClasses
+     * @param copyableClasses
+     */
+    protected static void addCopyMethod(JCodeModel jCodeModel, JDefinedClass jDefinedClass, JDefinedClass jsUtilsClass, List<JMethod> getters, List<JDefinedClass> subClasses, Map<String, JDefinedClass> copyableClasses) {
+        final JMethod copyMethod = jDefinedClass.method(JMod.PUBLIC + JMod.STATIC, jDefinedClass, "copy");
+        copyMethod.annotate(JsOverlay.class);
+        final JVar originalParam = copyMethod.param(JMod.FINAL, jDefinedClass, "original");
+        final JDocComment copyComment = copyMethod.javadoc();
+        copyComment.append("Returns a deep copy of the given <b>original</b>");
+        copyComment.addParam(originalParam).append("the instance to copy");
+        copyComment.addReturn().append("the copy, or <code>null</code> if <b>original</b> is <code>null</code>");
+
+        final JBlock body = copyMethod.body();
+        body._if(originalParam.eq(JExpr._null()))._then()._return(JExpr._null());
+        for (JDefinedClass subClass : subClasses) {
+            body._if(subClass.staticInvoke("instanceOf").arg(originalParam))._then()
+                    ._return(subClass.staticInvoke("copy").arg(uncheckedCast(jCodeModel, originalParam)));
+        }
+        final JVar toReturn = body.decl(JMod.FINAL, jDefinedClass, "toReturn", JExpr._new(jDefinedClass));
+        for (JMethod getter : getters) {
+            final JType type = getPropertyType(jCodeModel, getter);
+            final String setterName = "s" + getter.name().substring(1);
+            final JDefinedClass copyableClass = getCopyableClass(type, copyableClasses);
+            final JDefinedClass copyableItemClass = getCopyableItemClass(type, copyableClasses);
+            if (isValueType(type) || Objects.equals(QName.class.getName(), type.fullName())) {
+                // the QNames are never modified in place, and the generic copy would not be a QName any more
+                body.add(toReturn.invoke(setterName).arg(originalParam.invoke(getter)));
+            } else if (copyableClass != null) {
+                body.add(toReturn.invoke(setterName).arg(copyableClass.staticInvoke("copy").arg(originalParam.invoke(getter))));
+            } else if (copyableItemClass != null) {
+                final JBlock block = body.block();
+                final JVar source = block.decl(JMod.FINAL, type, "source", originalParam.invoke(getter));
+                final JBlock thenBlock = block._if(source.ne(JExpr._null()))._then();
+                final JVar copied = thenBlock.decl(JMod.FINAL, type, "copied", jsUtilsClass.staticInvoke("getNativeArray"));
+                final JForLoop loop = thenBlock._for();
+                final JVar iVar = loop.init(jCodeModel.INT, "i", JExpr.lit(0));
+                loop.test(iVar.lt(source.invoke("getLength")));
+                loop.update(iVar.incr());
+                loop.body().add(jsUtilsClass.staticInvoke("add").arg(copied).arg(copyableItemClass.staticInvoke("copy").arg(uncheckedCast(jCodeModel, source.invoke("getAt").arg(iVar)))));
+                thenBlock.add(toReturn.invoke(setterName).arg(copied));
+            } else {
+                body.add(toReturn.invoke(setterName).arg(jsUtilsClass.staticInvoke("deepCopy").arg(originalParam.invoke(getter))));
+            }
+        }
+        body._return(toReturn);
+    }
+
+    /**
+     * Add the <code>deepEquals</code> static overlay, comparing the given instances property by property
+     * @param jCodeModel
+     * @param jDefinedClass
+     * @param jsUtilsClass
+     * @param getters
+     * @param subClasses
+     * @param copyableClasses
+     */
+    protected static void addDeepEqualsMethod(JCodeModel jCodeModel, JDefinedClass jDefinedClass, JDefinedClass jsUtilsClass, List<JMethod> getters, List<JDefinedClass> subClasses, Map<String, JDefinedClass> copyableClasses) {
+        final JMethod deepEqualsMethod = jDefinedClass.method(JMod.PUBLIC + JMod.STATIC, boolean.class, "deepEquals");
+        deepEqualsMethod.annotate(JsOverlay.class);
+        final JVar leftParam = deepEqualsMethod.param(JMod.FINAL, jDefinedClass, "left");
+        final JVar rightParam = deepEqualsMethod.param(JMod.FINAL, jDefinedClass, "right");
+        final JDocComment deepEqualsComment = deepEqualsMethod.javadoc();
+        deepEqualsComment.append("Returns <code>true</code> if the given instances are structurally equal");
+        deepEqualsComment.addParam(leftParam);
+        deepEqualsComment.addParam(rightParam);
+        deepEqualsComment.addReturn();
+
+        final JClass objectsRef = jCodeModel.ref(Objects.class);
+        final JBlock body = deepEqualsMethod.body();
+        body._if(leftParam.eq(rightParam))._then()._return(JExpr.TRUE);
+        body._if(leftParam.eq(JExpr._null()).cor(rightParam.eq(JExpr._null())))._then()._return(JExpr.FALSE);
+        body._if(objectsRef.staticInvoke("equals").arg(jsUtilsClass.staticInvoke("getTypeName").arg(leftParam)).arg(jsUtilsClass.staticInvoke("getTypeName").arg(rightParam)).not())._then()._return(JExpr.FALSE);
+        for (JDefinedClass subClass : subClasses) {
+            body._if(subClass.staticInvoke("instanceOf").arg(leftParam))._then()
+                    ._return(subClass.staticInvoke("deepEquals").arg(uncheckedCast(jCodeModel, leftParam)).arg(uncheckedCast(jCodeModel, rightParam)));
+        }
+        for (JMethod getter : getters) {
+            final JType type = getPropertyType(jCodeModel, getter);
+            final JDefinedClass copyableClass = getCopyableClass(type, copyableClasses);
+            final JDefinedClass copyableItemClass = getCopyableItemClass(type, copyableClasses);
+            if (type.isPrimitive()) {
+                body._if(leftParam.invoke(getter).ne(rightParam.invoke(getter)))._then()._return(JExpr.FALSE);
+            } else if (isValueType(type)) {
+                body._if(objectsRef.staticInvoke("equals").arg(leftParam.invoke(getter)).arg(rightParam.invoke(getter)).not())._then()._return(JExpr.FALSE);
+            } else if (copyableClass != null) {
+                body._if(copyableClass.staticInvoke("deepEquals").arg(leftParam.invoke(getter)).arg(rightParam.invoke(getter)).not())._then()._return(JExpr.FALSE);
+            } else if (copyableItemClass != null) {
+                final JBlock block = body.block();
+                final JVar leftItems = block.decl(JMod.FINAL, type, "leftItems", leftParam.invoke(getter));
+                final JVar rightItems = block.decl(JMod.FINAL, type, "rightItems", rightParam.invoke(getter));
+                final JBlock thenBlock = block._if(leftItems.ne(rightItems))._then();
+                thenBlock._if(leftItems.eq(JExpr._null()).cor(rightItems.eq(JExpr._null())).cor(leftItems.invoke("getLength").ne(rightItems.invoke("getLength"))))._then()._return(JExpr.FALSE);
+                final JForLoop loop = thenBlock._for();
+                final JVar iVar = loop.init(jCodeModel.INT, "i", JExpr.lit(0));
+                loop.test(iVar.lt(leftItems.invoke("getLength")));
+                loop.update(iVar.incr());
+                loop.body()._if(copyableItemClass.staticInvoke("deepEquals").arg(uncheckedCast(jCodeModel, leftItems.invoke("getAt").arg(iVar))).arg(uncheckedCast(jCodeModel, rightItems.invoke("getAt").arg(iVar))).not())._then()._return(JExpr.FALSE);
+            } else {
+                body._if(jsUtilsClass.staticInvoke("deepEquals").arg(leftParam.invoke(getter)).arg(rightParam.invoke(getter)).not())._then()._return(JExpr.FALSE);
+            }
+        }
+        body._return(JExpr.TRUE);
+    }
+
+    /**
+     * Add the <code>deepHashCode</code> static overlay, consistent with <code>deepEquals</code>
+     * @param jCodeModel
+     * @param jDefinedClass
+     * @param jsUtilsClass
+     * @param getters
+     * @param subClasses
+     * @param copyableClasses
+     */
+    protected static void addDeepHashCodeMethod(JCodeModel jCodeModel, JDefinedClass jDefinedClass, JDefinedClass jsUtilsClass, List<JMethod> getters, List<JDefinedClass> subClasses, Map<String, JDefinedClass> copyableClasses) {
+        final JMethod deepHashCodeMethod = jDefinedClass.method(JMod.PUBLIC + JMod.STATIC, int.class, "deepHashCode");
+        deepHashCodeMethod.annotate(JsOverlay.class);
+        final JVar instanceParam = deepHashCodeMethod.param(JMod.FINAL, jDefinedClass, "instance");
+        final JDocComment deepHashCodeComment = deepHashCodeMethod.javadoc();
+        deepHashCodeComment.append("Returns a hash code computed over the whole structure of the given <b>instance</b>");
+        deepHashCodeComment.addParam(instanceParam);
+        deepHashCodeComment.addReturn();
+
+        final JClass objectsRef = jCodeModel.ref(Objects.class);
+        final JBlock body = deepHashCodeMethod.body();
+        body._if(instanceParam.eq(JExpr._null()))._then()._return(JExpr.lit(0));
+        for (JDefinedClass subClass : subClasses) {
+            body._if(subClass.staticInvoke("instanceOf").arg(instanceParam))._then()
+                    ._return(subClass.staticInvoke("deepHashCode").arg(uncheckedCast(jCodeModel, instanceParam)));
+        }
+        final JVar result = body.decl(jCodeModel.INT, "result", JExpr.lit(1));
+        for (JMethod getter : getters) {
+            final JType type = getPropertyType(jCodeModel, getter);
+            final JDefinedClass copyableClass = getCopyableClass(type, copyableClasses);
+            final JDefinedClass copyableItemClass = getCopyableItemClass(type, copyableClasses);
+            final JExpression hashCode;
+            if (type.isPrimitive()) {
+                // a missing primitive property is undefined inside the js object, hence it is hashed on the js side, unboxed
+                hashCode = jsUtilsClass.staticInvoke("deepHashCode").arg(toJsValue(jCodeModel, type, instanceParam.invoke(getter)));
+            } else if (isValueType(type)) {
+                hashCode = objectsRef.staticInvoke("hashCode").arg(instanceParam.invoke(getter));
+            } else if (copyableClass != null) {
+                hashCode = copyableClass.staticInvoke("deepHashCode").arg(instanceParam.invoke(getter));
+            } else if (copyableItemClass != null) {
+                final JBlock block = body.block();
+                final JVar items = block.decl(JMod.FINAL, type, "items", instanceParam.invoke(getter));
+                final JForLoop loop = block._if(items.ne(JExpr._null()))._then()._for();
+                final JVar iVar = loop.init(jCodeModel.INT, "i", JExpr.lit(0));
+                loop.test(iVar.lt(items.invoke("getLength")));
+                loop.update(iVar.incr());
+                loop.body().assign(result, JExpr.lit(31).mul(result).plus(copyableItemClass.staticInvoke("deepHashCode").arg(uncheckedCast(jCodeModel, items.invoke("getAt").arg(iVar)))));
+                continue;
+            } else {
+                hashCode = jsUtilsClass.staticInvoke("deepHashCode").arg(instanceParam.invoke(getter));
+            }
+            body.assign(result, JExpr.lit(31).mul(result).plus(hashCode));
+        }
+        body._return(result);
+    }
+
+    /**
+     * Returns the type returned by the given getter; the primitives referenced by name (as the ones of the xsd builtin
+     * types are) are resolved to the actual primitive types, so that their values are neither boxed nor handed over to
+     * the generic <code>JsUtils</code> helpers
+     * @param jCodeModel
+     * @param getter
+     * @return
+     */
+    protected static JType getPropertyType(JCodeModel jCodeModel, JMethod getter) {
+        final JType toReturn = getter.type();
+        return !toReturn.isPrimitive() && PRIMITIVE_TYPE_NAMES.contains(toReturn.fullName()) ? JType.parse(jCodeModel, toReturn.fullName()) : toReturn;
+    }
+
+    /**
+     * Returns <code>true</code> for primitives, their wrappers, <code>String</code>s and enums, i.e. the types whose
+     * values may be shared between copies
+     * @param type
+     * @return
+     */
+    protected static boolean isValueType(JType type) {
+        return type.isPrimitive()
+                || type.unboxify().isPrimitive()
+                || Objects.equals(String.class.getName(), type.fullName())
+                || (type instanceof JDefinedClass && ((JDefinedClass) type).getClassType() == ClassType.ENUM);
+    }
+
+    /**
+     * Returns the generated class matching the given type, looked up by name since references to generated classes are
+     * not always the <code>JDefinedClass</code> instances themselves; <code>null</code> if there is none
+     * @param type
+     * @param copyableClasses
+     * @return
+     */
+    protected static JDefinedClass getCopyableClass(JType type, Map<String, JDefinedClass> copyableClasses) {
+        if (!(type instanceof JClass)) {
+            return null;
+        }
+        return copyableClasses.get(type.fullName());
+    }
+
+    /**
+     * Returns the item class if the given type is a <code>JsArrayLike</code> of generated classes, <code>null</code> otherwise
+     * @param type
+     * @param copyableClasses
+     * @return
+     */
+    protected static JDefinedClass getCopyableItemClass(JType type, Map<String, JDefinedClass> copyableClasses) {
+        if (!(type instanceof JClass) || !Objects.equals(JsArrayLike.class.getSimpleName(), ((JClass) type).erasure().name())) {
+            return null;
+        }
+        final List<JClass> typeParameters = ((JClass) type).getTypeParameters();
+        return typeParameters.size() == 1 ? getCopyableClass(typeParameters.get(0), copyableClasses) : null;
+    }
+
+    protected static void populateJCodeModel(Map<String, JClass> definedClassesMap, JCodeModel toPopulate, CClassInfo cClassInfo, Map<String, String> packageModuleMap, Model model, JDefinedClass jsUtilsClass, JDefinedClass jsiNameClass, Map<String, List<ConstructorMapper>> mapToPopulate, GWTSettings settings, GenerationContext generationContext) throws JClassAlreadyExistsException, ParseModelException {
+        log(LogLevelSetting.DEBUG, "Generating  JCode model...");
+        if (definedClassesMap.containsKey(cClassInfo.fullName())) {
+            return;
+        }
+        final JDefinedClass jDefinedClass = declareJCodeModel(definedClassesMap, toPopulate, cClassInfo, packageModuleMap, model, jsUtilsClass, jsiNameClass, mapToPopulate, settings, generationContext);
+        addProperties(definedClassesMap, toPopulate, cClassInfo, jDefinedClass, packageModuleMap, model, jsUtilsClass, jsiNameClass, mapToPopulate, settings, generationContext);
+    }
+
+    /**
+     * Defines the class of the given bean, with all its members but the ones of its properties; its base class is
+     * defined first, if needed
+     * @return
+     */
+    protected static JDefinedClass declareJCodeModel(Map<String, JClass> definedClassesMap, JCodeModel toPopulate, CClassInfo cClassInfo, Map<String, String> packageModuleMap, Model model, JDefinedClass jsUtilsClass, JDefinedClass jsiNameClass, Map<String, List<ConstructorMapper>> mapToPopulate, GWTSettings settings, GenerationContext generationContext) throws JClassAlreadyExistsException, ParseModelException {
+        final CClassInfoParent parent = cClassInfo.parent();
+        final JDefinedClass jDefinedClass;
+        final JExpression nameSpaceExpression;
+        final CClassInfo basecClassInfo = cClassInfo.getBaseClass();
+        JClass jDefinedBaseClass = null;
+
+        String shortClassName = cClassInfo.shortName;
+        String nameSpace = shortClassName;
+
+        // Read extends customisation from JAXB Basics Inheritance plugin binding.
+        // Explicit values found by JAXB bindings are overwritten by inheritance defined in the XSD being processed.
+        final CPluginCustomization extendsClassCustomization = CustomizationUtils.findCustomization(cClassInfo, EXTENDS_ELEMENT_NAME);
+        if (Objects.nonNull(extendsClassCustomization)) {
+            jDefinedBaseClass = getFromExtendsClassCustomization(definedClassesMap, toPopulate, extendsClassCustomization, generationContext);
+        }
+        if (basecClassInfo != null) { // This is the "extended" class
+            jDefinedBaseClass = getFromBasecClassInfo(definedClassesMap, toPopulate, packageModuleMap, model, basecClassInfo, jsUtilsClass, jsiNameClass, mapToPopulate, settings, generationContext);
+        }
+        boolean hasClassParent = (parent != null && !(parent instanceof CClassInfoParent.Package));
+
+        final String jsTypeName;
+        final String parentClassName;
+        final String moduleName;
+        String nameSpaceString = null;
+        if (hasClassParent && definedClassesMap.containsKey(parent.fullName())) { // This is for inner classes
+            JDefinedClass parentJSIClass = getParentJSIClass(definedClassesMap, parent.fullName());
+            jDefinedClass = getFromParent(jDefinedBaseClass, parentJSIClass, nameSpace);
+            moduleName = packageModuleMap.get(jDefinedClass._package().name());
+            nameSpaceString = getJsInteropTypeName(moduleName, parentJSIClass.fullName());
+            nameSpaceExpression = JExpr.lit(nameSpaceString);
+            jsTypeName = shortClassName;
+            parentClassName = ((CClassInfo) cClassInfo.parent()).shortName;
+        } else {
+            final String fullClassName = cClassInfo.getOwnerPackage().name() + ".JSI" + nameSpace;
+
+            jDefinedClass = jDefinedBaseClass != null ? toPopulate._class(fullClassName)._extends(jDefinedBaseClass) : toPopulate._class(fullClassName);
+            moduleName = packageModuleMap.get(jDefinedClass._package().name());
+            nameSpaceExpression = toPopulate.ref(JsPackage.class).staticRef("GLOBAL");
+            jsTypeName = getJsInteropTypeName(moduleName, jDefinedClass.fullName());
+            parentClassName = null;
+        }
+
+        definedClassesMap.put(cClassInfo.fullName(), jDefinedClass);
+        JDocComment comment = jDefinedClass.javadoc();
+        String commentString = "JSInterop adapter for <code>" + nameSpace + "</code>";
+        comment.append(commentString);
+
+        jDefinedClass.annotate(toPopulate.ref(JsType.class))
+                .param("namespace", nameSpaceExpression)
+                .param("name", jsTypeName)
+                .param("isNative", true);
+        String typeNameConstant = Stream.of(moduleName, parentClassName, nameSpace).filter(Objects::nonNull).collect(Collectors.joining("."));
+
+        ConstructorMapper toAdd = new ConstructorMapper(typeNameConstant, jsTypeName, nameSpaceString);
+        mapToPopulate.computeIfAbsent(moduleName, k -> new ArrayList<>());
+        mapToPopulate.get(moduleName).add(toAdd);
+
+        final JFieldVar typeNameField = addTypeName(jDefinedClass, toPopulate, typeNameConstant);
+        addInstanceOf(jDefinedClass, jsUtilsClass, typeNameField);
+
+        if (cClassInfo.getTypeName() != null) {
+            addGetJSINameMethod(jDefinedClass, cClassInfo.getTypeName(), jsiNameClass);
+        }
+        addGetTypeNameProperty(toPopulate, jDefinedClass);
+        return jDefinedClass;
+    }
+
+    /**
+     * Adds the members of the properties of the given bean to its already defined class; property types not defined
+     * yet are populated on the fly
+     */
+    protected static void addProperties(Map<String, JClass> definedClassesMap, JCodeModel toPopulate, CClassInfo cClassInfo, JDefinedClass jDefinedClass, Map<String, String> packageModuleMap, Model model, JDefinedClass jsUtilsClass, JDefinedClass jsiNameClass, Map<String, List<ConstructorMapper>> mapToPopulate, GWTSettings settings, GenerationContext generationContext) throws JClassAlreadyExistsException, ParseModelException {
+        for (CPropertyInfo cPropertyInfo : cClassInfo.getProperties()) {
+            addProperty(toPopulate, jDefinedClass, cPropertyInfo, definedClassesMap, packageModuleMap, model, jsUtilsClass, jsiNameClass, mapToPopulate, settings, generationContext);
+        }
+        if (cClassInfo.declaresAttributeWildcard()) {
+            addOtherAttributesProperty(toPopulate, jDefinedClass, jsUtilsClass, cClassInfo.shortName, settings.isTrackedSetters());
+        }
+    }
+
+    protected static void populateJCodeModel(Map<String, JClass> definedClassesMap, JCodeModel toPopulate, CEnumLeafInfo cEnumLeafInfo) throws JClassAlreadyExistsException {
+        log(LogLevelSetting.DEBUG, "Generating  JCode model...");
+        String fullClassName = cEnumLeafInfo.parent.getOwnerPackage().name() + ".JSI" + cEnumLeafInfo.shortName;
+        final JDefinedClass jDefinedClass = toPopulate._class(fullClassName, ClassType.ENUM);
+        jDefinedClass.annotate(toPopulate.ref(JsType.class))
+                .param("name", cEnumLeafInfo.shortName);
+        definedClassesMap.put(cEnumLeafInfo.fullName(), jDefinedClass);
+        JDocComment comment = jDefinedClass.javadoc();
+        String commentString = "JSInterop adapter for <code>" + cEnumLeafInfo.shortName + "</code>";
+        comment.append(commentString);
+        cEnumLeafInfo.getConstants().forEach(cEnumConstant -> {
+            final JEnumConstant jEnumConstant = jDefinedClass.enumConstant(cEnumConstant.getName());
+            if (cEnumLeafInfo.needsValueField()) {
+                jEnumConstant.arg(JExpr.lit(cEnumConstant.getLexicalValue()));
+            }
+        });
+        if (cEnumLeafInfo.needsValueField()) {
+            addEnumValueField(toPopulate, jDefinedClass);
+        }
+    }
+
+    /**
+     * Returns the class referred by the given <b>extends</b> customization. The customization is decoded only once per
+     * run, since bindings usually apply the same one to many types, and the class is parsed by the type parser of the run
+     * @param definedClassesMap
+     * @param toPopulate
+     * @param extendsClassCustomization
+     * @param generationContext
+     * @return
+     */
+    protected static JClass getFromExtendsClassCustomization(Map<String, JClass> definedClassesMap, JCodeModel toPopulate, CPluginCustomization extendsClassCustomization, GenerationContext generationContext) {
+        final String customizationKey = getCustomizationKey(extendsClassCustomization.element);
+        String extendsClassName = generationContext.getDecodedCustomizations().get(customizationKey);
+        if (extendsClassName == null) {
+            final ExtendsClass extendsClass = (ExtendsClass) CustomizationUtils.unmarshall(Customizations.getContext(), extendsClassCustomization);
+            extendsClassName = ExtendsClassReader.getValue(extendsClass);
+            generationContext.getDecodedCustomizations().put(customizationKey, extendsClassName);
+        } else {
+            generationContext.addAvoidedDecode();
+        }
+        return generationContext.getTypeParser(definedClassesMap).parseClass(extendsClassName, toPopulate);
+    }
+
+    /**
+     * Returns a key identifying the <b>content</b> of the given customization: the same binding applied to different
+     * nodes results in different, but equal, elements
+     * @param element
+     * @return
+     */
+    protected static String getCustomizationKey(Element element) {
+        final StringBuilder toReturn = new StringBuilder("{").append(element.getNamespaceURI()).append('}').append(element.getLocalName());
+        final NamedNodeMap attributes = element.getAttributes();
+        final List<String> attributesList = new ArrayList<>();
+        for (int i = 0; i < attributes.getLength(); i++) {
+            attributesList.add(attributes.item(i).getNodeName() + "=" + attributes.item(i).getNodeValue());
+        }
+        Collections.sort(attributesList);
+        return toReturn.append(attributesList).append(element.getTextContent().trim()).toString();
+    }
+
+    protected static JClass getFromBasecClassInfo(Map<String, JClass> definedClassesMap, JCodeModel toPopulate, Map<String, String> packageModuleMap, Model model, CClassInfo basecClassInfo, JDefinedClass jsUtilsClass, JDefinedClass jsiNameClass, Map<String, List<ConstructorMapper>> mapToPopulate, GWTSettings settings, GenerationContext generationContext) throws ParseModelException, JClassAlreadyExistsException {
+        if (!definedClassesMap.containsKey(basecClassInfo.fullName())) {
+            populateJCodeModel(definedClassesMap, toPopulate, basecClassInfo, packageModuleMap, model, jsUtilsClass, jsiNameClass, mapToPopulate, settings, generationContext);
+        }
+        return definedClassesMap.get(basecClassInfo.fullName());
+    }
+
+    protected static JDefinedClass getParentJSIClass(Map<String, JClass> definedClassesMap, String parentFullName) {
+        return (JDefinedClass) definedClassesMap.get(parentFullName);
+    }
+
+    protected static JDefinedClass getFromParent(JClass jDefinedBaseClass, JDefinedClass parentJSIClass, String nameSpace) throws JClassAlreadyExistsException {
+        int mod = JMod.PUBLIC + JMod.STATIC;
+        return jDefinedBaseClass != null ? parentJSIClass._class(mod, "JSI" + nameSpace)._extends(jDefinedBaseClass) : parentJSIClass._class(mod, "JSI" + nameSpace);
+    }
+
+    protected static void addEnumValueField(JCodeModel toPopulate, JDefinedClass jDefinedClass) {
+        final JClass propertyRef = toPopulate.ref(String.class);
+        String privatePropertyName = "value";
+        int mod = JMod.PRIVATE + JMod.FINAL;
+        final JFieldVar field = jDefinedClass.field(mod, propertyRef, privatePropertyName);
+        mod = JMod.NONE;
+        final JMethod constructor = jDefinedClass.constructor(mod);
+        final JVar param = constructor.param(propertyRef, privatePropertyName);
+        constructor.body().assign(JExpr._this().ref(field), param);
+        mod = JMod.PUBLIC;
+        JMethod getterMethod = jDefinedClass.method(mod, propertyRef, privatePropertyName);
+        getterMethod.body()._return(field);
+    }
+
+    protected static void addInstanceOf(final JDefinedClass jDefinedClass,
+                                        final JDefinedClass jsUtilsClass,
+                                        final JFieldVar typeNameField) {
+
+        final int mods = JMod.PUBLIC + JMod.STATIC;
+        final String methodName = "instanceOf";
+
+        final JMethod instanceOfMethod = jDefinedClass.method(mods, boolean.class, methodName);
+        final JBlock block = instanceOfMethod.body();
+        final JVar typeParam = instanceOfMethod.param(JMod.FINAL, Object.class, "instance");
+        final JInvocation getTypeName = jsUtilsClass.staticInvoke("getTypeName").arg(typeParam);
+
+        instanceOfMethod.annotate(JsOverlay.class);
+
+        block._return(typeNameField.invoke("equals").arg(getTypeName));
+    }
+
+    protected static JFieldVar addTypeName(final JDefinedClass jDefinedClass,
+                                           final JCodeModel jCodeModel,
+                                           final String typeName) {
+
+        final JClass propertyRef = jCodeModel.ref(String.class);
+        final int mods = JMod.PUBLIC + JMod.STATIC + JMod.FINAL;
+        final JFieldVar typeNameField = jDefinedClass.field(mods, propertyRef, "TYPE");
+
+        typeNameField.annotate(JsOverlay.class);
+        typeNameField.init(JExpr.lit(typeName));
+
+        return typeNameField;
+    }
+
+    protected static void addGetJSINameMethod(JDefinedClass jDefinedClass, QName typeName, JDefinedClass jsiNameClass) {
+        log(LogLevelSetting.DEBUG, String.format("Add getJSIName method to object %1$s.%2$s ...", jDefinedClass._package().name(), jDefinedClass.name()));
+        String getterMethodName = "getJSIName";
+        int mod = JMod.PUBLIC + JMod.STATIC;
+        JMethod getterMethod = jDefinedClass.method(mod, jsiNameClass, getterMethodName);
+        getterMethod.annotate(JsOverlay.class);
+        JDocComment getterComment = getterMethod.javadoc();
+        String commentString = "Getter for specific <code>JSIName</code>";
+        getterComment.append(commentString);
+        JCommentPart getterCommentReturnPart = getterComment.addReturn();
+        getterCommentReturnPart.add(commentString);
+        final JBlock body = getterMethod.body();
+        final JVar toReturn = body.decl(jsiNameClass, "toReturn", JExpr._new(jsiNameClass));
+        body.add(toReturn.invoke("setNamespaceURI").arg(typeName.getNamespaceURI()));
+        body.add(toReturn.invoke("setLocalPart").arg(typeName.getLocalPart()));
+        body.add(toReturn.invoke("setPrefix").arg(typeName.getPrefix()));
+        body.add(toReturn.invoke("setKey").arg("{" + typeName.getNamespaceURI() + "}"));
+        if (!StringUtils.isEmpty(typeName.getPrefix())) {
+            body.add(toReturn.invoke("setString").arg("{" + typeName.getNamespaceURI() + "}" + typeName.getPrefix() + ":" + typeName.getLocalPart()));
+        } else {
+            body.add(toReturn.invoke("setString").arg("{" + typeName.getNamespaceURI() + "}" + typeName.getLocalPart()));
+        }
+        body._return(toReturn);
+    }
+
+    protected static void addGetTypeNameProperty(JCodeModel jCodeModel, JDefinedClass jDefinedClass) {
+        log(LogLevelSetting.DEBUG, String.format("Add getTYPENAME property to object %1$s.%2$s ...", jDefinedClass._package().name(), jDefinedClass.name()));
+        JClass parameterRef = jCodeModel.ref(String.class);
+        addNativeGetter(jCodeModel, jDefinedClass, parameterRef, "TYPE_NAME", "TYPE_NAME");
+    }
+
+    protected static void addProperty(JCodeModel jCodeModel, JDefinedClass jDefinedClass, CPropertyInfo cPropertyInfo, Map<String, JClass> definedClassesMap, Map<String, String> packageModuleMap, Model model, JDefinedClass jsUtilsClass, JDefinedClass jsiNameClass, Map<String, List<ConstructorMapper>> mapToPopulate, GWTSettings settings, GenerationContext generationContext) throws ParseModelException, JClassAlreadyExistsException {
+
+        final JClass propertyRef = getPropertyRef(jCodeModel, cPropertyInfo, jDefinedClass.fullName(), definedClassesMap, packageModuleMap, model, jsUtilsClass, jsiNameClass, mapToPopulate, settings, generationContext);
+        final String publicPropertyName = cPropertyInfo.getName(true);
+        final String privatePropertyName = cPropertyInfo.getName(false);
+        final boolean isLazy = propertyRef != null && !propertyRef.unboxify().isPrimitive() && isLazyProperty(cPropertyInfo, settings.getLazyElements());
+
+        final Predicate<String> isRequired = getRequiredAccessors(propertyRef, publicPropertyName, settings);
+
+        final List<JMethod> inPlaceMutators = addGetter(jCodeModel, jDefinedClass, jsUtilsClass, propertyRef, publicPropertyName, privatePropertyName, isLazy, isRequired);
+        addSetter(jCodeModel, jDefinedClass, propertyRef, publicPropertyName, privatePropertyName, jsUtilsClass, settings.isTrackedSetters(), settings.isSnapshots(), settings.isIdIndex(), inPlaceMutators, isRequired);
+    }
+
+    /**
+     * Returns the filter of the accessors to generate for the given property, based on the accessor profile.
+     * The native getter and setter are required by all the other accessors of a collection and by the deep helpers.
+     * @param propertyRef
+     * @param publicPropertyName
+     * @param settings
+     * @return
+     */
+    protected static Predicate<String> getRequiredAccessors(final JClass propertyRef, final String publicPropertyName, final GWTSettings settings) {
+        final boolean isJsArrayLike = propertyRef != null && Objects.equals(propertyRef.erasure().name(), "JsArrayLike");
+        final boolean isArray = propertyRef != null && propertyRef.isArray();
+        final String nativePropertyName = isJsArrayLike || isArray ? "Native" + publicPropertyName : publicPropertyName;
+        final boolean isNativeRequired = isDeepHelpersRequired(settings)
+                || Stream.of("get", "set", "add", "addAll", "remove").anyMatch(prefix -> settings.isUsedMember(prefix + publicPropertyName))
+                || Stream.of("get", "set").anyMatch(prefix -> settings.isUsedMember(prefix + nativePropertyName));
+        return memberName -> settings.isUsedMember(memberName)
+                || (isNativeRequired && (Objects.equals("get" + nativePropertyName, memberName) || Objects.equals("set" + nativePropertyName, memberName)));
+    }
+
+    /**
+     * Generates an attribute wildcard property on a class.
+     */
+    protected static void addOtherAttributesProperty(JCodeModel jCodeModel, JDefinedClass jDefinedClass, JDefinedClass jsUtilsClass, String nameSpace) {
+        addOtherAttributesProperty(jCodeModel, jDefinedClass, jsUtilsClass, nameSpace, false);
+    }
+
+    /**
+     * Generates an attribute wildcard property on a class; if <b>isTracked</b> is <code>true</code>, its setter flags
+     * the instance as <b>dirty</b>.
+     */
+    protected static void addOtherAttributesProperty(JCodeModel jCodeModel, JDefinedClass jDefinedClass, JDefinedClass jsUtilsClass, String nameSpace, boolean isTracked) {
+
+        log(LogLevelSetting.DEBUG, String.format("Add getOtherAttributes property to object %1$s.%2$s ...", jDefinedClass._package().name(), jDefinedClass.name()));
+
+        final JClass parameterRef = jCodeModel.ref(Map.class).narrow(QName.class, String.class);
+        final JMethod otherAttributesGetter = addNativeGetter(jCodeModel, jDefinedClass, parameterRef, "OtherAttributes", "otherAttributes");
+
+        addSetter(jCodeModel, jDefinedClass, parameterRef, "OtherAttributes", "otherAttributes", jsUtilsClass, isTracked);
+        addStaticOtherAttributesGetter(jCodeModel, jDefinedClass, otherAttributesGetter, jsUtilsClass);
+    }
+
+    protected static void addStaticOtherAttributesGetter(final JCodeModel jCodeModel,
+                                                         final JDefinedClass jDefinedClass,
+                                                         final JMethod otherAttributesGetter,
+                                                         final JDefinedClass jsUtilsClass) {
+
+        log(LogLevelSetting.DEBUG, String.format("Add getOtherAttributesMap method to object %1$s.%2$s ...", jDefinedClass._package().name(), jDefinedClass.name()));
+
+        final int mods = JMod.PUBLIC + JMod.STATIC;
+        final JClass parameterRef = jCodeModel.ref(Map.class).narrow(QName.class, String.class);
+
+        final JMethod jMethod = jDefinedClass.method(mods, parameterRef, "getOtherAttributesMap");
+        final JVar instanceParam = jMethod.param(JMod.FINAL, jDefinedClass, "instance");
+        final JBlock block = jMethod.body();
+        final JInvocation instanceOtherAttributes = instanceParam.invoke(otherAttributesGetter);
+
+        jMethod.annotate(JsOverlay.class);
+
+        block._return(jsUtilsClass.staticInvoke("toAttributesMap").arg(instanceOtherAttributes));
+    }
+
+    protected static JClass getPropertyRef(JCodeModel jCodeModel, CPropertyInfo cPropertyInfo, String outerClass, Map<String, JClass> definedClassesMap, Map<String, String> packageModuleMap, Model model, JDefinedClass jsUtilsClass, JDefinedClass jsiNameClass, Map<String, List<ConstructorMapper>> mapToPopulate, GWTSettings settings, GenerationContext generationContext) throws ParseModelException, JClassAlreadyExistsException {
+        JClass typeRef = getOrCreatePropertyRef(cPropertyInfo, outerClass, definedClassesMap, jCodeModel, packageModuleMap, model, jsUtilsClass, jsiNameClass, mapToPopulate, settings, generationContext);
+        if (typeRef == null) {
+            log(LogLevelSetting.WARN, "Failed to retrieve JClass for " + cPropertyInfo.getName(false) + " inside the JCodeModel");
+            return null;
+        }
+        log(LogLevelSetting.DEBUG, typeRef.toString());
+        if (cPropertyInfo.isCollection()) {
+            if (typeRef.unboxify().isPrimitive()) {
+                return typeRef.unboxify().array();
+            } else {
+                JClass rawArrayListClass = jCodeModel.ref(JsArrayLike.class);
+                return rawArrayListClass.narrow(typeRef);
+            }
+        } else {
+            if (!typeRef.isPrimitive()) {
+                typeRef = jCodeModel.ref(typeRef.unboxify().fullName());
+            }
+            return typeRef;
+        }
+    }
+
+    protected static JClass getOrCreatePropertyRef(CPropertyInfo cPropertyInfo, String outerClass, Map<String, JClass> definedClassesMap, JCodeModel jCodeModel, Map<String, String> packageModuleMap, Model model, JDefinedClass jsUtilsClass, JDefinedClass jsiNameClass, Map<String, List<ConstructorMapper>> mapToPopulate, GWTSettings settings, GenerationContext generationContext) throws ParseModelException, JClassAlreadyExistsException {
+        String originalClassName = getOriginalClassName(cPropertyInfo, outerClass);
+        return getOrCreatePropertyRef(originalClassName, definedClassesMap, jCodeModel, packageModuleMap, model, jsUtilsClass, !cPropertyInfo.isCollection(), jsiNameClass, mapToPopulate, settings, generationContext);
+    }
+
+    protected static JClass getOrCreatePropertyRef(String originalClassName, Map<String, JClass> definedClassesMap, JCodeModel jCodeModel, Map<String, String> packageModuleMap, Model model, JDefinedClass jsUtilsClass, boolean toUnbox, JDefinedClass jsiNameClass, Map<String, List<ConstructorMapper>> mapToPopulate, GWTSettings settings, GenerationContext generationContext) throws ParseModelException, JClassAlreadyExistsException {
+        JClass toReturn;
+        final Optional<JClass> javaRef = getJavaRef(originalClassName, jCodeModel, toUnbox, generationContext.getJavaRefs());
+        generationContext.addJavaRefLookup();
+        if (javaRef.isPresent()) {
+            toReturn = javaRef.get();
+        } else {
+            if (!definedClassesMap.containsKey(originalClassName)) {
+                Optional<NClass> nClassKey = model.beans().keySet().stream().filter(nClass -> nClass.fullName().equals(originalClassName)).findFirst();
+                Optional<NClass> nEnumKey = model.enums().keySet().stream().filter(nClass -> nClass.fullName().equals(originalClassName)).findFirst();
+                if (nClassKey.isPresent()) {
+                    populateJCodeModel(definedClassesMap, jCodeModel, model.beans().get(nClassKey.get()), packageModuleMap, model, jsUtilsClass, jsiNameClass, mapToPopulate, settings, generationContext);
+                } else if (nEnumKey.isPresent()) {
+                    populateJCodeModel(definedClassesMap, jCodeModel, model.enums().get(nEnumKey.get()));
+                } else {
+                    throw new ParseModelException("Failed to retrieve " + originalClassName + " inside the Model");
+                }
+            }
+            toReturn = definedClassesMap.get(originalClassName);
+        }
+        return toReturn;
+    }
+
+    protected static String getOriginalClassName(CPropertyInfo cPropertyInfo, String outerClass) {
+        String fullClassName = null;
+        log(LogLevelSetting.DEBUG, "getClassName...");
+        if (cPropertyInfo instanceof CReferencePropertyInfo) {
+            final CReferencePropertyInfo cReferencePropertyInfo = (CReferencePropertyInfo) cPropertyInfo;
+            final Set<CElement> elements = (cReferencePropertyInfo).getElements();
+            if (!elements.isEmpty()) {
+                final CElementInfo cElement = (CElementInfo) elements.toArray()[0];
+                CElementPropertyInfo property = cElement.getProperty();
+                fullClassName = getPropertyClassName(property);
+            } else if (cReferencePropertyInfo.baseType != null) {
+                fullClassName = cReferencePropertyInfo.baseType.fullName();
+            }
+        } else {
+            fullClassName = getPropertyClassName(cPropertyInfo);
+        }
+        if (fullClassName == null) {
+            log(LogLevelSetting.WARN, "Failed to log ref for " + cPropertyInfo.getName(false) + " that is a " + cPropertyInfo.getClass().getCanonicalName() + " defined inside " + outerClass, null);
+            fullClassName = "java.lang.Object";
+        }
+        if (fullClassName.equals("javax.xml.datatype.XMLGregorianCalendar")) {
+            fullClassName = "java.util.Date";
+        }
+        return fullClassName;
+    }
+
+    protected static String getPropertyClassName(CPropertyInfo toLog) {
+        String toReturn = null;
+        if (!toLog.ref().isEmpty()) {
+            toReturn = toLog.ref().iterator().next().getType().fullName();
+            log(LogLevelSetting.DEBUG, "cPropertyInfo.ref().iterator().next().getType(): " + toReturn);
+        }
+        return toReturn;
+    }
+
+    /**
+     * Returns <code>true</code> if the given property is bound to at least one of the given <b>lazy</b> element names.
+     * A lazy element name without namespace matches the local part only.
+     * @param cPropertyInfo
+     * @param lazyElements
+     * @return
+     */
+    protected static boolean isLazyProperty(final CPropertyInfo cPropertyInfo, final List<QName> lazyElements) {
+        if (lazyElements.isEmpty()) {
+            return false;
+        }
+        final List<QName> elementNames = new ArrayList<>();
+        if (cPropertyInfo instanceof CElementPropertyInfo) {
+            ((CElementPropertyInfo) cPropertyInfo).getTypes().forEach(cTypeRef -> elementNames.add(cTypeRef.getTagName()));
+        } else if (cPropertyInfo instanceof CReferencePropertyInfo) {
+            ((CReferencePropertyInfo) cPropertyInfo).getElements().forEach(cElement -> elementNames.add(cElement.getElementName()));
+        }
+        return elementNames.stream().anyMatch(elementName -> lazyElements.stream().anyMatch(lazyElement -> isMatchingElementName(lazyElement, elementName)));
+    }
+
+    protected static boolean isMatchingElementName(final QName lazyElement, final QName elementName) {
+        if (StringUtils.isEmpty(lazyElement.getNamespaceURI())) {
+            return Objects.equals(lazyElement.getLocalPart(), elementName.getLocalPart());
+        }
+        return Objects.equals(lazyElement, elementName);
+    }
+
+    protected static List<JMethod> addGetter(final JCodeModel jCodeModel,
+                                             final JDefinedClass jDefinedClass,
+                                             final JDefinedClass jsUtilsClass,
+                                             final JClass propertyRef,
+                                             final String publicPropertyName,
+                                             final String privatePropertyName) {
+        return addGetter(jCodeModel, jDefinedClass, jsUtilsClass, propertyRef, publicPropertyName, privatePropertyName, false);
+    }
+
+    /**
+     * Add the getters for the given property; if <b>isLazy</b> is <code>true</code>, the getter returning the native value
+     * is a <code>JsOverlay</code> that materializes the unparsed subtree on first access
+     * @param jCodeModel
+     * @param jDefinedClass
+     * @param jsUtilsClass
+     * @param propertyRef
+     * @param publicPropertyName
+     * @param privatePropertyName
+     * @param isLazy
+     * @return the generated methods modifying the native array in place, if any
+     */
+    protected static List<JMethod> addGetter(final JCodeModel jCodeModel,
+                                             final JDefinedClass jDefinedClass,
+                                             final JDefinedClass jsUtilsClass,
+                                             final JClass propertyRef,
+                                             final String publicPropertyName,
+                                             final String privatePropertyName,
+                                             final boolean isLazy) {
+        return addGetter(jCodeModel, jDefinedClass, jsUtilsClass, propertyRef, publicPropertyName, privatePropertyName, isLazy, memberName -> true);
+    }
+
+    /**
+     * Add the getters for the given property accepted by <b>isRequired</b>; if <b>isLazy</b> is <code>true</code>,
+     * the getter returning the native value is a <code>JsOverlay</code> that materializes the unparsed subtree on first access
+     * @param jCodeModel
+     * @param jDefinedClass
+     * @param jsUtilsClass
+     * @param propertyRef
+     * @param publicPropertyName
+     * @param privatePropertyName
+     * @param isLazy
+     * @param isRequired
+     * @return the generated methods modifying the native array in place (i.e. the <code>JsArrayLike</code> <b>add</b>,
+     * <b>addAll</b> and <b>remove</b> ones), if any
+     */
+    protected static List<JMethod> addGetter(final JCodeModel jCodeModel,
+                                             final JDefinedClass jDefinedClass,
+                                             final JDefinedClass jsUtilsClass,
+                                             final JClass propertyRef,
+                                             final String publicPropertyName,
+                                             final String privatePropertyName,
+                                             final boolean isLazy,
+                                             final Predicate<String> isRequired) {
+
+        final List<JMethod> toReturn = new ArrayList<>();
+        final boolean isJsArrayLike = propertyRef != null && Objects.equals(propertyRef.erasure().name(), "JsArrayLike");
+        final boolean isArray = propertyRef != null && propertyRef.isArray();
+
+        if (isJsArrayLike || isArray) {
+            final String nativePropertyName = "Native" + publicPropertyName;
+            if (isArray) {
+                if (isRequired.test("get" + publicPropertyName)) {
+                    addListGetterForArray(jCodeModel, jDefinedClass, propertyRef.elementType(), publicPropertyName, privatePropertyName);
+                }
+                if (isRequired.test("add" + publicPropertyName)) {
+                    addAddMethodForArray(jCodeModel, jDefinedClass, propertyRef.elementType(), publicPropertyName, privatePropertyName);
+                }
+                if (isRequired.test("addAll" + publicPropertyName)) {
+                    addAddAllMethodForArray(jCodeModel, jDefinedClass, propertyRef.elementType(), publicPropertyName, privatePropertyName);
+                }
+                if (isRequired.test("remove" + publicPropertyName)) {
+                    addRemoveMethodForArray(jCodeModel, jDefinedClass, propertyRef.elementType(), publicPropertyName, privatePropertyName);
+                }
+            } else {
+                JClass propertyRefTypeParam = propertyRef.getTypeParameters().get(0);
+                if (isRequired.test("get" + publicPropertyName)) {
+                    addListGetterForJsArrayLike(jCodeModel, jDefinedClass, jsUtilsClass, propertyRefTypeParam, publicPropertyName, privatePropertyName);
+                }
+                if (isRequired.test("add" + publicPropertyName)) {
+                    toReturn.add(addAddMethodForJsArrayLike(jCodeModel, jDefinedClass, jsUtilsClass, propertyRefTypeParam, publicPropertyName, privatePropertyName));
+                }
+                if (isRequired.test("addAll" + publicPropertyName)) {
+                    toReturn.add(addAddAllMethodForJsArrayLike(jCodeModel, jDefinedClass, jsUtilsClass, propertyRefTypeParam, publicPropertyName, privatePropertyName));
+                }
+                if (isRequired.test("remove" + publicPropertyName)) {
+                    toReturn.add(addRemoveMethodForJsArrayLike(jCodeModel, jDefinedClass, jsUtilsClass, publicPropertyName, privatePropertyName));
+                }
+            }
+            if (!isRequired.test("get" + nativePropertyName)) {
+                return toReturn;
+            }
+            if (isLazy) {
+                addLazyGetter(jCodeModel, jDefinedClass, jsUtilsClass, propertyRef, nativePropertyName, privatePropertyName);
+            } else {
+                addNativeGetter(jCodeModel, jDefinedClass, propertyRef, nativePropertyName, privatePropertyName);
+            }
+        } else if (!isRequired.test("get" + publicPropertyName)) {
+            return toReturn;
+        } else if (isLazy) {
+            addLazyGetter(jCodeModel, jDefinedClass, jsUtilsClass, propertyRef, publicPropertyName, privatePropertyName);
+        } else {
+            addNativeGetter(jCodeModel, jDefinedClass, propertyRef, publicPropertyName, privatePropertyName);
+        }
+        return toReturn;
+    }
+
+    protected static void addSetter(JCodeModel jCodeModel, JDefinedClass jDefinedClass, JClass propertyRef, String
+            publicPropertyName, String privatePropertyName, JDefinedClass jsUtilsClass) {
+        addSetter(jCodeModel, jDefinedClass, propertyRef, publicPropertyName, privatePropertyName, jsUtilsClass, false);
+    }
+
+    /**
+     * Add the setters for the given property, that has no in-place list mutators; if <b>isTracked</b> is <code>true</code>,
+     * the setter flags the instance as <b>dirty</b> (and preserves the snapshots sharing it, if they are enabled)
+     * @param jCodeModel
+     * @param jDefinedClass
+     * @param propertyRef
+     * @param publicPropertyName
+     * @param privatePropertyName
+     * @param jsUtilsClass
+     * @param isTracked
+     */
+    protected static void addSetter(final JCodeModel jCodeModel,
+                                    final JDefinedClass jDefinedClass,
+                                    final JClass propertyRef,
+                                    final String publicPropertyName,
+                                    final String privatePropertyName,
+                                    final JDefinedClass jsUtilsClass,
+                                    final boolean isTracked) {
+        addSetter(jCodeModel, jDefinedClass, propertyRef, publicPropertyName, privatePropertyName, jsUtilsClass, isTracked, false, false, Collections.emptyList(), memberName -> true);
+    }
+
+    /**
+     * Add the setters for the given property accepted by <b>isRequired</b>; if <b>isTracked</b> is <code>true</code>,
+     * the setter and the given in-place list mutators flag the instance as <b>dirty</b>
+     * @param jCodeModel
+     * @param jDefinedClass
+     * @param propertyRef
+     * @param publicPropertyName
+     * @param privatePropertyName
+     * @param jsUtilsClass
+     * @param isTracked
+     * @param isSnapshots whether the tracked in-place list mutators have to preserve the snapshots sharing the instance
+     * @param isIdIndex whether the tracked <b>remove</b> mutator has to detach the removed item from the id index
+     * @param inPlaceMutators the methods modifying the native array in place, as returned by <b>addGetter</b>
+     * @param isRequired
+     */
+    protected static void addSetter(final JCodeModel jCodeModel,
+                                    final JDefinedClass jDefinedClass,
+                                    final JClass propertyRef,
+                                    final String publicPropertyName,
+                                    final String privatePropertyName,
+                                    final JDefinedClass jsUtilsClass,
+                                    final boolean isTracked,
+                                    final boolean isSnapshots,
+                                    final boolean isIdIndex,
+                                    final List<JMethod> inPlaceMutators,
+                                    final Predicate<String> isRequired) {
+        final boolean isJsArrayLike = propertyRef != null && Objects.equals(propertyRef.erasure().name(), "JsArrayLike");
+        final boolean isArray = propertyRef != null && propertyRef.isArray();
+
+        String setterPropertyName = publicPropertyName;
+        if (isJsArrayLike || isArray) {
+            setterPropertyName = "Native" + publicPropertyName;
+            if (isArray) {
+                if (isRequired.test("set" + publicPropertyName)) {
+                    addListSetterForArray(jCodeModel, jDefinedClass, propertyRef.elementType(), publicPropertyName, privatePropertyName);
+                }
+            } else {
+                final JClass propertyRefTypeParam = propertyRef.getTypeParameters().get(0);
+                if (isRequired.test("set" + publicPropertyName)) {
+                    addListSetterForJsArrayLike(jCodeModel, jDefinedClass, jsUtilsClass, propertyRefTypeParam, publicPropertyName, privatePropertyName);
+                }
+                if (isTracked) {
+                    // add, addAll and remove modify the JsArrayLike in place, without invoking the setter
+                    for (JMethod inPlaceMutator : inPlaceMutators) {
+                        if (isIdIndex && Objects.equals("remove" + publicPropertyName, inPlaceMutator.name())) {
+                            addIdIndexRemovalInvocation(inPlaceMutator, jsUtilsClass, publicPropertyName);
+                        }
+                        if (isSnapshots) {
+                            addCopyOnWriteInvocation(inPlaceMutator, jsUtilsClass);
+                        }
+                        addMarkDirtyInvocation(inPlaceMutator, jsUtilsClass, publicPropertyName);
+                    }
+                }
+            }
+        }
+        if (!isRequired.test("set" + setterPropertyName)) {
+            return;
+        }
+        if (isTracked) {
+            addTrackedSetter(jCodeModel, jDefinedClass, jsUtilsClass, propertyRef, setterPropertyName, privatePropertyName);
+        } else {
+            addNativeSetter(jCodeModel, jDefinedClass, propertyRef, setterPropertyName, privatePropertyName);
+        }
+    }
+
+    protected static JClass parseClass(String className,
+                                       JCodeModel codeModel,
+                                       Map<String, JClass> definedClassesMap) {
+        return new JavaTypeParser(definedClassesMap).parseClass(className, codeModel);
+    }
+
+    protected static String getJNIRepresentation(JDefinedClass toConvert) {
+        String className = toConvert.name();
+        if (toConvert.outer() != null) {
+            className = toConvert.outer().name() + "$" + className;
+        }
+        String toReturn = "L" + toConvert._package().name().replace('.', '/') + "/" + className;
+        return toReturn;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.marshallers.xjc.plugin.builders;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.RunAsyncCallback;
+import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JDocComment;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.JVar;
+import gwt.jsonix.marshallers.xjc.plugin.dtos.ConstructorMapper;
+import org.hisrc.jsonix.settings.LogLevelSetting;
+
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.log;
+
+/**
+ * Actual builder for the per-module <b>loader</b> classes, used to register the <b>JSInterop</b> constructors of a
+ * single Jsonix module, possibly from a deferred (<code>GWT.runAsync</code>) fragment
+ */
+public class ModuleLoaderBuilder {
+
+    public static final String LOADER = "Loader";
+
+    private ModuleLoaderBuilder() {
+    }
+
+    /**
+     * Method to create the <b>loader</b> classes, one for each module with at least one generated class.
+     * Each loader also registers the constructors not bound to any module (e.g. <code>JSIName</code>); registering
+     * them more than once is harmless.
+     * @param packageModuleMap
+     * @param constructorsMap
+     * @param mainJsClass
+     * @param jCodeModel
+     * @return
+     * @throws JClassAlreadyExistsException
+     */
+    public static List<JDefinedClass> generateJSInteropModuleLoaders(final Map<String, String> packageModuleMap,
+                                                                     final Map<String, List<ConstructorMapper>> constructorsMap,
+                                                                     final JDefinedClass mainJsClass,
+                                                                     final JCodeModel jCodeModel) throws JClassAlreadyExistsException {
+        log(LogLevelSetting.DEBUG, "Generating JSInterop module loaders ...");
+        final List<JDefinedClass> toReturn = new ArrayList<>();
+        if (mainJsClass == null) {
+            return toReturn;
+        }
+        final Collection<String> moduleNames = packageModuleMap.values();
+        final Map<String, List<ConstructorMapper>> sharedConstructorsMap = new LinkedHashMap<>();
+        constructorsMap.forEach((key, constructorMappers) -> {
+            if (!moduleNames.contains(key)) {
+                sharedConstructorsMap.put(key, constructorMappers);
+            }
+        });
+        for (Map.Entry<String, String> entry : new TreeMap<>(packageModuleMap).entrySet()) {
+            final List<ConstructorMapper> moduleConstructors = constructorsMap.get(entry.getValue());
+            if (moduleConstructors == null || moduleConstructors.isEmpty()) {
+                continue;
+            }
+            final Map<String, List<ConstructorMapper>> loaderConstructorsMap = new LinkedHashMap<>(sharedConstructorsMap);
+            loaderConstructorsMap.put(entry.getValue(), moduleConstructors);
+            toReturn.add(createModuleLoader(jCodeModel, entry.getKey(), entry.getValue(), loaderConstructorsMap, mainJsClass));
+        }
+        return toReturn;
+    }
+
+    /**
+     * @param jCodeModel
+     * @param packageName
+     * @param moduleName
+     * @param constructorsMap
+     * @param mainJsClass
+     * @return
+     * @throws JClassAlreadyExistsException
+     */
+    protected static JDefinedClass createModuleLoader(final JCodeModel jCodeModel,
+                                                      final String packageName,
+                                                      final String moduleName,
+                                                      final Map<String, List<ConstructorMapper>> constructorsMap,
+                                                      final JDefinedClass mainJsClass) throws JClassAlreadyExistsException {
+        final JDefinedClass toReturn = jCodeModel._class(packageName + "." + moduleName + LOADER);
+        final JDocComment javadoc = toReturn.javadoc();
+        javadoc.append("Registers the <b>JSInterop</b> constructors of the <code>" + moduleName + "</code> module.");
+        javadoc.append("\nUse <code>load</code> to move them (and the classes referenced by the callback) to a deferred fragment.");
+        toReturn.constructor(JMod.PRIVATE);
+        final JFieldVar registeredField = toReturn.field(JMod.PRIVATE + JMod.STATIC, boolean.class, "registered", JExpr.FALSE);
+        final JMethod getJSONObjectMethod = MainJsBuilder.addGetJSONObjectMethod(toReturn, jCodeModel, false);
+        MainJsBuilder.addGetConstructorsMap(constructorsMap, toReturn, getJSONObjectMethod, jCodeModel, false);
+        final JMethod registerMethod = addRegisterMethod(toReturn, registeredField, mainJsClass);
+        addLoadMethod(toReturn, registerMethod, jCodeModel);
+        return toReturn;
+    }
+
+    /**
+     * Add the method registering, only once, the constructors of the module
+     * @param loaderClass
+     * @param registeredField
+     * @param mainJsClass
+     * @return
+     */
+    protected static JMethod addRegisterMethod(final JDefinedClass loaderClass,
+                                               final JFieldVar registeredField,
+                                               final JDefinedClass mainJsClass) {
+        final JMethod toReturn = loaderClass.method(JMod.PUBLIC + JMod.STATIC, Void.TYPE, "register");
+        final JBlock thenBlock = toReturn.body()._if(registeredField.not())._then();
+        thenBlock.add(mainJsClass.staticInvoke("initializeJsInteropConstructors").arg(JExpr.invoke("getConstructorsMap")));
+        thenBlock.assign(registeredField, JExpr.TRUE);
+        return toReturn;
+    }
+
+    /**
+     * Add the method registering the constructors of the module inside a <code>GWT.runAsync</code> split point
+     * @param loaderClass
+     * @param registerMethod
+     * @param jCodeModel
+     */
+    protected static void addLoadMethod(final JDefinedClass loaderClass,
+                                        final JMethod registerMethod,
+                                        final JCodeModel jCodeModel) {
+        final JClass runAsyncCallbackRef = jCodeModel.ref(RunAsyncCallback.class);
+        final JMethod loadMethod = loaderClass.method(JMod.PUBLIC + JMod.STATIC, Void.TYPE, "load");
+        final JVar callbackParam = loadMethod.param(JMod.FINAL, runAsyncCallbackRef, "callback");
+
+        final JDefinedClass anonymousCallback = jCodeModel.anonymousClass(runAsyncCallbackRef);
+        final JMethod onFailureMethod = anonymousCallback.method(JMod.PUBLIC, Void.TYPE, "onFailure");
+        onFailureMethod.annotate(Override.class);
+        final JVar reasonParam = onFailureMethod.param(Throwable.class, "reason");
+        onFailureMethod.body().add(callbackParam.invoke("onFailure").arg(reasonParam));
+        final JMethod onSuccessMethod = anonymousCallback.method(JMod.PUBLIC, Void.TYPE, "onSuccess");
+        onSuccessMethod.annotate(Override.class);
+        onSuccessMethod.body().add(loaderClass.staticInvoke(registerMethod));
+        onSuccessMethod.body().add(callbackParam.invoke("onSuccess"));
+
+        loadMethod.body().add(jCodeModel.ref(GWT.class).staticInvoke("runAsync").arg(JExpr.dotclass(loaderClass)).arg(JExpr._new(anonymousCallback)));
+    }
+}
@@ -0,0 +1,553 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.marshallers.xjc.plugin.builders;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.sun.codemodel.ClassType;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JMod;
+import com.sun.tools.xjc.model.CAttributePropertyInfo;
+import com.sun.tools.xjc.model.CBuiltinLeafInfo;
+import com.sun.tools.xjc.model.CClassInfo;
+import com.sun.tools.xjc.model.CElement;
+import com.sun.tools.xjc.model.CElementInfo;
+import com.sun.tools.xjc.model.CElementPropertyInfo;
+import com.sun.tools.xjc.model.CEnumLeafInfo;
+import com.sun.tools.xjc.model.CNonElement;
+import com.sun.tools.xjc.model.CPropertyInfo;
+import com.sun.tools.xjc.model.CReferencePropertyInfo;
+import com.sun.tools.xjc.model.CTypeRef;
+import com.sun.tools.xjc.model.CValuePropertyInfo;
+import com.sun.tools.xjc.model.Model;
+import com.sun.xml.bind.v2.model.core.ID;
+import com.sun.xml.bind.v2.model.core.WildcardMode;
+import org.hisrc.jsonix.settings.LogLevelSetting;
+
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.log;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.toJsString;
+
+/**
+ * Actual builder for the <b>schema-specialized unmarshaller</b>, i.e. a <b>JSNI</b> unmarshaller walking the DOM with
+ * a <code>switch</code> on the names of the elements/attributes known for each class, and building the same object
+ * graph Jsonix would build from the mappings generated for the same model
+ */
+public class UnmarshallerBuilder {
+
+    public static final String UNMARSHALLER = "Unmarshaller";
+
+    /**
+     * Jsonix types whose <code>unmarshal</code> returns the element text as it is (even if blank)
+     */
+    protected static final List<String> STRING_TYPES = Arrays.asList("String", "NormalizedString", "Token", "Language", "Name", "NCName", "NMToken", "ID", "IDREF");
+
+    /**
+     * Jsonix type names not obtained by capitalizing the local part of the <b>xsd</b> type
+     */
+    private static final Map<String, String> JSONIX_TYPE_NAMES = new HashMap<>();
+
+    static {
+        JSONIX_TYPE_NAMES.put("NMTOKEN", "NMToken");
+        JSONIX_TYPE_NAMES.put("NMTOKENS", "NMTokens");
+    }
+
+    private static final String UNMARSHALL_METHOD = "\r\n    /**\n" +
+            "     * Unmarshalls the given <b>xml</b> into the same <code>{name, value}</code> object Jsonix would return\n" +
+            "     * @param xmlString\n" +
+            "     * @return\n" +
+            "     */\n" +
+            "    public static native JavaScriptObject unmarshall(final String xmlString) /*-{\n" +
+            "        var unmarshaller = @%1$s::unmarshaller;\n" +
+            "        if (unmarshaller == null) {\n" +
+            "            unmarshaller = @%1$s::createUnmarshaller()();\n" +
+            "            @%1$s::unmarshaller = unmarshaller;\n" +
+            "        }\n" +
+            "        return unmarshaller(xmlString);\n" +
+            "    }-*/;\n";
+
+    private static final String REGISTER_METHOD = "\r\n    /**\n" +
+            "     * Registers this unmarshaller on the <code>%2$s</code> <b>js</b> object, to be used instead of Jsonix\n" +
+            "     */\n" +
+            "    public static native void register() /*-{\n" +
+            "        $wnd[\"%2$s\"].unmarshaller = function (xmlString) {\n" +
+            "            return @%1$s::unmarshall(Ljava/lang/String;)(xmlString);\n" +
+            "        };\n" +
+            "    }-*/;\n";
+
+    private static final String CREATE_UNMARSHALLER_METHOD = "\r\n    private static native JavaScriptObject createUnmarshaller() /*-{\n" +
+            "        var XSD = $wnd.Jsonix.Schema.XSD;\n" +
+            "        var QName = $wnd.Jsonix.XML.QName;\n" +
+            "        var XSI = \"http://www.w3.org/2001/XMLSchema-instance\";\n" +
+            "        var elements = {};\n" +
+            "        var types = {};\n" +
+            "\n" +
+            "        function key(node) {\n" +
+            "            return node.namespaceURI ? \"{\" + node.namespaceURI + \"}\" + node.localName : node.nodeName;\n" +
+            "        }\n" +
+            "\n" +
+            "        function name(node) {\n" +
+            "            return node.namespaceURI ? new QName(node.namespaceURI, node.nodeName) : new QName(node.nodeName);\n" +
+            "        }\n" +
+            "\n" +
+            "        function text(node) {\n" +
+            "            var toReturn = \"\";\n" +
+            "            for (var child = node.firstChild; child != null; child = child.nextSibling) {\n" +
+            "                if (child.nodeType === 3 || child.nodeType === 4) {\n" +
+            "                    toReturn += child.nodeValue;\n" +
+            "                } else if (child.nodeType === 1) {\n" +
+            "                    throw new Error(\"Element text content may not contain START_ELEMENT.\");\n" +
+            "                }\n" +
+            "            }\n" +
+            "            return toReturn;\n" +
+            "        }\n" +
+            "\n" +
+            "        function namespaces(node) {\n" +
+            "            return {\n" +
+            "                getNamespaceURI: function (prefix) {\n" +
+            "                    var toReturn = node.lookupNamespaceURI(prefix === \"\" ? null : prefix);\n" +
+            "                    if (toReturn != null) {\n" +
+            "                        return toReturn;\n" +
+            "                    }\n" +
+            "                    return prefix === \"\" ? \"\" : (prefix === \"xml\" ? \"http://www.w3.org/XML/1998/namespace\" : undefined);\n" +
+            "                }\n" +
+            "            };\n" +
+            "        }\n" +
+            "\n" +
+            "        function parse(typeName, value, node) {\n" +
+            "            return XSD[typeName].INSTANCE.parse(value, null, namespaces(node), null);\n" +
+            "        }\n" +
+            "\n" +
+            "        function parseList(typeName, value, node) {\n" +
+            "            return XSD[typeName].INSTANCE.LIST.parse(value, null, namespaces(node), null);\n" +
+            "        }\n" +
+            "\n" +
+            "        function parseText(typeName, node) {\n" +
+            "            var value = text(node);\n" +
+            "            return value.trim().length > 0 ? parse(typeName, value, node) : null;\n" +
+            "        }\n" +
+            "\n" +
+            "        function add(object, property, value) {\n" +
+            "            var values = object[property];\n" +
+            "            if (values == null) {\n" +
+            "                object[property] = [value];\n" +
+            "            } else {\n" +
+            "                values.push(value);\n" +
+            "            }\n" +
+            "        }\n" +
+            "\n" +
+            "        function otherAttributes(attributes) {\n" +
+            "            var toReturn = {};\n" +
+            "            for (var index = 0; index < attributes.length; index++) {\n" +
+            "                toReturn[key(attributes[index])] = attributes[index].value;\n" +
+            "            }\n" +
+            "            return toReturn;\n" +
+            "        }\n" +
+            "\n" +
+            "        function typeOf(node, defaultType) {\n" +
+            "            var xsiType = node.getAttributeNS(XSI, \"type\");\n" +
+            "            if (xsiType) {\n" +
+            "                xsiType = xsiType.trim();\n" +
+            "                var colonPosition = xsiType.indexOf(\":\");\n" +
+            "                var namespaceURI = namespaces(node).getNamespaceURI(colonPosition > 0 ? xsiType.substring(0, colonPosition) : \"\");\n" +
+            "                var localPart = xsiType.substring(colonPosition + 1);\n" +
+            "                var type = types[namespaceURI ? \"{\" + namespaceURI + \"}\" + localPart : localPart];\n" +
+            "                if (type != null) {\n" +
+            "                    return type;\n" +
+            "                }\n" +
+            "            }\n" +
+            "            return defaultType;\n" +
+            "        }\n" +
+            "\n" +
+            "        function unknown(node) {\n" +
+            "            return new Error(\"Element [\" + name(node).toString() + \"] could not be unmarshalled as is not known in this context and the property does not allow DOM content.\");\n" +
+            "        }\n" +
+            "%1$s" +
+            "\n" +
+            "        return function (xmlString) {\n" +
+            "            var node = $wnd.Jsonix.DOM.parse(xmlString).documentElement;\n" +
+            "            var type = elements[key(node)];\n" +
+            "            if (type == null) {\n" +
+            "                throw unknown(node);\n" +
+            "            }\n" +
+            "            return {name: name(node), value: typeOf(node, type)(node)};\n" +
+            "        };\n" +
+            "    }-*/;\n";
+
+    private UnmarshallerBuilder() {
+    }
+
+    /**
+     * Method to create the <b>schema-specialized unmarshaller</b> class, in the same package of the given
+     * <code>MainJs</code>
+     * @param model
+     * @param packageModuleMap
+     * @param mainJsClass
+     * @param jCodeModel
+     * @return the unmarshaller class, or <code>null</code> if there is no <code>MainJs</code>
+     * @throws JClassAlreadyExistsException
+     */
+    public static JDefinedClass generateJSInteropUnmarshaller(final Model model,
+                                                              final Map<String, String> packageModuleMap,
+                                                              final JDefinedClass mainJsClass,
+                                                              final JCodeModel jCodeModel) throws JClassAlreadyExistsException {
+        log(LogLevelSetting.DEBUG, "Generating JSInterop specialized unmarshaller ...");
+        if (mainJsClass == null) {
+            return null;
+        }
+        final String mainJsName = mainJsClass.name();
+        final JDefinedClass toReturn = jCodeModel._class(JMod.PUBLIC + JMod.FINAL, mainJsClass._package().name() + "." + mainJsName + UNMARSHALLER, ClassType.CLASS);
+        toReturn.javadoc().append("Unmarshaller specialized on the schema of <code>" + mainJsName + "</code>, building the same objects of Jsonix without interpreting its mappings.");
+        toReturn.constructor(JMod.PRIVATE);
+        toReturn.field(JMod.PRIVATE + JMod.STATIC, JavaScriptObject.class, "unmarshaller");
+        toReturn.direct(String.format(UNMARSHALL_METHOD, toReturn.fullName()));
+        toReturn.direct(String.format(REGISTER_METHOD, toReturn.fullName(), mainJsName));
+        toReturn.direct(String.format(CREATE_UNMARSHALLER_METHOD, getUnmarshallerFunctions(model, packageModuleMap)));
+        return toReturn;
+    }
+
+    /**
+     * @param model
+     * @param packageModuleMap
+     * @return the <b>js</b> functions unmarshalling each class, and the tables of the global elements and of the types
+     */
+    protected static String getUnmarshallerFunctions(final Model model, final Map<String, String> packageModuleMap) {
+        final Map<CClassInfo, String> functionNames = new LinkedHashMap<>();
+        for (CClassInfo cClassInfo : model.beans().values()) {
+            if (getTypeName(cClassInfo, packageModuleMap) != null) {
+                functionNames.put(cClassInfo, "t" + functionNames.size());
+            }
+        }
+        final Map<QName, List<CElement>> substitutionMembers = getSubstitutionMembers(model);
+        final StringBuilder toReturn = new StringBuilder();
+        functionNames.forEach((cClassInfo, functionName) -> toReturn.append(getClassFunction(cClassInfo, functionName, functionNames, substitutionMembers, packageModuleMap)));
+        toReturn.append("\n");
+        for (CElementInfo cElementInfo : getGlobalElements(model)) {
+            final String valueFunction = getElementValueFunction(cElementInfo.getContentType(), null, functionNames);
+            if (valueFunction != null) {
+                toReturn.append("        elements[").append(toJsString(getKey(cElementInfo.getElementName()))).append("] = ").append(valueFunction).append(";\n");
+            }
+        }
+        functionNames.forEach((cClassInfo, functionName) -> {
+            if (cClassInfo.isElement()) {
+                toReturn.append("        elements[").append(toJsString(getKey(cClassInfo.getElementName()))).append("] = ").append(functionName).append(";\n");
+            }
+        });
+        functionNames.forEach((cClassInfo, functionName) -> {
+            if (cClassInfo.getTypeName() != null) {
+                toReturn.append("        types[").append(toJsString(getKey(cClassInfo.getTypeName()))).append("] = ").append(functionName).append(";\n");
+            }
+        });
+        return toReturn.toString();
+    }
+
+    /**
+     * @param cClassInfo
+     * @param functionName
+     * @param functionNames
+     * @param substitutionMembers
+     * @param packageModuleMap
+     * @return the <b>js</b> function unmarshalling the given class
+     */
+    protected static String getClassFunction(final CClassInfo cClassInfo,
+                                             final String functionName,
+                                             final Map<CClassInfo, String> functionNames,
+                                             final Map<QName, List<CElement>> substitutionMembers,
+                                             final Map<String, String> packageModuleMap) {
+        // as Jsonix, the properties of the base classes come first, and the latest one bound to a name wins
+        final List<CClassInfo> hierarchy = new ArrayList<>();
+        for (CClassInfo current = cClassInfo; current != null; current = current.getBaseClass()) {
+            hierarchy.add(0, current);
+        }
+        final Map<String, String> attributeCases = new LinkedHashMap<>();
+        final Map<String, String> elementCases = new LinkedHashMap<>();
+        String anyStatement = null;
+        String mixedStatement = null;
+        String valueStatement = null;
+        boolean otherAttributes = false;
+        for (CClassInfo current : hierarchy) {
+            otherAttributes |= current.declaresAttributeWildcard();
+            for (CPropertyInfo cPropertyInfo : current.getProperties()) {
+                final String propertyName = toJsString(cPropertyInfo.getName(false));
+                if (cPropertyInfo instanceof CAttributePropertyInfo) {
+                    final CAttributePropertyInfo cAttributePropertyInfo = (CAttributePropertyInfo) cPropertyInfo;
+                    final String typeName = getLeafTypeName(cAttributePropertyInfo, cAttributePropertyInfo.getTarget(), cAttributePropertyInfo.getSchemaType());
+                    final String value;
+                    if (cAttributePropertyInfo.isCollection()) {
+                        value = "parseList(" + toJsString(typeName) + ", attribute.value, node)";
+                    } else if (STRING_TYPES.contains(typeName)) {
+                        value = "attribute.value";
+                    } else {
+                        value = "parse(" + toJsString(typeName) + ", attribute.value, node)";
+                    }
+                    attributeCases.put(getKey(cAttributePropertyInfo.getXmlName()), "toReturn[" + propertyName + "] = " + value + ";");
+                } else if (cPropertyInfo instanceof CValuePropertyInfo) {
+                    final CValuePropertyInfo cValuePropertyInfo = (CValuePropertyInfo) cPropertyInfo;
+                    final String typeName = getLeafTypeName(cValuePropertyInfo, cValuePropertyInfo.getTarget(), cValuePropertyInfo.getSchemaType());
+                    final String value = STRING_TYPES.contains(typeName) ? "text(node)" : "parse(" + toJsString(typeName) + ", text(node), node)";
+                    valueStatement = "toReturn[" + propertyName + "] = " + value + ";";
+                } else if (cPropertyInfo instanceof CElementPropertyInfo) {
+                    for (CTypeRef cTypeRef : ((CElementPropertyInfo) cPropertyInfo).getTypes()) {
+                        final String value = getElementValue(cTypeRef.getTarget(), cPropertyInfo, functionNames);
+                        elementCases.put(getKey(cTypeRef.getTagName()), getAssignment(cPropertyInfo, propertyName, value));
+                    }
+                } else if (cPropertyInfo instanceof CReferencePropertyInfo) {
+                    final CReferencePropertyInfo cReferencePropertyInfo = (CReferencePropertyInfo) cPropertyInfo;
+                    for (CElement cElement : cReferencePropertyInfo.getElements()) {
+                        final CNonElement contentType = cElement instanceof CElementInfo ? ((CElementInfo) cElement).getContentType() : (CClassInfo) cElement;
+                        final String value = getElementValue(contentType, cPropertyInfo, functionNames);
+                        elementCases.put(getKey(cElement.getElementName()), getAssignment(cPropertyInfo, propertyName, "{name: name(child), value: " + value + "}"));
+                        for (CElement member : getAllSubstitutionMembers(cElement.getElementName(), substitutionMembers)) {
+                            final CNonElement memberType = member instanceof CElementInfo ? ((CElementInfo) member).getContentType() : (CClassInfo) member;
+                            final String memberValue = getElementValue(memberType, cPropertyInfo, functionNames);
+                            elementCases.put(getKey(member.getElementName()), getAssignment(cPropertyInfo, propertyName, "{name: name(child), value: " + memberValue + "}"));
+                        }
+                    }
+                    final WildcardMode wildcardMode = cReferencePropertyInfo.getWildcard();
+                    final boolean allowTypedObject = wildcardMode == null || wildcardMode.allowTypedObject;
+                    final boolean allowDom = wildcardMode != null && wildcardMode.allowDom;
+                    anyStatement = getAnyStatement(cPropertyInfo, propertyName, allowTypedObject, allowDom);
+                    if (cReferencePropertyInfo.isMixed()) {
+                        mixedStatement = getAssignment(cPropertyInfo, propertyName, "child.nodeValue");
+                    }
+                }
+            }
+        }
+        final StringBuilder toReturn = new StringBuilder("\n");
+        toReturn.append("        function ").append(functionName).append("(node) {\n");
+        toReturn.append("            var toReturn = {\"TYPE_NAME\": ").append(toJsString(getTypeName(cClassInfo, packageModuleMap))).append("};\n");
+        if (!attributeCases.isEmpty() || otherAttributes) {
+            toReturn.append("            var attributes = node.attributes;\n");
+        }
+        if (!attributeCases.isEmpty()) {
+            toReturn.append("            for (var index = 0; index < attributes.length; index++) {\n");
+            toReturn.append("                var attribute = attributes[index];\n");
+            toReturn.append("                switch (key(attribute)) {\n");
+            attributeCases.forEach((attributeKey, statement) -> appendCase(toReturn, "                    ", attributeKey, statement));
+            toReturn.append("                }\n");
+            toReturn.append("            }\n");
+        }
+        if (otherAttributes) {
+            toReturn.append("            if (attributes.length !== 0) {\n");
+            toReturn.append("                toReturn[\"otherAttributes\"] = otherAttributes(attributes);\n");
+            toReturn.append("            }\n");
+        }
+        if (!elementCases.isEmpty() || anyStatement != null) {
+            toReturn.append("            for (var child = node.firstChild; child != null; child = child.nextSibling) {\n");
+            toReturn.append("                if (child.nodeType !== 1) {\n");
+            if (mixedStatement != null) {
+                toReturn.append("                    if ((child.nodeType === 3 || child.nodeType === 4) && child.nodeValue.trim().length > 0) {\n");
+                toReturn.append("                        ").append(mixedStatement).append("\n");
+                toReturn.append("                    }\n");
+            }
+            toReturn.append("                    continue;\n");
+            toReturn.append("                }\n");
+            toReturn.append("                switch (key(child)) {\n");
+            elementCases.forEach((elementKey, statement) -> appendCase(toReturn, "                    ", elementKey, statement));
+            if (anyStatement != null) {
+                toReturn.append("                    default:\n");
+                toReturn.append(anyStatement);
+            }
+            toReturn.append("                }\n");
+            toReturn.append("            }\n");
+        } else if (valueStatement != null) {
+            toReturn.append("            ").append(valueStatement).append("\n");
+        }
+        toReturn.append("            return toReturn;\n");
+        toReturn.append("        }\n");
+        return toReturn.toString();
+    }
+
+    /**
+     * @param cPropertyInfo
+     * @param propertyName
+     * @param allowTypedObject
+     * @param allowDom
+     * @return the statements unmarshalling an element not bound to any property of the class
+     */
+    protected static String getAnyStatement(final CPropertyInfo cPropertyInfo,
+                                            final String propertyName,
+                                            final boolean allowTypedObject,
+                                            final boolean allowDom) {
+        final String indentation = "                        ";
+        final StringBuilder toReturn = new StringBuilder();
+        if (allowTypedObject) {
+            toReturn.append(indentation).append("var type = elements[key(child)];\n");
+            toReturn.append(indentation).append("if (type != null) {\n");
+            toReturn.append(indentation).append("    ").append(getAssignment(cPropertyInfo, propertyName, "{name: name(child), value: typeOf(child, type)(child)}")).append("\n");
+            toReturn.append(indentation).append("} else {\n");
+            toReturn.append(indentation).append("    ").append(allowDom ? getAssignment(cPropertyInfo, propertyName, "child") : "throw unknown(child);").append("\n");
+            toReturn.append(indentation).append("}\n");
+        } else {
+            toReturn.append(indentation).append(getAssignment(cPropertyInfo, propertyName, "child")).append("\n");
+        }
+        toReturn.append(indentation).append("break;\n");
+        return toReturn.toString();
+    }
+
+    protected static String getAssignment(final CPropertyInfo cPropertyInfo, final String propertyName, final String value) {
+        return cPropertyInfo.isCollection() ? "add(toReturn, " + propertyName + ", " + value + ");" : "toReturn[" + propertyName + "] = " + value + ";";
+    }
+
+    /**
+     * @param target
+     * @param cPropertyInfo
+     * @param functionNames
+     * @return the <b>js</b> expression unmarshalling the value of the <code>child</code> element
+     */
+    protected static String getElementValue(final CNonElement target,
+                                            final CPropertyInfo cPropertyInfo,
+                                            final Map<CClassInfo, String> functionNames) {
+        if (target instanceof CClassInfo && functionNames.containsKey(target)) {
+            return "typeOf(child, " + functionNames.get(target) + ")(child)";
+        }
+        final String typeName = getLeafTypeName(cPropertyInfo, target, null);
+        return STRING_TYPES.contains(typeName) ? "text(child)" : "parseText(" + toJsString(typeName) + ", child)";
+    }
+
+    /**
+     * @param contentType
+     * @param cPropertyInfo
+     * @param functionNames
+     * @return the <b>js</b> function unmarshalling the value of a global element, or <code>null</code> if its type is
+     * not supported
+     */
+    protected static String getElementValueFunction(final CNonElement contentType,
+                                                    final CPropertyInfo cPropertyInfo,
+                                                    final Map<CClassInfo, String> functionNames) {
+        if (contentType instanceof CClassInfo) {
+            return functionNames.get(contentType);
+        }
+        final String typeName = getLeafTypeName(cPropertyInfo, contentType, null);
+        return STRING_TYPES.contains(typeName) ? "text" : "function (node) {\n            return parseText(" + toJsString(typeName) + ", node);\n        }";
+    }
+
+    /**
+     * @param cPropertyInfo may be <code>null</code>
+     * @param target
+     * @param schemaType
+     * @return the name of the Jsonix type used to parse the given leaf
+     */
+    protected static String getLeafTypeName(final CPropertyInfo cPropertyInfo, final CNonElement target, final QName schemaType) {
+        if (cPropertyInfo != null && cPropertyInfo.id() == ID.ID) {
+            return "ID";
+        }
+        if (cPropertyInfo != null && cPropertyInfo.id() == ID.IDREF) {
+            return "IDREF";
+        }
+        if (target instanceof CEnumLeafInfo) {
+            // Jsonix maps the enum values to themselves
+            return "String";
+        }
+        QName typeName = target instanceof CBuiltinLeafInfo ? target.getTypeName() : null;
+        if (typeName != null && schemaType != null && (typeName.getLocalPart().trim().isEmpty() || "anySimpleType".equals(typeName.getLocalPart()))) {
+            // e.g. XMLGregorianCalendar, whose actual type is only known by the schema
+            typeName = schemaType;
+        }
+        if (typeName == null || !XMLConstants.W3C_XML_SCHEMA_NS_URI.equals(typeName.getNamespaceURI())) {
+            return "String";
+        }
+        final String localPart = typeName.getLocalPart();
+        return JSONIX_TYPE_NAMES.getOrDefault(localPart, Character.toUpperCase(localPart.charAt(0)) + localPart.substring(1));
+    }
+
+    /**
+     * @param cClassInfo
+     * @param packageModuleMap
+     * @return the <code>TYPE_NAME</code> Jsonix gives to the instances of the given class, or <code>null</code> if it
+     * does not belong to any module
+     */
+    protected static String getTypeName(final CClassInfo cClassInfo, final Map<String, String> packageModuleMap) {
+        final String moduleName = packageModuleMap.get(cClassInfo.getOwnerPackage().name());
+        if (moduleName == null) {
+            return null;
+        }
+        return cClassInfo.parent() instanceof CClassInfo ? moduleName + "." + ((CClassInfo) cClassInfo.parent()).shortName + "." + cClassInfo.shortName : moduleName + "." + cClassInfo.shortName;
+    }
+
+    /**
+     * @param model
+     * @return the elements declared at schema level, i.e. without the ones scoped to a class
+     */
+    protected static List<CElementInfo> getGlobalElements(final Model model) {
+        final List<CElementInfo> toReturn = new ArrayList<>();
+        for (CElementInfo cElementInfo : model.getAllElements()) {
+            if (cElementInfo.getScope() == null) {
+                toReturn.add(cElementInfo);
+            }
+        }
+        return toReturn;
+    }
+
+    /**
+     * @param model
+     * @return the direct substitution members of each element, by name
+     */
+    protected static Map<QName, List<CElement>> getSubstitutionMembers(final Model model) {
+        final Map<QName, List<CElement>> toReturn = new HashMap<>();
+        for (CElementInfo cElementInfo : model.getAllElements()) {
+            if (cElementInfo.getSubstitutionHead() != null) {
+                toReturn.computeIfAbsent(cElementInfo.getSubstitutionHead().getElementName(), k -> new ArrayList<>()).add(cElementInfo);
+            }
+        }
+        for (CClassInfo cClassInfo : model.beans().values()) {
+            if (cClassInfo.isElement() && cClassInfo.getSubstitutionHead() != null) {
+                toReturn.computeIfAbsent(cClassInfo.getSubstitutionHead().getElementName(), k -> new ArrayList<>()).add(cClassInfo);
+            }
+        }
+        return toReturn;
+    }
+
+    /**
+     * @param head
+     * @param substitutionMembers
+     * @return the direct and indirect substitution members of the given element
+     */
+    protected static List<CElement> getAllSubstitutionMembers(final QName head, final Map<QName, List<CElement>> substitutionMembers) {
+        final List<CElement> toReturn = new ArrayList<>();
+        for (CElement member : substitutionMembers.getOrDefault(head, new ArrayList<>())) {
+            if (!toReturn.contains(member) && !head.equals(member.getElementName())) {
+                toReturn.add(member);
+                toReturn.addAll(getAllSubstitutionMembers(member.getElementName(), substitutionMembers));
+            }
+        }
+        return toReturn;
+    }
+
+    /**
+     * @param qName
+     * @return the key Jsonix uses for the given name
+     */
+    protected static String getKey(final QName qName) {
+        return qName.getNamespaceURI().isEmpty() ? qName.getLocalPart() : "{" + qName.getNamespaceURI() + "}" + qName.getLocalPart();
+    }
+
+    private static void appendCase(final StringBuilder toPopulate, final String indentation, final String key, final String statement) {
+        toPopulate.append(indentation).append("case ").append(toJsString(key)).append(":\n");
+        toPopulate.append(indentation).append("    ").append(statement).append("\n");
+        toPopulate.append(indentation).append("    break;\n");
+    }
+}
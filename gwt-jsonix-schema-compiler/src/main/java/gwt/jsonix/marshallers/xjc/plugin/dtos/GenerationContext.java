@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.marshallers.xjc.plugin.dtos;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import com.sun.codemodel.JClass;
+import com.sun.tools.xjc.model.Model;
+import gwt.jsonix.marshallers.xjc.plugin.utils.OrderingUtils;
+import org.hisrc.jsonix.configuration.MappingConfiguration;
+import org.hisrc.jsonix.configuration.ModulesConfiguration;
+import org.hisrc.jsonix.context.JsonixContext;
+import org.jvnet.jaxb2_commons.plugin.inheritance.util.JavaTypeParser;
+
+/**
+ * State shared by the phases of a single plugin run: the modules configuration is read from the model once,
+ * both for the Jsonix mappings and for the <b>JSInterop</b> code
+ */
+public class GenerationContext {
+
+    final private Model model;
+    final private JsonixContext jsonixContext;
+    final private ModulesConfiguration modulesConfiguration;
+    final private Map<String, String> decodedCustomizations = new HashMap<>();
+    final private Map<String, Optional<JClass>> javaRefs = new HashMap<>();
+    private Map<String, String> packageModuleMap;
+    private int avoidedDecodes;
+    private int javaRefLookups;
+    private JavaTypeParser typeParser;
+    private Map<String, JClass> typeParserClasses;
+
+    public GenerationContext(Model model, JsonixContext jsonixContext, ModulesConfiguration modulesConfiguration) {
+        this.model = model;
+        this.jsonixContext = jsonixContext;
+        this.modulesConfiguration = modulesConfiguration;
+    }
+
+    public Model getModel() {
+        return model;
+    }
+
+    public JsonixContext getJsonixContext() {
+        return jsonixContext;
+    }
+
+    public ModulesConfiguration getModulesConfiguration() {
+        return modulesConfiguration;
+    }
+
+    /**
+     * @return the decoded value of each customization, keyed by its content
+     */
+    public Map<String, String> getDecodedCustomizations() {
+        return decodedCustomizations;
+    }
+
+    public int getAvoidedDecodes() {
+        return avoidedDecodes;
+    }
+
+    public void addAvoidedDecode() {
+        avoidedDecodes++;
+    }
+
+    /**
+     * @return the <b>java</b> class of each type name resolved so far, empty for the names that are not java classes
+     */
+    public Map<String, Optional<JClass>> getJavaRefs() {
+        return javaRefs;
+    }
+
+    public int getJavaRefLookups() {
+        return javaRefLookups;
+    }
+
+    public void addJavaRefLookup() {
+        javaRefLookups++;
+    }
+
+    /**
+     * @param knownClasses
+     * @return the type parser resolving class names against the given <b>known classes</b>, created once for them
+     */
+    public JavaTypeParser getTypeParser(Map<String, JClass> knownClasses) {
+        if (typeParser == null || typeParserClasses != knownClasses) {
+            typeParser = new JavaTypeParser(knownClasses);
+            typeParserClasses = knownClasses;
+        }
+        return typeParser;
+    }
+
+    /**
+     * @return the name of the <b>module</b> of each package, as defined by the mapping configurations
+     */
+    public Map<String, String> getPackageModuleMap() {
+        if (packageModuleMap == null) {
+            packageModuleMap = modulesConfiguration.getMappingConfigurations().stream().collect(Collectors.toMap(MappingConfiguration::getPackage, MappingConfiguration::getName, OrderingUtils::throwingMerger, TreeMap::new));
+        }
+        return packageModuleMap;
+    }
+}
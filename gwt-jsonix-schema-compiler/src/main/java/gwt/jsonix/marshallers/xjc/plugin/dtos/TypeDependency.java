@@ -0,0 +1,36 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.marshallers.xjc.plugin.dtos;
+
+import org.jgrapht.graph.DefaultEdge;
+
+/**
+ * Edge of the type dependency graph, from the dependency to the dependent type.
+ * <b>Hard</b> dependencies (base and enclosing classes) have to be generated before the dependent type;
+ * <b>soft</b> ones (property types) only have to exist when its properties are added
+ */
+public class TypeDependency extends DefaultEdge {
+
+    final private boolean hard;
+
+    public TypeDependency(boolean hard) {
+        this.hard = hard;
+    }
+
+    public boolean isHard() {
+        return hard;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.marshallers.xjc.plugin.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Utilities to read the <b>accessor profile</b>, i.e. the names of the generated members actually used by the
+ * application code
+ */
+public class AccessorProfileUtils {
+
+    /**
+     * Member names following a <code>.</code> or a <code>::</code> in a Java source
+     */
+    private static final Pattern MEMBER_PATTERN = Pattern.compile("(?:\\.|::)\\s*([A-Za-z_$][\\w$]*)");
+
+    private AccessorProfileUtils() {
+    }
+
+    /**
+     * Returns the member names listed/used by the given comma-separated paths:
+     * <ul>
+     * <li>a <b>directory</b> is scanned for <code>.java</code> sources, collecting every member name they reference</li>
+     * <li>a <code>.java</code> file is scanned the same way</li>
+     * <li>any other file lists one member per line (lines starting with <code>#</code> are comments); a qualified
+     * <code>Type.member</code> or <code>Type#member</code> entry is matched by member name only, since the accessor
+     * may be declared by a base class</li>
+     * </ul>
+     * @param paths
+     * @return
+     * @throws IOException
+     */
+    public static Set<String> readAccessorProfile(final String paths) throws IOException {
+        final Set<String> toReturn = new HashSet<>();
+        for (String path : paths.split(",")) {
+            if (path.trim().isEmpty()) {
+                continue;
+            }
+            final File file = new File(path.trim());
+            if (file.isDirectory()) {
+                final List<Path> sources;
+                try (Stream<Path> walk = Files.walk(file.toPath())) {
+                    sources = walk.filter(source -> source.toString().endsWith(".java")).collect(Collectors.toList());
+                }
+                for (Path source : sources) {
+                    toReturn.addAll(getReferencedMembers(new String(Files.readAllBytes(source), StandardCharsets.UTF_8)));
+                }
+            } else if (file.getName().endsWith(".java")) {
+                toReturn.addAll(getReferencedMembers(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8)));
+            } else {
+                toReturn.addAll(getListedMembers(Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)));
+            }
+        }
+        return toReturn;
+    }
+
+    /**
+     * Returns the names of the members referenced by the given Java source
+     * @param source
+     * @return
+     */
+    public static Set<String> getReferencedMembers(final String source) {
+        final Set<String> toReturn = new HashSet<>();
+        final Matcher matcher = MEMBER_PATTERN.matcher(source);
+        while (matcher.find()) {
+            toReturn.add(matcher.group(1));
+        }
+        return toReturn;
+    }
+
+    /**
+     * Returns the member names of the given profile lines
+     * @param lines
+     * @return
+     */
+    public static Set<String> getListedMembers(final List<String> lines) {
+        final Set<String> toReturn = new HashSet<>();
+        for (String line : lines) {
+            final String member = line.trim();
+            if (member.isEmpty() || member.startsWith("#")) {
+                continue;
+            }
+            toReturn.add(member.substring(Math.max(member.lastIndexOf('.'), member.lastIndexOf('#')) + 1));
+        }
+        return toReturn;
+    }
+}
@@ -17,10 +17,22 @@ package gwt.jsonix.marshallers.xjc.plugin.utils;
 
 import java.io.File;
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.xml.datatype.Duration;
+import javax.xml.datatype.XMLGregorianCalendar;
+import javax.xml.namespace.QName;
 
 import com.sun.codemodel.CodeWriter;
 import com.sun.codemodel.JAnnotationUse;
@@ -46,6 +58,7 @@ import com.sun.tools.xjc.model.Model;
 import gwt.jsonix.marshallers.xjc.plugin.GWTSettings;
 import jsinterop.annotations.JsOverlay;
 import jsinterop.annotations.JsProperty;
+import jsinterop.base.Js;
 import org.hisrc.jsonix.settings.LogLevelSetting;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,9 +72,34 @@ public class BuilderUtils {
     public static final String MARSHALL_CALLBACK = "MarshallCallback";
     public static final String UNMARSHALL_CALLBACK = "UnmarshallCallback";
 
+    /**
+     * Java classes XJC maps the <b>xsd</b> builtin types to, resolved without any classloader lookup
+     */
+    protected static final Map<String, Class<?>> XSD_BUILTIN_CLASSES = Collections.unmodifiableMap(Stream.of(String.class, Boolean.class, Byte.class, Short.class, Integer.class, Long.class,
+                                                                                                              Float.class, Double.class, BigInteger.class, BigDecimal.class, Date.class, Object.class,
+                                                                                                              QName.class, Duration.class, XMLGregorianCalendar.class)
+                                                                                                          .collect(Collectors.toMap(Class::getName, Function.identity())));
+
+    /**
+     * The primitives that GWT boxes when passed as <code>Object</code> to <b>JSNI</b>: only <code>double</code> and
+     * <code>boolean</code> are passed as plain <b>js</b> values
+     */
+    protected static final List<String> GWT_BOXED_PRIMITIVES = Collections.unmodifiableList(Stream.of(byte.class, short.class, int.class, long.class, float.class, char.class)
+                                                                                                 .map(Class::getName)
+                                                                                                 .collect(Collectors.toList()));
+
     private BuilderUtils() {
     }
 
+    /**
+     * @param model
+     * @param settings
+     * @return the directory of the JSInterop code: the <b>jsinteropDirectory</b>, if set, or the XJC one
+     */
+    public static File getTargetDirectory(Model model, GWTSettings settings) {
+        return settings.getJsinteropDirectory() != null ? settings.getJsinteropDirectory() : model.options.targetDir;
+    }
+
     /**
      * Returns a <code>CodeWriter</code> whose target directory will be  Model.options.targetDir
      * @param model
@@ -71,8 +109,7 @@ public class BuilderUtils {
      */
     public static CodeWriter createCodeWriter(Model model, GWTSettings settings) throws IOException {
         try {
-            File targetDir = settings.getJsinteropDirectory() != null ? settings.getJsinteropDirectory() : model.options.targetDir;
-            return new FileCodeWriter(targetDir, model.options.readOnly, model.options.encoding);
+            return new FileCodeWriter(getTargetDirectory(model, settings), model.options.readOnly, model.options.encoding);
         } catch (IOException e) {
             throw new IOException("Failed to FileCodeWriter", e);
         }
@@ -258,7 +295,7 @@ public class BuilderUtils {
         return setterMethod.annotate(jCodeModel.ref(JsOverlay.class));
     }
 
-    public static JAnnotationUse addAddMethodForJsArrayLike(final JCodeModel jCodeModel,
+    public static JMethod addAddMethodForJsArrayLike(final JCodeModel jCodeModel,
                                                             final JDefinedClass jDefinedClass,
                                                             final JDefinedClass jsUtilsClass,
                                                             final JClass propertyRef,
@@ -286,7 +323,8 @@ public class BuilderUtils {
         final JInvocation nativeGetterInvocation = JExpr.invoke("getNative" + publicPropertyName);
         final JInvocation getAddInvocation = jsUtilsClass.staticInvoke("add").arg(nativeGetterInvocation).arg(elementParam);
         body.add(getAddInvocation);
-        return addMethod.annotate(jCodeModel.ref(JsOverlay.class));
+        addMethod.annotate(jCodeModel.ref(JsOverlay.class));
+        return addMethod;
     }
 
     public static JAnnotationUse addAddMethodForArray(final JCodeModel jCodeModel,
@@ -317,7 +355,7 @@ public class BuilderUtils {
         return addMethod.annotate(jCodeModel.ref(JsOverlay.class));
     }
 
-    public static JAnnotationUse addAddAllMethodForJsArrayLike(final JCodeModel jCodeModel,
+    public static JMethod addAddAllMethodForJsArrayLike(final JCodeModel jCodeModel,
                                                                final JDefinedClass jDefinedClass,
                                                                final JDefinedClass jsUtilsClass,
                                                                final JClass propertyRef,
@@ -357,7 +395,8 @@ public class BuilderUtils {
             loopBody.invoke("add" + publicPropertyName).arg(elementsParam.component(iVar));
         }
 
-        return addAllMethod.annotate(jCodeModel.ref(JsOverlay.class));
+        addAllMethod.annotate(jCodeModel.ref(JsOverlay.class));
+        return addAllMethod;
     }
 
     public static JAnnotationUse addAddAllMethodForArray(final JCodeModel jCodeModel,
@@ -390,7 +429,7 @@ public class BuilderUtils {
         return addAllMethod.annotate(jCodeModel.ref(JsOverlay.class));
     }
 
-    public static JAnnotationUse addRemoveMethodForJsArrayLike(final JCodeModel jCodeModel,
+    public static JMethod addRemoveMethodForJsArrayLike(final JCodeModel jCodeModel,
                                                                final JDefinedClass jDefinedClass,
                                                                final JDefinedClass jsUtilsClass,
                                                                final String publicPropertyName,
@@ -411,7 +450,8 @@ public class BuilderUtils {
 
         body.add(getAddInvocation);
 
-        return addMethod.annotate(jCodeModel.ref(JsOverlay.class));
+        addMethod.annotate(jCodeModel.ref(JsOverlay.class));
+        return addMethod;
     }
 
     public static JAnnotationUse addRemoveMethodForArray(final JCodeModel jCodeModel,
@@ -469,6 +509,48 @@ public class BuilderUtils {
         return getterMethod;
     }
 
+    /**
+     * Method used to <b>get</b> a property whose subtree may have been kept unparsed at unmarshalling time: the subtree
+     * is materialized (and stored back on the instance) on first access
+     * @param jCodeModel
+     * @param jDefinedClass
+     * @param jsUtilsClass
+     * @param propertyRef
+     * @param publicPropertyName
+     * @param privatePropertyName
+     * @return
+     */
+    public static JMethod addLazyGetter(final JCodeModel jCodeModel,
+                                        final JDefinedClass jDefinedClass,
+                                        final JDefinedClass jsUtilsClass,
+                                        final JClass propertyRef,
+                                        final String publicPropertyName,
+                                        final String privatePropertyName) {
+        final String getterMethodName = "get" + publicPropertyName;
+        final int mod = JMod.PUBLIC + JMod.FINAL;
+        final JMethod getterMethod = jDefinedClass.method(mod, propertyRef, getterMethodName);
+        final JDocComment getterComment = getterMethod.javadoc();
+        final JCommentPart getterCommentReturnPart = getterComment.addReturn();
+
+        getterComment.append("Lazy getter for <b>" + privatePropertyName + "</b>, materialized on first access");
+        getterCommentReturnPart.add("The <b>" + privatePropertyName + "</b> JSON property");
+
+        final JInvocation getMaterializedInvocation = jsUtilsClass.staticInvoke("getMaterialized").arg(JExpr._this()).arg(privatePropertyName);
+        getterMethod.body()._return(uncheckedCast(jCodeModel, getMaterializedInvocation));
+        getterMethod.annotate(jCodeModel.ref(JsOverlay.class));
+        return getterMethod;
+    }
+
+    /**
+     * The Jsonix instances are plain objects, that the checked cast to a native type with a constructor would reject
+     * @param jCodeModel
+     * @param toCast
+     * @return
+     */
+    public static JInvocation uncheckedCast(JCodeModel jCodeModel, JExpression toCast) {
+        return jCodeModel.ref(Js.class).staticInvoke("uncheckedCast").arg(toCast);
+    }
+
     public static JAnnotationUse addNativeSetter(JCodeModel jCodeModel, JDefinedClass jDefinedClass, JClass propertyRef, String
             publicPropertyName, String privatePropertyName) {
         String setterMethodName = "set" + publicPropertyName;
@@ -485,10 +567,112 @@ public class BuilderUtils {
         return setterMethod.annotate(jCodeModel.ref(JsProperty.class)).param("name", privatePropertyName);
     }
 
+    /**
+     * Method used to <b>set</b> a property flagging the instance as <b>dirty</b>, so that its cached serialized fragment
+     * is not reused at the next marshalling
+     * @param jCodeModel
+     * @param jDefinedClass
+     * @param jsUtilsClass
+     * @param propertyRef
+     * @param publicPropertyName
+     * @param privatePropertyName
+     * @return
+     */
+    public static JAnnotationUse addTrackedSetter(final JCodeModel jCodeModel,
+                                                  final JDefinedClass jDefinedClass,
+                                                  final JDefinedClass jsUtilsClass,
+                                                  final JClass propertyRef,
+                                                  final String publicPropertyName,
+                                                  final String privatePropertyName) {
+        final String setterMethodName = "set" + publicPropertyName;
+        final int mod = JMod.PUBLIC + JMod.FINAL;
+        final JMethod setterMethod = jDefinedClass.method(mod, Void.TYPE, setterMethodName);
+        final String parameterName = privatePropertyName + "Param";
+        final JVar setterParam = setterMethod.param(propertyRef, parameterName);
+        final JDocComment setterComment = setterMethod.javadoc();
+        final JCommentPart setterCommentParameterPart = setterComment.addParam(parameterName);
+
+        setterComment.append("Tracked setter for <b>" + privatePropertyName + "</b>");
+        setterCommentParameterPart.add(" <b>" + privatePropertyName + "</b> to set.");
+
+        // the js property must keep a plain number, as the native setter would set it
+        setterMethod.body().add(jsUtilsClass.staticInvoke("setTracked").arg(JExpr._this()).arg(privatePropertyName).arg(toJsValue(jCodeModel, propertyRef, setterParam)));
+        return setterMethod.annotate(jCodeModel.ref(JsOverlay.class));
+    }
+
+    /**
+     * Returns the given <b>expression</b> of the given <b>type</b> so that GWT passes it as a plain <b>js</b> value where
+     * an <code>Object</code> is expected: the primitives that GWT would box are widened to <code>double</code>
+     * @param jCodeModel
+     * @param type
+     * @param expression
+     * @return
+     */
+    public static JExpression toJsValue(final JCodeModel jCodeModel, final JType type, final JExpression expression) {
+        return GWT_BOXED_PRIMITIVES.contains(type.fullName()) ? JExpr.cast(jCodeModel.DOUBLE, expression) : expression;
+    }
+
+    /**
+     * Appends to the given <b>method</b> the invocation flagging the instance as <b>dirty</b> after an in-place
+     * modification of the <b>publicPropertyName</b> array
+     * @param method
+     * @param jsUtilsClass
+     * @param publicPropertyName
+     */
+    public static void addMarkDirtyInvocation(final JMethod method,
+                                              final JDefinedClass jsUtilsClass,
+                                              final String publicPropertyName) {
+        method.body().add(jsUtilsClass.staticInvoke("markDirty").arg(JExpr._this()).arg(JExpr.invoke("getNative" + publicPropertyName)));
+    }
+
+    /**
+     * Prepends to the given <b>method</b> the invocation preserving the snapshots sharing the instance, before an
+     * in-place modification
+     * @param method
+     * @param jsUtilsClass
+     */
+    public static void addCopyOnWriteInvocation(final JMethod method,
+                                                final JDefinedClass jsUtilsClass) {
+        final JBlock body = method.body();
+        body.pos(0);
+        body.add(jsUtilsClass.staticInvoke("copyOnWrite").arg(JExpr._this()));
+        body.pos(body.getContents().size());
+    }
+
+    /**
+     * Prepends to the given <b>remove</b> method of the <b>publicPropertyName</b> array the invocation detaching the
+     * removed item from the id index of the graph, if any
+     * @param method
+     * @param jsUtilsClass
+     * @param publicPropertyName
+     */
+    public static void addIdIndexRemovalInvocation(final JMethod method,
+                                                   final JDefinedClass jsUtilsClass,
+                                                   final String publicPropertyName) {
+        final JBlock body = method.body();
+        final JInvocation removedItem = JExpr.invoke("getNative" + publicPropertyName).invoke("getAt").arg(method.params().get(0));
+        body.pos(0);
+        body.add(jsUtilsClass.staticInvoke("updateIdIndex").arg(JExpr._this()).arg(removedItem).arg(JExpr._null()));
+        body.pos(body.getContents().size());
+    }
+
+    /**
+     * Returns the <b>java</b> class of the given name, if any, memoized inside the given cache of the run: names that
+     * are not java classes (i.e. the generated ones) are cached too, to avoid repeated failing classloader lookups
+     * @param originalClassName
+     * @param jCodeModel
+     * @param toUnbox
+     * @param javaRefsCache
+     * @return
+     */
+    public static Optional<JClass> getJavaRef(String originalClassName, JCodeModel jCodeModel, boolean toUnbox, Map<String, Optional<JClass>> javaRefsCache) {
+        return javaRefsCache.computeIfAbsent(toUnbox ? originalClassName : originalClassName + "[boxed]", key -> getJavaRef(originalClassName, jCodeModel, toUnbox));
+    }
+
     public static Optional<JClass> getJavaRef(String originalClassName, JCodeModel jCodeModel, boolean toUnbox) {
         Optional<JClass> toReturn = Optional.empty();
         try {
-            final Class<?> aClass = Class.forName(originalClassName);
+            final Class<?> aClass = XSD_BUILTIN_CLASSES.containsKey(originalClassName) ? XSD_BUILTIN_CLASSES.get(originalClassName) : Class.forName(originalClassName);
             if (originalClassName.startsWith("java")) {
                 JClass ref = jCodeModel.ref(aClass);
                 if (!ref.isPrimitive() && toUnbox) {
@@ -502,6 +686,28 @@ public class BuilderUtils {
         return toReturn;
     }
 
+    /**
+     * @param entries
+     * @param indentation
+     * @return a <b>js</b> object literal with the given entries, one per line, as strings
+     */
+    public static String toJsObjectLiteral(final Map<String, String> entries, final String indentation) {
+        if (entries.isEmpty()) {
+            return "{}";
+        }
+        return entries.entrySet().stream()
+                .map(entry -> indentation + "    " + toJsString(entry.getKey()) + ": " + toJsString(entry.getValue()))
+                .collect(Collectors.joining(",\n", "{\n", "\n" + indentation + "}"));
+    }
+
+    /**
+     * @param value
+     * @return the given value as a quoted <b>js</b> string
+     */
+    public static String toJsString(final String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
     /**
      * Helper <b>log</b>
      * @param level
@@ -0,0 +1,378 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.marshallers.xjc.plugin.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.writer.FileCodeWriter;
+import com.sun.tools.xjc.Options;
+import com.sun.tools.xjc.Plugin;
+import com.sun.tools.xjc.model.Model;
+import com.sun.xml.xsom.XSSchema;
+import com.sun.xml.xsom.parser.SchemaDocument;
+import gwt.jsonix.marshallers.xjc.plugin.GWTSettings;
+import gwt.jsonix.marshallers.xjc.plugin.JsonixGWTPlugin;
+import org.hisrc.jsonix.settings.LogLevelSetting;
+import org.xml.sax.InputSource;
+
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.log;
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.writeJSInteropCode;
+
+/**
+ * Content-addressed cache of the generated JSInterop code.
+ * <p>
+ * Each entry is a directory named after the hash of everything the generation depends on (schemas and bindings content,
+ * plugin code, XJC and plugin options) and holding the generated tree. Entries are written in a private staging
+ * directory and then atomically renamed, so concurrent builds (e.g. <code>mvn -T</code>) never see a partial entry:
+ * when two of them generate the same entry, the first rename wins and the other staging directory is discarded.
+ */
+public class GenerationCacheUtils {
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private static final String STAGING_SUFFIX = ".tmp";
+
+    /**
+     * Settings that only tell <b>where</b> or <b>how</b> to write, and not <b>what</b>
+     */
+    private static final Set<String> LOCATION_SETTINGS = new HashSet<>(Arrays.asList("jsinteropDirectory", "cacheDirectory", "targetDirectory", "streamingGeneration"));
+
+    private GenerationCacheUtils() {
+    }
+
+    /**
+     * @param model
+     * @param options
+     * @param settings
+     * @return the key of the cache entry for the given generation
+     * @throws IOException if a schema or a binding cannot be read
+     */
+    public static String getCacheKey(final Model model, final Options options, final GWTSettings settings) throws IOException {
+        final MessageDigest digest = getMessageDigest();
+        update(digest, "plugin", getPluginHash());
+        update(digest, "options", getOptionsDescription(options));
+        update(digest, "settings", getSettingsDescription(settings));
+        // by content, so that the same schemas in different folders (or reactor modules) share the entry
+        update(digest, "schemas", getContentHashes(getSchemaSystemIds(model, options)));
+        update(digest, "bindings", getContentHashes(getSystemIds(options.getBindFiles())));
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Copies the cached entry, if any, to the given directory
+     * @param cacheDirectory
+     * @param key
+     * @param targetDirectory
+     * @param readOnly
+     * @return <code>true</code> on cache hit
+     * @throws IOException
+     */
+    public static boolean restore(final File cacheDirectory, final String key, final File targetDirectory, final boolean readOnly) throws IOException {
+        final Path entry = cacheDirectory.toPath().resolve(key);
+        if (!Files.isDirectory(entry)) {
+            log(LogLevelSetting.INFO, "Generation cache miss [" + key + "]");
+            return false;
+        }
+        final int restored = copy(entry.toFile(), targetDirectory, readOnly);
+        log(LogLevelSetting.INFO, restored + " files restored from the generation cache entry [" + key + "]");
+        return true;
+    }
+
+    /**
+     * Copies all the files of the given directory to the given target one
+     * @param sourceDirectory
+     * @param targetDirectory
+     * @param readOnly
+     * @return the number of copied files
+     * @throws IOException
+     */
+    public static int copy(final File sourceDirectory, final File targetDirectory, final boolean readOnly) throws IOException {
+        final Path source = sourceDirectory.toPath();
+        final Path target = targetDirectory.toPath();
+        int toReturn = 0;
+        try (Stream<Path> paths = Files.walk(source)) {
+            for (Path file : paths.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                final Path destination = target.resolve(source.relativize(file).toString());
+                Files.createDirectories(destination.getParent());
+                Files.copy(file, destination, StandardCopyOption.REPLACE_EXISTING);
+                if (readOnly) {
+                    destination.toFile().setReadOnly();
+                }
+                toReturn++;
+            }
+        }
+        return toReturn;
+    }
+
+    /**
+     * Writes the given <code>JCodeModel</code> as the cache entry of the given key, unless another build already did it
+     * @param cacheDirectory
+     * @param key
+     * @param jCodeModel
+     * @param encoding
+     * @throws IOException
+     */
+    public static void store(final File cacheDirectory, final String key, final JCodeModel jCodeModel, final String encoding) throws IOException {
+        final File staging = createStagingDirectory(cacheDirectory, key);
+        try {
+            writeJSInteropCode(jCodeModel, new FileCodeWriter(staging, false, encoding));
+            commit(cacheDirectory, key, staging);
+        } finally {
+            delete(staging);
+        }
+    }
+
+    /**
+     * Creates a new private directory where the entry of the given key may be written, before being committed
+     * @param cacheDirectory
+     * @param key
+     * @return
+     * @throws IOException
+     */
+    public static File createStagingDirectory(final File cacheDirectory, final String key) throws IOException {
+        final Path cache = Files.createDirectories(cacheDirectory.toPath());
+        return Files.createTempDirectory(cache, key + STAGING_SUFFIX).toFile();
+    }
+
+    /**
+     * Atomically renames the given staging directory as the cache entry of the given key, unless another build already did it
+     * @param cacheDirectory
+     * @param key
+     * @param staging
+     * @throws IOException
+     */
+    public static void commit(final File cacheDirectory, final String key, final File staging) throws IOException {
+        final Path entry = cacheDirectory.toPath().resolve(key);
+        try {
+            Files.move(staging.toPath(), entry, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // the rename of a directory over an existing one fails with different exceptions, depending on the platform
+            if (!Files.isDirectory(entry)) {
+                throw e;
+            }
+            log(LogLevelSetting.DEBUG, "Generation cache entry [" + key + "] already stored by another build");
+        }
+    }
+
+    protected static String getPluginHash() throws IOException {
+        final CodeSource codeSource = JsonixGWTPlugin.class.getProtectionDomain().getCodeSource();
+        if (codeSource == null) {
+            return "unknown";
+        }
+        final Path location;
+        try {
+            location = new File(codeSource.getLocation().toURI()).toPath();
+        } catch (Exception e) {
+            return codeSource.getLocation().toString();
+        }
+        return getLocationHash(location);
+    }
+
+    /**
+     * @param location
+     * @return the hash of the content of the given jar or class folder, to invalidate the entries of snapshot and
+     * development builds too
+     * @throws IOException
+     */
+    protected static String getLocationHash(final Path location) throws IOException {
+        final MessageDigest digest = getMessageDigest();
+        if (Files.isRegularFile(location)) {
+            digest.update(Files.readAllBytes(location));
+        } else {
+            try (Stream<Path> paths = Files.walk(location)) {
+                // sorted, so that the hash does not depend on the order of the directory listing
+                for (Path file : paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+                    update(digest, "file", location.relativize(file).toString().replace(File.separatorChar, '/'));
+                    digest.update(Files.readAllBytes(file));
+                }
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    protected static String getOptionsDescription(final Options options) {
+        final List<String> plugins = options.activePlugins.stream().map(Plugin::getOptionName).sorted().collect(Collectors.toList());
+        return "plugins=" + plugins +
+                ",defaultPackage=" + options.defaultPackage +
+                ",defaultPackage2=" + options.defaultPackage2 +
+                ",encoding=" + options.encoding +
+                ",compatibilityMode=" + options.compatibilityMode +
+                ",automaticNameConflictResolution=" + options.automaticNameConflictResolution;
+    }
+
+    /**
+     * @param settings
+     * @return all the fields of the given settings (so that options added later are always part of the key), except the
+     * output locations
+     */
+    protected static String getSettingsDescription(final GWTSettings settings) {
+        final TreeMap<String, String> values = new TreeMap<>();
+        for (Class<?> clazz = settings.getClass(); clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || LOCATION_SETTINGS.contains(field.getName())) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    values.put(clazz.getSimpleName() + "." + field.getName(), describe(field.get(settings)));
+                } catch (IllegalAccessException e) {
+                    values.put(clazz.getSimpleName() + "." + field.getName(), "?");
+                }
+            }
+        }
+        return values.toString();
+    }
+
+    /**
+     * @param model
+     * @param options
+     * @return the system ids of the grammars and of all the schema documents they include or import
+     */
+    protected static Collection<String> getSchemaSystemIds(final Model model, final Options options) {
+        final Set<String> toReturn = new HashSet<>(getSystemIds(options.getGrammars()));
+        final Iterator<XSSchema> schemas = model.schemaComponent != null ? model.schemaComponent.iterateSchema() : null;
+        final List<SchemaDocument> toVisit = new ArrayList<>();
+        while (schemas != null && schemas.hasNext()) {
+            final SchemaDocument sourceDocument = getSourceDocument(schemas.next());
+            if (sourceDocument != null) {
+                toVisit.add(sourceDocument);
+            }
+        }
+        final Set<SchemaDocument> visited = new HashSet<>();
+        while (!toVisit.isEmpty()) {
+            final SchemaDocument schemaDocument = toVisit.remove(toVisit.size() - 1);
+            if (visited.add(schemaDocument)) {
+                if (schemaDocument.getSystemId() != null) {
+                    toReturn.add(schemaDocument.getSystemId());
+                }
+                toVisit.addAll(schemaDocument.getReferencedDocuments());
+            }
+        }
+        return toReturn;
+    }
+
+    /**
+     * @param schema
+     * @return the document the given schema has been parsed from, that the <code>XSSchemaSet</code> built by XJC does
+     * not expose otherwise
+     */
+    @SuppressWarnings("deprecation")
+    private static SchemaDocument getSourceDocument(final XSSchema schema) {
+        return schema.getSourceDocument();
+    }
+
+    protected static List<String> getSystemIds(final InputSource[] inputSources) {
+        final List<String> toReturn = new ArrayList<>();
+        for (InputSource inputSource : inputSources) {
+            if (inputSource.getSystemId() == null) {
+                throw new IllegalArgumentException("Cannot cache the generation of an input without system id");
+            }
+            toReturn.add(inputSource.getSystemId());
+        }
+        return toReturn;
+    }
+
+    /**
+     * @param systemIds
+     * @return the sorted hashes of the content of the given documents
+     * @throws IOException
+     */
+    protected static List<String> getContentHashes(final Collection<String> systemIds) throws IOException {
+        final List<String> toReturn = new ArrayList<>();
+        for (String systemId : systemIds) {
+            final MessageDigest digest = getMessageDigest();
+            try (InputStream inputStream = URI.create(systemId).toURL().openStream()) {
+                final byte[] buffer = new byte[8192];
+                for (int read = inputStream.read(buffer); read != -1; read = inputStream.read(buffer)) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+            toReturn.add(toHex(digest.digest()));
+        }
+        toReturn.sort(Comparator.naturalOrder());
+        return toReturn;
+    }
+
+    private static String describe(final Object value) {
+        if (value instanceof Set) {
+            // they would be written in hash order
+            return ((Set<?>) value).stream().map(String::valueOf).sorted().collect(Collectors.toList()).toString();
+        }
+        return String.valueOf(value);
+    }
+
+    private static void update(final MessageDigest digest, final String name, final Object value) {
+        digest.update((name + "=" + value + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MessageDigest getMessageDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // mandatory on every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final StringBuilder toReturn = new StringBuilder();
+        for (byte b : bytes) {
+            toReturn.append(String.format("%02x", b));
+        }
+        return toReturn.toString();
+    }
+
+    /**
+     * Deletes the given directory, if it exists, with all its content
+     * @param directory
+     * @throws IOException
+     */
+    public static void delete(final File directory) throws IOException {
+        final Path path = directory.toPath();
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(path)) {
+            for (Path toDelete : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(toDelete);
+            }
+        }
+    }
+}
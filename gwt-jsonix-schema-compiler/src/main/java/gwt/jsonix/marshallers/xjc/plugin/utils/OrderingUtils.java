@@ -0,0 +1,131 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.marshallers.xjc.plugin.utils;
+
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.sun.tools.xjc.model.nav.NClass;
+import com.sun.tools.xjc.model.nav.NType;
+import org.hisrc.jsonix.definition.Mapping;
+import org.hisrc.jsonix.definition.Module;
+import org.hisrc.jsonix.definition.Modules;
+import org.hisrc.jsonix.settings.LogLevelSetting;
+import org.jvnet.jaxb2_commons.xml.bind.model.MClassInfo;
+import org.jvnet.jaxb2_commons.xml.bind.model.MElementInfo;
+import org.jvnet.jaxb2_commons.xml.bind.model.MEnumLeafInfo;
+import org.jvnet.jaxb2_commons.xml.bind.model.MPropertyInfo;
+
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.log;
+
+/**
+ * Utilities to make the Jsonix mappings independent of the identity hash codes of the model objects: the original
+ * <code>Mapping</code> keeps its infos in <code>HashSet</code>s, so their order changes between JVMs (and even between
+ * runs of the same JVM, when the allocation sequence changes), breaking the build caches of the generated sources
+ */
+public class OrderingUtils {
+
+    private static final Pattern DEPENDENCIES_PATTERN = Pattern.compile("dependencies: \\[([^\\]]*)\\]");
+
+    private static final String DEPENDENCIES_SEPARATOR = ", ";
+
+    private OrderingUtils() {
+    }
+
+    /**
+     * Sorts, in place, the infos of all the mappings of the given modules by name
+     * @param modules
+     */
+    public static void sortMappings(final Modules<NType, NClass> modules) {
+        log(LogLevelSetting.DEBUG, "Sorting Jsonix mappings...");
+        for (Module<NType, NClass> module : modules.getModules()) {
+            for (Mapping<NType, NClass> mapping : module.getMappings()) {
+                sortCollection(mapping, "classInfos", info -> ((MClassInfo<?, ?>) info).getName());
+                sortCollection(mapping, "enumLeafInfos", info -> ((MEnumLeafInfo<?, ?>) info).getName());
+                sortCollection(mapping, "elementInfos", OrderingUtils::getElementInfoKey);
+                sortCollection(mapping, "propertyInfos", info -> ((MPropertyInfo<?, ?>) info).getClassInfo().getName() + "." + ((MPropertyInfo<?, ?>) info).getPrivateName());
+            }
+        }
+    }
+
+    /**
+     * Sorts the names of the <b>dependencies</b> of the given Jsonix mapping <b>program</b>, whose order comes from the
+     * identity hash codes of the package infos
+     * @param program
+     * @return
+     */
+    public static String sortDependencies(final String program) {
+        final Matcher matcher = DEPENDENCIES_PATTERN.matcher(program);
+        final StringBuffer toReturn = new StringBuffer();
+        while (matcher.find()) {
+            final String sorted = Pattern.compile(DEPENDENCIES_SEPARATOR, Pattern.LITERAL)
+                    .splitAsStream(matcher.group(1))
+                    .sorted()
+                    .collect(Collectors.joining(DEPENDENCIES_SEPARATOR));
+            matcher.appendReplacement(toReturn, Matcher.quoteReplacement("dependencies: [" + sorted + "]"));
+        }
+        matcher.appendTail(toReturn);
+        return toReturn.toString();
+    }
+
+    /**
+     * Merge function for sorted <code>Collectors.toMap</code>: as the plain version, it fails on duplicated keys
+     * @param first
+     * @param second
+     * @return
+     */
+    public static <T> T throwingMerger(final T first, final T second) {
+        throw new IllegalStateException("Duplicate key " + first);
+    }
+
+    /**
+     * @param info
+     * @return the name of the given <code>MElementInfo</code>, followed by the one of its <b>scope</b>, if any
+     */
+    protected static String getElementInfoKey(final Object info) {
+        final MElementInfo<?, ?> elementInfo = (MElementInfo<?, ?>) info;
+        return elementInfo.getElementName() + (elementInfo.getScope() == null ? "" : " " + elementInfo.getScope().getName());
+    }
+
+    /**
+     * Replaces the given <code>Collection</code> field of <b>mapping</b> with a <code>LinkedHashSet</code> sorted by <b>keyMapper</b>
+     * @param mapping
+     * @param fieldName
+     * @param keyMapper
+     */
+    @SuppressWarnings("unchecked")
+    protected static void sortCollection(final Mapping<NType, NClass> mapping, final String fieldName, final Function<Object, String> keyMapper) {
+        try {
+            final Field field = Mapping.class.getDeclaredField(fieldName);
+            field.setAccessible(true);
+            final Collection<Object> original = (Collection<Object>) field.get(mapping);
+            final Set<Object> sorted = original.stream()
+                    .sorted(Comparator.comparing(keyMapper))
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            field.set(mapping, sorted);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            // a different Jsonix version: the mappings keep their original order
+            log(LogLevelSetting.WARN, "Cannot sort the " + fieldName + " of the " + mapping.getMappingName() + " mapping: " + e.getMessage());
+        }
+    }
+}
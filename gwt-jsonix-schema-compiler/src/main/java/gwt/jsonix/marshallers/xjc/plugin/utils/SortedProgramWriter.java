@@ -0,0 +1,65 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.marshallers.xjc.plugin.utils;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.text.MessageFormat;
+
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.fmt.JTextFile;
+import com.sun.tools.xjc.model.nav.NClass;
+import com.sun.tools.xjc.model.nav.NType;
+import org.hisrc.jscm.codemodel.JSProgram;
+import org.hisrc.jscm.codemodel.writer.CodeWriter;
+import org.hisrc.jsonix.compilation.mapping.ProgramWriter;
+import org.hisrc.jsonix.definition.Module;
+import org.hisrc.jsonix.definition.Output;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+/**
+ * <code>ProgramWriter</code> equivalent to the original <code>CodeModelProgramWriter</code>, that also sorts the
+ * <b>dependencies</b> of each module (see {@link OrderingUtils#sortDependencies(String)})
+ */
+public class SortedProgramWriter implements ProgramWriter<NType, NClass> {
+
+    private final JCodeModel codeModel;
+    private final ErrorHandler errorHandler;
+
+    public SortedProgramWriter(final JCodeModel codeModel, final ErrorHandler errorHandler) {
+        this.codeModel = codeModel;
+        this.errorHandler = errorHandler;
+    }
+
+    @Override
+    public void writeProgram(final Module<NType, NClass> module, final JSProgram program, final Output output) {
+        try {
+            final StringWriter stringWriter = new StringWriter();
+            new CodeWriter(stringWriter).program(program).lineTerminator();
+            final JTextFile textFile = new JTextFile(output.getFileName());
+            textFile.setContents(OrderingUtils.sortDependencies(stringWriter.toString()));
+            codeModel._package(output.getOutputPackageName()).addResourceFile(textFile);
+        } catch (IOException e) {
+            try {
+                errorHandler.error(new SAXParseException(MessageFormat.format("Could not create the code for the module [{0}].", module.getName()), null, e));
+            } catch (SAXException ignored) {
+                // the error handler already reported it
+            }
+        }
+    }
+}
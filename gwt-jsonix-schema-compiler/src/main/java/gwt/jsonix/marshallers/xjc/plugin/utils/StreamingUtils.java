@@ -0,0 +1,178 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.marshallers.xjc.plugin.utils;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.sun.codemodel.CodeWriter;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JPackage;
+import org.hisrc.jsonix.settings.LogLevelSetting;
+
+import static gwt.jsonix.marshallers.xjc.plugin.utils.BuilderUtils.log;
+
+/**
+ * Utilities to write the JSInterop code package by package, while it is generated, releasing the classes already
+ * written: they are removed from their package, so that the final <code>JCodeModel.build</code> skips them, and their
+ * members are dropped, so that only the class declarations referenced by the other classes stay in memory.
+ * <p>
+ * CodeModel has no public API to write a single package nor to drop the <b>direct</b> content and the annotations of a
+ * class, so they are accessed by reflection: {@link #checkSupported()} tells whether the CodeModel in use still has them.
+ */
+public class StreamingUtils {
+
+    /**
+     * Provides the <code>CodeWriter</code> of each streaming unit
+     */
+    @FunctionalInterface
+    public interface CodeWriterFactory {
+
+        CodeWriter getCodeWriter() throws IOException;
+    }
+
+    /**
+     * <code>JPackage.build(CodeWriter, CodeWriter)</code>, writing the classes of a single package
+     */
+    private static final Method BUILD_METHOD;
+
+    /**
+     * <code>JDefinedClass.directBlock</code>, the <b>direct</b> content (e.g. JSNI blocks) of a class
+     */
+    private static final Field DIRECT_BLOCK_FIELD;
+
+    /**
+     * <code>JDefinedClass.annotations</code>
+     */
+    private static final Field ANNOTATIONS_FIELD;
+
+    /**
+     * The reason why the streaming generation is not supported by the CodeModel in use, or <code>null</code>
+     */
+    private static final String UNSUPPORTED_REASON;
+
+    static {
+        Method buildMethod = null;
+        Field directBlockField = null;
+        Field annotationsField = null;
+        String unsupportedReason = null;
+        try {
+            buildMethod = JPackage.class.getDeclaredMethod("build", CodeWriter.class, CodeWriter.class);
+            buildMethod.setAccessible(true);
+            directBlockField = JDefinedClass.class.getDeclaredField("directBlock");
+            directBlockField.setAccessible(true);
+            annotationsField = JDefinedClass.class.getDeclaredField("annotations");
+            annotationsField.setAccessible(true);
+        } catch (NoSuchMethodException | NoSuchFieldException | RuntimeException e) {
+            unsupportedReason = e.toString();
+        }
+        BUILD_METHOD = buildMethod;
+        DIRECT_BLOCK_FIELD = directBlockField;
+        ANNOTATIONS_FIELD = annotationsField;
+        UNSUPPORTED_REASON = unsupportedReason;
+    }
+
+    private StreamingUtils() {
+    }
+
+    /**
+     * Checks that the CodeModel in use provides the internals needed by the streaming generation
+     * @throws IOException if it does not
+     */
+    public static void checkSupported() throws IOException {
+        if (UNSUPPORTED_REASON != null) {
+            throw new IOException(MessageFormat.format("The streaming generation (-jsstreaming) is not supported by CodeModel {0} ({1}); it requires the com.sun.codemodel 2.3 internals JPackage.build(CodeWriter, CodeWriter), JDefinedClass.directBlock and JDefinedClass.annotations",
+                                                       JCodeModel.class.getPackage().getImplementationVersion(), UNSUPPORTED_REASON));
+        }
+    }
+
+    /**
+     * Writes all the classes of the given packages with the given <code>CodeWriter</code>, closing it, and then
+     * releases the given classes
+     * @param packages
+     * @param toRelease
+     * @param codeWriter
+     * @param retainGetters whether the signatures of the getters have to be retained, e.g. for the deep helpers of subclasses
+     * @throws IOException
+     */
+    public static void writeAndRelease(final Collection<JPackage> packages, final Collection<JDefinedClass> toRelease, final CodeWriter codeWriter, final boolean retainGetters) throws IOException {
+        log(LogLevelSetting.DEBUG, MessageFormat.format("Writing and releasing {0} classes of {1}...", toRelease.size(), packages.stream().map(JPackage::name).collect(Collectors.toList())));
+        try {
+            checkSupported();
+            for (JPackage jPackage : packages) {
+                BUILD_METHOD.invoke(jPackage, codeWriter, codeWriter);
+            }
+        } catch (IllegalAccessException e) {
+            throw new IOException("Unable to write single packages: " + e.getMessage(), e);
+        } catch (InvocationTargetException e) {
+            throw new IOException("Unable to write files: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            codeWriter.close();
+        }
+        for (JDefinedClass jDefinedClass : toRelease) {
+            jDefinedClass._package().remove(jDefinedClass);
+            release(jDefinedClass, retainGetters);
+        }
+    }
+
+    /**
+     * Drops all the members, the <b>direct</b> content and the annotations of the given class and of its nested ones,
+     * but the signatures of the getters if <b>retainGetters</b> is <code>true</code>
+     * @param jDefinedClass
+     * @param retainGetters
+     */
+    protected static void release(final JDefinedClass jDefinedClass, final boolean retainGetters) {
+        for (Iterator<JDefinedClass> nestedClasses = jDefinedClass.classes(); nestedClasses.hasNext(); ) {
+            release(nestedClasses.next(), retainGetters);
+        }
+        new ArrayList<>(jDefinedClass.fields().values()).forEach(jDefinedClass::removeField);
+        for (Iterator<JMethod> constructors = jDefinedClass.constructors(); constructors.hasNext(); ) {
+            constructors.next();
+            constructors.remove();
+        }
+        final List<JMethod> getters = jDefinedClass.methods().stream()
+                .filter(jMethod -> retainGetters && isGetter(jMethod))
+                .collect(Collectors.toList());
+        jDefinedClass.methods().clear();
+        getters.forEach(getter -> jDefinedClass.method(getter.mods().getValue(), getter.type(), getter.name()));
+        jDefinedClass.javadoc().clear();
+        clearField(DIRECT_BLOCK_FIELD, jDefinedClass);
+        clearField(ANNOTATIONS_FIELD, jDefinedClass);
+    }
+
+    private static void clearField(final Field field, final JDefinedClass jDefinedClass) {
+        try {
+            field.set(jDefinedClass, null);
+        } catch (IllegalAccessException e) {
+            // made accessible when resolved
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean isGetter(final JMethod jMethod) {
+        return jMethod.name().startsWith("get") && jMethod.params().isEmpty() && jMethod.type() != null;
+    }
+}
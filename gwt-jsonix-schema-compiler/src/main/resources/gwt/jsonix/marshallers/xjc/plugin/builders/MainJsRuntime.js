@@ -0,0 +1,424 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * Runtime of the generated @mainJsName@ JSInterop class, written by the gwt-jsonix plugin next to the Jsonix mappings.
+ *
+ * It has to be loaded after Jsonix and after the script defining the global @mainJsName@ object with its mappings, e.g.
+ *
+ *     @mainJsName@ = {mappings: [KIE]};
+ *
+ * and installs on that object the members the generated class binds to. It must not be edited: it is rewritten on
+ * every generation.
+ */
+(function (mainJs) {
+
+    var runtime = {
+
+        /**
+         * Schema-specialized unmarshaller (set by the generated MainJsUnmarshaller.register()), used instead of Jsonix
+         * when no lazy element has been configured.
+         */
+        unmarshaller: null,
+
+        /**
+         * Schema-specialized marshaller (set by the generated MainJsMarshaller.register()), used instead of Jsonix when
+         * neither lazy elements nor dirty tracking have been configured.
+         */
+        marshaller: null,
+
+        lazyElements: {},
+
+        initializeLazyElements: function (lazyElements) {
+            var toSet = {};
+            lazyElements.forEach(function (lazyElement) {
+                toSet[lazyElement] = true;
+            });
+            this.lazyElements = toSet;
+        },
+
+        isLazyElement: function (elementName) {
+            return this.lazyElements[elementName.key] === true || this.lazyElements[elementName.localPart] === true;
+        },
+
+        /**
+         * Keep the subtrees of the "lazy" elements as unparsed DOM slices; each one is wrapped in a placeholder whose
+         * "materialize" function is invoked by the generated getters (JsUtils.getMaterialized) on first access.
+         * Placeholders never materialized are written back as they are at marshalling time.
+         * The prefixes in scope of each slice are kept with it, since the QName values (and xsi:type) inside it may
+         * use prefixes declared by its ancestors: they are restored when materializing it, and re-declared when
+         * writing it.
+         */
+        enableLazyElements: function (context) {
+            var mainJs = this;
+            var typeInfos = context.typeInfos;
+            for (var typeInfoName in typeInfos) {
+                if (typeInfos.hasOwnProperty(typeInfoName) && Array.isArray(typeInfos[typeInfoName].properties)) {
+                    typeInfos[typeInfoName].properties
+                        .filter(function (propertyInfo) {
+                            return propertyInfo.elementName != null && mainJs.isLazyElement(propertyInfo.elementName);
+                        })
+                        .forEach(function (propertyInfo) {
+                            mainJs.makeLazy(propertyInfo);
+                        });
+                }
+            }
+        },
+
+        makeLazy: function (propertyInfo) {
+            if (propertyInfo.lazy === true) {
+                return;
+            }
+            var mainJs = this;
+            var unmarshalElement = propertyInfo.unmarshalElement;
+            var marshalElement = propertyInfo.marshalElement;
+            propertyInfo.lazy = true;
+            propertyInfo.unmarshalElement = function (context, input, scope, callback) {
+                var self = this;
+                var node = input.getElement();
+                var namespaces = mainJs.getInScopeNamespaces(input.pns);
+                callback({
+                    lazyNode: node,
+                    lazyNamespaces: namespaces,
+                    materialize: function () {
+                        var toReturn = null;
+                        var lazyInput = new Jsonix.XML.Input(node);
+                        lazyInput.pns = [Jsonix.Util.Type.cloneObject(namespaces, {})];
+                        lazyInput.nextTag();
+                        unmarshalElement.call(self, context, lazyInput, scope, function (value) {
+                            toReturn = value;
+                        });
+                        if (mainJs.dirtyTracking) {
+                            // the materialized subtree takes the place of the placeholder inside its parent
+                            mainJs.adoptTree(toReturn, this.__parent);
+                        }
+                        return toReturn;
+                    }
+                });
+            };
+            propertyInfo.marshalElement = function (value, context, output, scope) {
+                if (value != null && value.lazyNode != null) {
+                    mainJs.writeLazyNode(value, output);
+                } else {
+                    marshalElement.call(this, value, context, output, scope);
+                }
+            };
+        },
+
+        /**
+         * Returns a copy of the prefix -> namespaceURI mappings at the top of the given Jsonix.XML.Input/Output stack,
+         * whose items are either mappings or references to the index of the parent ones.
+         */
+        getInScopeNamespaces: function (pns) {
+            var pnsItem = pns[pns.length - 1];
+            pnsItem = Jsonix.Util.Type.isNumber(pnsItem) ? pns[pnsItem] : pnsItem;
+            return Jsonix.Util.Type.cloneObject(pnsItem, {});
+        },
+
+        /**
+         * Write the unparsed slice of the given lazy placeholder, declaring on it the prefixes that were in scope when
+         * it was read and are not bound to the same namespace at the current position of the output.
+         */
+        writeLazyNode: function (value, output) {
+            var importedNode = output.writeNode(value.lazyNode);
+            var namespaces = value.lazyNamespaces || {};
+            output.push(importedNode);
+            for (var prefix in namespaces) {
+                // the default namespace of the elements is kept by the DOM itself
+                if (namespaces.hasOwnProperty(prefix) && prefix !== '' && prefix !== Jsonix.XML.XMLNS_P) {
+                    output.declareNamespace(namespaces[prefix], prefix);
+                }
+            }
+            output.pop();
+        },
+
+        dirtyTracking: false,
+
+        enableDirtyTracking: function () {
+            this.dirtyTracking = true;
+        },
+
+        /**
+         * Attach each object of the unmarshalled graph to its parent, so that the generated setters
+         * (JsUtils.setTracked/markDirty) may flag the whole ancestors chain as dirty, and copy the path to the root of
+         * the instances shared with snapshots (JsUtils.copyOnWrite).
+         * The lazy placeholders are attached too, but their subtrees are adopted only when they are materialized.
+         */
+        adoptTree: function (value, parent) {
+            if (value == null || typeof value !== 'object' || value.nodeType != null) {
+                return;
+            }
+            var mainJs = this;
+            if (Array.isArray(value)) {
+                value.forEach(function (item) {
+                    mainJs.adoptTree(item, parent);
+                });
+                return;
+            }
+            if (parent != null) {
+                Object.defineProperty(value, '__parent', {value: parent, writable: true, configurable: true});
+            }
+            if (value.lazyNode != null) {
+                return;
+            }
+            Object.keys(value).forEach(function (key) {
+                mainJs.adoptTree(value[key], value);
+            });
+        },
+
+        /**
+         * Cache the serialized fragment of each marshalled element, and write it back as it is at the next marshalling
+         * if the corresponding object has not been flagged as dirty in the meantime.
+         */
+        enableFragmentCache: function (context) {
+            var mainJs = this;
+            var cachedProperties = ['Jsonix.Model.ElementPropertyInfo', 'Jsonix.Model.ElementsPropertyInfo',
+                'Jsonix.Model.ElementRefPropertyInfo', 'Jsonix.Model.ElementRefsPropertyInfo'];
+            var typeInfos = context.typeInfos;
+            for (var typeInfoName in typeInfos) {
+                if (typeInfos.hasOwnProperty(typeInfoName) && Array.isArray(typeInfos[typeInfoName].properties)) {
+                    typeInfos[typeInfoName].properties
+                        .filter(function (propertyInfo) {
+                            return cachedProperties.indexOf(propertyInfo.CLASS_NAME) !== -1;
+                        })
+                        .forEach(function (propertyInfo) {
+                            mainJs.makeCached(propertyInfo);
+                        });
+                }
+            }
+        },
+
+        makeCached: function (propertyInfo) {
+            if (propertyInfo.cached === true) {
+                return;
+            }
+            var marshalElement = propertyInfo.marshalElement;
+            propertyInfo.cached = true;
+            propertyInfo.marshalElement = function (value, context, output, scope) {
+                if (value == null || typeof value !== 'object') {
+                    marshalElement.call(this, value, context, output, scope);
+                    return;
+                }
+                if (value.__fragment != null && value.__dirty === false) {
+                    output.writeNode(value.__fragment);
+                    return;
+                }
+                var parentNode = output.peek();
+                var childrenCount = parentNode.childNodes.length;
+                marshalElement.call(this, value, context, output, scope);
+                if (parentNode.childNodes.length === childrenCount + 1) {
+                    Object.defineProperty(value, '__fragment', {value: parentNode.lastChild, writable: true, configurable: true});
+                    Object.defineProperty(value, '__dirty', {value: false, writable: true, configurable: true});
+                }
+            };
+        },
+
+        initializeJsInteropConstructors: function (constructorsMap) {
+
+            var start = this.now();
+            var created = 0;
+
+            var extraTypes = [{typeName: 'Name', namespace: null}];
+
+            function createFunction(typeName) {
+                return new Function('return { "TYPE_NAME" : "' + typeName + '" }');
+            }
+
+            function createNoTypedFunction() {
+                return new Function('return { }');
+            }
+
+            function createConstructor(value) {
+                var parsedJson = JSON.parse(value)
+                var name = parsedJson["name"]
+                var nameSpace = parsedJson["nameSpace"]
+                var typeName = parsedJson["typeName"]
+                if (nameSpace != null) {
+                    if (typeName != null) {
+                        window[nameSpace][name] = createFunction(typeName);
+                    } else {
+                        window[nameSpace][name] = createNoTypedFunction();
+                    }
+                } else {
+                    if (typeName != null) {
+                        window[name] = createFunction(typeName);
+                    } else {
+                        window[name] = createNoTypedFunction();
+                    }
+                }
+                created++;
+            }
+
+            function hasNameSpace(value) {
+                return JSON.parse(value)["nameSpace"] != null
+            }
+
+            function hasNotNameSpace(value) {
+                return JSON.parse(value)["nameSpace"] == null
+            }
+
+            function iterateValueEntry(values) {
+                var baseTypes = values.filter(hasNotNameSpace)
+                var innerTypes = values.filter(hasNameSpace)
+                baseTypes.forEach(createConstructor)
+                innerTypes.forEach(createConstructor)
+            }
+
+            function iterateKeyValueEntry(key, values) {
+                iterateValueEntry(values)
+            }
+
+            for (var property in constructorsMap) {
+                if (constructorsMap.hasOwnProperty(property)) {
+                    iterateKeyValueEntry(property, constructorsMap[property])
+                }
+            }
+            this.record('constructors', created, start);
+        },
+
+        /**
+         * Replace the mappings with the Jsonix modules built from them (invoked by the generated
+         * MainJsMappings.precompile()). Jsonix reuses the given modules as they are: the contexts created afterwards find
+         * the type references resolved and the property lookup tables keyed by element name in place, so they only have
+         * to register them. Precompiling more than once is harmless.
+         */
+        precompileMappings: function () {
+            var start = this.now();
+            var modules = new Jsonix.Context(this.mappings).modules;
+            modules.forEach(function (module) {
+                module.typeInfos.forEach(function (typeInfo) {
+                    // Jsonix never flags its class infos as built, and would build their structures again in each context
+                    typeInfo.built = true;
+                });
+            });
+            this.mappings = modules;
+            this.record('precompile', 1, start);
+        },
+
+        /**
+         * Instrumentation level: 0 (the default) disables it, 1 collects the counts and 2 also the performance.now()
+         * timings of constructor registration, mappings precompilation, context creation, marshall and
+         * unmarshall.
+         */
+        statsLevel: 0,
+
+        stats: {},
+
+        setStatsLevel: function (level) {
+            this.statsLevel = level;
+        },
+
+        now: function () {
+            if (this.statsLevel < 2) {
+                return 0;
+            }
+            return typeof performance !== 'undefined' && performance.now ? performance.now() : Date.now();
+        },
+
+        record: function (name, count, start) {
+            if (this.statsLevel < 1) {
+                return;
+            }
+            var stat = this.stats[name];
+            if (stat == null) {
+                stat = {count: 0, time: 0};
+                this.stats[name] = stat;
+            }
+            stat.count += count;
+            if (this.statsLevel > 1) {
+                stat.time += this.now() - start;
+            }
+        },
+
+        /**
+         * Returns a copy of the collected statistics, keyed by operation: {constructors: {count, time}, context: ...}
+         */
+        getStats: function () {
+            var toReturn = {};
+            for (var name in this.stats) {
+                if (this.stats.hasOwnProperty(name)) {
+                    toReturn[name] = {count: this.stats[name].count, time: this.stats[name].time};
+                }
+            }
+            return toReturn;
+        },
+
+        createContext: function (options) {
+            var start = this.now();
+            var toReturn = new Jsonix.Context(this.mappings, options);
+            this.record('context', 1, start);
+            return toReturn;
+        },
+
+        unmarshall: function (text, dynamicNamespace, callback) {
+            var start = this.now();
+            if (this.unmarshaller != null && Object.keys(this.lazyElements).length === 0) {
+                var unmarshalled = this.unmarshaller(text);
+                if (this.dirtyTracking) {
+                    this.adoptTree(unmarshalled, null);
+                }
+                this.record('unmarshall', 1, start);
+                callback(unmarshalled);
+                return;
+            }
+            // Create Jsonix context
+            var context = this.createContext();
+            this.enableLazyElements(context);
+
+            // Create unmarshaller
+            var unmarshaller = context.createUnmarshaller();
+            var toReturn = unmarshaller.unmarshalString(text);
+            if (this.dirtyTracking) {
+                this.adoptTree(toReturn, null);
+            }
+            this.record('unmarshall', 1, start);
+            callback(toReturn);
+        },
+
+        marshall: function (value, defaultNamespace, callback) {
+            var start = this.now();
+            var namespaces = {};
+            if (this.marshaller != null && Object.keys(this.lazyElements).length === 0 && !this.dirtyTracking) {
+                var marshalled = this.marshaller(value, namespaces);
+                this.record('marshall', 1, start);
+                callback(marshalled);
+                return;
+            }
+            // Create Jsonix context
+            var context = this.createContext({
+                namespacePrefixes: namespaces
+            });
+            this.enableLazyElements(context);
+            if (this.dirtyTracking) {
+                this.enableFragmentCache(context);
+            }
+
+            // Create unmarshaller
+            var marshaller = context.createMarshaller();
+
+            var xmlDocument = marshaller.marshalDocument(value);
+            var s = new XMLSerializer();
+            var toReturn = s.serializeToString(xmlDocument);
+            this.record('marshall', 1, start);
+            callback(toReturn);
+        }
+    };
+
+    for (var member in runtime) {
+        if (runtime.hasOwnProperty(member)) {
+            mainJs[member] = runtime[member];
+        }
+    }
+})(window['@mainJsName@']);
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gwt.jsonix.marshallers.xjc.plugin;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+
+import com.sun.tools.xjc.BadCommandLineException;
+import com.sun.tools.xjc.Options;
+import com.sun.tools.xjc.model.Model;
+import gwt.jsonix.marshallers.xjc.plugin.dtos.GenerationContext;
+import org.junit.Before;
+import org.junit.Test;
+
+import static gwt.jsonix.marshallers.xjc.plugin.TestUtils.getModel;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class JsonixGWTPluginTest {
+
+    private JsonixGWTPlugin jsonixGWTPlugin;
+
+    @Before
+    public void setup() {
+        jsonixGWTPlugin = new JsonixGWTPlugin();
+    }
+
+    @Test
+    public void parseArgumentCorrect() {
+        String[] args = {"-Xgwtjsonix",
+                "-Xgwtjsonix",
+                "-Xinheritance",
+                "-Xnamespace-prefix",
+                "-jsid=target/project",
+                "-jsmpkg=org.kie.workbench.common.dmn.webapp.kogito.marshaller.mapper",
+                "-jslazy={http://www.omg.org/spec/DMN/20180521/MODEL/}DMNDI",
+                "-jsdirty",
+                "-jssnap",
+                "-jsroots=definitions",
+                "-jssplit",
+                "-jscompact",
+                "-jsprecompile",
+                "-jsunmarshaller",
+                "-jsmarshaller",
+                "-jsconverters",
+                "-jsstats",
+                "-jspool",
+                "-jscache=target/cache",
+                "-jsstreaming",
+                "-jsidindex",
+                "-jsdeep"
+        };
+        try {
+            for (int i = 0; i < args.length; i++) {
+                jsonixGWTPlugin.parseArgument(new Options(), args, i);
+            }
+        } catch (Exception e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void parseArgumentLazyElements() throws BadCommandLineException {
+        String[] args = {"-jslazy", "{http://www.omg.org/spec/DMN/20180521/MODEL/}DMNDI, extensionElements"};
+        jsonixGWTPlugin.parseArgument(new Options(), args, 0);
+        final List<QName> lazyElements = jsonixGWTPlugin.getSettings().getLazyElements();
+        assertEquals(2, lazyElements.size());
+        assertEquals(new QName("http://www.omg.org/spec/DMN/20180521/MODEL/", "DMNDI"), lazyElements.get(0));
+        assertEquals(new QName("extensionElements"), lazyElements.get(1));
+    }
+
+    @Test
+    public void parseArgumentRootElements() throws BadCommandLineException {
+        String[] args = {"-jsroots", "{http://www.omg.org/spec/DMN/20180521/MODEL/}definitions"};
+        jsonixGWTPlugin.parseArgument(new Options(), args, 0);
+        assertEquals(Collections.singletonList(new QName("http://www.omg.org/spec/DMN/20180521/MODEL/", "definitions")), jsonixGWTPlugin.getSettings().getRootElements());
+    }
+
+    @Test
+    public void parseArgumentIdIndex() throws BadCommandLineException {
+        String[] args = {"-jsidindex"};
+        jsonixGWTPlugin.parseArgument(new Options(), args, 0);
+        // the index is kept up to date by the tracked setters
+        assertTrue(jsonixGWTPlugin.getSettings().isIdIndex());
+        assertTrue(jsonixGWTPlugin.getSettings().isTrackedSetters());
+    }
+
+    @Test(expected = BadCommandLineException.class)
+    public void parseArgumentMissingAccessorProfile() throws BadCommandLineException {
+        String[] args = {"-jsaccessors", "target/missing-accessors.txt"};
+        jsonixGWTPlugin.parseArgument(new Options(), args, 0);
+    }
+
+    @Test(expected = BadCommandLineException.class)
+    public void parseArgumentWrong() throws BadCommandLineException {
+        String[] args = {"-Xgwtjsonix",
+                "-Xgwtjsonix",
+                "-Xinheritance",
+                "-Xnamespace-prefix",
+                "-jsid=target/project",
+                "-jsmpkg"
+        };
+        for (int i = 0; i < args.length; i++) {
+            jsonixGWTPlugin.parseArgument(new Options(), args, i);
+        }
+    }
+
+    @Test
+    public void getPackageModuleMap() {
+        final Map<String, String> packageModuleMap = jsonixGWTPlugin.getPackageModuleMap(getModel());
+        assertNotNull(packageModuleMap);
+    }
+
+    @Test
+    public void createGenerationContext() {
+        final Model model = getModel();
+        final GenerationContext generationContext = jsonixGWTPlugin.createGenerationContext(model);
+        assertSame(model, generationContext.getModel());
+        assertNotNull(generationContext.getJsonixContext());
+        assertNotNull(generationContext.getModulesConfiguration());
+        // computed once per run
+        assertSame(generationContext.getPackageModuleMap(), generationContext.getPackageModuleMap());
+    }
+}
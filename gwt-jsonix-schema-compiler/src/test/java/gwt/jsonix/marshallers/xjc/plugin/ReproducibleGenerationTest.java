@@ -0,0 +1,197 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.marshallers.xjc.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the whole generation in separate JVMs, with different identity hash code algorithms (and with the streaming
+ * generation), and verifies that all the generated files (java sources and Jsonix mappings) are byte-identical
+ */
+public class ReproducibleGenerationTest {
+
+    /**
+     * <code>-XX:hashCode</code> values: 2 is a constant, 3 a global counter and 5 the default thread-local xorshift
+     */
+    private static final String[] HASH_CODE_ALGORITHMS = {"5", "2", "3"};
+
+    private static final String MODEL_XSD = "<xsd:schema xmlns:xsd=\"http://www.w3.org/2001/XMLSchema\" xmlns=\"http://www.kie.org/model\" xmlns:common=\"http://www.kie.org/common\"\n" +
+            "            targetNamespace=\"http://www.kie.org/model\" elementFormDefault=\"qualified\">\n" +
+            "  <xsd:import namespace=\"http://www.kie.org/common\" schemaLocation=\"common.xsd\"/>\n" +
+            "  <xsd:element name=\"definitions\" type=\"tDefinitions\"/>\n" +
+            "  <xsd:element name=\"decision\" type=\"tDecision\" substitutionGroup=\"drgElement\"/>\n" +
+            "  <xsd:element name=\"inputData\" type=\"tInputData\" substitutionGroup=\"drgElement\"/>\n" +
+            "  <xsd:element name=\"drgElement\" type=\"tDRGElement\" abstract=\"true\"/>\n" +
+            "  <xsd:complexType name=\"tDefinitions\">\n" +
+            "    <xsd:complexContent><xsd:extension base=\"common:tNamedElement\"><xsd:sequence>\n" +
+            "      <xsd:element ref=\"drgElement\" minOccurs=\"0\" maxOccurs=\"unbounded\"/>\n" +
+            "      <xsd:element ref=\"common:extension\" minOccurs=\"0\"/>\n" +
+            "    </xsd:sequence></xsd:extension></xsd:complexContent>\n" +
+            "  </xsd:complexType>\n" +
+            "  <xsd:complexType name=\"tDRGElement\" abstract=\"true\">\n" +
+            "    <xsd:complexContent><xsd:extension base=\"common:tNamedElement\"/></xsd:complexContent>\n" +
+            "  </xsd:complexType>\n" +
+            "  <xsd:complexType name=\"tDecision\">\n" +
+            "    <xsd:complexContent><xsd:extension base=\"tDRGElement\"><xsd:sequence>\n" +
+            "      <xsd:element name=\"question\" type=\"xsd:string\" minOccurs=\"0\"/>\n" +
+            "      <xsd:element name=\"width\" type=\"xsd:double\" minOccurs=\"0\" maxOccurs=\"unbounded\"/>\n" +
+            "    </xsd:sequence><xsd:attribute name=\"hitPolicy\" type=\"tHitPolicy\"/></xsd:extension></xsd:complexContent>\n" +
+            "  </xsd:complexType>\n" +
+            "  <xsd:complexType name=\"tInputData\">\n" +
+            "    <xsd:complexContent><xsd:extension base=\"tDRGElement\"><xsd:attribute name=\"typeRef\" type=\"xsd:QName\"/></xsd:extension></xsd:complexContent>\n" +
+            "  </xsd:complexType>\n" +
+            "  <xsd:simpleType name=\"tHitPolicy\">\n" +
+            "    <xsd:restriction base=\"xsd:string\"><xsd:enumeration value=\"UNIQUE\"/><xsd:enumeration value=\"FIRST\"/><xsd:enumeration value=\"ANY\"/></xsd:restriction>\n" +
+            "  </xsd:simpleType>\n" +
+            "</xsd:schema>\n";
+
+    private static final String COMMON_XSD = "<xsd:schema xmlns:xsd=\"http://www.w3.org/2001/XMLSchema\" xmlns=\"http://www.kie.org/common\"\n" +
+            "            targetNamespace=\"http://www.kie.org/common\" elementFormDefault=\"qualified\">\n" +
+            "  <xsd:element name=\"extension\" type=\"tExtension\"/>\n" +
+            "  <xsd:complexType name=\"tNamedElement\">\n" +
+            "    <xsd:sequence><xsd:element name=\"description\" type=\"xsd:string\" minOccurs=\"0\"/></xsd:sequence>\n" +
+            "    <xsd:attribute name=\"id\" type=\"xsd:ID\"/>\n" +
+            "    <xsd:attribute name=\"name\" type=\"xsd:string\"/>\n" +
+            "  </xsd:complexType>\n" +
+            "  <xsd:complexType name=\"tExtension\">\n" +
+            "    <xsd:sequence><xsd:element name=\"value\" type=\"xsd:string\" maxOccurs=\"unbounded\"/></xsd:sequence>\n" +
+            "  </xsd:complexType>\n" +
+            "</xsd:schema>\n";
+
+    private static final String BINDINGS_XJB = "<jaxb:bindings version=\"2.1\" xmlns:jaxb=\"http://java.sun.com/xml/ns/jaxb\" xmlns:xs=\"http://www.w3.org/2001/XMLSchema\"\n" +
+            "              xmlns:jsonix=\"http://jsonix.highsource.org/customizations\" jaxb:extensionBindingPrefixes=\"jsonix\">\n" +
+            "  <jaxb:bindings schemaLocation=\"model.xsd\" node=\"/xs:schema\">\n" +
+            "    <jaxb:schemaBindings><jaxb:package name=\"org.kie.model\"/></jaxb:schemaBindings>\n" +
+            "    <jsonix:packageMapping packageName=\"org.kie.model\" spaceName=\"MODEL\"/>\n" +
+            "  </jaxb:bindings>\n" +
+            "  <jaxb:bindings schemaLocation=\"common.xsd\" node=\"/xs:schema\">\n" +
+            "    <jaxb:schemaBindings><jaxb:package name=\"org.kie.common\"/></jaxb:schemaBindings>\n" +
+            "    <jsonix:packageMapping packageName=\"org.kie.common\" spaceName=\"COMMON\"/>\n" +
+            "  </jaxb:bindings>\n" +
+            "</jaxb:bindings>\n";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void generationIsReproducible() throws Exception {
+        final File schemas = writeSchemas();
+        Map<String, String> expected = null;
+        for (String hashCodeAlgorithm : HASH_CODE_ALGORITHMS) {
+            final File output = temporaryFolder.newFolder("output" + hashCodeAlgorithm);
+            generate(schemas, output, hashCodeAlgorithm);
+            final Map<String, String> retrieved = readTree(output.toPath());
+            assertTrue(retrieved.keySet().toString(), retrieved.containsKey("xjc" + File.separator + "MODEL.js"));
+            assertTrue(retrieved.keySet().stream().anyMatch(name -> name.endsWith("JSITDecision.java")));
+            if (expected == null) {
+                expected = retrieved;
+            } else {
+                assertEquals(expected.keySet(), retrieved.keySet());
+                for (Map.Entry<String, String> entry : expected.entrySet()) {
+                    assertEquals("-XX:hashCode=" + hashCodeAlgorithm + " " + entry.getKey(), entry.getValue(), retrieved.get(entry.getKey()));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void streamingGenerationIsIdentical() throws Exception {
+        final File schemas = writeSchemas();
+        final File output = temporaryFolder.newFolder("output");
+        generate(schemas, output, HASH_CODE_ALGORITHMS[0]);
+        // only the JSInterop code is streamed
+        final Map<String, String> expected = readTree(new File(output, "jsinterop").toPath());
+        final File streamingOutput = temporaryFolder.newFolder("streamingOutput");
+        generate(schemas, streamingOutput, HASH_CODE_ALGORITHMS[0], "-jsstreaming");
+        assertEquals(expected, readTree(new File(streamingOutput, "jsinterop").toPath()));
+        // streamed inside the staging directory of the generation cache
+        final File cachedStreamingOutput = temporaryFolder.newFolder("cachedStreamingOutput");
+        final File cache = temporaryFolder.newFolder("cache");
+        generate(schemas, cachedStreamingOutput, HASH_CODE_ALGORITHMS[0], "-jsstreaming", "-jscache=" + cache.getAbsolutePath());
+        assertEquals(expected, readTree(new File(cachedStreamingOutput, "jsinterop").toPath()));
+        final String[] entries = cache.list();
+        assertEquals(1, entries.length);
+        assertEquals(expected, readTree(new File(cache, entries[0]).toPath()));
+    }
+
+    private File writeSchemas() throws IOException {
+        final File toReturn = temporaryFolder.newFolder("schemas");
+        Files.write(new File(toReturn, "model.xsd").toPath(), MODEL_XSD.getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(toReturn, "common.xsd").toPath(), COMMON_XSD.getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(toReturn, "bindings.xjb").toPath(), BINDINGS_XJB.getBytes(StandardCharsets.UTF_8));
+        return toReturn;
+    }
+
+    private void generate(final File schemas, final File output, final String hashCodeAlgorithm, final String... pluginArgs) throws IOException, InterruptedException {
+        final File jsInteropDirectory = new File(output, "jsinterop");
+        final File xjcDirectory = new File(output, "xjc");
+        assertTrue(jsInteropDirectory.mkdirs());
+        assertTrue(xjcDirectory.mkdirs());
+        final List<String> command = new ArrayList<>(Arrays.asList(
+                System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+                "-XX:+UnlockExperimentalVMOptions",
+                "-XX:hashCode=" + hashCodeAlgorithm,
+                "-cp", System.getProperty("surefire.test.class.path", System.getProperty("java.class.path")),
+                "com.sun.tools.xjc.XJCFacade",
+                "-extension",
+                "-no-header",
+                // before the plugin ones, that would swallow them
+                "-d", xjcDirectory.getAbsolutePath(),
+                "-b", new File(schemas, "bindings.xjb").getAbsolutePath(),
+                "-Xgwtjsonix",
+                "-jsid=" + jsInteropDirectory.getAbsolutePath(),
+                "-jsmpkg=org.kie.mapper"));
+        command.addAll(Arrays.asList(pluginArgs));
+        command.add(new File(schemas, "model.xsd").getAbsolutePath());
+        command.add(new File(schemas, "common.xsd").getAbsolutePath());
+        final File log = new File(output.getParentFile(), output.getName() + ".log");
+        final Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log).start();
+        assertTrue("XJC timed out", process.waitFor(5, TimeUnit.MINUTES));
+        final String logContent = new String(Files.readAllBytes(log.toPath()), StandardCharsets.UTF_8);
+        assertEquals(logContent, 0, process.exitValue());
+        assertFalse(logContent, logContent.contains("[ERROR]"));
+    }
+
+    private Map<String, String> readTree(final Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            final Map<String, String> toReturn = new TreeMap<>();
+            for (Path path : paths.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                toReturn.put(root.relativize(path).toString(), new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+            }
+            return toReturn;
+        }
+    }
+}
@@ -72,6 +72,13 @@ public class TestUtils {
         return new Model(new Options(), new JCodeModel(), new NameConverter.Standard(), getClassNameAllocator(), getXSSchemaSet());
     }
 
+    /**
+     * @return a model whose classes keep the short names they are created with
+     */
+    public static Model getNamedModel() {
+        return new Model(new Options(), new JCodeModel(), new NameConverter.Standard(), null, getXSSchemaSet());
+    }
+
     private static ClassNameAllocator getClassNameAllocator() {
         return (packageName, className) -> null;
     }
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.marshallers.xjc.plugin.builders;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JPackage;
+import com.sun.tools.xjc.Language;
+import com.sun.tools.xjc.model.CAttributePropertyInfo;
+import com.sun.tools.xjc.model.CBuiltinLeafInfo;
+import com.sun.tools.xjc.model.CClassInfo;
+import com.sun.tools.xjc.model.CCustomizations;
+import com.sun.tools.xjc.model.CElementPropertyInfo;
+import com.sun.tools.xjc.model.CTypeRef;
+import com.sun.tools.xjc.model.Model;
+import com.sun.tools.xjc.outline.ClassOutline;
+import com.sun.tools.xjc.outline.Outline;
+import com.sun.tools.xjc.reader.Ring;
+import com.sun.tools.xjc.util.ErrorReceiverFilter;
+import com.sun.xml.bind.v2.model.core.ID;
+import gwt.jsonix.marshallers.xjc.plugin.AbstractBuilderTest;
+import gwt.jsonix.marshallers.xjc.plugin.TestUtils;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ConverterBuilderTest extends AbstractBuilderTest {
+
+    private static final String NAMESPACE = "http://www.omg.org/spec/DMN/20180521/MODEL/";
+
+    @Test
+    public void generateJSIConverter() throws JClassAlreadyExistsException, IOException {
+        final Outline outline = getOutline();
+        final JDefinedClass retrieved = ConverterBuilder.generateJSIConverter(outline, Collections.singletonMap("org.kie", "DMN12"), "org.mapper");
+        assertEquals("org.mapper.JSIConverter", retrieved.fullName());
+        final Map<String, ByteArrayOutputStream> streams = new HashMap<>();
+        outline.getCodeModel().build(getCodeWriter(streams));
+        final String source = streams.get("org/mapper/JSIConverter.java").toString();
+        assertTrue(source.contains("public static Map<String, Object> toJSI(final TDecision value)"));
+        assertTrue(source.contains("toReturn.put(\"TYPE_NAME\", \"DMN12.TDecision\");"));
+        // the properties of the base class come first
+        assertTrue(source.indexOf("put(((TDMNElement) value), target);") < source.indexOf("putJSI(target, \"width\", p0);"));
+        assertTrue(source.contains("putJSI(target, \"question\", value.getQuestion());"));
+        assertTrue(source.contains("case \"DMN12.TDecision\":"));
+        assertTrue(source.contains("target.setWidth(((Double) fromJSI(source.get(\"width\"), Double.class)));"));
+        assertTrue(source.contains("fromJSIList(source.get(\"question\"), Integer.class)"));
+        // subclasses are checked before their base classes
+        assertTrue(source.indexOf("if (value instanceof TDecision)") < source.indexOf("if (value instanceof TDMNElement)"));
+        // the JAXP lookup is done once, not for each converted date
+        assertTrue(source.contains("private static final javax.xml.datatype.DatatypeFactory DATATYPE_FACTORY = newDatatypeFactory();"));
+        assertTrue(source.contains("return (T) DATATYPE_FACTORY.newXMLGregorianCalendar(string);"));
+    }
+
+    @Test
+    public void getClassOutlines() {
+        final Outline outline = getOutline();
+        final List<ClassOutline> retrieved = ConverterBuilder.getClassOutlines(outline, Collections.singletonMap("org.kie", "DMN12"));
+        assertEquals(2, retrieved.size());
+        assertEquals("TDecision", retrieved.get(0).implClass.name());
+        assertEquals("TDMNElement", retrieved.get(1).implClass.name());
+        assertTrue(ConverterBuilder.getClassOutlines(outline, new HashMap<>()).isEmpty());
+    }
+
+    private Outline getOutline() {
+        final Model model = TestUtils.getNamedModel();
+        model.options.setSchemaLanguage(Language.DTD);
+        final JPackage jPackage = model.codeModel._package("org.kie");
+        final CClassInfo baseClass = new CClassInfo(model, jPackage, "TDMNElement", null, new QName(NAMESPACE, "tDMNElement"), null, null, CCustomizations.EMPTY);
+        final CClassInfo rootClass = new CClassInfo(model, jPackage, "TDecision", null, new QName(NAMESPACE, "tDecision"), new QName(NAMESPACE, "decision"), null, CCustomizations.EMPTY);
+        rootClass.setBaseClass(baseClass);
+        final Ring old = Ring.begin();
+        try {
+            Ring.add(Model.class, model);
+            baseClass.addProperty(getAttributeProperty("Id", CBuiltinLeafInfo.STRING));
+            rootClass.addProperty(getAttributeProperty("Width", CBuiltinLeafInfo.DOUBLE));
+            final CElementPropertyInfo question = new CElementPropertyInfo("Question", CElementPropertyInfo.CollectionMode.REPEATED_ELEMENT, ID.NONE, null, null, CCustomizations.EMPTY, null, false);
+            question.getTypes().add(new CTypeRef(CBuiltinLeafInfo.INT, new QName(NAMESPACE, "question"), null, false, null));
+            question.setName(false, "question");
+            rootClass.addProperty(question);
+            return model.generateCode(model.options, new ErrorReceiverFilter());
+        } finally {
+            Ring.end(old);
+        }
+    }
+
+    private CAttributePropertyInfo getAttributeProperty(String publicName, CBuiltinLeafInfo target) {
+        final CAttributePropertyInfo toReturn = new CAttributePropertyInfo(publicName, null, CCustomizations.EMPTY, null, new QName(publicName.toLowerCase()), target, null, false);
+        toReturn.setName(false, publicName.toLowerCase());
+        return toReturn;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.marshallers.xjc.plugin.builders;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.stream.Collectors;
+
+import javax.xml.namespace.QName;
+
+import com.sun.codemodel.ClassType;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JPackage;
+import com.sun.tools.xjc.Language;
+import com.sun.tools.xjc.model.CClassInfo;
+import com.sun.tools.xjc.model.CCustomizations;
+import com.sun.tools.xjc.model.CElementPropertyInfo;
+import com.sun.tools.xjc.model.CNonElement;
+import com.sun.tools.xjc.model.CTypeInfo;
+import com.sun.tools.xjc.model.CTypeRef;
+import com.sun.tools.xjc.model.Model;
+import com.sun.tools.xjc.reader.Ring;
+import com.sun.xml.bind.v2.model.core.ID;
+import gwt.jsonix.marshallers.xjc.plugin.TestUtils;
+import gwt.jsonix.marshallers.xjc.plugin.dtos.TypeDependency;
+import org.jgrapht.DirectedGraph;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DependencyGraphBuilderTest {
+
+    private static final String NAMESPACE = "http://www.omg.org/spec/DMN/20180521/MODEL/";
+
+    @Test
+    public void getDependencyGraph() {
+        final Model model = TestUtils.getModel();
+        model.options.setSchemaLanguage(Language.DTD);
+        final JPackage jPackage = model.codeModel._package("org.kie");
+        final CClassInfo baseClass = new CClassInfo(model, jPackage, "TDMNElement", null, null, null, null, CCustomizations.EMPTY);
+        final CClassInfo decisionClass = new CClassInfo(model, jPackage, "TDecision", null, null, null, null, CCustomizations.EMPTY);
+        decisionClass.setBaseClass(baseClass);
+        final CClassInfo innerClass = new CClassInfo(model, decisionClass, "Inner", null, null, null, null, CCustomizations.EMPTY);
+        final CClassInfo expressionClass = new CClassInfo(model, jPackage, "TExpression", null, null, null, null, CCustomizations.EMPTY);
+        final Ring old = Ring.begin();
+        try {
+            Ring.add(Model.class, model);
+            // soft dependencies may be cyclic, and a hard one replaces a soft one between the same types
+            decisionClass.addProperty(getElementProperty("Expression", expressionClass));
+            expressionClass.addProperty(getElementProperty("Decision", decisionClass));
+            decisionClass.addProperty(getElementProperty("Base", baseClass));
+        } finally {
+            Ring.end(old);
+        }
+        final DirectedGraph<CTypeInfo, TypeDependency> retrieved = DependencyGraphBuilder.getDependencyGraph(Collections.singletonList(innerClass));
+        // the dependencies are added transitively
+        assertEquals(4, retrieved.vertexSet().size());
+        assertEquals(innerClass, retrieved.vertexSet().iterator().next());
+        assertTrue(retrieved.getEdge(baseClass, decisionClass).isHard());
+        assertTrue(retrieved.getEdge(decisionClass, innerClass).isHard());
+        assertFalse(retrieved.getEdge(expressionClass, decisionClass).isHard());
+        assertFalse(retrieved.getEdge(decisionClass, expressionClass).isHard());
+        assertEquals(4, retrieved.edgeSet().size());
+
+        final List<List<CTypeInfo>> waves = DependencyGraphBuilder.getWaves(retrieved);
+        assertEquals(3, waves.size());
+        assertEquals(Arrays.asList(baseClass, expressionClass), waves.get(0));
+        assertEquals(Collections.singletonList(decisionClass), waves.get(1));
+        assertEquals(Collections.singletonList(innerClass), waves.get(2));
+        assertEquals("Type dependency graph: 4 types, 2 hard and 2 soft edges, 3 waves, widest level of 2 types", DependencyGraphBuilder.getStatistics(retrieved, waves));
+    }
+
+    @Test
+    public void getStreamingUnits() throws JClassAlreadyExistsException {
+        final Model model = TestUtils.getModel();
+        model.options.setSchemaLanguage(Language.DTD);
+        final JPackage jaxbPackage = model.codeModel._package("org.kie");
+        final JCodeModel jCodeModel = new JCodeModel();
+        final Map<CClassInfo, JDefinedClass> declaredClassesMap = new LinkedHashMap<>();
+        final CClassInfo a = declare(model, jaxbPackage, jCodeModel, "a.A", null, declaredClassesMap);
+        declare(model, jaxbPackage, jCodeModel, "b.B", a, declaredClassesMap);
+        final CClassInfo c2 = declare(model, jaxbPackage, jCodeModel, "c.C2", null, declaredClassesMap);
+        final CClassInfo d1 = declare(model, jaxbPackage, jCodeModel, "d.D1", null, declaredClassesMap);
+        // c and d extend each other
+        declare(model, jaxbPackage, jCodeModel, "c.C1", d1, declaredClassesMap);
+        declare(model, jaxbPackage, jCodeModel, "d.D2", c2, declaredClassesMap);
+        final JDefinedClass enumClass = jCodeModel._class("e.E", ClassType.ENUM);
+        final List<JDefinedClass> generatedClasses = new ArrayList<>(declaredClassesMap.values());
+        generatedClasses.add(enumClass);
+
+        final List<SortedSet<JPackage>> retrieved = DependencyGraphBuilder.getStreamingUnits(declaredClassesMap, generatedClasses);
+        final List<List<String>> retrievedNames = retrieved.stream()
+                .map(unit -> unit.stream().map(JPackage::name).collect(Collectors.toList()))
+                .collect(Collectors.toList());
+        assertEquals(Arrays.asList(Collections.singletonList("a"), Collections.singletonList("b"), Arrays.asList("c", "d"), Collections.singletonList("e")), retrievedNames);
+    }
+
+    private CClassInfo declare(Model model, JPackage jaxbPackage, JCodeModel jCodeModel, String fullName, CClassInfo baseClass, Map<CClassInfo, JDefinedClass> declaredClassesMap) throws JClassAlreadyExistsException {
+        final CClassInfo toReturn = new CClassInfo(model, jaxbPackage, fullName.substring(fullName.indexOf('.') + 1), null, null, null, null, CCustomizations.EMPTY);
+        if (baseClass != null) {
+            toReturn.setBaseClass(baseClass);
+        }
+        declaredClassesMap.put(toReturn, jCodeModel._class(fullName));
+        return toReturn;
+    }
+
+    private CElementPropertyInfo getElementProperty(String publicName, CNonElement target) {
+        final CElementPropertyInfo toReturn = new CElementPropertyInfo(publicName, CElementPropertyInfo.CollectionMode.NOT_REPEATED, ID.NONE, null, null, CCustomizations.EMPTY, null, false);
+        toReturn.getTypes().add(new CTypeRef(target, new QName(NAMESPACE, publicName.toLowerCase()), null, false, null));
+        toReturn.setName(false, publicName.toLowerCase());
+        return toReturn;
+    }
+}
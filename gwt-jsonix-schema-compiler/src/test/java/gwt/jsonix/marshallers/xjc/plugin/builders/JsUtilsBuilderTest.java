@@ -0,0 +1,461 @@
+package gwt.jsonix.marshallers.xjc.plugin.builders;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import javax.xml.namespace.QName;
+
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JInvocation;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JPackage;
+import com.sun.codemodel.JVar;
+import com.sun.tools.xjc.Language;
+import com.sun.tools.xjc.model.CAttributePropertyInfo;
+import com.sun.tools.xjc.model.CBuiltinLeafInfo;
+import com.sun.tools.xjc.model.CClassInfo;
+import com.sun.tools.xjc.model.CCustomizations;
+import com.sun.tools.xjc.model.Model;
+import com.sun.tools.xjc.model.TypeUse;
+import com.sun.tools.xjc.reader.Ring;
+import gwt.jsonix.marshallers.xjc.plugin.AbstractBuilderTest;
+import gwt.jsonix.marshallers.xjc.plugin.GWTSettings;
+import gwt.jsonix.marshallers.xjc.plugin.TestUtils;
+import jsinterop.base.JsArrayLike;
+import org.junit.Test;
+
+import static gwt.jsonix.marshallers.xjc.plugin.builders.JsUtilsBuilder.GENERIC_EXTEND_TYPE_NAME;
+import static gwt.jsonix.marshallers.xjc.plugin.builders.JsUtilsBuilder.GENERIC_TYPE_NAME;
+import static gwt.jsonix.marshallers.xjc.plugin.builders.JsUtilsBuilder.PRIVATE_STATIC_MODS;
+import static gwt.jsonix.marshallers.xjc.plugin.builders.JsUtilsBuilder.PUBLIC_STATIC_MODS;
+import static gwt.jsonix.marshallers.xjc.plugin.builders.JsUtilsBuilder.PUBLIC_STATIC_NATIVE_MODS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class JsUtilsBuilderTest extends AbstractBuilderTest {
+
+    private static final Path RUNTIME_BASE_CLASS_SOURCE = Paths.get("..", "gwt-jsonix-runtime", "src", "main", "java", "gwt", "jsonix", "runtime", "JsUtilsBase.java");
+
+    private static final String RUNTIME_LICENSE_HEADER = "/*\n" +
+            " * Copyright 2019 Red Hat, Inc. and/or its affiliates.\n" +
+            " *\n" +
+            " * Licensed under the Apache License, Version 2.0 (the \"License\");\n" +
+            " * you may not use this file except in compliance with the License.\n" +
+            " * You may obtain a copy of the License at\n" +
+            " *\n" +
+            " *     http://www.apache.org/licenses/LICENSE-2.0\n" +
+            " *\n" +
+            " * Unless required by applicable law or agreed to in writing, software\n" +
+            " * distributed under the License is distributed on an \"AS IS\" BASIS,\n" +
+            " * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.\n" +
+            " * See the License for the specific language governing permissions and\n" +
+            " * limitations under the License.\n" +
+            " */";
+
+    @Test
+    public void generateJsUtilsClass() throws JClassAlreadyExistsException, IOException {
+        final JDefinedClass retrieved = JsUtilsBuilder.generateJsUtilsClass(jCodeModel, "fake.testing");
+        assertNotNull(retrieved);
+    }
+
+    @Test
+    public void generateJsUtilsClassPooledWrappers() throws JClassAlreadyExistsException, IOException {
+        final JDefinedClass retrieved = JsUtilsBuilder.generateJsUtilsClass(jCodeModel, "fake.testing", true);
+        final String source = printJDefinedClass(retrieved);
+        assertTrue(source.contains("private static Object wrappersPool;"));
+        assertTrue(source.contains("public static native <D> D acquireWrappedElement(final Object value)"));
+        assertTrue(source.contains("@fake.testing.JsUtils::releaseWrappedElement(Ljava/lang/Object;)(wrapper);"));
+        assertTrue(source.contains("if (pool.length < " + JsUtilsBuilder.WRAPPERS_POOL_SIZE + ") {"));
+    }
+
+    @Test
+    public void generateJsUtilsClassNotPooledWrappers() throws JClassAlreadyExistsException, IOException {
+        final JDefinedClass retrieved = JsUtilsBuilder.generateJsUtilsClass(jCodeModel, "fake.testing", false);
+        final String source = printJDefinedClass(retrieved);
+        assertFalse(source.contains("wrappersPool"));
+        assertFalse(source.contains("acquireWrappedElement"));
+    }
+
+    @Test
+    public void generateJsUtilsClassSharedRuntime() throws JClassAlreadyExistsException, IOException {
+        final JDefinedClass retrieved = JsUtilsBuilder.generateJsUtilsClass(jCodeModel, "fake.testing", true, true);
+        assertEquals(JsUtilsBuilder.RUNTIME_BASE_CLASS, retrieved._extends().fullName());
+        final String source = printJDefinedClass(retrieved);
+        assertTrue(source.contains("public class JsUtils\n    extends JsUtilsBase"));
+        assertTrue(source.contains("public static native <D> void setNameOnWrapped(D wrappedObject, JSIName name)"));
+        assertTrue(source.contains("public static Map<QName, String> toAttributesMap(final Object original)"));
+        assertTrue(source.contains("public static native JSIName getJSIName("));
+        // the schema-independent methods are inherited from the runtime
+        assertFalse(source.contains("void add("));
+        assertFalse(source.contains("deepCopy"));
+        assertFalse(source.contains("wrappersPool"));
+    }
+
+    @Test
+    public void generateRuntimeBaseClass() throws JClassAlreadyExistsException, IOException {
+        final JDefinedClass retrieved = JsUtilsBuilder.generateRuntimeBaseClass(jCodeModel);
+        assertEquals(JsUtilsBuilder.RUNTIME_BASE_CLASS, retrieved.fullName());
+        final String source = printJDefinedClass(retrieved);
+        assertTrue(source.contains("public abstract class JsUtilsBase {"));
+        assertTrue(source.contains("protected JsUtilsBase() {"));
+        // all the optional features are served by the runtime
+        assertTrue(source.contains("public static native <D> D getMaterialized(final Object holder, final String propertyName)"));
+        assertTrue(source.contains("@gwt.jsonix.runtime.JsUtilsBase::copyOnWrite("));
+        assertTrue(source.contains("public static native void updateIdIndex("));
+        assertTrue(source.contains("public static native Object takeSnapshot(final Object instance)"));
+        assertTrue(source.contains("public static native <D> D deepCopy(final D original)"));
+        assertTrue(source.contains("public static native <D> D acquireWrappedElement(final Object value)"));
+        // the schema-specific ones are left to the generated JsUtils
+        assertFalse(source.contains("setNameOnWrapped"));
+        assertFalse(source.contains("toAttributesMap"));
+        assertFalse(source.contains("getJSIName"));
+    }
+
+    /**
+     * The sources of <b>gwt-jsonix-runtime</b> are generated: run with <code>-Dgwtjsonix.runtime.update=true</code>
+     * to rewrite them after changing the <code>JsUtilsBuilder</code> templates
+     */
+    @Test
+    public void generateRuntimeBaseClassUpToDate() throws JClassAlreadyExistsException, IOException {
+        final String generated = RUNTIME_LICENSE_HEADER + printJDefinedClass(JsUtilsBuilder.generateRuntimeBaseClass(jCodeModel)).replace("\r\n", "\n");
+        if (Boolean.getBoolean("gwtjsonix.runtime.update")) {
+            Files.write(RUNTIME_BASE_CLASS_SOURCE, generated.getBytes(StandardCharsets.UTF_8));
+        }
+        final String existing = new String(Files.readAllBytes(RUNTIME_BASE_CLASS_SOURCE), StandardCharsets.UTF_8);
+        assertEquals(RUNTIME_BASE_CLASS_SOURCE + " is outdated: run the build with -Dgwtjsonix.runtime.update=true", generated, existing);
+    }
+
+    @Test
+    public void generateJsUtilsClassLazyElements() throws JClassAlreadyExistsException, IOException {
+        final GWTSettings settings = new GWTSettings();
+        settings.setJsMainPackage("fake.testing");
+        settings.setLazyElements("{http://www.omg.org/spec/DMN/20180521/DMNDI/}DMNDI");
+        final String source = printJDefinedClass(JsUtilsBuilder.generateJsUtilsClass(jCodeModel, settings));
+        assertTrue(source.contains("public static native <D> D getMaterialized(final Object holder, final String propertyName)"));
+    }
+
+    @Test
+    public void generateJsUtilsClassNotLazyElements() throws JClassAlreadyExistsException, IOException {
+        final String source = printJDefinedClass(JsUtilsBuilder.generateJsUtilsClass(jCodeModel, "fake.testing"));
+        assertFalse(source.contains("getMaterialized"));
+    }
+
+    @Test
+    public void generateJsUtilsClassDeepHelpers() throws JClassAlreadyExistsException, IOException {
+        final GWTSettings settings = new GWTSettings();
+        settings.setJsMainPackage("fake.testing");
+        settings.setDeepHelpers(true);
+        final String source = printJDefinedClass(JsUtilsBuilder.generateJsUtilsClass(jCodeModel, settings));
+        assertTrue(source.contains("public static native <D> D deepCopy(final D original)"));
+        assertTrue(source.contains("public static native boolean deepEquals(final Object left, final Object right)"));
+        assertTrue(source.contains("public static native int deepHashCode(final Object value)"));
+    }
+
+    @Test
+    public void generateJsUtilsClassNotDeepHelpers() throws JClassAlreadyExistsException, IOException {
+        final String source = printJDefinedClass(JsUtilsBuilder.generateJsUtilsClass(jCodeModel, "fake.testing"));
+        assertFalse(source.contains("deepCopy"));
+        assertFalse(source.contains("deepEquals"));
+    }
+
+    @Test
+    public void generateJsUtilsClassTrackedSetters() throws JClassAlreadyExistsException, IOException {
+        final GWTSettings settings = new GWTSettings();
+        settings.setJsMainPackage("fake.testing");
+        settings.setDirtyTracking(true);
+        final String source = printJDefinedClass(JsUtilsBuilder.generateJsUtilsClass(jCodeModel, settings));
+        assertTrue(source.contains("public static native void markDirty(final Object holder, final Object value)"));
+        assertTrue(source.contains("public static native void setTracked(final Object holder, final String propertyName, final Object value)"));
+        // neither the snapshots nor the id index are enabled
+        assertFalse(source.contains("copyOnWrite"));
+        assertFalse(source.contains("__epoch"));
+        assertFalse(source.contains("updateIdIndex"));
+        assertFalse(source.contains("var previous"));
+    }
+
+    @Test
+    public void generateJsUtilsClassSnapshots() throws JClassAlreadyExistsException, IOException {
+        final GWTSettings settings = new GWTSettings();
+        settings.setJsMainPackage("fake.testing");
+        settings.setSnapshots(true);
+        settings.setLazyElements("{http://www.omg.org/spec/DMN/20180521/DMNDI/}DMNDI");
+        final String source = printJDefinedClass(JsUtilsBuilder.generateJsUtilsClass(jCodeModel, settings));
+        assertTrue(source.contains("public static native Object takeSnapshot(final Object instance)"));
+        assertTrue(source.contains("public static native void adoptTree(final Object value, final Object parent)"));
+        // the first snapshot of a graph attaches it to its parents, as the materialization does with the lazy subtrees
+        assertTrue(source.contains("if (root.__snapshotEpoch === undefined) {\n            @fake.testing.JsUtils::adoptTree(Ljava/lang/Object;Ljava/lang/Object;)(root, null);"));
+        assertTrue(source.contains("@fake.testing.JsUtils::adoptTree(Ljava/lang/Object;Ljava/lang/Object;)(value, holder);"));
+        assertTrue(source.contains("@fake.testing.JsUtils::copyOnWrite(Ljava/lang/Object;)(holder);\n        holder[propertyName] = value;"));
+        assertTrue(source.contains("Object.defineProperty(child, '__epoch'"));
+    }
+
+    @Test
+    public void generateJsUtilsClassNotTrackedSetters() throws JClassAlreadyExistsException, IOException {
+        final String source = printJDefinedClass(JsUtilsBuilder.generateJsUtilsClass(jCodeModel, "fake.testing"));
+        assertFalse(source.contains("markDirty"));
+        assertFalse(source.contains("setTracked"));
+        assertFalse(source.contains("takeSnapshot"));
+        assertFalse(source.contains("adoptTree"));
+    }
+
+    @Test
+    public void generateJsUtilsClassIdIndexHooks() throws JClassAlreadyExistsException, IOException {
+        final GWTSettings settings = new GWTSettings();
+        settings.setJsMainPackage("fake.testing");
+        settings.setIdIndex(true);
+        settings.setLazyElements("{http://www.omg.org/spec/DMN/20180521/DMNDI/}DMNDI");
+        final String source = printJDefinedClass(JsUtilsBuilder.generateJsUtilsClass(jCodeModel, settings));
+        assertTrue(source.contains("public static native void updateIdIndex(final Object holder, final Object removed, final Object added)"));
+        // only the instances reached by the index are updated, without walking up to the root
+        assertTrue(source.contains("if (holder.__indexed == null) {\n            return;\n        }\n        holder.__indexed.update(holder, removed, added);"));
+        // the tracked setters and the materialization keep the index up to date
+        assertTrue(source.contains("@fake.testing.JsUtils::updateIdIndex(Ljava/lang/Object;Ljava/lang/Object;Ljava/lang/Object;)(holder, previous, value);"));
+        assertTrue(source.contains("@fake.testing.JsUtils::updateIdIndex(Ljava/lang/Object;Ljava/lang/Object;Ljava/lang/Object;)(holder, null, value);"));
+        // the index itself is schema-specific
+        assertFalse(source.contains("getIdIndex(final Object root)"));
+        assertFalse(source.contains("copyOnWrite"));
+    }
+
+    @Test
+    public void addIdIndexMethods() throws JClassAlreadyExistsException, IOException {
+        final JDefinedClass retrieved = JsUtilsBuilder.generateJsUtilsClass(jCodeModel, "fake.testing", false, true);
+        JsUtilsBuilder.addIdIndexMethods(retrieved, Collections.singletonMap("DMN12.TDecision", "id"));
+        final String source = printJDefinedClass(retrieved);
+        assertTrue(source.contains("public static native Object getIdIndex(final Object root)"));
+        assertTrue(source.contains("var index = {ids: {}, idProperties: {\n            \"DMN12.TDecision\": \"id\"\n        }};"));
+        assertTrue(source.contains("public static native <D> D getById(final Object root, final String id)"));
+        assertTrue(source.contains("var index = @fake.testing.JsUtils::getIdIndex(Ljava/lang/Object;)(root);"));
+    }
+
+    @Test
+    public void getIdPropertyNames() throws JClassAlreadyExistsException {
+        final Model model = TestUtils.getNamedModel();
+        model.options.setSchemaLanguage(Language.DTD);
+        final JPackage jPackage = model.codeModel._package("org.kie");
+        final CClassInfo baseClass = new CClassInfo(model, jPackage, "TDMNElement", null, null, null, null, CCustomizations.EMPTY);
+        final CClassInfo subClass = new CClassInfo(model, jPackage, "TDecision", null, null, null, null, CCustomizations.EMPTY);
+        subClass.setBaseClass(baseClass);
+        final CClassInfo noIdClass = new CClassInfo(model, jPackage, "TImport", null, null, null, null, CCustomizations.EMPTY);
+        final Ring old = Ring.begin();
+        try {
+            Ring.add(Model.class, model);
+            baseClass.addProperty(getAttributeProperty("Label", CBuiltinLeafInfo.STRING));
+            baseClass.addProperty(getAttributeProperty("Id", CBuiltinLeafInfo.ID));
+            subClass.addProperty(getAttributeProperty("Question", CBuiltinLeafInfo.STRING));
+            noIdClass.addProperty(getAttributeProperty("Namespace", CBuiltinLeafInfo.STRING));
+        } finally {
+            Ring.end(old);
+        }
+        final Map<String, JClass> definedClassesMap = new HashMap<>();
+        definedClassesMap.put(baseClass.fullName(), jCodeModel._class("org.kie.JSITDMNElement"));
+        definedClassesMap.put(subClass.fullName(), jCodeModel._class("org.kie.JSITDecision"));
+        definedClassesMap.put(noIdClass.fullName(), jCodeModel._class("org.kie.JSITImport"));
+        final Map<String, String> retrieved = JsUtilsBuilder.getIdPropertyNames(model, definedClassesMap, Collections.singletonMap("org.kie", "DMN12"));
+        // the inherited ID property is included, and the types without any are omitted
+        assertEquals(2, retrieved.size());
+        assertEquals("id", retrieved.get("DMN12.TDMNElement"));
+        assertEquals("id", retrieved.get("DMN12.TDecision"));
+    }
+
+    @Test
+    public void getTypeNamesMap() throws JClassAlreadyExistsException {
+        final Model model = TestUtils.getNamedModel();
+        model.options.setSchemaLanguage(Language.DTD);
+        final JPackage jPackage = model.codeModel._package("org.kie");
+        final CClassInfo rootClass = new CClassInfo(model, jPackage, "TDecision", null, null, null, null, CCustomizations.EMPTY);
+        final CClassInfo innerClass = new CClassInfo(model, rootClass, "Inner", null, null, null, null, CCustomizations.EMPTY);
+        final CClassInfo notGeneratedClass = new CClassInfo(model, jPackage, "Skipped", null, null, null, null, CCustomizations.EMPTY);
+        final JDefinedClass rootJClass = jCodeModel._class("org.kie.JSITDecision");
+        final Map<String, JClass> definedClassesMap = new HashMap<>();
+        definedClassesMap.put(rootClass.fullName(), rootJClass);
+        definedClassesMap.put(innerClass.fullName(), rootJClass._class("JSIInner"));
+        final Map<CClassInfo, String> retrieved = JsUtilsBuilder.getTypeNamesMap(model, definedClassesMap, Collections.singletonMap("org.kie", "DMN12"));
+        assertEquals(2, retrieved.size());
+        assertEquals("DMN12.TDecision", retrieved.get(rootClass));
+        assertEquals("DMN12.TDecision.Inner", retrieved.get(innerClass));
+        assertNull(retrieved.get(notGeneratedClass));
+    }
+
+    @Test
+    public void addJavaToAttributesMapMethod() {
+        final JMethod retrieved = JsUtilsBuilder.addJavaToAttributesMapMethod(jCodeModel, jDefinedClass);
+        assertNotNull(retrieved);
+        assertEquals(PUBLIC_STATIC_MODS, retrieved.mods().getValue());
+        assertEquals("toAttributesMap", retrieved.name());
+        assertEquals(1, retrieved.params().size());
+        commonVerifyQNameStringNarrowedMapClass((JClass) retrieved.type());
+        assertEquals("original", retrieved.params().get(0).name());
+        assertEquals(Object.class.getName(), retrieved.params().get(0).type().binaryName());
+        assertEquals("toReturn", ((JVar) retrieved.body().getContents().get(0)).name());
+        commonVerifyQNameStringNarrowedMapClass((JClass) ((JVar) retrieved.body().getContents().get(0)).type());
+    }
+
+    @Test
+    public void addPutToAttributesMap() {
+        final JMethod retrieved = JsUtilsBuilder.addPutToAttributesMap(jCodeModel, jDefinedClass);
+        assertNotNull(retrieved);
+        assertEquals(PRIVATE_STATIC_MODS, retrieved.mods().getValue());
+        assertEquals("putToAttributesMap", retrieved.name());
+        assertEquals(Void.TYPE.getName(), retrieved.type().binaryName());
+        assertEquals(3, retrieved.params().size());
+        assertEquals("destination", retrieved.params().get(0).name());
+        commonVerifyQNameStringNarrowedMapClass((JClass) retrieved.params().get(0).type());
+        assertEquals("qNameAsString", retrieved.params().get(1).name());
+        assertEquals(String.class.getName(), retrieved.params().get(1).type().binaryName());
+        assertEquals("value", retrieved.params().get(2).name());
+        assertEquals(String.class.getName(), retrieved.params().get(2).type().binaryName());
+        JInvocation retrievedInvocation = (JInvocation) retrieved.body().getContents().get(0);
+        assertNotNull(retrievedInvocation);
+    }
+
+    @Test
+    public void getGenerifiedJMethodByClass() {
+        final JMethod retrieved = JsUtilsBuilder.getGenerifiedJMethod(jDefinedClass, String.class, "testingMethod");
+        assertNotNull(retrieved);
+        assertEquals(PUBLIC_STATIC_MODS, retrieved.mods().getValue());
+        assertEquals("testingMethod", retrieved.name());
+        assertEquals(String.class.getCanonicalName(), retrieved.type().binaryName());
+        assertEquals(GENERIC_TYPE_NAME, retrieved.typeParams()[0].binaryName());
+    }
+
+    @Test
+    public void getGenerifiedJMethodByJClass() {
+        final JMethod retrieved = JsUtilsBuilder.getGenerifiedJMethod(jDefinedClass, stringClass, "testingMethod");
+        assertNotNull(retrieved);
+        assertEquals(PUBLIC_STATIC_MODS, retrieved.mods().getValue());
+        assertEquals("testingMethod", retrieved.name());
+        assertEquals(stringClass, retrieved.type());
+        assertEquals(GENERIC_TYPE_NAME, retrieved.typeParams()[0].binaryName());
+    }
+
+    @Test
+    public void getJMethodByClass() {
+        final JMethod retrieved = JsUtilsBuilder.getJMethod(jDefinedClass, String.class, "testingMethod");
+        assertNotNull(retrieved);
+        assertEquals(PUBLIC_STATIC_MODS, retrieved.mods().getValue());
+        assertEquals("testingMethod", retrieved.name());
+        assertEquals(String.class.getCanonicalName(), retrieved.type().binaryName());
+    }
+
+    @Test
+    public void getJMethodByJClass() {
+        final JMethod retrieved = JsUtilsBuilder.getJMethod(jDefinedClass, stringClass, "testingMethod");
+        assertNotNull(retrieved);
+        assertEquals(PUBLIC_STATIC_MODS, retrieved.mods().getValue());
+        assertEquals("testingMethod", retrieved.name());
+        assertEquals(stringClass, retrieved.type());
+    }
+
+    @Test
+    public void getNativeJMethodByClass() {
+        final JMethod retrieved = JsUtilsBuilder.getNativeJMethod(jDefinedClass, String.class, "testingMethod");
+        assertNotNull(retrieved);
+        assertEquals(PUBLIC_STATIC_NATIVE_MODS, retrieved.mods().getValue());
+        assertEquals("testingMethod", retrieved.name());
+        assertEquals(String.class.getCanonicalName(), retrieved.type().binaryName());
+    }
+
+    @Test
+    public void getNativeJMethodByJClass() {
+        final JMethod retrieved = JsUtilsBuilder.getNativeJMethod(jDefinedClass, stringClass, "testingMethod");
+        assertNotNull(retrieved);
+        assertEquals(PUBLIC_STATIC_NATIVE_MODS, retrieved.mods().getValue());
+        assertEquals("testingMethod", retrieved.name());
+        assertEquals(stringClass, retrieved.type());
+    }
+
+    @Test
+    public void getJSArrayNarrowedJVar() {
+        final JVar retrieved = JsUtilsBuilder.getJSArrayNarrowedJVar(jCodeModel, setJMethod);
+        assertNotNull(retrieved);
+        assertEquals(retrieved, setJMethod.params().get(0));
+        commonVerifyJsArrayNarrowedClass((JClass) retrieved.type());
+    }
+
+    @Test
+    public void getGenericT() {
+        final JClass retrieved = JsUtilsBuilder.getGenericT(jCodeModel);
+        assertNotNull(retrieved);
+        assertEquals(GENERIC_TYPE_NAME, retrieved.binaryName());
+    }
+
+    @Test
+    public void getGenericTExtends() {
+        final JClass retrieved = JsUtilsBuilder.getGenericTExtends(jCodeModel);
+        assertNotNull(retrieved);
+        assertEquals(GENERIC_EXTEND_TYPE_NAME, retrieved.binaryName());
+    }
+
+    @Test
+    public void getJsArrayNarrowedClass() {
+        final JClass retrieved = JsUtilsBuilder.getJsArrayNarrowedClass(jCodeModel);
+        commonVerifyJsArrayNarrowedClass(retrieved);
+    }
+
+    @Test
+    public void getQNameStringNarrowedMapClass() {
+        final JClass retrieved = JsUtilsBuilder.getQNameStringNarrowedMapClass(jCodeModel);
+        commonVerifyQNameStringNarrowedMapClass(retrieved);
+    }
+
+    @Test
+    public void getQNameStringNarrowedMapEntryClass() {
+        final JClass retrieved = JsUtilsBuilder.getQNameStringNarrowedMapEntryClass(jCodeModel);
+        commonVerifyQNameStringNarrowedMapEntryClass(retrieved);
+    }
+
+    @Test
+    public void getQNameStringNarrowedMapEntryConsumerClass() {
+        final JClass retrieved = JsUtilsBuilder.getQNameStringNarrowedMapEntryConsumerClass(jCodeModel);
+        assertNotNull(retrieved);
+        assertEquals(Consumer.class.getCanonicalName(), retrieved.erasure().binaryName());
+        commonVerifyQNameStringNarrowedMapEntryClass(retrieved.getTypeParameters().get(0));
+    }
+
+    private CAttributePropertyInfo getAttributeProperty(final String publicName, final TypeUse type) {
+        final CAttributePropertyInfo toReturn = new CAttributePropertyInfo(publicName, null, CCustomizations.EMPTY, null, new QName(publicName.toLowerCase()), type, null, false);
+        toReturn.setName(false, publicName.toLowerCase());
+        return toReturn;
+    }
+
+    private Object commonGetInstance() throws JClassAlreadyExistsException, IOException {
+        return compileAndLoad();
+    }
+
+
+    private void commonVerifyQNameStringNarrowedMapClass(final JClass retrieved) {
+        assertNotNull(retrieved);
+        assertEquals(Map.class.getCanonicalName(), retrieved.erasure().binaryName());
+        commonVerifyQNameStringNarrowed(retrieved.getTypeParameters());
+    }
+
+    private void commonVerifyQNameStringNarrowedMapEntryClass(final JClass retrieved) {
+        assertNotNull(retrieved);
+        assertEquals(Map.Entry.class.getCanonicalName(), retrieved.erasure().binaryName());
+        commonVerifyQNameStringNarrowed(retrieved.getTypeParameters());
+    }
+
+    private void commonVerifyQNameStringNarrowed(final List<JClass> typeParameters) {
+        assertEquals(QName.class.getCanonicalName(), typeParameters.get(0).binaryName());
+        assertEquals(String.class.getCanonicalName(), typeParameters.get(1).binaryName());
+    }
+
+    private void commonVerifyJsArrayNarrowedClass(JClass retrieved) {
+        assertNotNull(retrieved);
+        assertEquals(JsArrayLike.class.getCanonicalName(), retrieved.erasure().binaryName());
+        assertEquals(GENERIC_TYPE_NAME, retrieved.getTypeParameters().get(0).binaryName());
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.marshallers.xjc.plugin.builders;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JType;
+import com.sun.codemodel.fmt.JTextFile;
+import gwt.jsonix.marshallers.xjc.plugin.AbstractBuilderTest;
+import gwt.jsonix.marshallers.xjc.plugin.dtos.ConstructorMapper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static gwt.jsonix.marshallers.xjc.plugin.builders.MainJsBuilder.CONSTRUCTORS_CHUNKS_PER_CLASS;
+import static gwt.jsonix.marshallers.xjc.plugin.builders.MainJsBuilder.CONSTRUCTORS_CHUNK_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MainJsBuilderTest extends AbstractBuilderTest {
+
+    /**
+     * Number of types of the synthetic model, an order of magnitude more than the whole DMN, DMNDI and KIE schemas
+     */
+    private static final int SYNTHETIC_TYPES = 20000;
+
+    private static final Pattern ASSIGNMENT_PATTERN = Pattern.compile("toSet\\[\\s*(\\d+)\\s*\\] = getJSONObjectMethod\\(\"JSIT(\\d+)\"");
+
+    private static final String MAIN_JS_CLASS_NAME = "foo.bar.MainJs";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void addGetStats() {
+        MainJsBuilder.addGetStats(jDefinedClass, jCodeModel);
+        final JMethod retrieved = jDefinedClass.getMethod("getStats", new JType[0]);
+        assertNotNull(retrieved);
+        assertEquals("jsinterop.base.JsPropertyMap<java.lang.Object>", retrieved.type().fullName());
+    }
+
+    @Test
+    public void generateMainJsRuntime() throws IOException {
+        final JTextFile retrieved = MainJsBuilder.generateMainJsRuntime(jCodeModel, "MyMainJs");
+        assertEquals("MyMainJsRuntime.js", retrieved.name());
+        assertTrue(jCodeModel.rootPackage().hasResourceFile("MyMainJsRuntime.js"));
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        retrieved.build(outputStream);
+        final String contents = new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(contents.contains("})(window['MyMainJs']);"));
+        assertTrue(contents.contains("enableLazyElements: function (context) {"));
+        assertTrue(contents.contains("enableDirtyTracking: function () {"));
+        assertTrue(contents.contains("precompileMappings: function () {"));
+        assertTrue(contents.contains("unmarshall: function (text, dynamicNamespace, callback) {"));
+        assertTrue(contents.contains("marshall: function (value, defaultNamespace, callback) {"));
+        assertFalse(contents.contains("@mainJsName@"));
+    }
+
+    @Test
+    public void addGetConstructorsMapInline() throws JClassAlreadyExistsException, IOException {
+        final JMethod getJSONObjectMethod = MainJsBuilder.addGetJSONObjectMethod(jDefinedClass, jCodeModel, false);
+        final Map<String, List<ConstructorMapper>> constructorsMap = new LinkedHashMap<>();
+        constructorsMap.put("GWT_JSONIX", Collections.singletonList(new ConstructorMapper(null, "JSIName", null)));
+        constructorsMap.put("DMN12", Arrays.asList(new ConstructorMapper("DMN12.TDefinitions", "JSITDefinitions", null),
+                                                   new ConstructorMapper("DMN12.TDefinitions.Inner", "Inner", "JSITDefinitions")));
+        MainJsBuilder.addGetConstructorsMap(constructorsMap, jDefinedClass, getJSONObjectMethod, jCodeModel, false);
+        final String source = printJDefinedClass(jDefinedClass);
+        assertTrue(source.contains("final JSONObject[] toSet = new JSONObject[] {getJSONObjectMethod(\"JSIName\", null, null), " +
+                                           "getJSONObjectMethod(\"JSITDefinitions\", \"DMN12.TDefinitions\", null), " +
+                                           "getJSONObjectMethod(\"Inner\", \"DMN12.TDefinitions.Inner\", \"JSITDefinitions\")};"));
+        assertNull(jCodeModel._getClass(TEST_CLASS_NAME + MainJsBuilder.CONSTRUCTORS + 0));
+    }
+
+    @Test
+    public void addGetConstructorsMapChunked() throws Exception {
+        final JDefinedClass mainJsClass = jCodeModel._class(MAIN_JS_CLASS_NAME);
+        final JMethod getJSONObjectMethod = MainJsBuilder.addGetJSONObjectMethod(mainJsClass, jCodeModel, false);
+        final Map<String, List<ConstructorMapper>> constructorsMap = getSyntheticConstructorsMap();
+        MainJsBuilder.addGetConstructorsMap(constructorsMap, mainJsClass, getJSONObjectMethod, jCodeModel, false);
+        final Map<String, ByteArrayOutputStream> streams = new HashMap<>();
+        jCodeModel.build(getCodeWriter(streams));
+        final String source = streams.get(MAIN_JS_CLASS_NAME.replace('.', '/') + ".java").toString();
+        assertTrue(source.contains("final JSONObject[] toSet = new JSONObject[ " + SYNTHETIC_TYPES + " ] ;"));
+        final int holderSize = CONSTRUCTORS_CHUNK_SIZE * CONSTRUCTORS_CHUNKS_PER_CLASS;
+        final int holders = (SYNTHETIC_TYPES + holderSize - 1) / holderSize;
+        final boolean[] assigned = new boolean[SYNTHETIC_TYPES];
+        for (int i = 0; i < holders; i++) {
+            final String holderName = MAIN_JS_CLASS_NAME + MainJsBuilder.CONSTRUCTORS + i;
+            assertTrue(source.contains(holderName.substring(holderName.lastIndexOf('.') + 1) + " .addConstructors(toSet);"));
+            final JDefinedClass holderClass = jCodeModel._getClass(holderName);
+            assertNotNull(holderClass);
+            assertNotNull(holderClass.getMethod(MainJsBuilder.ADD_CONSTRUCTORS + (CONSTRUCTORS_CHUNKS_PER_CLASS - 1), new JType[]{jCodeModel.ref("com.google.gwt.json.client.JSONObject").array()}));
+            final String holderSource = streams.get(holderName.replace('.', '/') + ".java").toString();
+            final Matcher matcher = ASSIGNMENT_PATTERN.matcher(holderSource);
+            while (matcher.find()) {
+                final int index = Integer.parseInt(matcher.group(1));
+                // the registration order is kept
+                assertEquals(index, Integer.parseInt(matcher.group(2)));
+                assertFalse(assigned[index]);
+                assigned[index] = true;
+            }
+        }
+        assertNull(jCodeModel._getClass(MAIN_JS_CLASS_NAME + MainJsBuilder.CONSTRUCTORS + holders));
+        for (boolean isAssigned : assigned) {
+            assertTrue(isAssigned);
+        }
+        // within the size limits of both methods and constant pools
+        streams.keySet().removeIf(name -> !name.startsWith(MAIN_JS_CLASS_NAME.replace('.', '/')));
+        compile(streams);
+    }
+
+    private Map<String, List<ConstructorMapper>> getSyntheticConstructorsMap() {
+        final Map<String, List<ConstructorMapper>> toReturn = new LinkedHashMap<>();
+        final List<ConstructorMapper> first = new ArrayList<>();
+        final List<ConstructorMapper> second = new ArrayList<>();
+        for (int i = 0; i < SYNTHETIC_TYPES; i++) {
+            final List<ConstructorMapper> module = i < SYNTHETIC_TYPES / 3 ? first : second;
+            module.add(new ConstructorMapper((module == first ? "FIRST" : "SECOND") + ".T" + i, "JSIT" + i, i % 10 == 0 ? "JSIT" + (i - 1) : null));
+        }
+        toReturn.put("FIRST", first);
+        toReturn.put("SECOND", second);
+        return toReturn;
+    }
+
+    private void compile(final Map<String, ByteArrayOutputStream> streams) throws IOException {
+        final File sources = temporaryFolder.newFolder("sources");
+        final File classes = temporaryFolder.newFolder("classes");
+        final List<String> arguments = new ArrayList<>(Arrays.asList("-d", classes.getAbsolutePath(),
+                                                                     "-proc:none",
+                                                                     "-implicit:none",
+                                                                     "-cp", System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"))));
+        for (Map.Entry<String, ByteArrayOutputStream> entry : streams.entrySet()) {
+            final File source = new File(sources, entry.getKey());
+            assertTrue(source.getParentFile().isDirectory() || source.getParentFile().mkdirs());
+            Files.write(source.toPath(), entry.getValue().toString().getBytes(StandardCharsets.UTF_8));
+            arguments.add(source.getAbsolutePath());
+        }
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        final int result = compiler.run(null, null, errors, arguments.toArray(new String[0]));
+        assertEquals(errors.toString(), 0, result);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.marshallers.xjc.plugin.builders;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JType;
+import gwt.jsonix.marshallers.xjc.plugin.AbstractBuilderTest;
+import gwt.jsonix.marshallers.xjc.plugin.dtos.ConstructorMapper;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MappingsBuilderTest extends AbstractBuilderTest {
+
+    @Test
+    public void generateJSInteropMappings() throws JClassAlreadyExistsException, IOException {
+        final JDefinedClass mainJsClass = jCodeModel._class("foo.MainJs");
+        final Map<String, List<ConstructorMapper>> constructorsMap = new LinkedHashMap<>();
+        constructorsMap.put("GWT_JSONIX", Collections.singletonList(new ConstructorMapper(null, "JSIName", null)));
+        constructorsMap.put("DMN12", Arrays.asList(new ConstructorMapper("DMN12.TDefinitions.Inner", "Inner", "JSITDefinitions"),
+                                                   new ConstructorMapper("DMN12.TDefinitions", "JSITDefinitions", null)));
+        final JDefinedClass retrieved = MappingsBuilder.generateJSInteropMappings(constructorsMap, mainJsClass, jCodeModel);
+        assertNotNull(retrieved);
+        assertEquals("foo.MainJsMappings", retrieved.fullName());
+        assertNotNull(retrieved.getMethod("precompile", new JType[0]));
+        assertNotNull(mainJsClass.getMethod("precompileMappings", new JType[0]));
+        final String source = printJDefinedClass(retrieved);
+        assertTrue(source.contains("public static native void registerConstructors() /*-{"));
+        assertTrue(source.contains("$wnd[\"JSIName\"] = function () {\n            return {};"));
+        assertTrue(source.contains("$wnd[\"JSITDefinitions\"][\"Inner\"] = function () {\n            return {\"TYPE_NAME\": \"DMN12.TDefinitions.Inner\"};"));
+        // the outer constructors are defined first
+        assertTrue(source.indexOf("$wnd[\"JSITDefinitions\"] = ") < source.indexOf("$wnd[\"JSITDefinitions\"][\"Inner\"] = "));
+        assertTrue(source.indexOf("registerConstructors();") < source.indexOf("MainJs.precompileMappings();"));
+    }
+
+    @Test
+    public void generateJSInteropMappingsWithoutMainJs() throws JClassAlreadyExistsException {
+        assertNull(MappingsBuilder.generateJSInteropMappings(Collections.emptyMap(), null, jCodeModel));
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.marshallers.xjc.plugin.builders;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JPackage;
+import com.sun.tools.xjc.Language;
+import com.sun.tools.xjc.model.CAttributePropertyInfo;
+import com.sun.tools.xjc.model.CBuiltinLeafInfo;
+import com.sun.tools.xjc.model.CClassInfo;
+import com.sun.tools.xjc.model.CCustomizations;
+import com.sun.tools.xjc.model.CElementPropertyInfo;
+import com.sun.tools.xjc.model.CTypeRef;
+import com.sun.tools.xjc.model.Model;
+import com.sun.tools.xjc.reader.Ring;
+import com.sun.xml.bind.v2.model.core.ID;
+import gwt.jsonix.marshallers.xjc.plugin.AbstractBuilderTest;
+import gwt.jsonix.marshallers.xjc.plugin.TestUtils;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MarshallerBuilderTest extends AbstractBuilderTest {
+
+    private static final String NAMESPACE = "http://www.omg.org/spec/DMN/20180521/MODEL/";
+
+    @Test
+    public void generateJSInteropMarshaller() throws JClassAlreadyExistsException, IOException {
+        final Model model = TestUtils.getNamedModel();
+        model.options.setSchemaLanguage(Language.DTD);
+        final JPackage jPackage = model.codeModel._package("org.kie");
+        final CClassInfo baseClass = new CClassInfo(model, jPackage, "TDMNElement", null, new QName(NAMESPACE, "tDMNElement"), null, null, CCustomizations.EMPTY);
+        final CClassInfo rootClass = new CClassInfo(model, jPackage, "TDecision", null, new QName(NAMESPACE, "tDecision"), new QName(NAMESPACE, "decision"), null, CCustomizations.EMPTY);
+        rootClass.setBaseClass(baseClass);
+        final Ring old = Ring.begin();
+        try {
+            Ring.add(Model.class, model);
+            baseClass.addProperty(getAttributeProperty("Id", CBuiltinLeafInfo.STRING));
+            rootClass.addProperty(getAttributeProperty("Width", CBuiltinLeafInfo.DOUBLE));
+            final CElementPropertyInfo question = new CElementPropertyInfo("Question", CElementPropertyInfo.CollectionMode.REPEATED_ELEMENT, ID.NONE, null, null, CCustomizations.EMPTY, null, false);
+            question.getTypes().add(new CTypeRef(CBuiltinLeafInfo.INT, new QName(NAMESPACE, "question"), null, false, null));
+            question.setName(false, "question");
+            rootClass.addProperty(question);
+        } finally {
+            Ring.end(old);
+        }
+        final JDefinedClass mainJsClass = jCodeModel._class("org.MainJs");
+        final JDefinedClass retrieved = MarshallerBuilder.generateJSInteropMarshaller(model, Collections.singletonMap("org.kie", "DMN12"), mainJsClass, jCodeModel);
+        assertEquals("org.MainJsMarshaller", retrieved.fullName());
+        final String source = printJDefinedClass(retrieved);
+        assertTrue(source.contains("public static native String marshall(final JavaScriptObject value, final JavaScriptObject namespaces)"));
+        assertTrue(source.contains("$wnd[\"MainJs\"].marshaller = function (value, namespaces)"));
+        assertTrue(source.contains("var n0 = new QName(\"id\");"));
+        assertTrue(source.contains("var n2 = new QName(\"" + NAMESPACE + "\", \"question\");"));
+        assertTrue(source.contains("typeName: new QName(\"" + NAMESPACE + "\", \"tDecision\"),"));
+        assertTrue(source.contains("types[\"DMN12.TDecision\"] = d1;"));
+        assertTrue(source.contains("elements[\"{" + NAMESPACE + "}decision\"] = d1;"));
+        // the properties of the base class come first
+        assertTrue(source.indexOf("writer.writeAttribute(n0, propertyValue);", source.indexOf("function m1")) < source.indexOf("writer.writeAttribute(n1, print(\"Double\", propertyValue, writer));"));
+        assertTrue(source.contains("element(writer, n2, propertyValue[index], leaf(\"Int\"));"));
+    }
+
+    @Test
+    public void generateJSInteropMarshallerWithoutMainJs() throws JClassAlreadyExistsException {
+        assertNull(MarshallerBuilder.generateJSInteropMarshaller(TestUtils.getNamedModel(), new HashMap<>(), null, jCodeModel));
+    }
+
+    @Test
+    public void getName() {
+        final Map<String, String> names = new LinkedHashMap<>();
+        assertEquals("n0", MarshallerBuilder.getName(new QName(NAMESPACE, "decision"), names));
+        assertEquals("n1", MarshallerBuilder.getName(new QName("id"), names));
+        assertEquals("n0", MarshallerBuilder.getName(new QName(NAMESPACE, "decision"), names));
+        assertEquals(2, names.size());
+    }
+
+    @Test
+    public void getQName() {
+        assertEquals("new QName(\"" + NAMESPACE + "\", \"decision\")", MarshallerBuilder.getQName("{" + NAMESPACE + "}decision"));
+        assertEquals("new QName(\"id\")", MarshallerBuilder.getQName("id"));
+    }
+
+    private CAttributePropertyInfo getAttributeProperty(String publicName, CBuiltinLeafInfo target) {
+        final CAttributePropertyInfo toReturn = new CAttributePropertyInfo(publicName, null, CCustomizations.EMPTY, null, new QName(publicName.toLowerCase()), target, null, false);
+        toReturn.setName(false, publicName.toLowerCase());
+        return toReturn;
+    }
+}
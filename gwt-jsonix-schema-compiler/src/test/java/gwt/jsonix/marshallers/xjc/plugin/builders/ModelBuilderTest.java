@@ -0,0 +1,643 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gwt.jsonix.marshallers.xjc.plugin.builders;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import javax.xml.namespace.QName;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import com.sun.codemodel.ClassType;
+import com.sun.codemodel.JAnnotationUse;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.JPackage;
+import com.sun.codemodel.JType;
+import com.sun.codemodel.JVar;
+import com.sun.tools.xjc.Language;
+import com.sun.tools.xjc.model.CAttributePropertyInfo;
+import com.sun.tools.xjc.model.CBuiltinLeafInfo;
+import com.sun.tools.xjc.model.CClassInfo;
+import com.sun.tools.xjc.model.CCustomizations;
+import com.sun.tools.xjc.model.CPluginCustomization;
+import com.sun.tools.xjc.model.Model;
+import com.sun.tools.xjc.reader.Ring;
+import gwt.jsonix.marshallers.xjc.plugin.AbstractBuilderTest;
+import gwt.jsonix.marshallers.xjc.plugin.GWTSettings;
+import gwt.jsonix.marshallers.xjc.plugin.TestUtils;
+import gwt.jsonix.marshallers.xjc.plugin.dtos.GenerationContext;
+import jsinterop.annotations.JsOverlay;
+import jsinterop.annotations.JsProperty;
+import jsinterop.base.JsArrayLike;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.jvnet.jaxb2_commons.plugin.inheritance.Customizations;
+import org.w3c.dom.Element;
+import org.xml.sax.InputSource;
+
+import static gwt.jsonix.marshallers.xjc.plugin.TestUtils.getJDefinedClass;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ModelBuilderTest extends AbstractBuilderTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void addGetTypeNameProperty() {
+        // TODO {gcardosi}: do we really have to use Mockito here?
+    }
+
+    @Test
+    public void addProperty() {
+        // TODO {gcardosi}: do we really have to use Mockito here?
+    }
+
+    @Test
+    public void addOtherAttributesProperty() throws JClassAlreadyExistsException {
+        final JDefinedClass testClass = getJDefinedClass(jCodeModel, "net.gwt.jsonix", "TestClass", null);
+        ModelBuilder.addOtherAttributesProperty(jCodeModel, testClass, referredJDefinedClass, "unused");
+        assertEquals(3, testClass.methods().size());
+        final Optional<JMethod> nativeGetterOptional = testClass.methods().stream().filter(method -> Objects.equals("getOtherAttributes", method.name())).findFirst();
+        final Optional<JMethod> nativeSetterOptional = testClass.methods().stream().filter(method -> Objects.equals("setOtherAttributes", method.name())).findFirst();
+        final Optional<JMethod> staticGetterOptional = testClass.methods().stream().filter(method -> Objects.equals("getOtherAttributesMap", method.name())).findFirst();
+        assertTrue(nativeGetterOptional.isPresent());
+        assertTrue(nativeSetterOptional.isPresent());
+        assertTrue(staticGetterOptional.isPresent());
+        final JClass propertyRef = jCodeModel.ref(Map.class).narrow(QName.class, String.class);
+        commonAddGetterMethod(nativeGetterOptional.get(), propertyRef, "OtherAttributes", JMod.PUBLIC + JMod.NATIVE, JsProperty.class);
+        commonAddSetterMethod(nativeSetterOptional.get(), propertyRef, "OtherAttributes", "otherAttributes", JMod.PUBLIC + JMod.FINAL + JMod.NATIVE, JsProperty.class);
+        commonStaticGetOtherAttributesMethod(staticGetterOptional.get(), propertyRef, testClass);
+    }
+
+    @Test
+    public void addStaticOtherAttributesGetter() throws JClassAlreadyExistsException {
+        final JDefinedClass testClass = getJDefinedClass(jCodeModel, "net.gwt.jsonix", "TestClass", null);
+        final JClass parameterRef = jCodeModel.ref(Map.class).narrow(QName.class, String.class);
+        final JMethod getMethod = testClass.method(JMod.PUBLIC + JMod.NATIVE, parameterRef, "getMethod");
+        ModelBuilder.addStaticOtherAttributesGetter(jCodeModel, testClass, getMethod, referredJDefinedClass);
+        assertEquals(2, testClass.methods().size());
+        final Optional<JMethod> retrievedOptional = testClass.methods().stream().filter(method -> Objects.equals("getOtherAttributesMap", method.name())).findFirst();
+        assertTrue(retrievedOptional.isPresent());
+        commonStaticGetOtherAttributesMethod(retrievedOptional.get(), parameterRef, testClass);
+    }
+
+    @Test
+    public void getPropertyRef() {
+        // TODO {gcardosi}: do we really have to use Mockito here?
+    }
+
+    @Test
+    public void getOrCreatePropertyRefFromCPropertyInfo() {
+        // TODO {gcardosi}: do we really have to use Mockito here?
+    }
+
+    @Test
+    public void getOrCreatePropertyRefFromOriginalClassName() {
+        // TODO {gcardosi}: do we really have to use Mockito here?
+    }
+
+    @Test
+    public void getOriginalClassName() {
+        // TODO {gcardosi}: do we really have to use Mockito here?
+    }
+
+    @Test
+    public void getPropertyClassName() {
+        // TODO {gcardosi}: do we really have to use Mockito here?
+    }
+
+    @Test
+    public void addGetterJsArrayLikePrimitive() throws JClassAlreadyExistsException {
+        JClass primitiveRef = jCodeModel.ref(Integer.class);
+        JClass jsArrayLikeRef = jCodeModel.ref(JsArrayLike.class).narrow(primitiveRef);
+        String publicPropertyName = "ParameterRef";
+        String privatePropertyName = "parameterRef";
+        final JDefinedClass retrieved = commonAddGetter(jsArrayLikeRef, 5, publicPropertyName, privatePropertyName);
+        Optional<JMethod> optionalListGetter = retrieved.methods().stream().filter(jMethod -> Objects.equals("get" + publicPropertyName, jMethod.name())).findFirst();
+        Optional<JMethod> optionalAdd = retrieved.methods().stream().filter(jMethod -> Objects.equals("add" + publicPropertyName, jMethod.name())).findFirst();
+        Optional<JMethod> optionalAddAll = retrieved.methods().stream().filter(jMethod -> Objects.equals("addAll" + publicPropertyName, jMethod.name())).findFirst();
+        Optional<JMethod> optionalRemove = retrieved.methods().stream().filter(jMethod -> Objects.equals("remove" + publicPropertyName, jMethod.name())).findFirst();
+        Optional<JMethod> optionalNativeGetter = retrieved.methods().stream().filter(jMethod -> Objects.equals("getNative" + publicPropertyName, jMethod.name())).findFirst();
+        assertTrue(optionalListGetter.isPresent());
+        assertTrue(optionalAdd.isPresent());
+        assertTrue(optionalAddAll.isPresent());
+        assertTrue(optionalRemove.isPresent());
+        assertTrue(optionalNativeGetter.isPresent());
+        commonAddGetterMethod(optionalListGetter.get(), jCodeModel.ref(List.class).narrow(primitiveRef), publicPropertyName, JMod.PUBLIC + JMod.FINAL, JsOverlay.class);
+        commonParamMethod("add", optionalAdd.get(), primitiveRef.unboxify(), publicPropertyName, "element", JMod.PUBLIC + JMod.FINAL, JsOverlay.class);
+        commonVarargMethod("addAll", optionalAddAll.get(), primitiveRef.unboxify().array(), publicPropertyName, "elements", JMod.PUBLIC + JMod.FINAL, JsOverlay.class);
+        commonParamMethod("remove", optionalRemove.get(), jCodeModel._ref(int.class), publicPropertyName, "index", JMod.PUBLIC + JMod.FINAL, JsOverlay.class);
+        commonAddGetterMethod(optionalNativeGetter.get(), jsArrayLikeRef, "Native" + publicPropertyName, JMod.PUBLIC + JMod.NATIVE, JsProperty.class);
+    }
+
+    @Test
+    public void addGetterJsArrayLikeNotPrimitive() throws JClassAlreadyExistsException {
+        JClass jsArrayLikeRef = jCodeModel.ref(JsArrayLike.class).narrow(parameterRef);
+        String publicPropertyName = "ParameterRef";
+        String privatePropertyName = "parameterRef";
+        final JDefinedClass retrieved = commonAddGetter(jsArrayLikeRef, 5, publicPropertyName, privatePropertyName);
+        Optional<JMethod> optionalListGetter = retrieved.methods().stream().filter(jMethod -> Objects.equals("get" + publicPropertyName, jMethod.name())).findFirst();
+        Optional<JMethod> optionalAdd = retrieved.methods().stream().filter(jMethod -> Objects.equals("add" + publicPropertyName, jMethod.name())).findFirst();
+        Optional<JMethod> optionalAddAll = retrieved.methods().stream().filter(jMethod -> Objects.equals("addAll" + publicPropertyName, jMethod.name())).findFirst();
+        Optional<JMethod> optionalRemove = retrieved.methods().stream().filter(jMethod -> Objects.equals("remove" + publicPropertyName, jMethod.name())).findFirst();
+        Optional<JMethod> optionalNativeGetter = retrieved.methods().stream().filter(jMethod -> Objects.equals("getNative" + publicPropertyName, jMethod.name())).findFirst();
+        assertTrue(optionalListGetter.isPresent());
+        assertTrue(optionalAdd.isPresent());
+        assertTrue(optionalAddAll.isPresent());
+        assertTrue(optionalRemove.isPresent());
+        assertTrue(optionalNativeGetter.isPresent());
+        commonAddGetterMethod(optionalListGetter.get(), jCodeModel.ref(List.class).narrow(parameterRef), publicPropertyName, JMod.PUBLIC + JMod.FINAL, JsOverlay.class);
+        commonParamMethod("add", optionalAdd.get(), optionalAdd.get().generify("D", parameterRef), publicPropertyName, "element", JMod.PUBLIC + JMod.FINAL, JsOverlay.class);
+        commonVarargMethod("addAll", optionalAddAll.get(), optionalAdd.get().generify("D", parameterRef).array(), publicPropertyName, "elements", JMod.PUBLIC + JMod.FINAL, JsOverlay.class);
+        commonParamMethod("remove", optionalRemove.get(), jCodeModel._ref(int.class), publicPropertyName, "index", JMod.PUBLIC + JMod.FINAL, JsOverlay.class);
+        commonAddGetterMethod(optionalNativeGetter.get(), jsArrayLikeRef, "Native" + publicPropertyName, JMod.PUBLIC + JMod.NATIVE, JsProperty.class);
+    }
+
+    @Test
+    public void addGetterArray() throws JClassAlreadyExistsException {
+        JClass arrayRef = parameterRef.array();
+        String publicPropertyName = "ParameterRef";
+        String privatePropertyName = "parameterRef";
+        final JDefinedClass retrieved = commonAddGetter(arrayRef, 5, publicPropertyName, privatePropertyName);
+        Optional<JMethod> optionalListGetter = retrieved.methods().stream().filter(jMethod -> Objects.equals("get" + publicPropertyName, jMethod.name())).findFirst();
+        Optional<JMethod> optionalAdd = retrieved.methods().stream().filter(jMethod -> Objects.equals("add" + publicPropertyName, jMethod.name())).findFirst();
+        Optional<JMethod> optionalAddAll = retrieved.methods().stream().filter(jMethod -> Objects.equals("addAll" + publicPropertyName, jMethod.name())).findFirst();
+        Optional<JMethod> optionalRemove = retrieved.methods().stream().filter(jMethod -> Objects.equals("remove" + publicPropertyName, jMethod.name())).findFirst();
+        Optional<JMethod> optionalNativeGetter = retrieved.methods().stream().filter(jMethod -> Objects.equals("getNative" + publicPropertyName, jMethod.name())).findFirst();
+        assertTrue(optionalListGetter.isPresent());
+        assertTrue(optionalAdd.isPresent());
+        assertTrue(optionalAddAll.isPresent());
+        assertTrue(optionalRemove.isPresent());
+        assertTrue(optionalNativeGetter.isPresent());
+        commonAddGetterMethod(optionalListGetter.get(), jCodeModel.ref(List.class).narrow(parameterRef), publicPropertyName, JMod.PUBLIC + JMod.FINAL, JsOverlay.class);
+        commonParamMethod("add", optionalAdd.get(), parameterRef, publicPropertyName, "element", JMod.PUBLIC + JMod.FINAL, JsOverlay.class);
+        commonVarargMethod("addAll", optionalAddAll.get(), arrayRef, publicPropertyName, "elements", JMod.PUBLIC + JMod.FINAL, JsOverlay.class);
+        commonParamMethod("remove", optionalRemove.get(), jCodeModel._ref(int.class), publicPropertyName, "index", JMod.PUBLIC + JMod.FINAL, JsOverlay.class);
+        commonAddGetterMethod(optionalNativeGetter.get(), arrayRef, "Native" + publicPropertyName, JMod.PUBLIC + JMod.NATIVE, JsProperty.class);
+    }
+
+    @Test
+    public void addGetterJsArrayLikeLazy() throws JClassAlreadyExistsException {
+        JClass jsArrayLikeRef = jCodeModel.ref(JsArrayLike.class).narrow(parameterRef);
+        String publicPropertyName = "ParameterRef";
+        String privatePropertyName = "parameterRef";
+        JDefinedClass testClass = getJDefinedClass(jCodeModel, "net.gwt.jsonix", "TestClass", null);
+        ModelBuilder.addGetter(jCodeModel, testClass, referredJDefinedClass, jsArrayLikeRef, publicPropertyName, privatePropertyName, true);
+        assertEquals(5, testClass.methods().size());
+        Optional<JMethod> optionalNativeGetter = testClass.methods().stream().filter(jMethod -> Objects.equals("getNative" + publicPropertyName, jMethod.name())).findFirst();
+        assertTrue(optionalNativeGetter.isPresent());
+        commonAddGetterMethod(optionalNativeGetter.get(), jsArrayLikeRef, "Native" + publicPropertyName, JMod.PUBLIC + JMod.FINAL, JsOverlay.class);
+    }
+
+    @Test
+    public void addGetterSimpleLazy() throws JClassAlreadyExistsException, IOException {
+        String publicPropertyName = "ParameterRef";
+        String privatePropertyName = "parameterRef";
+        JDefinedClass testClass = getJDefinedClass(jCodeModel, "net.gwt.jsonix", "TestClass", null);
+        ModelBuilder.addGetter(jCodeModel, testClass, referredJDefinedClass, parameterRef, publicPropertyName, privatePropertyName, true);
+        assertEquals(1, testClass.methods().size());
+        commonAddGetterMethod(testClass.methods().iterator().next(), parameterRef, publicPropertyName, JMod.PUBLIC + JMod.FINAL, JsOverlay.class);
+        // the materialized Jsonix instance is not checked against the constructor of the native type
+        assertTrue(printJDefinedClass(testClass).contains("return Js.uncheckedCast(" + referredJDefinedClass.name() + ".getMaterialized(this, \"parameterRef\"));"));
+    }
+
+    @Test
+    public void isMatchingElementName() {
+        final QName elementName = new QName("http://www.omg.org/spec/DMN/20180521/MODEL/", "DMNDI");
+        assertTrue(ModelBuilder.isMatchingElementName(new QName("DMNDI"), elementName));
+        assertTrue(ModelBuilder.isMatchingElementName(new QName("http://www.omg.org/spec/DMN/20180521/MODEL/", "DMNDI"), elementName));
+        assertFalse(ModelBuilder.isMatchingElementName(new QName("http://www.drools.org/kie/dmn/1.2", "DMNDI"), elementName));
+        assertFalse(ModelBuilder.isMatchingElementName(new QName("DMNShape"), elementName));
+    }
+
+    @Test
+    public void getReachableBeans() {
+        final Model model = TestUtils.getModel();
+        // avoids the XML Schema bindings lookup when creating CClassInfos outside of an XJC run
+        model.options.setSchemaLanguage(Language.DTD);
+        final JPackage jPackage = model.codeModel._package("org.kie");
+        final String namespace = "http://www.omg.org/spec/DMN/20180521/MODEL/";
+        final CClassInfo baseClass = new CClassInfo(model, jPackage, "TDMNElement", null, new QName(namespace, "tDMNElement"), null, null, CCustomizations.EMPTY);
+        final CClassInfo rootClass = new CClassInfo(model, jPackage, "Definitions", null, null, new QName(namespace, "definitions"), null, CCustomizations.EMPTY);
+        rootClass.setBaseClass(baseClass);
+        final CClassInfo innerClass = new CClassInfo(model, rootClass, "Inner", null, null, null, null, CCustomizations.EMPTY);
+        final CClassInfo otherClass = new CClassInfo(model, jPackage, "DMNDI", null, null, new QName(namespace, "DMNDI"), null, CCustomizations.EMPTY);
+        Collection<CClassInfo> retrieved = ModelBuilder.getReachableBeans(model, Collections.singletonList(new QName("definitions")));
+        assertEquals(2, retrieved.size());
+        assertTrue(retrieved.containsAll(Arrays.asList(rootClass, baseClass)));
+        retrieved = ModelBuilder.getReachableBeans(model, Collections.singletonList(new QName(namespace, "DMNDI")));
+        assertEquals(Collections.singletonList(otherClass), new ArrayList<>(retrieved));
+        final CClassInfo shapeClass = new CClassInfo(model, jPackage, "DMNShape", null, null, new QName(namespace, "DMNShape"), null, CCustomizations.EMPTY);
+        shapeClass.setBaseClass(innerClass);
+        retrieved = ModelBuilder.getReachableBeans(model, Collections.singletonList(new QName(namespace, "DMNShape")));
+        assertEquals(4, retrieved.size());
+        assertTrue(retrieved.containsAll(Arrays.asList(shapeClass, innerClass, rootClass, baseClass)));
+        retrieved = ModelBuilder.getReachableBeans(model, Collections.singletonList(new QName("tDMNElement")));
+        assertEquals(Collections.singletonList(baseClass), new ArrayList<>(retrieved));
+        assertTrue(ModelBuilder.getReachableBeans(model, Collections.singletonList(new QName("missing"))).isEmpty());
+    }
+
+    @Test
+    public void getCompactName() {
+        assertEquals("a", ModelBuilder.getCompactName(0));
+        assertEquals("z", ModelBuilder.getCompactName(25));
+        assertEquals("aa", ModelBuilder.getCompactName(26));
+        assertEquals("az", ModelBuilder.getCompactName(51));
+        assertEquals("ba", ModelBuilder.getCompactName(52));
+        assertEquals("zz", ModelBuilder.getCompactName(701));
+        assertEquals("aaa", ModelBuilder.getCompactName(702));
+    }
+
+    @Test
+    public void compactPropertyNames() {
+        final Model model = TestUtils.getModel();
+        model.options.setSchemaLanguage(Language.DTD);
+        final JPackage jPackage = model.codeModel._package("org.kie");
+        final CClassInfo baseClass = new CClassInfo(model, jPackage, "TDMNElement", null, null, null, null, CCustomizations.EMPTY);
+        final CClassInfo subClass = new CClassInfo(model, jPackage, "TDecision", null, null, null, null, CCustomizations.EMPTY);
+        subClass.setBaseClass(baseClass);
+        // properties look up the Model in the Ring of the current XJC run
+        final Ring old = Ring.begin();
+        try {
+            Ring.add(Model.class, model);
+            baseClass.addProperty(getAttributeProperty("Id"));
+            baseClass.addProperty(getAttributeProperty("Label"));
+            subClass.addProperty(getAttributeProperty("Question"));
+        } finally {
+            Ring.end(old);
+        }
+        ModelBuilder.compactPropertyNames(model);
+        assertEquals(Arrays.asList("a", "b"), baseClass.getProperties().stream().map(cPropertyInfo -> cPropertyInfo.getName(false)).collect(Collectors.toList()));
+        assertEquals("c", subClass.getProperties().get(0).getName(false));
+        assertEquals("Question", subClass.getProperties().get(0).getName(true));
+    }
+
+    private CAttributePropertyInfo getAttributeProperty(String publicName) {
+        return new CAttributePropertyInfo(publicName, null, CCustomizations.EMPTY, null, new QName(publicName.toLowerCase()), CBuiltinLeafInfo.STRING, null, false);
+    }
+
+    @Test
+    public void addGetterSimple() throws JClassAlreadyExistsException {
+        String publicPropertyName = "ParameterRef";
+        String privatePropertyName = "parameterRef";
+        final JDefinedClass retrieved = commonAddGetter(parameterRef, 1, publicPropertyName, privatePropertyName);
+        commonAddGetterMethod(retrieved.methods().iterator().next(), parameterRef, publicPropertyName, JMod.PUBLIC + JMod.NATIVE, JsProperty.class);
+    }
+
+    @Test
+    public void addSetterJsArrayLike() throws JClassAlreadyExistsException {
+        JClass jsArrayLikeRef = jCodeModel.ref(JsArrayLike.class).narrow(parameterRef);
+        String publicPropertyName = "ParameterRef";
+        String privatePropertyName = "parameterRef";
+        final JDefinedClass retrieved = commonAddSetter(jsArrayLikeRef, 2, publicPropertyName, privatePropertyName);
+        Optional<JMethod> optionalListSetter = retrieved.methods().stream().filter(jMethod -> Objects.equals("set" + publicPropertyName, jMethod.name())).findFirst();
+        Optional<JMethod> optionalNativeSetter = retrieved.methods().stream().filter(jMethod -> Objects.equals("setNative" + publicPropertyName, jMethod.name())).findFirst();
+        assertTrue(optionalListSetter.isPresent());
+        assertTrue(optionalNativeSetter.isPresent());
+        commonAddSetterMethod(optionalListSetter.get(), jCodeModel.ref(List.class).narrow(parameterRef), publicPropertyName, privatePropertyName, JMod.PUBLIC + JMod.FINAL, JsOverlay.class);
+        commonAddSetterMethod(optionalNativeSetter.get(), jsArrayLikeRef, "Native" + publicPropertyName, privatePropertyName, JMod.PUBLIC + JMod.FINAL + JMod.NATIVE, JsProperty.class);
+    }
+
+    @Test
+    public void addSetterArray() throws JClassAlreadyExistsException {
+        JClass arrayRef = parameterRef.array();
+        String publicPropertyName = "ParameterRef";
+        String privatePropertyName = "parameterRef";
+        final JDefinedClass retrieved = commonAddSetter(arrayRef, 2, publicPropertyName, privatePropertyName);
+        Optional<JMethod> optionalListSetter = retrieved.methods().stream().filter(jMethod -> Objects.equals("set" + publicPropertyName, jMethod.name())).findFirst();
+        Optional<JMethod> optionalNativeSetter = retrieved.methods().stream().filter(jMethod -> Objects.equals("setNative" + publicPropertyName, jMethod.name())).findFirst();
+        assertTrue(optionalListSetter.isPresent());
+        assertTrue(optionalNativeSetter.isPresent());
+        commonAddSetterMethod(optionalListSetter.get(), jCodeModel.ref(List.class).narrow(parameterRef), publicPropertyName, privatePropertyName, JMod.PUBLIC + JMod.FINAL, JsOverlay.class);
+        commonAddSetterMethod(optionalNativeSetter.get(), arrayRef, "Native" + publicPropertyName, privatePropertyName, JMod.PUBLIC + JMod.FINAL + JMod.NATIVE, JsProperty.class);
+    }
+
+    @Test
+    public void addSetterSimple() throws JClassAlreadyExistsException {
+        String publicPropertyName = "ParameterRef";
+        String privatePropertyName = "parameterRef";
+        final JDefinedClass retrieved = commonAddSetter(parameterRef, 1, publicPropertyName, privatePropertyName);
+        commonAddSetterMethod(retrieved.methods().iterator().next(), parameterRef, publicPropertyName, privatePropertyName, JMod.PUBLIC + JMod.FINAL + JMod.NATIVE, JsProperty.class);
+    }
+
+    @Test
+    public void addSetterSimpleTracked() throws JClassAlreadyExistsException {
+        String publicPropertyName = "ParameterRef";
+        String privatePropertyName = "parameterRef";
+        JDefinedClass testClass = getJDefinedClass(jCodeModel, "net.gwt.jsonix", "TestClass", null);
+        ModelBuilder.addSetter(jCodeModel, testClass, parameterRef, publicPropertyName, privatePropertyName, referredJDefinedClass, true);
+        assertEquals(1, testClass.methods().size());
+        final JMethod retrieved = testClass.methods().iterator().next();
+        commonAddSetterMethod(retrieved, parameterRef, publicPropertyName, privatePropertyName, JMod.PUBLIC + JMod.FINAL, JsOverlay.class);
+        assertEquals(1, retrieved.body().getContents().size());
+    }
+
+    @Test
+    public void addSetterPrimitiveTracked() throws JClassAlreadyExistsException, IOException {
+        JDefinedClass testClass = getJDefinedClass(jCodeModel, "net.gwt.jsonix", "TestClass", null);
+        ModelBuilder.addSetter(jCodeModel, testClass, jCodeModel.ref("int"), "Quantity", "quantity", referredJDefinedClass, true);
+        ModelBuilder.addSetter(jCodeModel, testClass, jCodeModel.ref("double"), "Price", "price", referredJDefinedClass, true);
+        final String printed = printJDefinedClass(testClass);
+        // GWT would box the int passed as Object, while it passes the double as a plain js number
+        assertTrue(printed.contains(referredJDefinedClass.name() + ".setTracked(this, \"quantity\", ((double) quantityParam));"));
+        assertTrue(printed.contains(referredJDefinedClass.name() + ".setTracked(this, \"price\", priceParam);"));
+    }
+
+    @Test
+    public void addSetterJsArrayLikeTracked() throws JClassAlreadyExistsException {
+        JClass jsArrayLikeRef = jCodeModel.ref(JsArrayLike.class).narrow(parameterRef);
+        String publicPropertyName = "ParameterRef";
+        String privatePropertyName = "parameterRef";
+        JDefinedClass testClass = getJDefinedClass(jCodeModel, "net.gwt.jsonix", "TestClass", null);
+        final List<JMethod> inPlaceMutators = ModelBuilder.addGetter(jCodeModel, testClass, referredJDefinedClass, jsArrayLikeRef, publicPropertyName, privatePropertyName);
+        assertEquals(Arrays.asList("add" + publicPropertyName, "addAll" + publicPropertyName, "remove" + publicPropertyName), inPlaceMutators.stream().map(JMethod::name).collect(Collectors.toList()));
+        final Optional<JMethod> optionalRemove = testClass.methods().stream().filter(jMethod -> Objects.equals("remove" + publicPropertyName, jMethod.name())).findFirst();
+        assertTrue(optionalRemove.isPresent());
+        final int originalRemoveStatements = optionalRemove.get().body().getContents().size();
+        ModelBuilder.addSetter(jCodeModel, testClass, jsArrayLikeRef, publicPropertyName, privatePropertyName, referredJDefinedClass, true, true, true, inPlaceMutators, memberName -> true);
+        assertEquals(7, testClass.methods().size());
+        Optional<JMethod> optionalNativeSetter = testClass.methods().stream().filter(jMethod -> Objects.equals("setNative" + publicPropertyName, jMethod.name())).findFirst();
+        assertTrue(optionalNativeSetter.isPresent());
+        commonAddSetterMethod(optionalNativeSetter.get(), jsArrayLikeRef, "Native" + publicPropertyName, privatePropertyName, JMod.PUBLIC + JMod.FINAL, JsOverlay.class);
+        // copyOnWrite and updateIdIndex (for the removed item) invocations prepended and markDirty invocation appended
+        assertEquals(originalRemoveStatements + 3, optionalRemove.get().body().getContents().size());
+    }
+
+    @Test
+    public void addSetterJsArrayLikeTrackedOnly() throws JClassAlreadyExistsException, IOException {
+        JClass jsArrayLikeRef = jCodeModel.ref(JsArrayLike.class).narrow(parameterRef);
+        JDefinedClass testClass = getJDefinedClass(jCodeModel, "net.gwt.jsonix", "TestClass", null);
+        final List<JMethod> inPlaceMutators = ModelBuilder.addGetter(jCodeModel, testClass, referredJDefinedClass, jsArrayLikeRef, "ParameterRef", "parameterRef");
+        ModelBuilder.addSetter(jCodeModel, testClass, jsArrayLikeRef, "ParameterRef", "parameterRef", referredJDefinedClass, true, false, false, inPlaceMutators, memberName -> true);
+        final String source = printJDefinedClass(testClass);
+        assertTrue(source, source.contains(referredJDefinedClass.name() + ".markDirty(this, getNativeParameterRef());"));
+        assertFalse(source, source.contains("copyOnWrite"));
+        assertFalse(source, source.contains("updateIdIndex"));
+    }
+
+    @Test
+    public void addAccessorsProfiled() throws JClassAlreadyExistsException, IOException {
+        final File profile = temporaryFolder.newFile("accessors.txt");
+        Files.write(profile.toPath(), Arrays.asList("# used members", "JSITestClass.addParameterRef", "getName"));
+        final GWTSettings settings = new GWTSettings();
+        settings.setAccessorProfile(profile.getAbsolutePath());
+        assertFalse(ModelBuilder.isDeepHelpersRequired(settings));
+        final JClass jsArrayLikeRef = jCodeModel.ref(JsArrayLike.class).narrow(parameterRef);
+        final JDefinedClass testClass = getJDefinedClass(jCodeModel, "net.gwt.jsonix", "TestClass", null);
+        final Predicate<String> isRequired = ModelBuilder.getRequiredAccessors(jsArrayLikeRef, "ParameterRef", settings);
+        final List<JMethod> inPlaceMutators = ModelBuilder.addGetter(jCodeModel, testClass, referredJDefinedClass, jsArrayLikeRef, "ParameterRef", "parameterRef", false, isRequired);
+        ModelBuilder.addSetter(jCodeModel, testClass, jsArrayLikeRef, "ParameterRef", "parameterRef", referredJDefinedClass, false, false, false, inPlaceMutators, isRequired);
+        // add requires the native getter and setter
+        assertEquals(Arrays.asList("addParameterRef", "getNativeParameterRef", "setNativeParameterRef"), testClass.methods().stream().map(JMethod::name).collect(Collectors.toList()));
+        final Predicate<String> isNameRequired = ModelBuilder.getRequiredAccessors(stringClass, "Name", settings);
+        ModelBuilder.addGetter(jCodeModel, testClass, referredJDefinedClass, stringClass, "Name", "name", false, isNameRequired);
+        ModelBuilder.addSetter(jCodeModel, testClass, stringClass, "Name", "name", referredJDefinedClass, false, false, false, Collections.emptyList(), isNameRequired);
+        assertEquals(5, testClass.methods().size());
+        final Predicate<String> isUnusedRequired = ModelBuilder.getRequiredAccessors(stringClass, "Description", settings);
+        ModelBuilder.addGetter(jCodeModel, testClass, referredJDefinedClass, stringClass, "Description", "description", false, isUnusedRequired);
+        ModelBuilder.addSetter(jCodeModel, testClass, stringClass, "Description", "description", referredJDefinedClass, false, false, false, Collections.emptyList(), isUnusedRequired);
+        assertEquals(5, testClass.methods().size());
+    }
+
+    @Test
+    public void isDeepHelpersRequired() throws IOException {
+        final GWTSettings settings = new GWTSettings();
+        assertFalse(ModelBuilder.isDeepHelpersRequired(settings));
+        settings.setDeepHelpers(true);
+        assertTrue(ModelBuilder.isDeepHelpersRequired(settings));
+        final File source = temporaryFolder.newFile("Used.java");
+        Files.write(source.toPath(), Collections.singletonList("class Used { Object copied(JSITDefinitions d) { return JSITDefinitions.copy(d); } }"));
+        settings.setAccessorProfile(source.getAbsolutePath());
+        assertTrue(ModelBuilder.isDeepHelpersRequired(settings));
+        assertTrue(ModelBuilder.getRequiredAccessors(stringClass, "Name", settings).test("setName"));
+    }
+
+    @Test
+    public void addDeepHelperMethods() throws JClassAlreadyExistsException, IOException {
+        final JDefinedClass testClass = getJDefinedClass(jCodeModel, "net.gwt.jsonix", "TestClass", null);
+        final JDefinedClass subClass = getJDefinedClass(jCodeModel, "net.gwt.jsonix", "SubClass", null);
+        final JClass jsArrayLikeRef = jCodeModel.ref(JsArrayLike.class).narrow(testClass);
+        ModelBuilder.addGetter(jCodeModel, testClass, referredJDefinedClass, stringClass, "Name", "name");
+        ModelBuilder.addSetter(jCodeModel, testClass, stringClass, "Name", "name", referredJDefinedClass);
+        ModelBuilder.addGetter(jCodeModel, testClass, referredJDefinedClass, jsArrayLikeRef, "Children", "children");
+        ModelBuilder.addSetter(jCodeModel, testClass, jsArrayLikeRef, "Children", "children", referredJDefinedClass);
+        final List<JMethod> getters = Arrays.asList(testClass.getMethod("getName", new JType[0]), testClass.getMethod("getNativeChildren", new JType[0]));
+        final Map<String, JDefinedClass> copyableClasses = new HashMap<>();
+        copyableClasses.put(testClass.fullName(), testClass);
+        copyableClasses.put(subClass.fullName(), subClass);
+        final int originalMethods = testClass.methods().size();
+
+        ModelBuilder.addCopyMethod(jCodeModel, testClass, referredJDefinedClass, getters, Collections.singletonList(subClass), copyableClasses);
+        ModelBuilder.addDeepEqualsMethod(jCodeModel, testClass, referredJDefinedClass, getters, Collections.singletonList(subClass), copyableClasses);
+        ModelBuilder.addDeepHashCodeMethod(jCodeModel, testClass, referredJDefinedClass, getters, Collections.singletonList(subClass), copyableClasses);
+        assertEquals(originalMethods + 3, testClass.methods().size());
+
+        final JMethod copyMethod = testClass.getMethod("copy", new JType[]{testClass});
+        assertNotNull(copyMethod);
+        assertEquals(testClass, copyMethod.type());
+        assertEquals(JMod.PUBLIC + JMod.STATIC, copyMethod.mods().getValue());
+        assertEquals(JsOverlay.class.getCanonicalName(), copyMethod.annotations().iterator().next().getAnnotationClass().binaryName());
+        final JMethod deepEqualsMethod = testClass.getMethod("deepEquals", new JType[]{testClass, testClass});
+        assertNotNull(deepEqualsMethod);
+        assertEquals(jCodeModel.BOOLEAN, deepEqualsMethod.type());
+        final JMethod deepHashCodeMethod = testClass.getMethod("deepHashCode", new JType[]{testClass});
+        assertNotNull(deepHashCodeMethod);
+        assertEquals(jCodeModel.INT, deepHashCodeMethod.type());
+        // the array items are plain Jsonix objects, that a checked cast would reject
+        final String source = printJDefinedClass(testClass);
+        assertTrue(source, source.contains("TestClass.copy(Js.uncheckedCast(source.getAt(i)))"));
+        assertTrue(source, source.contains("TestClass.deepEquals(Js.uncheckedCast(leftItems.getAt(i)), Js.uncheckedCast(rightItems.getAt(i)))"));
+        assertTrue(source, source.contains("TestClass.deepHashCode(Js.uncheckedCast(items.getAt(i)))"));
+    }
+
+    @Test
+    public void addDeepHelperMethodsValues() throws JClassAlreadyExistsException, IOException {
+        final JDefinedClass testClass = getJDefinedClass(jCodeModel, "net.gwt.jsonix", "TestClass", null);
+        ModelBuilder.addGetter(jCodeModel, testClass, referredJDefinedClass, jCodeModel.ref("int"), "Quantity", "quantity");
+        ModelBuilder.addSetter(jCodeModel, testClass, jCodeModel.ref("int"), "Quantity", "quantity", referredJDefinedClass);
+        ModelBuilder.addGetter(jCodeModel, testClass, referredJDefinedClass, jCodeModel.ref(QName.class), "Kind", "kind");
+        ModelBuilder.addSetter(jCodeModel, testClass, jCodeModel.ref(QName.class), "Kind", "kind", referredJDefinedClass);
+        final List<JMethod> getters = Arrays.asList(testClass.getMethod("getQuantity", new JType[0]), testClass.getMethod("getKind", new JType[0]));
+        assertEquals(jCodeModel.INT, ModelBuilder.getPropertyType(jCodeModel, getters.get(0)));
+        final Map<String, JDefinedClass> copyableClasses = Collections.singletonMap(testClass.fullName(), testClass);
+
+        ModelBuilder.addCopyMethod(jCodeModel, testClass, referredJDefinedClass, getters, Collections.emptyList(), copyableClasses);
+        ModelBuilder.addDeepEqualsMethod(jCodeModel, testClass, referredJDefinedClass, getters, Collections.emptyList(), copyableClasses);
+        ModelBuilder.addDeepHashCodeMethod(jCodeModel, testClass, referredJDefinedClass, getters, Collections.emptyList(), copyableClasses);
+        final String source = printJDefinedClass(testClass);
+        // the primitive values are neither boxed nor handed over to the generic helpers
+        assertTrue(source, source.contains("toReturn.setQuantity(original.getQuantity());"));
+        assertTrue(source, source.contains("if (left.getQuantity()!= right.getQuantity()) {"));
+        assertTrue(source, source.contains("result = ((31 *result)+ " + referredJDefinedClass.name() + ".deepHashCode(((double) instance.getQuantity())));"));
+        assertFalse(source, source.contains(referredJDefinedClass.name() + ".deepCopy"));
+        // the QNames are shared by the copies, but compared by structure
+        assertTrue(source, source.contains("toReturn.setKind(original.getKind());"));
+        assertTrue(source, source.contains(referredJDefinedClass.name() + ".deepEquals(left.getKind(), right.getKind())"));
+    }
+
+    @Test
+    public void isValueType() throws JClassAlreadyExistsException {
+        assertTrue(ModelBuilder.isValueType(jCodeModel.INT));
+        assertTrue(ModelBuilder.isValueType(jCodeModel.ref(Integer.class)));
+        assertTrue(ModelBuilder.isValueType(stringClass));
+        assertTrue(ModelBuilder.isValueType(jCodeModel._class("net.gwt.jsonix.TestEnum", ClassType.ENUM)));
+        assertFalse(ModelBuilder.isValueType(referredJDefinedClass));
+        assertFalse(ModelBuilder.isValueType(jCodeModel.ref(JsArrayLike.class).narrow(stringClass)));
+    }
+
+    @Test
+    public void getCopyableItemClass() {
+        final Map<String, JDefinedClass> copyableClasses = Collections.singletonMap(referredJDefinedClass.fullName(), referredJDefinedClass);
+        assertEquals(referredJDefinedClass, ModelBuilder.getCopyableClass(jCodeModel.ref(REFERRED_CLASS_NAME), copyableClasses));
+        assertEquals(referredJDefinedClass, ModelBuilder.getCopyableItemClass(jCodeModel.ref(JsArrayLike.class).narrow(referredJDefinedClass), copyableClasses));
+        assertNull(ModelBuilder.getCopyableItemClass(jCodeModel.ref(JsArrayLike.class).narrow(stringClass), copyableClasses));
+        assertNull(ModelBuilder.getCopyableItemClass(referredJDefinedClass, copyableClasses));
+    }
+
+    @Test
+    public void parseClass() {
+        String fullName = "foo.bar.Fake";
+        final JClass retrieved = ModelBuilder.parseClass(fullName, jCodeModel, new HashMap<>());
+        assertNotNull(retrieved);
+        assertEquals(fullName, retrieved.fullName());
+    }
+
+    @Test
+    public void getFromExtendsClassCustomization() throws Exception {
+        final GenerationContext generationContext = new GenerationContext(null, null, null);
+        final Map<String, JClass> definedClassesMap = new HashMap<>();
+        final JClass retrieved = ModelBuilder.getFromExtendsClassCustomization(definedClassesMap, jCodeModel, getExtendsCustomization("foo.bar.Fake"), generationContext);
+        assertEquals("foo.bar.Fake", retrieved.fullName());
+        // an equal customization, applied to another type, is not decoded again
+        assertEquals("foo.bar.Fake", ModelBuilder.getFromExtendsClassCustomization(definedClassesMap, jCodeModel, getExtendsCustomization("foo.bar.Fake"), generationContext).fullName());
+        assertEquals("foo.bar.Other", ModelBuilder.getFromExtendsClassCustomization(definedClassesMap, jCodeModel, getExtendsCustomization("foo.bar.Other"), generationContext).fullName());
+        assertEquals(2, generationContext.getDecodedCustomizations().size());
+        assertEquals(1, generationContext.getAvoidedDecodes());
+        assertSame(generationContext.getTypeParser(definedClassesMap), generationContext.getTypeParser(definedClassesMap));
+    }
+
+    @Test
+    public void getCustomizationKey() throws Exception {
+        assertEquals(ModelBuilder.getCustomizationKey(getExtendsCustomization("foo.bar.Fake").element), ModelBuilder.getCustomizationKey(getExtendsCustomization(" foo.bar.Fake ").element));
+        assertNotEquals(ModelBuilder.getCustomizationKey(getExtendsCustomization("foo.bar.Fake").element), ModelBuilder.getCustomizationKey(getExtendsCustomization("foo.bar.Other").element));
+    }
+
+    @Test
+    public void getJNIRepresentation() throws JClassAlreadyExistsException {
+        JDefinedClass testClass = getJDefinedClass(jCodeModel, "net.gwt.jsonix", "TestClass", null);
+        String retrieved = ModelBuilder.getJNIRepresentation(testClass);
+        assertEquals("Lnet/gwt/jsonix/TestClass", retrieved);
+        testClass = getJDefinedClass(jCodeModel, "net.gwt.jsonix", "TestClass", "OuterClass");
+        retrieved = ModelBuilder.getJNIRepresentation(testClass);
+        assertEquals("Lnet/gwt/jsonix/OuterClass$TestClass", retrieved);
+    }
+
+    private JDefinedClass commonAddGetter(JClass propertyRef, int expectedMethods, String publicPropertyName, String privatePropertyName) throws JClassAlreadyExistsException {
+        JDefinedClass testClass = getJDefinedClass(jCodeModel, "net.gwt.jsonix", "TestClass", null);
+        ModelBuilder.addGetter(jCodeModel, testClass, referredJDefinedClass, propertyRef, publicPropertyName, privatePropertyName);
+        assertNotNull(testClass);
+        assertEquals(expectedMethods, testClass.methods().size());
+        return testClass;
+    }
+
+    private JDefinedClass commonAddSetter(JClass propertyRef, int expectedMethods, String publicPropertyName, String privatePropertyName) throws JClassAlreadyExistsException {
+        JDefinedClass testClass = getJDefinedClass(jCodeModel, "net.gwt.jsonix", "TestClass", null);
+        ModelBuilder.addSetter(jCodeModel, testClass, propertyRef, publicPropertyName, privatePropertyName, referredJDefinedClass);
+        assertNotNull(testClass);
+        assertEquals(expectedMethods, testClass.methods().size());
+        return testClass;
+    }
+
+    private void commonStaticGetOtherAttributesMethod(JMethod retrieved, JClass returnRef, JClass parameterRef) {
+        assertEquals(JMod.PUBLIC + JMod.STATIC, retrieved.mods().getValue());
+        assertEquals(returnRef.binaryName(), retrieved.type().binaryName());
+        assertEquals(1, retrieved.params().size());
+        final JVar parameter = retrieved.params().iterator().next();
+        assertEquals(parameterRef.binaryName(), parameter.type().binaryName());
+        assertEquals(1, retrieved.annotations().size());
+        assertEquals(JsOverlay.class.getCanonicalName(), retrieved.annotations().iterator().next().getAnnotationClass().binaryName());
+    }
+
+    private void commonAddGetterMethod(JMethod retrieved, JClass propertyRef, String publicPropertyName, int expectedMods, Class<?> expectedAnnotation) {
+        assertEquals(expectedMods, retrieved.mods().getValue());
+        assertEquals("get" + publicPropertyName, retrieved.name());
+        assertEquals(propertyRef, retrieved.type());
+        assertTrue(retrieved.params().isEmpty());
+        assertEquals(1, retrieved.annotations().size());
+        final JAnnotationUse annotation = retrieved.annotations().iterator().next();
+        assertEquals(expectedAnnotation.getCanonicalName(), annotation.getAnnotationClass().binaryName());
+    }
+
+    private void commonAddSetterMethod(JMethod retrieved, JClass parameterType, String publicPropertyName, String privatePropertyName, int expectedMods, Class<?> expectedAnnotation) {
+        commonParamMethod("set", retrieved, parameterType, publicPropertyName, privatePropertyName + "Param", expectedMods, expectedAnnotation);
+    }
+
+    private void commonParamMethod(String methodNamePrefix, JMethod retrieved, JType parameterType, String publicPropertyName, String parameterName, int expectedMods, Class<?> expectedAnnotation) {
+        assertEquals(expectedMods, retrieved.mods().getValue());
+        assertEquals(methodNamePrefix + publicPropertyName, retrieved.name());
+        assertEquals(Void.TYPE.getCanonicalName(), retrieved.type().binaryName());
+        assertEquals(1, retrieved.params().size());
+        assertEquals(parameterName, retrieved.params().get(0).name());
+        assertEquals(parameterType.binaryName(), retrieved.params().get(0).type().binaryName());
+        assertEquals(1, retrieved.annotations().size());
+        assertEquals(expectedAnnotation.getCanonicalName(), retrieved.annotations().iterator().next().getAnnotationClass().binaryName());
+    }
+
+    private void commonVarargMethod(String methodNamePrefix, JMethod retrieved, JClass parameterType, String publicPropertyName, String parameterName, int expectedMods, Class<?> expectedAnnotation) {
+        assertEquals(expectedMods, retrieved.mods().getValue());
+        assertEquals(methodNamePrefix + publicPropertyName, retrieved.name());
+        assertEquals(Void.TYPE.getCanonicalName(), retrieved.type().binaryName());
+        assertNotNull(retrieved.listVarParam());
+        assertEquals(parameterName, retrieved.listVarParam().name());
+        assertEquals(parameterType.binaryName(), retrieved.listVarParam().type().binaryName());
+        assertEquals(1, retrieved.annotations().size());
+        assertEquals(expectedAnnotation.getCanonicalName(), retrieved.annotations().iterator().next().getAnnotationClass().binaryName());
+    }
+
+    private CPluginCustomization getExtendsCustomization(String className) throws Exception {
+        final DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
+        documentBuilderFactory.setNamespaceAware(true);
+        final String xml = "<inheritance:extends xmlns:inheritance=\"" + Customizations.NAMESPACE_URI + "\">" + className + "</inheritance:extends>";
+        final Element element = documentBuilderFactory.newDocumentBuilder().parse(new InputSource(new StringReader(xml))).getDocumentElement();
+        return new CPluginCustomization(element, null);
+    }
+}
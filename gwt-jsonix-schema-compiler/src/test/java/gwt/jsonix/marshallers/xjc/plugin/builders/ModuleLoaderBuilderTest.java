@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.marshallers.xjc.plugin.builders;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.JType;
+import gwt.jsonix.marshallers.xjc.plugin.AbstractBuilderTest;
+import gwt.jsonix.marshallers.xjc.plugin.dtos.ConstructorMapper;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ModuleLoaderBuilderTest extends AbstractBuilderTest {
+
+    @Test
+    public void generateJSInteropModuleLoaders() throws JClassAlreadyExistsException, IOException {
+        final JDefinedClass mainJsClass = jCodeModel._class("foo.MainJs");
+        mainJsClass.method(JMod.PUBLIC + JMod.STATIC + JMod.NATIVE, Void.TYPE, "initializeJsInteropConstructors").param(Object.class, "constructorsMap");
+        final Map<String, String> packageModuleMap = new HashMap<>();
+        packageModuleMap.put("foo.dmn", "DMN12");
+        packageModuleMap.put("foo.dmndi", "DMNDI12");
+        packageModuleMap.put("foo.unused", "UNUSED");
+        final Map<String, List<ConstructorMapper>> constructorsMap = new HashMap<>();
+        constructorsMap.put("GWT_JSONIX", Collections.singletonList(new ConstructorMapper(null, "JSIName", null)));
+        constructorsMap.put("DMN12", Arrays.asList(new ConstructorMapper("DMN12.TDefinitions", "JSITDefinitions", null),
+                                                   new ConstructorMapper("DMN12.TDefinitions.Inner", "Inner", "JSITDefinitions")));
+        constructorsMap.put("DMNDI12", Collections.singletonList(new ConstructorMapper("DMNDI12.DMNDI", "JSIDMNDI", null)));
+        final List<JDefinedClass> retrieved = ModuleLoaderBuilder.generateJSInteropModuleLoaders(packageModuleMap, constructorsMap, mainJsClass, jCodeModel);
+        assertEquals(2, retrieved.size());
+        assertEquals("foo.dmn.DMN12Loader", retrieved.get(0).fullName());
+        assertEquals("foo.dmndi.DMNDI12Loader", retrieved.get(1).fullName());
+        assertNull(jCodeModel._getClass("foo.unused.UNUSEDLoader"));
+        final JDefinedClass loader = retrieved.get(0);
+        assertNotNull(loader.getMethod("getConstructorsMap", new JType[0]));
+        assertNotNull(loader.getMethod("register", new JType[0]));
+        assertNotNull(loader.getMethod("load", new JType[]{jCodeModel.ref("com.google.gwt.core.client.RunAsyncCallback")}));
+        final String source = printJDefinedClass(loader);
+        assertTrue(source.contains("JSITDefinitions"));
+        assertTrue(source.contains("JSIName"));
+        assertTrue(!source.contains("JSIDMNDI"));
+        assertTrue(source.contains("GWT.runAsync(DMN12Loader.class"));
+        assertTrue(source.contains("MainJs.initializeJsInteropConstructors(getConstructorsMap())"));
+    }
+
+    @Test
+    public void generateJSInteropModuleLoadersWithoutMainJs() throws JClassAlreadyExistsException {
+        assertTrue(ModuleLoaderBuilder.generateJSInteropModuleLoaders(Collections.singletonMap("foo.dmn", "DMN12"), new HashMap<>(), null, jCodeModel).isEmpty());
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.marshallers.xjc.plugin.builders;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JPackage;
+import com.sun.tools.xjc.Language;
+import com.sun.tools.xjc.model.CAttributePropertyInfo;
+import com.sun.tools.xjc.model.CBuiltinLeafInfo;
+import com.sun.tools.xjc.model.CClassInfo;
+import com.sun.tools.xjc.model.CCustomizations;
+import com.sun.tools.xjc.model.CElement;
+import com.sun.tools.xjc.model.CElementInfo;
+import com.sun.tools.xjc.model.CElementPropertyInfo;
+import com.sun.tools.xjc.model.CTypeRef;
+import com.sun.tools.xjc.model.Model;
+import com.sun.tools.xjc.reader.Ring;
+import com.sun.xml.bind.v2.model.core.ID;
+import gwt.jsonix.marshallers.xjc.plugin.AbstractBuilderTest;
+import gwt.jsonix.marshallers.xjc.plugin.TestUtils;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class UnmarshallerBuilderTest extends AbstractBuilderTest {
+
+    private static final String NAMESPACE = "http://www.omg.org/spec/DMN/20180521/MODEL/";
+
+    @Test
+    public void generateJSInteropUnmarshaller() throws JClassAlreadyExistsException, IOException {
+        final Model model = TestUtils.getNamedModel();
+        model.options.setSchemaLanguage(Language.DTD);
+        final JPackage jPackage = model.codeModel._package("org.kie");
+        final CClassInfo baseClass = new CClassInfo(model, jPackage, "TDMNElement", null, new QName(NAMESPACE, "tDMNElement"), null, null, CCustomizations.EMPTY);
+        final CClassInfo rootClass = new CClassInfo(model, jPackage, "TDecision", null, new QName(NAMESPACE, "tDecision"), new QName(NAMESPACE, "decision"), null, CCustomizations.EMPTY);
+        rootClass.setBaseClass(baseClass);
+        final Ring old = Ring.begin();
+        try {
+            Ring.add(Model.class, model);
+            baseClass.addProperty(getAttributeProperty("Id", CBuiltinLeafInfo.STRING));
+            rootClass.addProperty(getAttributeProperty("Width", CBuiltinLeafInfo.DOUBLE));
+            final CElementPropertyInfo question = new CElementPropertyInfo("Question", CElementPropertyInfo.CollectionMode.NOT_REPEATED, ID.NONE, null, null, CCustomizations.EMPTY, null, false);
+            question.getTypes().add(new CTypeRef(CBuiltinLeafInfo.INT, new QName(NAMESPACE, "question"), null, false, null));
+            question.setName(false, "question");
+            rootClass.addProperty(question);
+        } finally {
+            Ring.end(old);
+        }
+        final JDefinedClass mainJsClass = jCodeModel._class("org.MainJs");
+        final JDefinedClass retrieved = UnmarshallerBuilder.generateJSInteropUnmarshaller(model, Collections.singletonMap("org.kie", "DMN12"), mainJsClass, jCodeModel);
+        assertEquals("org.MainJsUnmarshaller", retrieved.fullName());
+        final String source = printJDefinedClass(retrieved);
+        assertTrue(source.contains("public static native JavaScriptObject unmarshall(final String xmlString)"));
+        assertTrue(source.contains("$wnd[\"MainJs\"].unmarshaller = function (xmlString)"));
+        assertTrue(source.contains("return @org.MainJsUnmarshaller::unmarshall(Ljava/lang/String;)(xmlString);"));
+        assertTrue(source.contains("var toReturn = {\"TYPE_NAME\": \"DMN12.TDecision\"};"));
+        assertTrue(source.contains("case \"id\":\n                        toReturn[\"id\"] = attribute.value;"));
+        assertTrue(source.contains("toReturn[\"width\"] = parse(\"Double\", attribute.value, node);"));
+        assertTrue(source.contains("case \"{" + NAMESPACE + "}question\":\n                        toReturn[\"question\"] = parseText(\"Int\", child);"));
+        assertTrue(source.contains("elements[\"{" + NAMESPACE + "}decision\"] = t1;"));
+        assertTrue(source.contains("types[\"{" + NAMESPACE + "}tDMNElement\"] = t0;"));
+    }
+
+    @Test
+    public void generateJSInteropUnmarshallerWithoutMainJs() throws JClassAlreadyExistsException {
+        assertNull(UnmarshallerBuilder.generateJSInteropUnmarshaller(TestUtils.getNamedModel(), new HashMap<>(), null, jCodeModel));
+    }
+
+    @Test
+    public void getLeafTypeName() {
+        assertEquals("String", UnmarshallerBuilder.getLeafTypeName(null, CBuiltinLeafInfo.STRING, null));
+        assertEquals("Boolean", UnmarshallerBuilder.getLeafTypeName(null, CBuiltinLeafInfo.BOOLEAN, null));
+        assertEquals("QName", UnmarshallerBuilder.getLeafTypeName(null, CBuiltinLeafInfo.QNAME, null));
+        assertEquals("Float", UnmarshallerBuilder.getLeafTypeName(null, CBuiltinLeafInfo.FLOAT, null));
+        assertEquals("DateTime", UnmarshallerBuilder.getLeafTypeName(null, CBuiltinLeafInfo.CALENDAR, new QName("http://www.w3.org/2001/XMLSchema", "dateTime")));
+        final Model model = TestUtils.getNamedModel();
+        model.options.setSchemaLanguage(Language.DTD);
+        final Ring old = Ring.begin();
+        try {
+            Ring.add(Model.class, model);
+            final CAttributePropertyInfo idProperty = new CAttributePropertyInfo("Id", null, CCustomizations.EMPTY, null, new QName("id"), CBuiltinLeafInfo.ID, null, false);
+            assertEquals("ID", UnmarshallerBuilder.getLeafTypeName(idProperty, idProperty.getTarget(), null));
+        } finally {
+            Ring.end(old);
+        }
+    }
+
+    @Test
+    public void getAllSubstitutionMembers() {
+        final QName head = new QName(NAMESPACE, "expression");
+        final QName member = new QName(NAMESPACE, "literalExpression");
+        final QName indirectMember = new QName(NAMESPACE, "specialLiteralExpression");
+        final Model model = TestUtils.getNamedModel();
+        model.options.setSchemaLanguage(Language.DTD);
+        final JPackage jPackage = model.codeModel._package("org.kie");
+        final CElement memberElement = new CClassInfo(model, jPackage, "TLiteralExpression", null, null, member, null, CCustomizations.EMPTY);
+        final CElement indirectMemberElement = new CClassInfo(model, jPackage, "TSpecialLiteralExpression", null, null, indirectMember, null, CCustomizations.EMPTY);
+        final Map<QName, List<CElement>> substitutionMembers = new HashMap<>();
+        substitutionMembers.put(head, Collections.singletonList(memberElement));
+        substitutionMembers.put(member, Collections.singletonList(indirectMemberElement));
+        assertEquals(Arrays.asList(memberElement, indirectMemberElement), UnmarshallerBuilder.getAllSubstitutionMembers(head, substitutionMembers));
+        assertTrue(UnmarshallerBuilder.getAllSubstitutionMembers(indirectMember, substitutionMembers).isEmpty());
+    }
+
+    @Test
+    public void getGlobalElements() {
+        final Model model = TestUtils.getNamedModel();
+        model.options.setSchemaLanguage(Language.DTD);
+        final JPackage jPackage = model.codeModel._package("org.kie");
+        final CClassInfo scope = new CClassInfo(model, jPackage, "TDecision", null, new QName(NAMESPACE, "tDecision"), null, null, CCustomizations.EMPTY);
+        final CElementInfo globalElement = new CElementInfo(model, new QName(NAMESPACE, "question"), model.getPackage(jPackage), "Question", CCustomizations.EMPTY, null);
+        new CElementInfo(model, new QName(NAMESPACE, "answer"), scope, "Answer", CCustomizations.EMPTY, null);
+        assertEquals(Collections.singletonList(globalElement), UnmarshallerBuilder.getGlobalElements(model));
+    }
+
+    @Test
+    public void getKey() {
+        assertEquals("{" + NAMESPACE + "}decision", UnmarshallerBuilder.getKey(new QName(NAMESPACE, "decision")));
+        assertEquals("id", UnmarshallerBuilder.getKey(new QName("id")));
+    }
+
+    private CAttributePropertyInfo getAttributeProperty(String publicName, CBuiltinLeafInfo target) {
+        final CAttributePropertyInfo toReturn = new CAttributePropertyInfo(publicName, null, CCustomizations.EMPTY, null, new QName(publicName.toLowerCase()), target, null, false);
+        toReturn.setName(false, publicName.toLowerCase());
+        return toReturn;
+    }
+}
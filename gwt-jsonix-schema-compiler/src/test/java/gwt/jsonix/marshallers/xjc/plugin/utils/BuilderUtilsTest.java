@@ -0,0 +1,68 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.marshallers.xjc.plugin.utils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JCodeModel;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class BuilderUtilsTest {
+
+    @Test
+    public void getJavaRef() {
+        final JCodeModel jCodeModel = new JCodeModel();
+        assertEquals("int", BuilderUtils.getJavaRef("java.lang.Integer", jCodeModel, true).get().fullName());
+        assertEquals("java.lang.Integer", BuilderUtils.getJavaRef("java.lang.Integer", jCodeModel, false).get().fullName());
+        assertEquals("javax.xml.namespace.QName", BuilderUtils.getJavaRef("javax.xml.namespace.QName", jCodeModel, true).get().fullName());
+        assertFalse(BuilderUtils.getJavaRef("org.kie.TDecision", jCodeModel, true).isPresent());
+    }
+
+    @Test
+    public void getJavaRefCached() {
+        final JCodeModel jCodeModel = new JCodeModel();
+        final Map<String, Optional<JClass>> javaRefsCache = new HashMap<>();
+        final JClass retrieved = BuilderUtils.getJavaRef("java.lang.Integer", jCodeModel, true, javaRefsCache).get();
+        assertSame(retrieved, BuilderUtils.getJavaRef("java.lang.Integer", jCodeModel, true, javaRefsCache).get());
+        // the unbox flag is part of the key
+        assertEquals("java.lang.Integer", BuilderUtils.getJavaRef("java.lang.Integer", jCodeModel, false, javaRefsCache).get().fullName());
+        // names that are not java classes are cached too
+        assertFalse(BuilderUtils.getJavaRef("org.kie.TDecision", jCodeModel, true, javaRefsCache).isPresent());
+        assertTrue(javaRefsCache.containsKey("org.kie.TDecision"));
+        assertEquals(3, javaRefsCache.size());
+    }
+
+    @Test
+    public void toJsObjectLiteral() {
+        assertEquals("{}", BuilderUtils.toJsObjectLiteral(Collections.emptyMap(), ""));
+        assertEquals("{\n    \"a\": \"b\"\n}", BuilderUtils.toJsObjectLiteral(Collections.singletonMap("a", "b"), ""));
+    }
+
+    @Test
+    public void toJsString() {
+        assertEquals("\"{urn:a}b\"", BuilderUtils.toJsString("{urn:a}b"));
+        assertEquals("\"a\\\"b\\\\c\"", BuilderUtils.toJsString("a\"b\\c"));
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.marshallers.xjc.plugin.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.tools.xjc.model.Model;
+import gwt.jsonix.marshallers.xjc.plugin.GWTSettings;
+import gwt.jsonix.marshallers.xjc.plugin.TestUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.xml.sax.InputSource;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GenerationCacheUtilsTest {
+
+    private static final String SCHEMA = "<xsd:schema xmlns:xsd=\"http://www.w3.org/2001/XMLSchema\"/>";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void getCacheKey() throws IOException {
+        final GWTSettings settings = new GWTSettings();
+        final String retrieved = GenerationCacheUtils.getCacheKey(getModel("first", SCHEMA), getModel("first", SCHEMA).options, settings);
+        assertEquals(64, retrieved.length());
+        // same content in another folder
+        assertEquals(retrieved, GenerationCacheUtils.getCacheKey(getModel("second", SCHEMA), getModel("second", SCHEMA).options, settings));
+        // output locations are not part of the key
+        settings.setJsinteropDirectory(temporaryFolder.newFolder("jsinterop"));
+        settings.setCacheDirectory(temporaryFolder.newFolder("cache"));
+        assertEquals(retrieved, GenerationCacheUtils.getCacheKey(getModel("first", SCHEMA), getModel("first", SCHEMA).options, settings));
+        // options are
+        settings.setJsMainPackage("org.kie.mapper");
+        final String changedOption = GenerationCacheUtils.getCacheKey(getModel("first", SCHEMA), getModel("first", SCHEMA).options, settings);
+        assertNotEquals(retrieved, changedOption);
+        // and so is the schema content
+        final Model changedSchema = getModel("third", SCHEMA.replace("/>", "><xsd:element name=\"definitions\"/></xsd:schema>"));
+        assertNotEquals(changedOption, GenerationCacheUtils.getCacheKey(changedSchema, changedSchema.options, settings));
+    }
+
+    @Test
+    public void getLocationHashOfClassFolder() throws IOException {
+        final File classes = temporaryFolder.newFolder("classes");
+        final File classFile = new File(classes, "org/kie/Plugin.class");
+        assertTrue(classFile.getParentFile().mkdirs());
+        Files.write(classFile.toPath(), "first".getBytes(StandardCharsets.UTF_8));
+        final String retrieved = GenerationCacheUtils.getLocationHash(classes.toPath());
+        assertEquals(64, retrieved.length());
+        assertEquals(retrieved, GenerationCacheUtils.getLocationHash(classes.toPath()));
+        Files.write(classFile.toPath(), "second".getBytes(StandardCharsets.UTF_8));
+        assertNotEquals(retrieved, GenerationCacheUtils.getLocationHash(classes.toPath()));
+    }
+
+    @Test
+    public void getSettingsDescription() {
+        final GWTSettings settings = new GWTSettings();
+        settings.setRootElements("definitions");
+        settings.setPooledWrappers(true);
+        final String retrieved = GenerationCacheUtils.getSettingsDescription(settings);
+        assertTrue(retrieved.contains("GWTSettings.pooledWrappers=true"));
+        assertTrue(retrieved.contains("GWTSettings.rootElements=[definitions]"));
+        assertFalse(retrieved.contains("jsinteropDirectory"));
+        assertFalse(retrieved.contains("cacheDirectory"));
+    }
+
+    @Test
+    public void storeAndRestore() throws IOException, JClassAlreadyExistsException {
+        final File cacheDirectory = new File(temporaryFolder.getRoot(), "cache");
+        final File targetDirectory = temporaryFolder.newFolder("target");
+        assertFalse(GenerationCacheUtils.restore(cacheDirectory, "key", targetDirectory, false));
+        GenerationCacheUtils.store(cacheDirectory, "key", getJCodeModel(), StandardCharsets.UTF_8.name());
+        assertTrue(GenerationCacheUtils.restore(cacheDirectory, "key", targetDirectory, false));
+        final File restored = new File(targetDirectory, "org/kie/JSITDecision.java");
+        assertTrue(restored.isFile());
+        assertArrayEquals(Files.readAllBytes(new File(cacheDirectory, "key/org/kie/JSITDecision.java").toPath()), Files.readAllBytes(restored.toPath()));
+        // only the published entry is left in the cache
+        assertArrayEquals(new String[]{"key"}, cacheDirectory.list());
+    }
+
+    @Test
+    public void storeConcurrently() throws Exception {
+        final File cacheDirectory = new File(temporaryFolder.getRoot(), "cache");
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                final JCodeModel jCodeModel = getJCodeModel();
+                final Callable<Void> store = () -> {
+                    GenerationCacheUtils.store(cacheDirectory, "key", jCodeModel, StandardCharsets.UTF_8.name());
+                    return null;
+                };
+                futures.add(executorService.submit(store));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        assertArrayEquals(new String[]{"key"}, cacheDirectory.list());
+        assertTrue(new File(cacheDirectory, "key/org/kie/JSITDecision.java").isFile());
+    }
+
+    private Model getModel(final String folder, final String schema) throws IOException {
+        final File schemaFile = new File(temporaryFolder.getRoot(), folder + "/model.xsd");
+        if (!schemaFile.exists()) {
+            assertTrue(schemaFile.getParentFile().mkdirs());
+            Files.write(schemaFile.toPath(), schema.getBytes(StandardCharsets.UTF_8));
+        }
+        final Model toReturn = TestUtils.getModel();
+        toReturn.options.addGrammar(new InputSource(schemaFile.toURI().toString()));
+        return toReturn;
+    }
+
+    private JCodeModel getJCodeModel() throws JClassAlreadyExistsException {
+        final JCodeModel toReturn = new JCodeModel();
+        toReturn._class("org.kie.JSITDecision");
+        return toReturn;
+    }
+}
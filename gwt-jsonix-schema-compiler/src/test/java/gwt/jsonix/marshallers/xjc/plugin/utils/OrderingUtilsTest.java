@@ -0,0 +1,47 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.marshallers.xjc.plugin.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class OrderingUtilsTest {
+
+    @Test
+    public void sortDependencies() {
+        final String program = "var DMN12_Module_Factory = function () {\n" +
+                "  var DMN12 = {\n" +
+                "    name: 'DMN12',\n" +
+                "    dependencies: ['KIE', 'DMNDI12', 'DC'],\n" +
+                "    typeInfos: [{\n" +
+                "        localName: 'TDecision',\n" +
+                "        dependencies: [],\n" +
+                "      }]\n" +
+                "  };\n" +
+                "};";
+        final String retrieved = OrderingUtils.sortDependencies(program);
+        assertEquals(program.replace("['KIE', 'DMNDI12', 'DC']", "['DC', 'DMNDI12', 'KIE']"), retrieved);
+        // idempotent
+        assertEquals(retrieved, OrderingUtils.sortDependencies(retrieved));
+    }
+
+    @Test
+    public void sortDependenciesNoDependencies() {
+        final String program = "var PO_Module_Factory = function () { var PO = { name: 'PO', typeInfos: [] }; };";
+        assertEquals(program, OrderingUtils.sortDependencies(program));
+    }
+}
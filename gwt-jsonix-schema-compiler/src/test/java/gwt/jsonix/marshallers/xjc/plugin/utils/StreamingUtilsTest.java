@@ -0,0 +1,114 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gwt.jsonix.marshallers.xjc.plugin.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.JPackage;
+import com.sun.codemodel.JType;
+import com.sun.codemodel.writer.FileCodeWriter;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class StreamingUtilsTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void checkSupported() throws IOException {
+        StreamingUtils.checkSupported();
+    }
+
+    @Test
+    public void writeAndRelease() throws JClassAlreadyExistsException, IOException {
+        final JCodeModel jCodeModel = new JCodeModel();
+        final JDefinedClass sampleClass = getSampleClass(jCodeModel);
+        final JDefinedClass otherClass = jCodeModel._class("foo.baz.Other");
+        final JPackage jPackage = sampleClass._package();
+        final File streamed = temporaryFolder.newFolder("streamed");
+
+        StreamingUtils.writeAndRelease(Collections.singletonList(jPackage), Collections.singletonList(sampleClass), new FileCodeWriter(streamed), true);
+        final String source = new String(Files.readAllBytes(new File(streamed, "foo/bar/Sample.java").toPath()), StandardCharsets.UTF_8);
+        assertTrue(source.contains("public String getName()"));
+        assertTrue(source.contains("public void setName(String name)"));
+        assertTrue(source.contains("public static class Inner"));
+        assertTrue(source.contains("@Deprecated"));
+        assertTrue(source.contains("public native void doNative()"));
+        assertFalse(new File(streamed, "foo/baz/Other.java").exists());
+        // only the signatures of the getters are left
+        assertFalse(jPackage.classes().hasNext());
+        assertTrue(sampleClass.fields().isEmpty());
+        assertFalse(sampleClass.constructors().hasNext());
+        assertEquals(1, sampleClass.methods().size());
+        final JMethod getter = sampleClass.getMethod("getName", new JType[0]);
+        assertNotNull(getter);
+        assertEquals(String.class.getName(), getter.type().fullName());
+        assertTrue(sampleClass.classes().next().methods().isEmpty());
+        // the released classes are not written again
+        final File remaining = temporaryFolder.newFolder("remaining");
+        jCodeModel.build(new FileCodeWriter(remaining));
+        assertFalse(new File(remaining, "foo/bar/Sample.java").exists());
+        assertTrue(new File(remaining, "foo/baz/Other.java").exists());
+        assertEquals("foo.baz.Other", otherClass.fullName());
+    }
+
+    @Test
+    public void releaseWithoutGetters() throws JClassAlreadyExistsException, IOException {
+        final JCodeModel jCodeModel = new JCodeModel();
+        final JDefinedClass sampleClass = getSampleClass(jCodeModel);
+        StreamingUtils.release(sampleClass, false);
+        assertTrue(sampleClass.methods().isEmpty());
+        assertTrue(sampleClass.annotations().isEmpty());
+        // the direct content is dropped too
+        final File released = temporaryFolder.newFolder("released");
+        jCodeModel.build(new FileCodeWriter(released));
+        final String source = new String(Files.readAllBytes(new File(released, "foo/bar/Sample.java").toPath()), StandardCharsets.UTF_8);
+        assertFalse(source.contains("doNative"));
+        assertEquals("foo.bar.Sample", sampleClass.fullName());
+        assertEquals("foo.bar.Sample.Inner", sampleClass.classes().next().fullName());
+    }
+
+    private JDefinedClass getSampleClass(final JCodeModel jCodeModel) throws JClassAlreadyExistsException {
+        final JDefinedClass toReturn = jCodeModel._class("foo.bar.Sample");
+        toReturn.javadoc().append("Sample class");
+        toReturn.annotate(Deprecated.class);
+        toReturn.direct("public native void doNative() /*-{ }-*/;");
+        toReturn.field(JMod.PRIVATE, String.class, "name");
+        toReturn.constructor(JMod.PUBLIC);
+        toReturn.method(JMod.PUBLIC, String.class, "getName").body()._return(JExpr.ref("name"));
+        final JMethod setter = toReturn.method(JMod.PUBLIC, void.class, "setName");
+        setter.body().assign(JExpr._this().ref("name"), setter.param(String.class, "name"));
+        toReturn._class(JMod.PUBLIC + JMod.STATIC, "Inner").method(JMod.PUBLIC, void.class, "doSomething");
+        return toReturn;
+    }
+}